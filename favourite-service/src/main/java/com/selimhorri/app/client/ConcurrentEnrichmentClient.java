@@ -0,0 +1,86 @@
+package com.selimhorri.app.client;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.selimhorri.app.dto.FavouriteDto;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.metrics.EnrichmentMetricsRecorder;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Enriches a single favourite by issuing the user and product lookups
+ * concurrently, so the latency is bounded by the slower call rather than
+ * their sum. Each lookup has its own deadline; a late, rejected or failed
+ * lookup keeps the id-only placeholder and the favourite is returned partially
+ * enriched.
+ */
+@Component
+@Slf4j
+public class ConcurrentEnrichmentClient {
+	
+	private final EnrichmentClient enrichmentClient;
+	private final ExecutorService executor;
+	private final EnrichmentMetricsRecorder enrichmentMetricsRecorder;
+	private final long timeoutMs;
+	
+	public ConcurrentEnrichmentClient(final EnrichmentClient enrichmentClient, 
+			@Qualifier("enrichmentExecutor") final ExecutorService executor, 
+			final EnrichmentMetricsRecorder enrichmentMetricsRecorder, 
+			@Value("${enrichment.timeout-ms:1000}") final long timeoutMs) {
+		this.enrichmentClient = enrichmentClient;
+		this.executor = executor;
+		this.enrichmentMetricsRecorder = enrichmentMetricsRecorder;
+		this.timeoutMs = timeoutMs;
+	}
+	
+	public FavouriteDto enrich(final FavouriteDto favouriteDto) {
+		final CompletableFuture<UserDto> user = this.lookup("user", 
+				() -> this.enrichmentClient.fetchUser(favouriteDto.getUserId()), favouriteDto.getUserDto());
+		final CompletableFuture<ProductDto> product = this.lookup("product", 
+				() -> this.enrichmentClient.fetchProduct(favouriteDto.getProductId()), favouriteDto.getProductDto());
+		return user.thenCombine(product, (u, p) -> {
+					favouriteDto.setUserDto(u);
+					favouriteDto.setProductDto(p);
+					return favouriteDto;
+				})
+				.join();
+	}
+	
+	private <T> CompletableFuture<T> lookup(final String target, final Supplier<T> call, final T placeholder) {
+		final CompletableFuture<T> future;
+		try {
+			future = CompletableFuture.supplyAsync(call, this.executor);
+		} catch (RejectedExecutionException e) {
+			log.warn("*** {} lookup rejected, enrichment executor saturated *", target);
+			this.enrichmentMetricsRecorder.recordDegraded(target, "rejected");
+			return CompletableFuture.completedFuture(placeholder);
+		}
+		return future
+				.orTimeout(this.timeoutMs, TimeUnit.MILLISECONDS)
+				.handle((result, e) -> {
+					if (e == null) {
+						return result != null ? result : placeholder;
+					}
+					final Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+					final String reason = cause instanceof TimeoutException ? "timeout" : "error";
+					log.warn("*** {} lookup degraded to placeholder, reason={} *", target, cause.toString());
+					this.enrichmentMetricsRecorder.recordDegraded(target, reason);
+					return placeholder;
+				});
+	}
+	
+	
+	
+}
@@ -0,0 +1,106 @@
+package com.selimhorri.app.client;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Resolves the user and product details attached to favourites.
+ * Collections are resolved through the batch endpoints of user-service and
+ * product-service, so the number of HTTP calls grows with the number of
+ * distinct ids divided by the batch size instead of with the number of rows.
+ */
+@Component
+@Slf4j
+public class EnrichmentClient {
+	
+	private static final ParameterizedTypeReference<DtoCollectionResponse<UserDto>> USER_COLLECTION_TYPE = 
+			new ParameterizedTypeReference<>() {};
+	private static final ParameterizedTypeReference<DtoCollectionResponse<ProductDto>> PRODUCT_COLLECTION_TYPE = 
+			new ParameterizedTypeReference<>() {};
+	
+	private final RestTemplate restTemplate;
+	private final int batchSize;
+	
+	public EnrichmentClient(final RestTemplate restTemplate, 
+			@Value("${enrichment.batch-size:200}") final int batchSize) {
+		this.restTemplate = restTemplate;
+		this.batchSize = Math.max(batchSize, 1);
+	}
+	
+	public UserDto fetchUser(final Integer userId) {
+		return this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
+				.USER_SERVICE_API_URL + "/" + userId, UserDto.class);
+	}
+	
+	public ProductDto fetchProduct(final Integer productId) {
+		return this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
+				.PRODUCT_SERVICE_API_URL + "/" + productId, ProductDto.class);
+	}
+	
+	public Map<Integer, UserDto> fetchUsers(final Collection<Integer> userIds) {
+		return this.fetchInBatches(AppConstant.DiscoveredDomainsApi.USER_SERVICE_API_URL, 
+				userIds, USER_COLLECTION_TYPE, UserDto::getUserId);
+	}
+	
+	public Map<Integer, ProductDto> fetchProducts(final Collection<Integer> productIds) {
+		return this.fetchInBatches(AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL, 
+				productIds, PRODUCT_COLLECTION_TYPE, ProductDto::getProductId);
+	}
+	
+	/**
+	 * Ids that are unknown downstream, or that belong to a batch whose call
+	 * failed, are simply absent from the returned map.
+	 */
+	private <T> Map<Integer, T> fetchInBatches(final String apiUrl, final Collection<Integer> ids, 
+			final ParameterizedTypeReference<DtoCollectionResponse<T>> responseType, 
+			final Function<T, Integer> idExtractor) {
+		
+		final List<Integer> distinctIds = ids.stream()
+				.filter(Objects::nonNull)
+				.distinct()
+				.sorted()
+				.collect(Collectors.toList());
+		final Map<Integer, T> resolved = new HashMap<>();
+		
+		for (int from = 0; from < distinctIds.size(); from += this.batchSize) {
+			final List<Integer> batch = distinctIds.subList(from, Math.min(from + this.batchSize, distinctIds.size()));
+			final String url = apiUrl + "/batch?ids=" + batch.stream()
+					.map(String::valueOf)
+					.collect(Collectors.joining(","));
+			try {
+				final DtoCollectionResponse<T> response = this.restTemplate
+						.exchange(url, HttpMethod.GET, null, responseType)
+						.getBody();
+				if (response != null && response.getCollection() != null) {
+					response.getCollection().forEach(dto -> resolved.put(idExtractor.apply(dto), dto));
+				}
+			} catch (RestClientException e) {
+				log.warn("*** Batch lookup failed for {} ids at {}, reason={} *", batch.size(), apiUrl, e.toString());
+			}
+		}
+		
+		return resolved;
+	}
+	
+	
+	
+}
@@ -1,17 +1,30 @@
 package com.selimhorri.app.config.client;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.client.loadbalancer.LoadBalanced;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
 public class ClientConfig {
 	
+	@Value("${http.client.connect-timeout-ms:2000}")
+	private int connectTimeoutMs;
+	
+	@Value("${http.client.read-timeout-ms:3000}")
+	private int readTimeoutMs;
+	
 	@LoadBalanced
 	@Bean
 	public RestTemplate restTemplateBean() {
-		return new RestTemplate();
+		final SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
+		factory.setConnectTimeout(this.connectTimeoutMs);
+		factory.setReadTimeout(this.readTimeoutMs);
+		final RestTemplate restTemplate = new RestTemplate();
+		restTemplate.setRequestFactory(factory);
+		return restTemplate;
 	}
 	
 	
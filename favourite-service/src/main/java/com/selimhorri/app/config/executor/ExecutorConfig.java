@@ -0,0 +1,40 @@
+package com.selimhorri.app.config.executor;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+@Configuration
+public class ExecutorConfig {
+	
+	/**
+	 * Bounded pool used to fan out downstream lookups; a full queue rejects
+	 * instead of piling up work. Pool and queue metrics are published as
+	 * executor_* meters tagged name=favourite_enrichment.
+	 */
+	@Bean(name = "enrichmentExecutor", destroyMethod = "shutdown")
+	public ExecutorService enrichmentExecutorBean(
+			final MeterRegistry meterRegistry, 
+			@Value("${enrichment.executor.pool-size:16}") final int poolSize, 
+			@Value("${enrichment.executor.queue-capacity:256}") final int queueCapacity) {
+		final ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize, poolSize, 
+				60L, TimeUnit.SECONDS, 
+				new ArrayBlockingQueue<>(queueCapacity), 
+				new CustomizableThreadFactory("favourite-enrichment-"), 
+				new ThreadPoolExecutor.AbortPolicy());
+		executor.allowCoreThreadTimeOut(true);
+		return ExecutorServiceMetrics.monitor(meterRegistry, executor, "favourite_enrichment");
+	}
+	
+	
+	
+}
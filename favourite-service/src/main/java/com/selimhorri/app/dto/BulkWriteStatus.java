@@ -0,0 +1,16 @@
+package com.selimhorri.app.dto;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+@Getter
+public enum BulkWriteStatus {
+	
+	CREATED("created"),
+	DUPLICATE("duplicate"),
+	FAILED("failed");
+	
+	private final String status;
+	
+}
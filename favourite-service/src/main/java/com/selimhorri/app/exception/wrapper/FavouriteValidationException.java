@@ -0,0 +1,35 @@
+package com.selimhorri.app.exception.wrapper;
+
+public class FavouriteValidationException extends RuntimeException {
+	
+	private static final long serialVersionUID = 1L;
+	
+	public FavouriteValidationException() {
+		super();
+	}
+	
+	public FavouriteValidationException(String message, Throwable cause) {
+		super(message, cause);
+	}
+	
+	public FavouriteValidationException(String message) {
+		super(message);
+	}
+	
+	public FavouriteValidationException(Throwable cause) {
+		super(cause);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,37 @@
+package com.selimhorri.app.helper;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public interface TransactionSynchronizationHelper {
+	
+	/**
+	 * Runs the action once the current transaction commits, or right away outside one;
+	 * nothing runs on rollback.
+	 */
+	public static void afterCommit(final Runnable action) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					action.run();
+				}
+			});
+		} else {
+			action.run();
+		}
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,29 @@
+package com.selimhorri.app.metrics;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Component
+public class EnrichmentMetricsRecorder {
+
+    private final MeterRegistry meterRegistry;
+
+    public EnrichmentMetricsRecorder(final MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * @param target downstream service, "user" or "product"
+     * @param reason "timeout", "rejected" or "error"
+     */
+    public void recordDegraded(final String target, final String reason) {
+        Counter.builder("favourite_service_enrichment_degraded_total")
+            .description("Lookups served with a placeholder because the downstream call was late or failed")
+            .tag("target", target)
+            .tag("reason", reason)
+            .register(this.meterRegistry)
+            .increment();
+    }
+}
@@ -0,0 +1,206 @@
+package com.selimhorri.app.recommendation;
+
+import java.util.Arrays;
+
+/**
+ * "Users who liked this also liked" index. For every product it keeps, in a primitive
+ * {@link IntIntHashMap}, how many users liked both that product and each other product.
+ * Each user's most recent likes are kept in a small int ring buffer; a new like is paired
+ * with at most {@code maxLikesPerUser} of them, which bounds the work per like. A product's
+ * row is pruned back to its {@code maxRelatedPerProduct} strongest entries whenever it grows
+ * to twice that size, which bounds memory per product. Not thread-safe.
+ */
+public final class CoLikeIndex {
+	
+	private final int maxLikesPerUser;
+	private final int maxRelatedPerProduct;
+	
+	private final IntIntHashMap productSlots = new IntIntHashMap(1024);
+	private IntIntHashMap[] coLikes = new IntIntHashMap[1024];
+	private int productCount;
+	
+	private final IntIntHashMap userSlots = new IntIntHashMap(1024);
+	private int[][] userLikes = new int[1024][];
+	private int[] userLikeTotals = new int[1024];
+	private int userCount;
+	
+	public CoLikeIndex(final int maxLikesPerUser, final int maxRelatedPerProduct) {
+		if (maxLikesPerUser < 1 || maxRelatedPerProduct < 1) {
+			throw new IllegalArgumentException("maxLikesPerUser and maxRelatedPerProduct must be positive");
+		}
+		this.maxLikesPerUser = maxLikesPerUser;
+		this.maxRelatedPerProduct = maxRelatedPerProduct;
+	}
+	
+	/**
+	 * Records that the user liked the product; returns false when the pair was already indexed.
+	 */
+	public boolean addLike(final int userId, final int productId) {
+		final int user = this.userSlot(userId);
+		int[] likes = this.userLikes[user];
+		final int total = this.userLikeTotals[user];
+		final int recent = Math.min(total, this.maxLikesPerUser);
+		for (int i = 0; i < recent; i++) {
+			if (likes[i] == productId) {
+				return false;
+			}
+		}
+		
+		for (int i = 0; i < recent; i++) {
+			this.addCoLike(productId, likes[i]);
+			this.addCoLike(likes[i], productId);
+		}
+		
+		if (total < this.maxLikesPerUser && total == likes.length) {
+			likes = Arrays.copyOf(likes, Math.min(likes.length << 1, this.maxLikesPerUser));
+			this.userLikes[user] = likes;
+		}
+		// once full, the oldest like is overwritten
+		likes[total % this.maxLikesPerUser] = productId;
+		this.userLikeTotals[user] = total + 1;
+		return true;
+	}
+	
+	/**
+	 * Takes back a like still among the user's recent likes, un-pairing it from the others;
+	 * returns false when the pair is not indexed. Pairs formed with likes that have since
+	 * been overwritten cannot be found again and are left in place.
+	 */
+	public boolean removeLike(final int userId, final int productId) {
+		final int user = this.userSlots.get(userId, -1);
+		if (user < 0) {
+			return false;
+		}
+		final int[] likes = this.userLikes[user];
+		final int total = this.userLikeTotals[user];
+		final int recent = Math.min(total, this.maxLikesPerUser);
+		// oldest first: the ring starts at the next slot to be overwritten once full
+		final int start = total > this.maxLikesPerUser ? total % this.maxLikesPerUser : 0;
+		final int[] ordered = new int[recent];
+		int found = -1;
+		for (int i = 0; i < recent; i++) {
+			ordered[i] = likes[(start + i) % this.maxLikesPerUser];
+			if (ordered[i] == productId) {
+				found = i;
+			}
+		}
+		if (found < 0) {
+			return false;
+		}
+		
+		int next = 0;
+		for (int i = 0; i < recent; i++) {
+			if (i != found) {
+				this.removeCoLike(productId, ordered[i]);
+				this.removeCoLike(ordered[i], productId);
+				likes[next++] = ordered[i];
+			}
+		}
+		this.userLikeTotals[user] = next;
+		return true;
+	}
+	
+	/**
+	 * Up to {@code limit} products most often co-liked with the product, as parallel
+	 * [productIds, counts] arrays ordered by count descending, then product id.
+	 */
+	public int[][] related(final int productId, final int limit) {
+		final int slot = this.productSlots.get(productId, -1);
+		if (slot < 0 || limit < 1) {
+			return new int[][] { new int[0], new int[0] };
+		}
+		final int[] ids = new int[limit];
+		final int[] counts = new int[limit];
+		final int[] size = { 0 };
+		this.coLikes[slot].forEach((otherId, count) -> {
+			int i = size[0];
+			// entries taken back to zero by removeLike
+			if (count == 0 || (i == limit && !ranksBefore(count, otherId, counts[limit - 1], ids[limit - 1]))) {
+				return;
+			}
+			if (i == limit) {
+				i--;
+			} else {
+				size[0]++;
+			}
+			// insertion into the sorted prefix
+			while (i > 0 && ranksBefore(count, otherId, counts[i - 1], ids[i - 1])) {
+				ids[i] = ids[i - 1];
+				counts[i] = counts[i - 1];
+				i--;
+			}
+			ids[i] = otherId;
+			counts[i] = count;
+		});
+		return new int[][] { Arrays.copyOf(ids, size[0]), Arrays.copyOf(counts, size[0]) };
+	}
+	
+	private static boolean ranksBefore(final int count, final int id, final int otherCount, final int otherId) {
+		return count > otherCount || (count == otherCount && id < otherId);
+	}
+	
+	private void addCoLike(final int productId, final int otherId) {
+		int slot = this.productSlots.get(productId, -1);
+		if (slot < 0) {
+			slot = this.productCount++;
+			if (slot == this.coLikes.length) {
+				this.coLikes = Arrays.copyOf(this.coLikes, slot << 1);
+			}
+			this.coLikes[slot] = new IntIntHashMap();
+			this.productSlots.put(productId, slot);
+		}
+		final IntIntHashMap row = this.coLikes[slot];
+		row.addTo(otherId, 1);
+		if (row.size() > 2 * this.maxRelatedPerProduct) {
+			this.coLikes[slot] = this.prune(row);
+		}
+	}
+	
+	private void removeCoLike(final int productId, final int otherId) {
+		final int slot = this.productSlots.get(productId, -1);
+		// the entry may have been pruned already
+		if (slot >= 0 && this.coLikes[slot].get(otherId, 0) > 0) {
+			this.coLikes[slot].addTo(otherId, -1);
+		}
+	}
+	
+	/**
+	 * Keeps the {@code maxRelatedPerProduct} entries with the highest counts.
+	 */
+	private IntIntHashMap prune(final IntIntHashMap row) {
+		final int[] counts = new int[row.size()];
+		final int[] next = { 0 };
+		row.forEach((otherId, count) -> counts[next[0]++] = count);
+		Arrays.sort(counts);
+		final int threshold = counts[counts.length - this.maxRelatedPerProduct];
+		final IntIntHashMap pruned = new IntIntHashMap(this.maxRelatedPerProduct);
+		row.forEach((otherId, count) -> {
+			if (count > threshold) {
+				pruned.put(otherId, count);
+			}
+		});
+		row.forEach((otherId, count) -> {
+			if (count == threshold && pruned.size() < this.maxRelatedPerProduct) {
+				pruned.put(otherId, count);
+			}
+		});
+		return pruned;
+	}
+	
+	private int userSlot(final int userId) {
+		int slot = this.userSlots.get(userId, -1);
+		if (slot < 0) {
+			slot = this.userCount++;
+			if (slot == this.userLikes.length) {
+				this.userLikes = Arrays.copyOf(this.userLikes, slot << 1);
+				this.userLikeTotals = Arrays.copyOf(this.userLikeTotals, slot << 1);
+			}
+			this.userLikes[slot] = new int[Math.min(4, this.maxLikesPerUser)];
+			this.userSlots.put(userId, slot);
+		}
+		return slot;
+	}
+	
+	
+	
+}
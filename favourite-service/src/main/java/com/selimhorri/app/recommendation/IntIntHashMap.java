@@ -0,0 +1,123 @@
+package com.selimhorri.app.recommendation;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing int to int map with linear probing. Keys and values live in two
+ * parallel int arrays, so an entry costs 8 bytes (at 60% load) instead of two boxed
+ * Integers plus a HashMap node. {@link Integer#MIN_VALUE} is reserved as the free-slot
+ * marker and cannot be used as a key. Not thread-safe.
+ */
+public final class IntIntHashMap {
+	
+	private static final int FREE = Integer.MIN_VALUE;
+	private static final float LOAD_FACTOR = 0.6f;
+	
+	@FunctionalInterface
+	public interface IntIntConsumer {
+		void accept(final int key, final int value);
+	}
+	
+	private int[] keys;
+	private int[] values;
+	private int size;
+	private int resizeAt;
+	
+	public IntIntHashMap() {
+		this(4);
+	}
+	
+	public IntIntHashMap(final int expectedSize) {
+		this.allocate(Math.max(4, Integer.highestOneBit(Math.max(1, (int) (expectedSize / LOAD_FACTOR))) << 1));
+	}
+	
+	public int size() {
+		return this.size;
+	}
+	
+	public int get(final int key, final int defaultValue) {
+		final int slot = this.slot(key);
+		return this.keys[slot] == FREE ? defaultValue : this.values[slot];
+	}
+	
+	public void put(final int key, final int value) {
+		final int slot = this.slot(key);
+		if (this.keys[slot] == FREE) {
+			this.insert(slot, key, value);
+		} else {
+			this.values[slot] = value;
+		}
+	}
+	
+	/**
+	 * Adds {@code delta} to the value of {@code key} (0 when absent) and returns the new value.
+	 */
+	public int addTo(final int key, final int delta) {
+		final int slot = this.slot(key);
+		if (this.keys[slot] == FREE) {
+			this.insert(slot, key, delta);
+			return delta;
+		}
+		return this.values[slot] += delta;
+	}
+	
+	public void forEach(final IntIntConsumer consumer) {
+		for (int i = 0; i < this.keys.length; i++) {
+			if (this.keys[i] != FREE) {
+				consumer.accept(this.keys[i], this.values[i]);
+			}
+		}
+	}
+	
+	private void insert(final int slot, final int key, final int value) {
+		if (key == FREE) {
+			throw new IllegalArgumentException("Integer.MIN_VALUE cannot be used as a key");
+		}
+		this.keys[slot] = key;
+		this.values[slot] = value;
+		if (++this.size > this.resizeAt) {
+			this.rehash();
+		}
+	}
+	
+	private int slot(final int key) {
+		final int mask = this.keys.length - 1;
+		int slot = mix(key) & mask;
+		while (this.keys[slot] != FREE && this.keys[slot] != key) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+	
+	private void rehash() {
+		final int[] oldKeys = this.keys;
+		final int[] oldValues = this.values;
+		this.allocate(oldKeys.length << 1);
+		final int mask = this.keys.length - 1;
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldKeys[i] != FREE) {
+				int slot = mix(oldKeys[i]) & mask;
+				while (this.keys[slot] != FREE) {
+					slot = (slot + 1) & mask;
+				}
+				this.keys[slot] = oldKeys[i];
+				this.values[slot] = oldValues[i];
+			}
+		}
+	}
+	
+	private void allocate(final int capacity) {
+		this.keys = new int[capacity];
+		this.values = new int[capacity];
+		Arrays.fill(this.keys, FREE);
+		this.resizeAt = (int) (capacity * LOAD_FACTOR);
+	}
+	
+	private static int mix(final int key) {
+		final int h = key * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+	
+	
+	
+}
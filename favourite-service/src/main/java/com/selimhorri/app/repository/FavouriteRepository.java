@@ -1,12 +1,51 @@
 package com.selimhorri.app.repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import com.selimhorri.app.domain.Favourite;
 import com.selimhorri.app.domain.id.FavouriteId;
 
 public interface FavouriteRepository extends JpaRepository<Favourite, FavouriteId> {
 	
+	/**
+	 * First page of a user's likes, served by idx_favourites_user_like_date.
+	 */
+	List<Favourite> findByUserIdOrderByLikeDateAscProductIdAsc(final Integer userId, final Pageable pageable);
+	
+	/**
+	 * Keyset page: likes strictly after the (likeDate, productId) cursor of the previous page.
+	 */
+	@Query("SELECT f FROM Favourite f WHERE f.userId = :userId "
+			+ "AND (f.likeDate > :likeDate OR (f.likeDate = :likeDate AND f.productId > :productId)) "
+			+ "ORDER BY f.likeDate ASC, f.productId ASC")
+	List<Favourite> findByUserIdAfter(
+			@Param("userId") final Integer userId, 
+			@Param("likeDate") final LocalDateTime likeDate, 
+			@Param("productId") final Integer productId, 
+			final Pageable pageable);
+	
+	/**
+	 * Rows of [productId, likeCount], used to seed product_like_counts.
+	 */
+	@Query("SELECT f.productId, COUNT(f) FROM Favourite f GROUP BY f.productId")
+	List<Object[]> countGroupByProductId();
 	
+	/**
+	 * Rows of [userId, productId] grouped by user, oldest like first; must be consumed
+	 * inside a transaction.
+	 */
+	@QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+	@Query("SELECT f.userId, f.productId FROM Favourite f ORDER BY f.userId ASC, f.likeDate ASC")
+	Stream<Object[]> streamUserProductPairs();
 	
 }
@@ -0,0 +1,21 @@
+package com.selimhorri.app.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.selimhorri.app.domain.ProductLikeCount;
+
+public interface ProductLikeCountRepository extends JpaRepository<ProductLikeCount, Integer> {
+	
+	@Modifying
+	@Query("UPDATE ProductLikeCount c SET c.likeCount = c.likeCount + :delta WHERE c.productId = :productId")
+	int incrementLikeCount(@Param("productId") final Integer productId, @Param("delta") final Long delta);
+	
+	List<ProductLikeCount> findAllByOrderByLikeCountDesc(final Pageable pageable);
+	
+}
@@ -2,10 +2,13 @@ package com.selimhorri.app.resource;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Set;
 
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -14,13 +17,21 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.domain.id.FavouriteId;
+import com.selimhorri.app.dto.BulkFavouriteResultDto;
 import com.selimhorri.app.dto.FavouriteDto;
+import com.selimhorri.app.dto.ProductLikeCountDto;
+import com.selimhorri.app.dto.RelatedProductDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.service.FavouriteBulkService;
 import com.selimhorri.app.service.FavouriteService;
+import com.selimhorri.app.service.ProductPopularityService;
+import com.selimhorri.app.service.RelatedProductService;
+import com.selimhorri.app.service.TrendingService;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -32,6 +43,10 @@ import lombok.extern.slf4j.Slf4j;
 public class FavouriteResource {
 	
 	private final FavouriteService favouriteService;
+	private final FavouriteBulkService favouriteBulkService;
+	private final ProductPopularityService productPopularityService;
+	private final TrendingService trendingService;
+	private final RelatedProductService relatedProductService;
 	
 	@GetMapping
 	public ResponseEntity<DtoCollectionResponse<FavouriteDto>> findAll() {
@@ -50,6 +65,50 @@ public class FavouriteResource {
 						LocalDateTime.parse(likeDate, DateTimeFormatter.ofPattern(AppConstant.LOCAL_DATE_TIME_FORMAT)))));
 	}
 	
+	@GetMapping("/user/{userId}")
+	public ResponseEntity<DtoCollectionResponse<FavouriteDto>> findAllByUserId(
+			@PathVariable("userId") final String userId, 
+			@RequestParam(value = "after", required = false) 
+			@DateTimeFormat(pattern = AppConstant.LOCAL_DATE_TIME_FORMAT) final LocalDateTime after, 
+			@RequestParam(value = "afterProductId", required = false) final Integer afterProductId, 
+			@RequestParam(value = "limit", defaultValue = "20") final int limit, 
+			@RequestParam(value = "expand", required = false) final Set<String> expand) {
+		log.info("*** FavouriteDto List, resource; fetch favourites page by userId *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.favouriteService.findAllByUserId(
+				Integer.parseInt(userId), after, afterProductId, limit, 
+				expand != null && expand.contains("product"))));
+	}
+	
+	@GetMapping("/products/{productId}/count")
+	public ResponseEntity<ProductLikeCountDto> findLikeCount(@PathVariable("productId") final String productId) {
+		log.info("*** ProductLikeCountDto, resource; fetch like count by productId *");
+		return ResponseEntity.ok(this.productPopularityService.findLikeCount(Integer.parseInt(productId)));
+	}
+	
+	@GetMapping("/products/{productId}/related")
+	public ResponseEntity<DtoCollectionResponse<RelatedProductDto>> findRelated(
+			@PathVariable("productId") final String productId, 
+			@RequestParam(value = "limit", defaultValue = "10") final int limit) {
+		log.info("*** RelatedProductDto List, resource; fetch related products by productId *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(
+				this.relatedProductService.findRelated(Integer.parseInt(productId), limit)));
+	}
+	
+	@GetMapping("/products/top")
+	public ResponseEntity<DtoCollectionResponse<ProductLikeCountDto>> findTopLiked(
+			@RequestParam(value = "limit", defaultValue = "10") final int limit) {
+		log.info("*** ProductLikeCountDto List, resource; fetch top liked products *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.productPopularityService.findTop(limit)));
+	}
+	
+	@GetMapping("/products/trending")
+	public ResponseEntity<DtoCollectionResponse<ProductLikeCountDto>> findTrending(
+			@RequestParam(value = "window", defaultValue = "1h") final String window, 
+			@RequestParam(value = "limit", defaultValue = "10") final int limit) {
+		log.info("*** ProductLikeCountDto List, resource; fetch trending products *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.trendingService.findTrending(window, limit)));
+	}
+	
 	@GetMapping("/find")
 	public ResponseEntity<FavouriteDto> findById(
 			@RequestBody 
@@ -68,6 +127,14 @@ public class FavouriteResource {
 		return ResponseEntity.ok(this.favouriteService.save(favouriteDto));
 	}
 	
+	@PostMapping("/bulk")
+	public ResponseEntity<DtoCollectionResponse<BulkFavouriteResultDto>> saveAll(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL") final List<FavouriteDto> favouriteDtos) {
+		log.info("*** BulkFavouriteResultDto List, resource; save favourites in bulk *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.favouriteBulkService.saveAll(favouriteDtos)));
+	}
+	
 	@PutMapping
 	public ResponseEntity<FavouriteDto> update(
 			@RequestBody 
@@ -0,0 +1,12 @@
+package com.selimhorri.app.service;
+
+import java.util.List;
+
+import com.selimhorri.app.dto.BulkFavouriteResultDto;
+import com.selimhorri.app.dto.FavouriteDto;
+
+public interface FavouriteBulkService {
+	
+	List<BulkFavouriteResultDto> saveAll(final List<FavouriteDto> favouriteDtos);
+	
+}
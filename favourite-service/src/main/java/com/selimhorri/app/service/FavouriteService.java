@@ -1,5 +1,6 @@
 package com.selimhorri.app.service;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import com.selimhorri.app.domain.id.FavouriteId;
@@ -9,6 +10,8 @@ public interface FavouriteService {
 	
 	List<FavouriteDto> findAll();
 	FavouriteDto findById(final FavouriteId favouriteId);
+	List<FavouriteDto> findAllByUserId(final Integer userId, final LocalDateTime afterLikeDate, 
+			final Integer afterProductId, final int limit, final boolean expandProduct);
 	FavouriteDto save(final FavouriteDto favouriteDto);
 	FavouriteDto update(final FavouriteDto favouriteDto);
 	void deleteById(final FavouriteId favouriteId);
@@ -0,0 +1,15 @@
+package com.selimhorri.app.service;
+
+import java.util.List;
+
+import com.selimhorri.app.dto.ProductLikeCountDto;
+
+public interface ProductPopularityService {
+	
+	void recordLike(final Integer productId);
+	void recordUnlike(final Integer productId);
+	ProductLikeCountDto findLikeCount(final Integer productId);
+	List<ProductLikeCountDto> findTop(final int limit);
+	void flush();
+	
+}
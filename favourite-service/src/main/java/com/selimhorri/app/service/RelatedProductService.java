@@ -0,0 +1,14 @@
+package com.selimhorri.app.service;
+
+import java.util.List;
+
+import com.selimhorri.app.dto.RelatedProductDto;
+
+public interface RelatedProductService {
+	
+	void recordLike(final Integer userId, final Integer productId);
+	void recordUnlike(final Integer userId, final Integer productId);
+	List<RelatedProductDto> findRelated(final Integer productId, final int limit);
+	void rebuild();
+	
+}
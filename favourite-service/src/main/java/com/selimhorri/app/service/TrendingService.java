@@ -0,0 +1,13 @@
+package com.selimhorri.app.service;
+
+import java.util.List;
+
+import com.selimhorri.app.dto.ProductLikeCountDto;
+
+public interface TrendingService {
+	
+	void recordLike(final Integer productId);
+	void recordUnlike(final Integer productId);
+	List<ProductLikeCountDto> findTrending(final String window, final int limit);
+	
+}
@@ -0,0 +1,192 @@
+package com.selimhorri.app.service.impl;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.selimhorri.app.domain.id.FavouriteId;
+import com.selimhorri.app.dto.BulkFavouriteResultDto;
+import com.selimhorri.app.dto.BulkWriteStatus;
+import com.selimhorri.app.dto.FavouriteDto;
+import com.selimhorri.app.exception.wrapper.FavouriteValidationException;
+import com.selimhorri.app.service.FavouriteBulkService;
+import com.selimhorri.app.service.ProductPopularityService;
+import com.selimhorri.app.service.RelatedProductService;
+import com.selimhorri.app.service.TrendingService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bulk favourite writes. Rows are validated and de-duplicated up front, then written in
+ * chunks of {@code bulk.chunk-size} rows, one transaction per chunk: a single query finds
+ * rows that already exist and the rest go out as JDBC batches of {@code bulk.batch-size}.
+ * If a chunk fails (e.g. a row was inserted concurrently) it is rolled back and its rows
+ * are retried one by one, so every row gets its own result.
+ */
+@Service
+@Slf4j
+public class FavouriteBulkServiceImpl implements FavouriteBulkService {
+	
+	private static final String INSERT_FAVOURITE = 
+			"INSERT INTO favourites (user_id, product_id, like_date) VALUES (?, ?, ?)";
+	private static final String SELECT_EXISTING_FAVOURITES = 
+			"SELECT user_id, product_id, like_date FROM favourites "
+			+ "WHERE user_id IN (:userIds) AND product_id IN (:productIds)";
+	
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final ProductPopularityService productPopularityService;
+	private final TrendingService trendingService;
+	private final RelatedProductService relatedProductService;
+	private final int batchSize;
+	private final int chunkSize;
+	private final int maxRows;
+	
+	public FavouriteBulkServiceImpl(
+			final NamedParameterJdbcTemplate jdbcTemplate, 
+			final TransactionTemplate transactionTemplate, 
+			final ProductPopularityService productPopularityService, 
+			final TrendingService trendingService, 
+			final RelatedProductService relatedProductService, 
+			@Value("${bulk.batch-size:100}") final int batchSize, 
+			@Value("${bulk.chunk-size:1000}") final int chunkSize, 
+			@Value("${bulk.max-rows:10000}") final int maxRows) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = transactionTemplate;
+		this.productPopularityService = productPopularityService;
+		this.trendingService = trendingService;
+		this.relatedProductService = relatedProductService;
+		this.batchSize = batchSize;
+		this.chunkSize = chunkSize;
+		this.maxRows = maxRows;
+	}
+	
+	@Override
+	public List<BulkFavouriteResultDto> saveAll(final List<FavouriteDto> favouriteDtos) {
+		log.info("*** BulkFavouriteResultDto List, service; save favourites in bulk *");
+		if (favouriteDtos.size() > this.maxRows) {
+			throw new FavouriteValidationException(String.format(
+					"Bulk request of %d rows exceeds the limit of %d rows", favouriteDtos.size(), this.maxRows));
+		}
+		
+		final BulkFavouriteResultDto[] results = new BulkFavouriteResultDto[favouriteDtos.size()];
+		final Set<FavouriteId> seen = new HashSet<>();
+		final List<Integer> pending = new ArrayList<>();
+		for (int i = 0; i < favouriteDtos.size(); i++) {
+			final FavouriteDto favouriteDto = favouriteDtos.get(i);
+			if (favouriteDto == null || favouriteDto.getUserId() == null 
+					|| favouriteDto.getProductId() == null || favouriteDto.getLikeDate() == null) {
+				results[i] = result(i, favouriteDto, BulkWriteStatus.FAILED, "userId, productId and likeDate must not be NULL");
+			} else if (!seen.add(id(favouriteDto))) {
+				results[i] = result(i, favouriteDto, BulkWriteStatus.DUPLICATE, "Duplicated within the request");
+			} else {
+				pending.add(i);
+			}
+		}
+		
+		for (int from = 0; from < pending.size(); from += this.chunkSize) {
+			this.saveChunk(favouriteDtos, pending.subList(from, Math.min(from + this.chunkSize, pending.size())), results);
+		}
+		return List.of(results);
+	}
+	
+	private void saveChunk(final List<FavouriteDto> favouriteDtos, final List<Integer> chunk, 
+			final BulkFavouriteResultDto[] results) {
+		final List<Integer> created;
+		try {
+			created = this.transactionTemplate.execute(status -> {
+				final Set<FavouriteId> existing = this.findExisting(chunk.stream()
+						.map(favouriteDtos::get)
+						.collect(Collectors.toList()));
+				final List<Integer> toInsert = new ArrayList<>(chunk.size());
+				for (final Integer i : chunk) {
+					if (existing.contains(id(favouriteDtos.get(i)))) {
+						results[i] = result(i, favouriteDtos.get(i), BulkWriteStatus.DUPLICATE, "Favourite already exists");
+					} else {
+						toInsert.add(i);
+					}
+				}
+				this.jdbcTemplate.getJdbcOperations().batchUpdate(INSERT_FAVOURITE, toInsert, this.batchSize, 
+						(ps, i) -> {
+							final FavouriteDto favouriteDto = favouriteDtos.get(i);
+							ps.setInt(1, favouriteDto.getUserId());
+							ps.setInt(2, favouriteDto.getProductId());
+							ps.setTimestamp(3, Timestamp.valueOf(favouriteDto.getLikeDate()));
+						});
+				return toInsert;
+			});
+		} catch (DataAccessException e) {
+			log.warn("*** Bulk chunk of {} rows failed, retrying row by row: {} *", chunk.size(), e.getMessage());
+			chunk.forEach(i -> this.saveOne(i, favouriteDtos.get(i), results));
+			return;
+		}
+		created.forEach(i -> {
+			results[i] = result(i, favouriteDtos.get(i), BulkWriteStatus.CREATED, null);
+			this.recordLike(favouriteDtos.get(i));
+		});
+	}
+	
+	private void saveOne(final int index, final FavouriteDto favouriteDto, final BulkFavouriteResultDto[] results) {
+		try {
+			this.transactionTemplate.executeWithoutResult(status -> this.jdbcTemplate.getJdbcOperations()
+					.update(INSERT_FAVOURITE, favouriteDto.getUserId(), favouriteDto.getProductId(), 
+							Timestamp.valueOf(favouriteDto.getLikeDate())));
+			results[index] = result(index, favouriteDto, BulkWriteStatus.CREATED, null);
+			this.recordLike(favouriteDto);
+		} catch (DataIntegrityViolationException e) {
+			results[index] = result(index, favouriteDto, BulkWriteStatus.DUPLICATE, "Favourite already exists");
+		} catch (DataAccessException e) {
+			results[index] = result(index, favouriteDto, BulkWriteStatus.FAILED, e.getMostSpecificCause().getMessage());
+		}
+	}
+	
+	private Set<FavouriteId> findExisting(final List<FavouriteDto> favouriteDtos) {
+		return this.jdbcTemplate.query(SELECT_EXISTING_FAVOURITES, 
+				Map.of(
+						"userIds", favouriteDtos.stream().map(FavouriteDto::getUserId).collect(Collectors.toSet()), 
+						"productIds", favouriteDtos.stream().map(FavouriteDto::getProductId).collect(Collectors.toSet())), 
+				(rs, rowNum) -> new FavouriteId(rs.getInt("user_id"), rs.getInt("product_id"), 
+						rs.getTimestamp("like_date").toLocalDateTime()))
+				.stream()
+					.collect(Collectors.toSet());
+	}
+	
+	/**
+	 * Same side effects as a single-row save.
+	 */
+	private void recordLike(final FavouriteDto favouriteDto) {
+		this.productPopularityService.recordLike(favouriteDto.getProductId());
+		this.trendingService.recordLike(favouriteDto.getProductId());
+		this.relatedProductService.recordLike(favouriteDto.getUserId(), favouriteDto.getProductId());
+	}
+	
+	private static FavouriteId id(final FavouriteDto favouriteDto) {
+		return new FavouriteId(favouriteDto.getUserId(), favouriteDto.getProductId(), favouriteDto.getLikeDate());
+	}
+	
+	private static BulkFavouriteResultDto result(final int index, final FavouriteDto favouriteDto, 
+			final BulkWriteStatus status, final String message) {
+		return BulkFavouriteResultDto.builder()
+				.index(index)
+				.userId(favouriteDto != null ? favouriteDto.getUserId() : null)
+				.productId(favouriteDto != null ? favouriteDto.getProductId() : null)
+				.likeDate(favouriteDto != null ? favouriteDto.getLikeDate() : null)
+				.status(status)
+				.message(message)
+				.build();
+	}
+	
+	
+	
+}
@@ -1,14 +1,19 @@
 package com.selimhorri.app.service.impl;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import javax.transaction.Transactional;
 
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
-import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.client.ConcurrentEnrichmentClient;
+import com.selimhorri.app.client.EnrichmentClient;
+import com.selimhorri.app.domain.Favourite;
 import com.selimhorri.app.domain.id.FavouriteId;
 import com.selimhorri.app.dto.FavouriteDto;
 import com.selimhorri.app.dto.ProductDto;
@@ -17,6 +22,9 @@ import com.selimhorri.app.exception.wrapper.FavouriteNotFoundException;
 import com.selimhorri.app.helper.FavouriteMappingHelper;
 import com.selimhorri.app.repository.FavouriteRepository;
 import com.selimhorri.app.service.FavouriteService;
+import com.selimhorri.app.service.ProductPopularityService;
+import com.selimhorri.app.service.RelatedProductService;
+import com.selimhorri.app.service.TrendingService;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -27,26 +35,23 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class FavouriteServiceImpl implements FavouriteService {
 	
+	private static final int MAX_PAGE_SIZE = 100;
+	
 	private final FavouriteRepository favouriteRepository;
-	private final RestTemplate restTemplate;
+	private final EnrichmentClient enrichmentClient;
+	private final ConcurrentEnrichmentClient concurrentEnrichmentClient;
+	private final ProductPopularityService productPopularityService;
+	private final TrendingService trendingService;
+	private final RelatedProductService relatedProductService;
 	
 	@Override
 	public List<FavouriteDto> findAll() {
 		log.info("*** FavouriteDto List, service; fetch all favourites *");
-		return this.favouriteRepository.findAll()
+		return this.enrich(this.favouriteRepository.findAll()
 				.stream()
 					.map(FavouriteMappingHelper::map)
-					.map(f -> {
-						f.setUserDto(this.restTemplate
-								.getForObject(AppConstant.DiscoveredDomainsApi
-										.USER_SERVICE_API_URL + "/" + f.getUserId(), UserDto.class));
-						f.setProductDto(this.restTemplate
-								.getForObject(AppConstant.DiscoveredDomainsApi
-										.PRODUCT_SERVICE_API_URL + "/" + f.getProductId(), ProductDto.class));
-						return f;
-					})
 					.distinct()
-					.collect(Collectors.toUnmodifiableList());
+					.collect(Collectors.toUnmodifiableList()));
 	}
 	
 	@Override
@@ -54,34 +59,84 @@ public class FavouriteServiceImpl implements FavouriteService {
 		log.info("*** FavouriteDto, service; fetch favourite by id *");
 		return this.favouriteRepository.findById(favouriteId)
 				.map(FavouriteMappingHelper::map)
-				.map(f -> {
-					f.setUserDto(this.restTemplate
-							.getForObject(AppConstant.DiscoveredDomainsApi
-									.USER_SERVICE_API_URL + "/" + f.getUserId(), UserDto.class));
-					f.setProductDto(this.restTemplate
-							.getForObject(AppConstant.DiscoveredDomainsApi
-									.PRODUCT_SERVICE_API_URL + "/" + f.getProductId(), ProductDto.class));
-					return f;
-				})
+				.map(this.concurrentEnrichmentClient::enrich)
 				.orElseThrow(() -> new FavouriteNotFoundException(
 						String.format("Favourite with id: [%s] not found!", favouriteId)));
 	}
 	
+	@Override
+	public List<FavouriteDto> findAllByUserId(final Integer userId, final LocalDateTime afterLikeDate, 
+			final Integer afterProductId, final int limit, final boolean expandProduct) {
+		log.info("*** FavouriteDto List, service; fetch favourites page by userId *");
+		final Pageable page = PageRequest.of(0, Math.min(Math.max(limit, 1), MAX_PAGE_SIZE));
+		// Without a product cursor the page starts strictly after afterLikeDate
+		final List<Favourite> favourites = (afterLikeDate == null)
+				? this.favouriteRepository.findByUserIdOrderByLikeDateAscProductIdAsc(userId, page)
+				: this.favouriteRepository.findByUserIdAfter(userId, afterLikeDate, 
+						afterProductId != null ? afterProductId : Integer.MAX_VALUE, page);
+		final List<FavouriteDto> favouriteDtos = favourites.stream()
+				.map(FavouriteMappingHelper::map)
+				.collect(Collectors.toUnmodifiableList());
+		
+		if (expandProduct) {
+			final Map<Integer, ProductDto> products = this.enrichmentClient.fetchProducts(favouriteDtos.stream()
+					.map(FavouriteDto::getProductId)
+					.collect(Collectors.toSet()));
+			favouriteDtos.forEach(f -> f.setProductDto(products.getOrDefault(f.getProductId(), f.getProductDto())));
+		}
+		return favouriteDtos;
+	}
+	
 	@Override
 	public FavouriteDto save(final FavouriteDto favouriteDto) {
-		return FavouriteMappingHelper.map(this.favouriteRepository
-				.save(FavouriteMappingHelper.map(favouriteDto)));
+		return this.persist(favouriteDto);
 	}
 	
 	@Override
 	public FavouriteDto update(final FavouriteDto favouriteDto) {
-		return FavouriteMappingHelper.map(this.favouriteRepository
-				.save(FavouriteMappingHelper.map(favouriteDto)));
+		return this.persist(favouriteDto);
 	}
 	
 	@Override
 	public void deleteById(final FavouriteId favouriteId) {
 		this.favouriteRepository.deleteById(favouriteId);
+		this.productPopularityService.recordUnlike(favouriteId.getProductId());
+		this.trendingService.recordUnlike(favouriteId.getProductId());
+		this.relatedProductService.recordUnlike(favouriteId.getUserId(), favouriteId.getProductId());
+	}
+	
+	/**
+	 * Saves the favourite, counting a like only when the row did not exist yet.
+	 */
+	private FavouriteDto persist(final FavouriteDto favouriteDto) {
+		final Favourite favourite = FavouriteMappingHelper.map(favouriteDto);
+		final boolean isNew = !this.favouriteRepository.existsById(
+				new FavouriteId(favourite.getUserId(), favourite.getProductId(), favourite.getLikeDate()));
+		final FavouriteDto saved = FavouriteMappingHelper.map(this.favouriteRepository.save(favourite));
+		if (isNew) {
+			this.productPopularityService.recordLike(saved.getProductId());
+			this.trendingService.recordLike(saved.getProductId());
+			this.relatedProductService.recordLike(saved.getUserId(), saved.getProductId());
+		}
+		return saved;
+	}
+	
+	/**
+	 * Resolves users and products for the whole page with batch lookups; rows whose
+	 * user or product could not be resolved keep the id-only placeholder.
+	 */
+	private List<FavouriteDto> enrich(final List<FavouriteDto> favouriteDtos) {
+		final Map<Integer, UserDto> users = this.enrichmentClient.fetchUsers(favouriteDtos.stream()
+				.map(FavouriteDto::getUserId)
+				.collect(Collectors.toSet()));
+		final Map<Integer, ProductDto> products = this.enrichmentClient.fetchProducts(favouriteDtos.stream()
+				.map(FavouriteDto::getProductId)
+				.collect(Collectors.toSet()));
+		favouriteDtos.forEach(f -> {
+			f.setUserDto(users.getOrDefault(f.getUserId(), f.getUserDto()));
+			f.setProductDto(products.getOrDefault(f.getProductId(), f.getProductDto()));
+		});
+		return favouriteDtos;
 	}
 	
 	
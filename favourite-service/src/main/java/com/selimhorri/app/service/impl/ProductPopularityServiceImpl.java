@@ -0,0 +1,158 @@
+package com.selimhorri.app.service.impl;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.selimhorri.app.domain.ProductLikeCount;
+import com.selimhorri.app.dto.ProductLikeCountDto;
+import com.selimhorri.app.helper.TransactionSynchronizationHelper;
+import com.selimhorri.app.repository.FavouriteRepository;
+import com.selimhorri.app.repository.ProductLikeCountRepository;
+import com.selimhorri.app.service.ProductPopularityService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Per-product like counts served from memory. Likes and unlikes only bump a striped
+ * {@link LongAdder} per product, so hot products never contend on a single row; the
+ * accumulated deltas are written to product_like_counts on a fixed delay, one UPDATE
+ * per touched product. Counts read by other instances converge on the next refresh.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ProductPopularityServiceImpl implements ProductPopularityService {
+	
+	private static final int MAX_TOP_SIZE = 100;
+	
+	private final ProductLikeCountRepository productLikeCountRepository;
+	private final FavouriteRepository favouriteRepository;
+	private final TransactionTemplate transactionTemplate;
+	
+	/** Counts as last read from / written to product_like_counts. */
+	private final Map<Integer, Long> persistedCounts = new ConcurrentHashMap<>();
+	
+	/** Deltas not yet flushed. */
+	private final Map<Integer, LongAdder> pendingDeltas = new ConcurrentHashMap<>();
+	
+	/**
+	 * Counts only change once the favourite row is committed.
+	 */
+	@Override
+	public void recordLike(final Integer productId) {
+		TransactionSynchronizationHelper.afterCommit(() -> this.pendingDeltas
+				.computeIfAbsent(productId, id -> new LongAdder()).increment());
+	}
+	
+	@Override
+	public void recordUnlike(final Integer productId) {
+		TransactionSynchronizationHelper.afterCommit(() -> this.pendingDeltas
+				.computeIfAbsent(productId, id -> new LongAdder()).decrement());
+	}
+	
+	@Override
+	public ProductLikeCountDto findLikeCount(final Integer productId) {
+		log.info("*** ProductLikeCountDto, service; fetch like count by productId *");
+		final LongAdder pending = this.pendingDeltas.get(productId);
+		final long likeCount = this.persistedCounts.getOrDefault(productId, 0L) 
+				+ (pending != null ? pending.sum() : 0L);
+		return new ProductLikeCountDto(productId, Math.max(likeCount, 0L));
+	}
+	
+	/**
+	 * Served from the like_count index, so the ranking lags by at most one flush interval.
+	 */
+	@Override
+	public List<ProductLikeCountDto> findTop(final int limit) {
+		log.info("*** ProductLikeCountDto List, service; fetch top liked products *");
+		return this.productLikeCountRepository
+				.findAllByOrderByLikeCountDesc(PageRequest.of(0, Math.min(Math.max(limit, 1), MAX_TOP_SIZE)))
+				.stream()
+					.map(c -> new ProductLikeCountDto(c.getProductId(), c.getLikeCount()))
+					.collect(Collectors.toUnmodifiableList());
+	}
+	
+	@Override
+	@Scheduled(initialDelayString = "${popularity.flush-interval-ms:5000}", 
+			fixedDelayString = "${popularity.flush-interval-ms:5000}")
+	public synchronized void flush() {
+		this.pendingDeltas.forEach((productId, pending) -> {
+			final long delta = pending.sumThenReset();
+			if (delta == 0L) {
+				return;
+			}
+			try {
+				// a missing row is inserted with the clamped delta, so merge exactly what was written
+				final long written = this.transactionTemplate.execute(status -> {
+					if (this.productLikeCountRepository.incrementLikeCount(productId, delta) == 0) {
+						this.productLikeCountRepository.save(ProductLikeCount.builder()
+								.productId(productId)
+								.likeCount(Math.max(delta, 0L))
+								.build());
+						return Math.max(delta, 0L);
+					}
+					return delta;
+				});
+				this.persistedCounts.merge(productId, written, Long::sum);
+			} catch (DataAccessException e) {
+				// keep the delta for the next flush
+				log.warn("*** Could not flush like count for productId {}: {} *", productId, e.getMessage());
+				pending.add(delta);
+			}
+		});
+	}
+	
+	/**
+	 * Picks up counts flushed by other instances.
+	 */
+	@Scheduled(initialDelayString = "${popularity.refresh-interval-ms:60000}", 
+			fixedDelayString = "${popularity.refresh-interval-ms:60000}")
+	public synchronized void refresh() {
+		this.productLikeCountRepository.findAll()
+				.forEach(c -> this.persistedCounts.put(c.getProductId(), c.getLikeCount()));
+	}
+	
+	/**
+	 * Loads persisted counts, seeding product_like_counts from favourites on first start.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public synchronized void load() {
+		try {
+			if (this.productLikeCountRepository.count() == 0L) {
+				this.transactionTemplate.executeWithoutResult(status -> this.productLikeCountRepository
+						.saveAll(this.favouriteRepository.countGroupByProductId().stream()
+								.map(row -> ProductLikeCount.builder()
+										.productId((Integer) row[0])
+										.likeCount((Long) row[1])
+										.build())
+								.collect(Collectors.toList())));
+			}
+		} catch (DataAccessException e) {
+			// another instance seeded the table concurrently
+			log.warn("*** Could not seed product like counts: {} *", e.getMessage());
+		}
+		this.refresh();
+	}
+	
+	@PreDestroy
+	public void shutdown() {
+		this.flush();
+	}
+	
+	
+	
+}
@@ -0,0 +1,120 @@
+package com.selimhorri.app.service.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.selimhorri.app.dto.RelatedProductDto;
+import com.selimhorri.app.helper.TransactionSynchronizationHelper;
+import com.selimhorri.app.recommendation.CoLikeIndex;
+import com.selimhorri.app.repository.FavouriteRepository;
+import com.selimhorri.app.service.RelatedProductService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Serves "also liked" products from an in-memory {@link CoLikeIndex}. The index is built
+ * by streaming the favourites table once at startup and then kept current by committed
+ * likes and unlikes; changes recorded while a rebuild is running are replayed into the
+ * new index before it replaces the old one. A failed rebuild keeps serving the old index.
+ */
+@Service
+@Slf4j
+public class RelatedProductServiceImpl implements RelatedProductService {
+	
+	private static final int MAX_RELATED_SIZE = 50;
+	
+	private final FavouriteRepository favouriteRepository;
+	private final TransactionTemplate transactionTemplate;
+	private final int maxLikesPerUser;
+	private final int maxRelatedPerProduct;
+	
+	/** Guarded by this. */
+	private CoLikeIndex index;
+	private List<Consumer<CoLikeIndex>> changesDuringRebuild;
+	
+	public RelatedProductServiceImpl(
+			final FavouriteRepository favouriteRepository, 
+			final TransactionTemplate transactionTemplate, 
+			@Value("${recommendation.max-likes-per-user:200}") final int maxLikesPerUser, 
+			@Value("${recommendation.max-related-per-product:64}") final int maxRelatedPerProduct) {
+		this.favouriteRepository = favouriteRepository;
+		this.transactionTemplate = transactionTemplate;
+		this.maxLikesPerUser = maxLikesPerUser;
+		this.maxRelatedPerProduct = maxRelatedPerProduct;
+		this.index = new CoLikeIndex(maxLikesPerUser, maxRelatedPerProduct);
+	}
+	
+	@Override
+	public void recordLike(final Integer userId, final Integer productId) {
+		TransactionSynchronizationHelper.afterCommit(() -> 
+				this.apply(coLikes -> coLikes.addLike(userId, productId)));
+	}
+	
+	@Override
+	public void recordUnlike(final Integer userId, final Integer productId) {
+		TransactionSynchronizationHelper.afterCommit(() -> 
+				this.apply(coLikes -> coLikes.removeLike(userId, productId)));
+	}
+	
+	@Override
+	public synchronized List<RelatedProductDto> findRelated(final Integer productId, final int limit) {
+		log.info("*** RelatedProductDto List, service; fetch related products by productId *");
+		final int[][] related = this.index.related(productId, Math.min(Math.max(limit, 1), MAX_RELATED_SIZE));
+		final List<RelatedProductDto> relatedProductDtos = new ArrayList<>(related[0].length);
+		for (int i = 0; i < related[0].length; i++) {
+			relatedProductDtos.add(new RelatedProductDto(related[0][i], related[1][i]));
+		}
+		return relatedProductDtos;
+	}
+	
+	@Override
+	@EventListener(ApplicationReadyEvent.class)
+	public void rebuild() {
+		synchronized (this) {
+			if (this.changesDuringRebuild != null) {
+				return;
+			}
+			this.changesDuringRebuild = new ArrayList<>();
+		}
+		final CoLikeIndex rebuilt = new CoLikeIndex(this.maxLikesPerUser, this.maxRelatedPerProduct);
+		final long likes;
+		try {
+			likes = this.transactionTemplate.execute(status -> {
+				try (Stream<Object[]> pairs = this.favouriteRepository.streamUserProductPairs()) {
+					return pairs.filter(pair -> rebuilt.addLike((Integer) pair[0], (Integer) pair[1])).count();
+				}
+			});
+		} catch (RuntimeException e) {
+			// the old index already holds every change recorded meanwhile
+			synchronized (this) {
+				this.changesDuringRebuild = null;
+			}
+			throw e;
+		}
+		synchronized (this) {
+			// likes already streamed are ignored by the index, unlikes of rows never streamed too
+			this.changesDuringRebuild.forEach(change -> change.accept(rebuilt));
+			this.changesDuringRebuild = null;
+			this.index = rebuilt;
+		}
+		log.info("*** Related products index built from {} likes *", likes);
+	}
+	
+	private synchronized void apply(final Consumer<CoLikeIndex> change) {
+		change.accept(this.index);
+		if (this.changesDuringRebuild != null) {
+			this.changesDuringRebuild.add(change);
+		}
+	}
+	
+	
+	
+}
@@ -0,0 +1,82 @@
+package com.selimhorri.app.service.impl;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.selimhorri.app.dto.ProductLikeCountDto;
+import com.selimhorri.app.exception.wrapper.FavouriteValidationException;
+import com.selimhorri.app.helper.TransactionSynchronizationHelper;
+import com.selimhorri.app.service.TrendingService;
+import com.selimhorri.app.trending.SlidingWindowTopK;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * "Trending now" products over the last hour and day, estimated from likes as they are
+ * saved; the favourites table is never scanned and memory does not grow with traffic.
+ */
+@Service
+@Slf4j
+public class TrendingServiceImpl implements TrendingService {
+	
+	private final SlidingWindowTopK lastHour;
+	private final SlidingWindowTopK lastDay;
+	private final int capacity;
+	
+	public TrendingServiceImpl(
+			@Value("${trending.sketch-width:2048}") final int sketchWidth, 
+			@Value("${trending.sketch-depth:4}") final int sketchDepth, 
+			@Value("${trending.capacity:100}") final int capacity) {
+		this.lastHour = new SlidingWindowTopK(Duration.ofHours(1).toMillis(), 12, sketchWidth, sketchDepth, capacity);
+		this.lastDay = new SlidingWindowTopK(Duration.ofDays(1).toMillis(), 24, sketchWidth, sketchDepth, capacity);
+		this.capacity = capacity;
+	}
+	
+	/**
+	 * Likes only count once the favourite row is committed.
+	 */
+	@Override
+	public void recordLike(final Integer productId) {
+		TransactionSynchronizationHelper.afterCommit(() -> {
+			final long now = System.currentTimeMillis();
+			this.lastHour.add(productId, now);
+			this.lastDay.add(productId, now);
+		});
+	}
+	
+	@Override
+	public void recordUnlike(final Integer productId) {
+		TransactionSynchronizationHelper.afterCommit(() -> {
+			final long now = System.currentTimeMillis();
+			this.lastHour.remove(productId, now);
+			this.lastDay.remove(productId, now);
+		});
+	}
+	
+	@Override
+	public List<ProductLikeCountDto> findTrending(final String window, final int limit) {
+		log.info("*** ProductLikeCountDto List, service; fetch trending products *");
+		final SlidingWindowTopK topK;
+		switch (window) {
+			case "1h":
+				topK = this.lastHour;
+				break;
+			case "24h":
+				topK = this.lastDay;
+				break;
+			default:
+				throw new FavouriteValidationException(String.format("Unsupported trending window: [%s]", window));
+		}
+		return topK.top(Math.min(Math.max(limit, 1), this.capacity), System.currentTimeMillis())
+				.stream()
+					.map(entry -> new ProductLikeCountDto((int) entry[0], entry[1]))
+					.collect(Collectors.toUnmodifiableList());
+	}
+	
+	
+	
+}
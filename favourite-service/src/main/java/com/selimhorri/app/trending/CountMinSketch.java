@@ -0,0 +1,73 @@
+package com.selimhorri.app.trending;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Fixed-size count-min sketch over int keys. Counters are updated lock-free;
+ * estimates never undercount and overcount by at most ~e/width of the total.
+ */
+public final class CountMinSketch {
+	
+	private static final int[] SEEDS = { 0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F, 0x165667B1, 0xD3A2646C };
+	
+	private final int depth;
+	private final int mask;
+	private final AtomicIntegerArray counters;
+	
+	/**
+	 * @param width counters per row, rounded up to a power of two
+	 * @param depth number of rows (hash functions), at most 6
+	 */
+	public CountMinSketch(final int width, final int depth) {
+		if (width < 1 || depth < 1 || depth > SEEDS.length) {
+			throw new IllegalArgumentException("Invalid count-min sketch dimensions");
+		}
+		final int roundedWidth = Integer.highestOneBit(width) == width ? width : Integer.highestOneBit(width) << 1;
+		this.depth = depth;
+		this.mask = roundedWidth - 1;
+		this.counters = new AtomicIntegerArray(roundedWidth * depth);
+	}
+	
+	public void add(final int key) {
+		for (int row = 0; row < this.depth; row++) {
+			this.counters.getAndIncrement(this.index(row, key));
+		}
+	}
+	
+	/**
+	 * Takes back one earlier {@link #add(int)} of the key; counters never go below zero.
+	 */
+	public void remove(final int key) {
+		for (int row = 0; row < this.depth; row++) {
+			this.counters.getAndUpdate(this.index(row, key), count -> count > 0 ? count - 1 : 0);
+		}
+	}
+	
+	public int estimate(final int key) {
+		int min = Integer.MAX_VALUE;
+		for (int row = 0; row < this.depth; row++) {
+			min = Math.min(min, this.counters.get(this.index(row, key)));
+		}
+		return min;
+	}
+	
+	public void clear() {
+		for (int i = 0; i < this.counters.length(); i++) {
+			this.counters.set(i, 0);
+		}
+	}
+	
+	private int index(final int row, final int key) {
+		// murmur3 fmix32 of the seeded key
+		int h = key * SEEDS[row];
+		h ^= h >>> 16;
+		h *= 0x85EBCA6B;
+		h ^= h >>> 13;
+		h *= 0xC2B2AE35;
+		h ^= h >>> 16;
+		return row * (this.mask + 1) + (h & this.mask);
+	}
+	
+	
+	
+}
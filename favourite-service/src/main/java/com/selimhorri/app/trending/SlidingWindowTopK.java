@@ -0,0 +1,151 @@
+package com.selimhorri.app.trending;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Heavy hitters over a sliding time window. The window is a ring of count-min sketches,
+ * one per time bucket, and a bounded candidate table keeps the keys with the highest
+ * estimates; memory is fixed by the bucket count, sketch size and candidate capacity,
+ * regardless of how many keys or events are ingested.
+ */
+public final class SlidingWindowTopK {
+	
+	private final CountMinSketch[] buckets;
+	private final long bucketMillis;
+	private final int capacity;
+	
+	/** Guarded by this: candidate keys and their last estimate. */
+	private final Map<Integer, Long> candidates;
+	private long minCandidateEstimate;
+	private volatile long currentEpoch;
+	
+	/**
+	 * @param windowMillis window length, split into {@code bucketCount} buckets
+	 * @param capacity number of candidate keys tracked, should exceed the largest requested k
+	 */
+	public SlidingWindowTopK(final long windowMillis, final int bucketCount, 
+			final int sketchWidth, final int sketchDepth, final int capacity) {
+		if (windowMillis < bucketCount || bucketCount < 1 || capacity < 1) {
+			throw new IllegalArgumentException("Invalid sliding window dimensions");
+		}
+		this.buckets = new CountMinSketch[bucketCount];
+		for (int i = 0; i < bucketCount; i++) {
+			this.buckets[i] = new CountMinSketch(sketchWidth, sketchDepth);
+		}
+		this.bucketMillis = windowMillis / bucketCount;
+		this.capacity = capacity;
+		this.candidates = new HashMap<>(capacity * 2);
+	}
+	
+	public void add(final int key, final long nowMillis) {
+		this.advance(nowMillis);
+		this.buckets[(int) (this.currentEpoch % this.buckets.length)].add(key);
+		this.offer(key, this.estimate(key));
+	}
+	
+	/**
+	 * Takes back one occurrence of the key from the most recent bucket that still counts
+	 * it; a no-op once the key has left the window.
+	 */
+	public void remove(final int key, final long nowMillis) {
+		this.advance(nowMillis);
+		for (int age = 0; age < this.buckets.length; age++) {
+			final CountMinSketch bucket = this.buckets[(int) Math.floorMod(this.currentEpoch - age, this.buckets.length)];
+			if (bucket.estimate(key) > 0) {
+				bucket.remove(key);
+				break;
+			}
+		}
+		synchronized (this) {
+			if (this.candidates.containsKey(key)) {
+				final long estimate = this.estimate(key);
+				if (estimate == 0L) {
+					this.candidates.remove(key);
+				} else {
+					this.candidates.put(key, estimate);
+				}
+				this.refreshMinimum();
+			}
+		}
+	}
+	
+	/**
+	 * Estimated count of the key over the whole window.
+	 */
+	public long estimate(final int key) {
+		long sum = 0L;
+		for (final CountMinSketch bucket : this.buckets) {
+			sum += bucket.estimate(key);
+		}
+		return sum;
+	}
+	
+	/**
+	 * Up to {@code k} keys with the highest estimates, as [key, estimate] pairs in descending order.
+	 */
+	public List<long[]> top(final int k, final long nowMillis) {
+		this.advance(nowMillis);
+		final List<long[]> top = new ArrayList<>();
+		synchronized (this) {
+			this.candidates.keySet().forEach(key -> top.add(new long[] { key, this.estimate(key) }));
+		}
+		top.removeIf(entry -> entry[1] == 0L);
+		top.sort(Comparator.comparingLong((long[] entry) -> entry[1]).reversed()
+				.thenComparingLong(entry -> entry[0]));
+		return top.size() > k ? List.copyOf(top.subList(0, k)) : top;
+	}
+	
+	private synchronized void offer(final int key, final long estimate) {
+		if (this.candidates.containsKey(key) || this.candidates.size() < this.capacity) {
+			final Long previous = this.candidates.put(key, estimate);
+			if (this.candidates.size() == this.capacity 
+					&& (previous == null || previous == this.minCandidateEstimate)) {
+				this.refreshMinimum();
+			}
+			return;
+		}
+		if (estimate <= this.minCandidateEstimate) {
+			return;
+		}
+		this.candidates.values().remove(this.minCandidateEstimate);
+		this.candidates.put(key, estimate);
+		this.refreshMinimum();
+	}
+	
+	/**
+	 * Clears buckets that fell out of the window and re-estimates candidates against what remains.
+	 */
+	private void advance(final long nowMillis) {
+		final long epoch = nowMillis / this.bucketMillis;
+		if (epoch <= this.currentEpoch) {
+			return;
+		}
+		synchronized (this) {
+			if (epoch <= this.currentEpoch) {
+				return;
+			}
+			final long expired = Math.min(epoch - this.currentEpoch, this.buckets.length);
+			for (long e = epoch - expired + 1; e <= epoch; e++) {
+				this.buckets[(int) (e % this.buckets.length)].clear();
+			}
+			this.currentEpoch = epoch;
+			this.candidates.replaceAll((key, estimate) -> this.estimate(key));
+			this.candidates.values().removeIf(estimate -> estimate == 0L);
+			this.refreshMinimum();
+		}
+	}
+	
+	private void refreshMinimum() {
+		this.minCandidateEstimate = this.candidates.values().stream()
+				.mapToLong(Long::longValue)
+				.min()
+				.orElse(0L);
+	}
+	
+	
+	
+}
@@ -0,0 +1,11 @@
+
+CREATE TABLE product_like_counts (
+	product_id INT(11) NOT NULL PRIMARY KEY,
+	like_count BIGINT DEFAULT 0 NOT NULL,
+	created_at TIMESTAMP DEFAULT LOCALTIMESTAMP NOT NULL NULL_TO_DEFAULT,
+	updated_at TIMESTAMP
+);
+
+CREATE INDEX idx_product_like_counts_like_count 
+	ON product_like_counts (like_count);
+
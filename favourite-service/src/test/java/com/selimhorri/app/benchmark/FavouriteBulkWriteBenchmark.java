@@ -0,0 +1,126 @@
+package com.selimhorri.app.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.selimhorri.app.FavouriteServiceApplication;
+import com.selimhorri.app.dto.FavouriteDto;
+import com.selimhorri.app.service.FavouriteBulkService;
+import com.selimhorri.app.service.FavouriteService;
+
+/**
+ * Write throughput of {@code rows} likes through FavouriteServiceImpl.save (one JPA
+ * transaction with an existence check and an INSERT per row) versus
+ * FavouriteBulkServiceImpl (chunked transactions, JDBC batches). Both run as the
+ * application's own beans, started with the test profile against in-memory H2, so
+ * commit and round-trip costs are far lower than on MySQL and the measured gap is a
+ * lower bound.
+ * 
+ * Run with:
+ *   mvn -pl favourite-service test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=com.selimhorri.app.benchmark.FavouriteBulkWriteBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FavouriteBulkWriteBenchmark {
+
+    @Param({"1000", "10000"})
+    public int rows;
+
+    @Param({"100"})
+    public int batchSize;
+
+    @Param({"1000"})
+    public int chunkSize;
+
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private FavouriteService favouriteService;
+    private FavouriteBulkService bulkService;
+    private List<FavouriteDto> favourites;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.context = new SpringApplicationBuilder(FavouriteServiceApplication.class)
+                .profiles("test")
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:bulk_benchmark;DB_CLOSE_DELAY=-1", 
+                        "bulk.batch-size=" + this.batchSize, 
+                        "bulk.chunk-size=" + this.chunkSize, 
+                        "bulk.max-rows=" + Integer.MAX_VALUE, 
+                        "logging.level.com.selimhorri=WARN", 
+                        "logging.level.org.springframework.web=WARN")
+                .run();
+        this.jdbcTemplate = this.context.getBean(JdbcTemplate.class);
+        this.favouriteService = this.context.getBean(FavouriteService.class);
+        this.bulkService = this.context.getBean(FavouriteBulkService.class);
+        final LocalDateTime likeDate = LocalDateTime.of(2024, 1, 1, 0, 0);
+        this.favourites = IntStream.range(0, this.rows)
+                .mapToObj(i -> FavouriteDto.builder()
+                        .userId(i / 50)
+                        .productId(i % 50)
+                        .likeDate(likeDate)
+                        .build())
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    @Setup(Level.Invocation)
+    public void truncate() {
+        this.jdbcTemplate.execute("TRUNCATE TABLE favourites");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.context.close();
+    }
+
+    @Benchmark
+    public void singleRow(final Blackhole blackhole) {
+        for (final FavouriteDto favourite : this.favourites) {
+            blackhole.consume(this.favouriteService.save(favourite));
+        }
+    }
+
+    @Benchmark
+    public void bulk(final Blackhole blackhole) {
+        blackhole.consume(this.bulkService.saveAll(this.favourites));
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(FavouriteBulkWriteBenchmark.class.getSimpleName())
+                .build())
+            .run();
+    }
+
+}
@@ -0,0 +1,172 @@
+package com.selimhorri.app.benchmark;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
+
+import com.selimhorri.app.client.EnrichmentClient;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.dto.FavouriteDto;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+
+/**
+ * Compares the legacy per-row enrichment of favourites (2 HTTP calls per row)
+ * with the batch enrichment used by FavouriteServiceImpl.findAll().
+ * Every downstream call is simulated with a fixed latency, and the number of
+ * calls made by one invocation is reported as the "downstreamCalls" counter.
+ * 
+ * Run with:
+ *   mvn -pl favourite-service test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=com.selimhorri.app.benchmark.FavouriteEnrichmentBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class FavouriteEnrichmentBenchmark {
+
+    @Param({"100", "1000", "5000"})
+    public int rows;
+
+    @Param({"250"})
+    public long downstreamLatencyMicros;
+
+    @Param({"200"})
+    public int batchSize;
+
+    private List<FavouriteDto> favourites;
+    private SimulatedRestTemplate restTemplate;
+    private EnrichmentClient enrichmentClient;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class CallCounter {
+        public long downstreamCalls;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Roughly 10 likes per user and 4 likes per product
+        final int users = Math.max(this.rows / 10, 1);
+        final int products = Math.max(this.rows / 4, 1);
+        this.favourites = IntStream.range(0, this.rows)
+                .mapToObj(i -> FavouriteDto.builder()
+                        .userId(i % users + 1)
+                        .productId(i % products + 1)
+                        .build())
+                .collect(Collectors.toList());
+        this.restTemplate = new SimulatedRestTemplate(this.downstreamLatencyMicros);
+        this.enrichmentClient = new EnrichmentClient(this.restTemplate, this.batchSize);
+    }
+
+    @Benchmark
+    public void perRowEnrichment(final CallCounter counter, final Blackhole blackhole) {
+        final long before = this.restTemplate.calls.get();
+        for (final FavouriteDto favourite : this.favourites) {
+            blackhole.consume(this.enrichmentClient.fetchUser(favourite.getUserId()));
+            blackhole.consume(this.enrichmentClient.fetchProduct(favourite.getProductId()));
+        }
+        counter.downstreamCalls = this.restTemplate.calls.get() - before;
+    }
+
+    @Benchmark
+    public void batchEnrichment(final CallCounter counter, final Blackhole blackhole) {
+        final long before = this.restTemplate.calls.get();
+        final Set<Integer> userIds = this.favourites.stream()
+                .map(FavouriteDto::getUserId)
+                .collect(Collectors.toSet());
+        final Set<Integer> productIds = this.favourites.stream()
+                .map(FavouriteDto::getProductId)
+                .collect(Collectors.toSet());
+        blackhole.consume(this.enrichmentClient.fetchUsers(userIds));
+        blackhole.consume(this.enrichmentClient.fetchProducts(productIds));
+        counter.downstreamCalls = this.restTemplate.calls.get() - before;
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(FavouriteEnrichmentBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    /**
+     * Answers user/product lookups locally after parking for the configured latency.
+     */
+    static class SimulatedRestTemplate extends RestTemplate {
+
+        private final long latencyNanos;
+        private final AtomicLong calls = new AtomicLong();
+
+        SimulatedRestTemplate(final long latencyMicros) {
+            this.latencyNanos = TimeUnit.MICROSECONDS.toNanos(latencyMicros);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T getForObject(final String url, final Class<T> responseType, final Object... uriVariables) {
+            this.simulateRoundTrip();
+            final Integer id = Integer.valueOf(url.substring(url.lastIndexOf('/') + 1));
+            return (T) (responseType == UserDto.class ? user(id) : product(id));
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> ResponseEntity<T> exchange(final String url, final HttpMethod method, final HttpEntity<?> requestEntity,
+                final ParameterizedTypeReference<T> responseType, final Object... uriVariables) {
+            this.simulateRoundTrip();
+            final boolean users = url.startsWith(AppConstant.DiscoveredDomainsApi.USER_SERVICE_API_URL);
+            final List<Object> collection = Arrays.stream(url.substring(url.indexOf("ids=") + 4).split(","))
+                    .map(Integer::valueOf)
+                    .<Object>map(id -> users ? user(id) : product(id))
+                    .collect(Collectors.toList());
+            return (ResponseEntity<T>) ResponseEntity.ok(new DtoCollectionResponse<>(collection));
+        }
+
+        private void simulateRoundTrip() {
+            this.calls.incrementAndGet();
+            LockSupport.parkNanos(this.latencyNanos);
+        }
+
+        private static UserDto user(final Integer userId) {
+            return UserDto.builder().userId(userId).firstName("user-" + userId).build();
+        }
+
+        private static ProductDto product(final Integer productId) {
+            return ProductDto.builder().productId(productId).productTitle("product-" + productId).build();
+        }
+
+    }
+
+}
@@ -0,0 +1,91 @@
+package com.selimhorri.app.benchmark;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.selimhorri.app.trending.SlidingWindowTopK;
+
+/**
+ * Ingest throughput of the sliding-window top-K used by TrendingServiceImpl, with
+ * product ids drawn from a skewed (roughly Zipfian) distribution over {@code products}
+ * distinct ids. Memory use is the same for every {@code products} value.
+ * 
+ * Run with:
+ *   mvn -pl favourite-service test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=com.selimhorri.app.benchmark.TrendingIngestBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class TrendingIngestBenchmark {
+
+    private static final int KEYS = 1 << 16;
+
+    @Param({"1000", "1000000"})
+    public int products;
+
+    @Param({"2048"})
+    public int sketchWidth;
+
+    @Param({"100"})
+    public int capacity;
+
+    private SlidingWindowTopK window;
+    private int[] keys;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.window = new SlidingWindowTopK(Duration.ofHours(1).toMillis(), 12, this.sketchWidth, 4, this.capacity);
+        final SplittableRandom random = new SplittableRandom(42);
+        this.keys = new int[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            // inverse-power transform: low ids are liked far more often than high ids
+            this.keys[i] = (int) Math.min(this.products - 1, Math.floor(Math.pow(this.products, random.nextDouble())) - 1);
+        }
+    }
+
+    @Benchmark
+    public void ingest(final Cursor cursor) {
+        this.window.add(this.keys[cursor.next++ & (KEYS - 1)], System.currentTimeMillis());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void ingestContended(final Cursor cursor) {
+        this.window.add(this.keys[cursor.next++ & (KEYS - 1)], System.currentTimeMillis());
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TrendingIngestBenchmark.class.getSimpleName())
+                .build())
+            .run();
+    }
+
+}
@@ -0,0 +1,103 @@
+package com.selimhorri.app.recommendation;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("CoLikeIndex Tests")
+class CoLikeIndexTest {
+
+    @Test
+    @DisplayName("related() should rank products by number of users who liked both")
+    void testRelated_RanksByCoLikeCount() {
+        CoLikeIndex index = new CoLikeIndex(200, 100);
+        index.addLike(1, 10);
+        index.addLike(1, 11);
+        index.addLike(2, 10);
+        index.addLike(2, 11);
+        index.addLike(2, 12);
+        index.addLike(3, 12);
+        index.addLike(3, 10);
+
+        int[][] related = index.related(10, 5);
+
+        assertArrayEquals(new int[] { 11, 12 }, related[0], "Ties are broken by product id");
+        assertArrayEquals(new int[] { 2, 2 }, related[1]);
+        assertArrayEquals(new int[] { 10 }, index.related(11, 1)[0], "Result should be cut at the limit");
+        assertEquals(0, index.related(99, 5)[0].length, "Unknown product should have no related products");
+    }
+
+    @Test
+    @DisplayName("addLike() should ignore repeated likes and pair only recent likes")
+    void testAddLike_IgnoresDuplicates_AndBoundsPairsPerUser() {
+        CoLikeIndex index = new CoLikeIndex(2, 100);
+        assertTrue(index.addLike(1, 10));
+        assertFalse(index.addLike(1, 10), "Same user and product should be indexed once");
+        index.addLike(1, 11);
+        index.addLike(1, 12);
+        index.addLike(1, 13);
+
+        assertArrayEquals(new int[] { 11, 12 }, index.related(10, 5)[0]);
+        assertArrayEquals(new int[] { 11, 12 }, index.related(13, 5)[0],
+                "Like of 13 should only be paired with the 2 most recent likes");
+    }
+
+    @Test
+    @DisplayName("addLike() should keep only the strongest related products per product")
+    void testAddLike_PrunesRowsToMaxRelatedPerProduct() {
+        CoLikeIndex index = new CoLikeIndex(200, 2);
+        for (int userId = 1; userId <= 3; userId++) {
+            index.addLike(userId, 10);
+            index.addLike(userId, 11);
+        }
+        index.addLike(1, 12);
+        index.addLike(2, 12);
+        index.addLike(1, 13);
+        index.addLike(1, 14);
+        index.addLike(1, 15);
+
+        int[][] related = index.related(10, 5);
+
+        assertArrayEquals(new int[] { 11, 12 }, related[0]);
+        assertArrayEquals(new int[] { 3, 2 }, related[1]);
+    }
+
+    @Test
+    @DisplayName("removeLike() should un-pair the like from the user's other likes")
+    void testRemoveLike_UnpairsLike() {
+        CoLikeIndex index = new CoLikeIndex(3, 100);
+        index.addLike(1, 10);
+        index.addLike(1, 11);
+        index.addLike(1, 12);
+        index.addLike(2, 10);
+        index.addLike(2, 11);
+
+        assertTrue(index.removeLike(1, 11));
+        assertFalse(index.removeLike(1, 11), "Like should only be taken back once");
+        assertFalse(index.removeLike(3, 10), "Unknown user should have nothing to take back");
+
+        assertArrayEquals(new int[] { 11, 12 }, index.related(10, 5)[0]);
+        assertArrayEquals(new int[] { 1, 1 }, index.related(10, 5)[1]);
+        assertArrayEquals(new int[] { 10 }, index.related(12, 5)[0], "Entries taken back to zero should be hidden");
+        index.addLike(1, 13);
+        index.addLike(1, 14);
+        assertArrayEquals(new int[] { 10, 12, 14 }, index.related(13, 5)[0],
+                "Freed slot should keep the remaining likes in order");
+    }
+
+    @Test
+    @DisplayName("IntIntHashMap should keep all entries across resizes")
+    void testIntIntHashMap_Resizes() {
+        IntIntHashMap map = new IntIntHashMap();
+        for (int key = -5000; key < 5000; key++) {
+            map.addTo(key, key);
+            map.addTo(key, 1);
+        }
+
+        assertEquals(10000, map.size());
+        assertEquals(4243, map.get(4242, 0));
+        assertEquals(-4999, map.get(-5000, 0));
+        assertEquals(-1, map.get(7000, -1));
+    }
+}
@@ -5,6 +5,7 @@ import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -13,6 +14,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.http.HttpStatus;
@@ -23,6 +27,7 @@ import com.selimhorri.app.domain.id.FavouriteId;
 import com.selimhorri.app.dto.FavouriteDto;
 import com.selimhorri.app.dto.ProductDto;
 import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 import com.selimhorri.app.repository.FavouriteRepository;
 import com.selimhorri.app.service.FavouriteService;
 
@@ -110,13 +115,14 @@ class FavouriteProductValidationIntegrationTest {
     }
 
     /**
-     * Integration Test #2: Validate findAll() calls PRODUCT-SERVICE for each product
+     * Integration Test #2: Validate findAll() resolves products in a single batch call
      * Integration: Favourite Service → Product Service (batch enrichment)
-     * Validates: findAll() calls PRODUCT-SERVICE once per unique product to enrich data
+     * Validates: findAll() calls the PRODUCT-SERVICE and USER-SERVICE batch endpoints once
+     * with the distinct ids, instead of once per favourite
      */
     @Test
-    @DisplayName("Integration Test #2: findAll() should call PRODUCT-SERVICE once per product")
-    void testFindAll_CallsProductServiceForEachProduct() {
+    @DisplayName("Integration Test #2: findAll() should call PRODUCT-SERVICE once with all distinct products")
+    void testFindAll_CallsProductServiceOnceForAllProducts() {
         // Given: Save 3 favourites for same user
         Favourite fav1 = new Favourite();
         fav1.setUserId(1);
@@ -136,7 +142,7 @@ class FavouriteProductValidationIntegrationTest {
         fav3.setLikeDate(LocalDateTime.now());
         favouriteRepository.save(fav3);
 
-        // Mock PRODUCT-SERVICE responses
+        // Mock PRODUCT-SERVICE responses (product 3 is unknown downstream)
         ProductDto product1 = new ProductDto();
         product1.setProductId(1);
         product1.setProductTitle("Product 1");
@@ -145,43 +151,26 @@ class FavouriteProductValidationIntegrationTest {
         product2.setProductId(2);
         product2.setProductTitle("Product 2");
 
-        ProductDto product3 = new ProductDto();
-        product3.setProductId(3);
-        product3.setProductTitle("Product 3");
-
-        when(restTemplate.getForObject(
-                eq(AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL + "/1"), 
-                eq(ProductDto.class))).thenReturn(product1);
-        when(restTemplate.getForObject(
-                eq(AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL + "/2"), 
-                eq(ProductDto.class))).thenReturn(product2);
-        when(restTemplate.getForObject(
-                eq(AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL + "/3"), 
-                eq(ProductDto.class))).thenReturn(product3);
-        when(restTemplate.getForObject(
-                eq(AppConstant.DiscoveredDomainsApi.USER_SERVICE_API_URL + "/1"), 
-                eq(UserDto.class))).thenReturn(testUserDto);
+        String productBatchUrl = AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL + "/batch?ids=1,2,3";
+        String userBatchUrl = AppConstant.DiscoveredDomainsApi.USER_SERVICE_API_URL + "/batch?ids=1";
+        when(restTemplate.exchange(eq(productBatchUrl), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.ok(new DtoCollectionResponse<>(List.of(product1, product2))));
+        when(restTemplate.exchange(eq(userBatchUrl), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.ok(new DtoCollectionResponse<>(List.of(testUserDto))));
 
         // When: Find all favourites
         var favourites = favouriteService.findAll();
 
-        // Then: Should return 3 favourites with enriched data
+        // Then: Should return 3 favourites, the unknown product keeps its id-only placeholder
         assertEquals(3, favourites.size());
-        
-        // Verify PRODUCT-SERVICE was called 3 times (once per product)
-        verify(restTemplate, times(1)).getForObject(
-                eq(AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL + "/1"), 
-                eq(ProductDto.class));
-        verify(restTemplate, times(1)).getForObject(
-                eq(AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL + "/2"), 
-                eq(ProductDto.class));
-        verify(restTemplate, times(1)).getForObject(
-                eq(AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL + "/3"), 
-                eq(ProductDto.class));
-
-        // Verify USER-SERVICE was called 3 times (once per favourite)
-        verify(restTemplate, times(3)).getForObject(
-                eq(AppConstant.DiscoveredDomainsApi.USER_SERVICE_API_URL + "/1"), 
-                eq(UserDto.class));
+        favourites.forEach(f -> assertEquals("Maria", f.getUserDto().getFirstName()));
+        favourites.stream()
+                .filter(f -> f.getProductId() == 3)
+                .forEach(f -> assertNull(f.getProductDto().getProductTitle()));
+
+        // Verify each downstream service was called exactly once
+        verify(restTemplate, times(1)).exchange(eq(productBatchUrl), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class));
+        verify(restTemplate, times(1)).exchange(eq(userBatchUrl), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class));
+        verify(restTemplate, never()).getForObject(anyString(), any());
     }
 }
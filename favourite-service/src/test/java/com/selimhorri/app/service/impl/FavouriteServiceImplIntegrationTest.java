@@ -13,17 +13,28 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
 import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.domain.Favourite;
 import com.selimhorri.app.domain.id.FavouriteId;
+import com.selimhorri.app.dto.BulkFavouriteResultDto;
+import com.selimhorri.app.dto.BulkWriteStatus;
 import com.selimhorri.app.dto.FavouriteDto;
 import com.selimhorri.app.dto.ProductDto;
 import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 import com.selimhorri.app.repository.FavouriteRepository;
+import com.selimhorri.app.repository.ProductLikeCountRepository;
+import com.selimhorri.app.service.FavouriteBulkService;
 import com.selimhorri.app.service.FavouriteService;
+import com.selimhorri.app.service.ProductPopularityService;
+import com.selimhorri.app.service.RelatedProductService;
 
 /**
  * Integration Tests for FavouriteServiceImpl
@@ -41,6 +52,18 @@ class FavouriteServiceImplIntegrationTest {
     @Autowired
     private FavouriteRepository favouriteRepository;
 
+    @Autowired
+    private ProductPopularityService productPopularityService;
+
+    @Autowired
+    private ProductLikeCountRepository productLikeCountRepository;
+
+    @Autowired
+    private RelatedProductService relatedProductService;
+
+    @Autowired
+    private FavouriteBulkService favouriteBulkService;
+
     @MockBean
     private RestTemplate restTemplate;
 
@@ -53,8 +76,9 @@ class FavouriteServiceImplIntegrationTest {
      */
     @BeforeEach
     void setUp() {
-        // Clean database
+        // Clean database, and the in-memory co-like index built from it
         favouriteRepository.deleteAll();
+        relatedProductService.rebuild();
 
         // Reset mocks
         reset(restTemplate);
@@ -76,12 +100,12 @@ class FavouriteServiceImplIntegrationTest {
 
     /**
      * Test findAll() method
-     * Validates that the service calls User and Product services and enriches favourites
+     * Validates that the service resolves users and products through the batch endpoints
      * 
      * Expected: 1 favourite returned with enriched user and product data
      */
     @Test
-    @DisplayName("findAll() should call User and Product services and return enriched favourites")
+    @DisplayName("findAll() should call User and Product batch endpoints and return enriched favourites")
     void testFindAll_CallsUserAndProductServices_ReturnsEnrichedFavourites() throws Exception {
         // Arrange: Save a favourite to database
         LocalDateTime likeDate = LocalDateTime.of(2024, 1, 15, 10, 0);
@@ -91,16 +115,16 @@ class FavouriteServiceImplIntegrationTest {
         favourite.setLikeDate(likeDate);
         favouriteRepository.save(favourite);
 
-        // Mock RestTemplate calls
-        when(restTemplate.getForObject(
-                eq(AppConstant.DiscoveredDomainsApi.USER_SERVICE_API_URL + "/1"), 
-                eq(UserDto.class)))
-            .thenReturn(testUserDto);
+        // Mock RestTemplate batch calls
+        when(restTemplate.exchange(
+                eq(AppConstant.DiscoveredDomainsApi.USER_SERVICE_API_URL + "/batch?ids=1"), 
+                eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class)))
+            .thenReturn(ResponseEntity.ok(new DtoCollectionResponse<>(List.of(testUserDto))));
 
-        when(restTemplate.getForObject(
-                eq(AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL + "/1"), 
-                eq(ProductDto.class)))
-            .thenReturn(testProductDto);
+        when(restTemplate.exchange(
+                eq(AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL + "/batch?ids=1"), 
+                eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class)))
+            .thenReturn(ResponseEntity.ok(new DtoCollectionResponse<>(List.of(testProductDto))));
 
         // Act: Call service method
         List<FavouriteDto> favourites = favouriteService.findAll();
@@ -112,14 +136,11 @@ class FavouriteServiceImplIntegrationTest {
         FavouriteDto favouriteDto = favourites.get(0);
         assertEquals(1, favouriteDto.getUserId(), "User ID should match");
         assertEquals(1, favouriteDto.getProductId(), "Product ID should match");
+        assertEquals("John", favouriteDto.getUserDto().getFirstName(), "User should be enriched");
+        assertEquals("Test Product", favouriteDto.getProductDto().getProductTitle(), "Product should be enriched");
 
-        // Verify external service calls were made
-        verify(restTemplate, times(1)).getForObject(
-                eq(AppConstant.DiscoveredDomainsApi.USER_SERVICE_API_URL + "/1"), 
-                eq(UserDto.class));
-        verify(restTemplate, times(1)).getForObject(
-                eq(AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL + "/1"), 
-                eq(ProductDto.class));
+        // Verify no per-row lookups were made
+        verify(restTemplate, never()).getForObject(anyString(), any());
     }
 
     /**
@@ -172,6 +193,75 @@ class FavouriteServiceImplIntegrationTest {
                 eq(ProductDto.class));
     }
 
+    /**
+     * Test findById() degradation
+     * Validates that a failing user lookup does not fail the whole request
+     * 
+     * Expected: Favourite returned with product data and the id-only user placeholder
+     */
+    @Test
+    @DisplayName("findById() should return a partial result when one downstream lookup fails")
+    void testFindById_UserServiceFails_ReturnsPartiallyEnrichedFavourite() {
+        // Arrange: Save a favourite to database
+        LocalDateTime likeDate = LocalDateTime.of(2024, 1, 15, 10, 0);
+        Favourite favourite = new Favourite();
+        favourite.setUserId(1);
+        favourite.setProductId(1);
+        favourite.setLikeDate(likeDate);
+        favouriteRepository.save(favourite);
+
+        // Mock RestTemplate calls: USER-SERVICE is down
+        when(restTemplate.getForObject(
+                eq(AppConstant.DiscoveredDomainsApi.USER_SERVICE_API_URL + "/1"), 
+                eq(UserDto.class)))
+            .thenThrow(new ResourceAccessException("Connection refused"));
+
+        when(restTemplate.getForObject(
+                eq(AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL + "/1"), 
+                eq(ProductDto.class)))
+            .thenReturn(testProductDto);
+
+        // Act: Call service method
+        FavouriteDto result = favouriteService.findById(new FavouriteId(1, 1, likeDate));
+
+        // Assert: Product enriched, user kept as placeholder
+        assertEquals("Test Product", result.getProductDto().getProductTitle(), "Product should be enriched");
+        assertEquals(1, result.getUserDto().getUserId(), "User placeholder should keep the id");
+        assertNull(result.getUserDto().getFirstName(), "User should not be enriched");
+    }
+
+    /**
+     * Test findAllByUserId() keyset pagination
+     * Validates that a user's likes are paged by (likeDate, productId) without enrichment calls
+     * 
+     * Expected: Two pages for user 1, other users' likes excluded
+     */
+    @Test
+    @DisplayName("findAllByUserId() should page one user's favourites by like date")
+    void testFindAllByUserId_PagesByLikeDate_WithoutExternalCalls() {
+        // Arrange: 3 likes for user 1 (two share the same timestamp) and 1 like for user 2
+        LocalDateTime base = LocalDateTime.of(2024, 1, 15, 10, 0);
+        favouriteRepository.save(new Favourite(1, 1, base));
+        favouriteRepository.save(new Favourite(1, 2, base));
+        favouriteRepository.save(new Favourite(1, 3, base.plusDays(1)));
+        favouriteRepository.save(new Favourite(2, 1, base));
+
+        // Act: First page, then the page after the last (likeDate, productId) cursor
+        List<FavouriteDto> firstPage = favouriteService.findAllByUserId(1, null, null, 2, false);
+        FavouriteDto cursor = firstPage.get(firstPage.size() - 1);
+        List<FavouriteDto> secondPage = favouriteService.findAllByUserId(1, cursor.getLikeDate(), cursor.getProductId(), 2, false);
+
+        // Assert
+        assertEquals(2, firstPage.size(), "First page should be full");
+        assertEquals(1, firstPage.get(0).getProductId());
+        assertEquals(2, firstPage.get(1).getProductId());
+        assertEquals(1, secondPage.size(), "Second page should hold the remaining like");
+        assertEquals(3, secondPage.get(0).getProductId());
+
+        // Verify no enrichment calls without expand=product
+        verifyNoInteractions(restTemplate);
+    }
+
     /**
      * Test save() method
      * Validates that save operation does NOT call external services (performance optimization)
@@ -208,4 +298,118 @@ class FavouriteServiceImplIntegrationTest {
         
         assertTrue(favouriteRepository.existsById(savedId), "Favourite should exist in database");
     }
+
+    /**
+     * Test like counters
+     * Validates that save() and deleteById() update the in-memory count immediately,
+     * re-saving an existing favourite is not counted twice, and flush() persists the count
+     */
+    @Test
+    @DisplayName("save()/deleteById() should maintain the product like count")
+    void testSaveAndDelete_MaintainProductLikeCount() {
+        // Arrange: product id not used by the other tests
+        final int productId = 42;
+        long before = productPopularityService.findLikeCount(productId).getLikeCount();
+        LocalDateTime likeDate = LocalDateTime.of(2024, 3, 1, 9, 0);
+        FavouriteDto first = new FavouriteDto();
+        first.setUserId(1);
+        first.setProductId(productId);
+        first.setLikeDate(likeDate);
+        FavouriteDto second = new FavouriteDto();
+        second.setUserId(2);
+        second.setProductId(productId);
+        second.setLikeDate(likeDate);
+
+        // Act: two likes, one re-save, one unlike
+        favouriteService.save(first);
+        favouriteService.save(second);
+        favouriteService.save(first);
+        assertEquals(before + 2, productPopularityService.findLikeCount(productId).getLikeCount(),
+                "Re-saving an existing favourite should not count twice");
+        favouriteService.deleteById(new FavouriteId(2, productId, likeDate));
+
+        // Assert: count served from memory, then persisted by flush
+        assertEquals(before + 1, productPopularityService.findLikeCount(productId).getLikeCount());
+        productPopularityService.flush();
+        assertEquals(before + 1, productLikeCountRepository.findById(productId).orElseThrow().getLikeCount(),
+                "Flushed count should be persisted");
+        assertEquals(before + 1, productPopularityService.findLikeCount(productId).getLikeCount());
+        verifyNoInteractions(restTemplate);
+    }
+
+    /**
+     * Test related products
+     * Validates that likes and unlikes reach the "also liked" index without external calls
+     */
+    @Test
+    @DisplayName("save()/deleteById() should keep related products up to date")
+    void testSave_UpdatesRelatedProducts() {
+        // Arrange: product ids not used by the other tests
+        LocalDateTime likeDate = LocalDateTime.of(2024, 4, 1, 9, 0);
+        int[][] likes = { { 1, 200 }, { 1, 201 }, { 2, 200 }, { 2, 201 }, { 2, 202 } };
+
+        // Act
+        for (int[] like : likes) {
+            FavouriteDto favouriteDto = new FavouriteDto();
+            favouriteDto.setUserId(like[0]);
+            favouriteDto.setProductId(like[1]);
+            favouriteDto.setLikeDate(likeDate);
+            favouriteService.save(favouriteDto);
+        }
+        var related = relatedProductService.findRelated(200, 10);
+
+        // Assert: 201 liked together with 200 by both users, 202 by one
+        assertEquals(2, related.size());
+        assertEquals(201, related.get(0).getProductId());
+        assertEquals(2, related.get(0).getCoLikeCount());
+        assertEquals(202, related.get(1).getProductId());
+        assertEquals(1, related.get(1).getCoLikeCount());
+
+        // Act: user 2 unlikes 201
+        favouriteService.deleteById(new FavouriteId(2, 201, likeDate));
+        related = relatedProductService.findRelated(200, 10);
+
+        // Assert: the unlike is taken back from the index
+        assertEquals(2, related.size());
+        assertEquals(1, related.get(0).getCoLikeCount());
+        verifyNoInteractions(restTemplate);
+    }
+
+    /**
+     * Test saveAll() method
+     * Validates per-row results for new, already stored, repeated and invalid rows
+     */
+    @Test
+    @DisplayName("saveAll() should insert new rows and report a result per row")
+    void testSaveAll_ReturnsPerRowResults() {
+        // Arrange: one favourite already stored, product ids not used by the other tests
+        LocalDateTime likeDate = LocalDateTime.of(2024, 5, 1, 9, 0);
+        Favourite stored = new Favourite();
+        stored.setUserId(1);
+        stored.setProductId(300);
+        stored.setLikeDate(likeDate);
+        favouriteRepository.save(stored);
+        long before = productPopularityService.findLikeCount(301).getLikeCount();
+
+        FavouriteDto existing = FavouriteDto.builder().userId(1).productId(300).likeDate(likeDate).build();
+        FavouriteDto first = FavouriteDto.builder().userId(1).productId(301).likeDate(likeDate).build();
+        FavouriteDto second = FavouriteDto.builder().userId(2).productId(301).likeDate(likeDate).build();
+        FavouriteDto invalid = FavouriteDto.builder().userId(3).likeDate(likeDate).build();
+
+        // Act
+        List<BulkFavouriteResultDto> results = favouriteBulkService.saveAll(
+                List.of(existing, first, second, first, invalid));
+
+        // Assert
+        assertEquals(5, results.size(), "Should return one result per row");
+        assertEquals(BulkWriteStatus.DUPLICATE, results.get(0).getStatus());
+        assertEquals(BulkWriteStatus.CREATED, results.get(1).getStatus());
+        assertEquals(BulkWriteStatus.CREATED, results.get(2).getStatus());
+        assertEquals(BulkWriteStatus.DUPLICATE, results.get(3).getStatus());
+        assertEquals(BulkWriteStatus.FAILED, results.get(4).getStatus());
+        assertEquals(4, results.get(4).getIndex());
+        assertTrue(favouriteRepository.existsById(new FavouriteId(2, 301, likeDate)));
+        assertEquals(before + 2, productPopularityService.findLikeCount(301).getLikeCount());
+        verifyNoInteractions(restTemplate);
+    }
 }
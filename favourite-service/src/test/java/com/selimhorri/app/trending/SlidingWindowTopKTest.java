@@ -0,0 +1,73 @@
+package com.selimhorri.app.trending;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("SlidingWindowTopK Tests")
+class SlidingWindowTopKTest {
+
+    private static final long HOUR = 3_600_000L;
+
+    @Test
+    @DisplayName("top() should rank heavy hitters first")
+    void testTop_RanksHeavyHittersFirst() {
+        SlidingWindowTopK window = new SlidingWindowTopK(HOUR, 12, 1024, 4, 10);
+        long now = 10 * HOUR;
+        for (int productId = 1; productId <= 500; productId++) {
+            window.add(productId, now);
+        }
+        for (int i = 0; i < 50; i++) {
+            window.add(7, now);
+            if (i < 30) {
+                window.add(3, now);
+            }
+        }
+
+        List<long[]> top = window.top(2, now);
+
+        assertEquals(2, top.size());
+        assertEquals(7L, top.get(0)[0], "Most liked product should come first");
+        assertTrue(top.get(0)[1] >= 51L, "Count-min estimates never undercount");
+        assertEquals(3L, top.get(1)[0]);
+    }
+
+    @Test
+    @DisplayName("top() should forget likes older than the window")
+    void testTop_ExpiresOldBuckets() {
+        SlidingWindowTopK window = new SlidingWindowTopK(HOUR, 12, 1024, 4, 10);
+        long start = 10 * HOUR;
+        window.add(1, start);
+        window.add(2, start + HOUR / 2);
+
+        assertEquals(2, window.top(10, start + HOUR / 2).size());
+        assertEquals(List.of(2L), window.top(10, start + HOUR + HOUR / 12)
+                .stream().map(entry -> entry[0]).collect(Collectors.toList()),
+                "Likes older than one hour should have expired");
+        assertTrue(window.top(10, start + 3 * HOUR).isEmpty());
+    }
+
+    @Test
+    @DisplayName("remove() should take back a like from the most recent bucket")
+    void testRemove_TakesBackLike() {
+        SlidingWindowTopK window = new SlidingWindowTopK(HOUR, 12, 1024, 4, 10);
+        long start = 10 * HOUR;
+        window.add(1, start);
+        window.add(1, start);
+        window.add(2, start + HOUR / 2);
+
+        window.remove(1, start + HOUR / 2);
+        window.remove(2, start + HOUR / 2);
+
+        assertEquals(1L, window.estimate(1), "Like in an older bucket should be taken back");
+        assertEquals(List.of(1L), window.top(10, start + HOUR / 2)
+                .stream().map(entry -> entry[0]).collect(Collectors.toList()),
+                "Key with no likes left should drop out of the top");
+        window.remove(2, start + HOUR / 2);
+        assertEquals(0L, window.estimate(2), "Estimates should never go below zero");
+    }
+}
@@ -0,0 +1,142 @@
+package com.selimhorri.app.client;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.metrics.UserLookupMetricsRecorder;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Resolves cart owners against USER-SERVICE. Resolved users are memoized for the
+ * current HTTP request, so each distinct user costs at most one lookup per request no
+ * matter how many carts (or service calls) need it; sets of ids are fetched through
+ * the batch endpoint. Outside a request the memo only lives for a single call.
+ * The lookups saved are recorded once per request, when the request completes.
+ */
+@Component
+@Slf4j
+public class UserResolver {
+	
+	private static final String CONTEXT_ATTRIBUTE = UserResolver.class.getName() + ".CONTEXT";
+	private static final ParameterizedTypeReference<DtoCollectionResponse<UserDto>> USER_COLLECTION_TYPE = 
+			new ParameterizedTypeReference<>() {};
+	
+	private final RestTemplate restTemplate;
+	private final UserLookupMetricsRecorder userLookupMetricsRecorder;
+	private final int batchSize;
+	
+	public UserResolver(final RestTemplate restTemplate, 
+			final UserLookupMetricsRecorder userLookupMetricsRecorder, 
+			@Value("${user-lookup.batch-size:200}") final int batchSize) {
+		this.restTemplate = restTemplate;
+		this.userLookupMetricsRecorder = userLookupMetricsRecorder;
+		this.batchSize = Math.max(batchSize, 1);
+	}
+	
+	public UserDto resolve(final Integer userId) {
+		final LookupContext context = this.currentContext();
+		try {
+			context.lookups++;
+			return context.users.computeIfAbsent(userId, id -> {
+				context.calls++;
+				return this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
+						.USER_SERVICE_API_URL + "/" + id, UserDto.class);
+			});
+		} finally {
+			context.completeIfDetached();
+		}
+	}
+	
+	/**
+	 * Users unknown to USER-SERVICE are absent from the returned map.
+	 */
+	public Map<Integer, UserDto> resolveAll(final Collection<Integer> userIds) {
+		final LookupContext context = this.currentContext();
+		try {
+			context.lookups += userIds.size();
+			final List<Integer> missing = userIds.stream()
+					.filter(Objects::nonNull)
+					.distinct()
+					.filter(id -> !context.users.containsKey(id))
+					.sorted()
+					.collect(Collectors.toList());
+			
+			for (int from = 0; from < missing.size(); from += this.batchSize) {
+				final List<Integer> batch = missing.subList(from, Math.min(from + this.batchSize, missing.size()));
+				context.calls++;
+				final DtoCollectionResponse<UserDto> response = this.restTemplate.exchange(
+						AppConstant.DiscoveredDomainsApi.USER_SERVICE_API_URL + "/batch?ids=" + batch.stream()
+								.map(String::valueOf)
+								.collect(Collectors.joining(",")), 
+						HttpMethod.GET, null, USER_COLLECTION_TYPE)
+						.getBody();
+				if (response != null && response.getCollection() != null) {
+					response.getCollection().forEach(u -> context.users.put(u.getUserId(), u));
+				}
+			}
+			
+			final Map<Integer, UserDto> resolved = new HashMap<>();
+			userIds.stream()
+					.filter(context.users::containsKey)
+					.forEach(id -> resolved.put(id, context.users.get(id)));
+			return resolved;
+		} finally {
+			context.completeIfDetached();
+		}
+	}
+	
+	private LookupContext currentContext() {
+		final RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+		if (attributes == null) {
+			return new LookupContext(null);
+		}
+		LookupContext context = (LookupContext) attributes.getAttribute(CONTEXT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+		if (context == null) {
+			context = new LookupContext(attributes);
+			attributes.setAttribute(CONTEXT_ATTRIBUTE, context, RequestAttributes.SCOPE_REQUEST);
+			final LookupContext requestContext = context;
+			attributes.registerDestructionCallback(CONTEXT_ATTRIBUTE, 
+					() -> this.userLookupMetricsRecorder.recordRequest(requestContext.lookups, requestContext.calls), 
+					RequestAttributes.SCOPE_REQUEST);
+		}
+		return context;
+	}
+	
+	private final class LookupContext {
+		
+		private final RequestAttributes attributes;
+		private final Map<Integer, UserDto> users = new HashMap<>();
+		private int lookups;
+		private int calls;
+		
+		private LookupContext(final RequestAttributes attributes) {
+			this.attributes = attributes;
+		}
+		
+		private void completeIfDetached() {
+			if (this.attributes == null) {
+				userLookupMetricsRecorder.recordRequest(this.lookups, this.calls);
+			}
+		}
+		
+	}
+	
+	
+	
+}
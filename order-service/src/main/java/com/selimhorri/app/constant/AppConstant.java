@@ -35,6 +35,16 @@ public abstract class AppConstant {
 		
 	}
 	
+	@NoArgsConstructor(access = AccessLevel.PRIVATE)
+	public abstract class OutboxEvents {
+		
+		public static final String AGGREGATE_ORDER = "Order";
+		public static final String ORDER_CREATED = "OrderCreated";
+		public static final String ORDER_UPDATED = "OrderUpdated";
+		public static final String ORDER_DELETED = "OrderDeleted";
+		
+	}
+	
 	
 	
 }
@@ -0,0 +1,62 @@
+package com.selimhorri.app.domain;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * Revenue of the orders whose order_date falls in [bucketStart, bucketStart + granularity). 
+ * Min and max are null while the bucket is empty.
+ */
+@Entity
+@Table(name = "order_revenue_rollups", uniqueConstraints = @UniqueConstraint(
+		name = "uk_order_revenue_rollups_bucket", columnNames = {"granularity", "bucket_start"}))
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+@Data
+@Builder
+public final class OrderRevenueRollup extends AbstractMappedEntity implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@Column(name = "rollup_id", unique = true, nullable = false, updatable = false)
+	private Integer rollupId;
+	
+	@Enumerated(EnumType.STRING)
+	@Column(name = "granularity", length = 16, nullable = false, updatable = false)
+	private RollupGranularity granularity;
+	
+	@Column(name = "bucket_start", nullable = false, updatable = false)
+	private LocalDateTime bucketStart;
+	
+	@Column(name = "order_count", nullable = false)
+	private Long orderCount;
+	
+	@Column(name = "fee_sum", columnDefinition = "decimal", nullable = false)
+	private Double feeSum;
+	
+	@Column(name = "fee_min", columnDefinition = "decimal")
+	private Double feeMin;
+	
+	@Column(name = "fee_max", columnDefinition = "decimal")
+	private Double feeMax;
+	
+}
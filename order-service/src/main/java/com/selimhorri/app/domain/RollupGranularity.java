@@ -0,0 +1,38 @@
+package com.selimhorri.app.domain;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+
+import com.selimhorri.app.exception.wrapper.OrderValidationException;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+@Getter
+public enum RollupGranularity {
+	
+	HOUR("hour", ChronoUnit.HOURS),
+	DAY("day", ChronoUnit.DAYS);
+	
+	private final String granularity;
+	private final ChronoUnit unit;
+	
+	public LocalDateTime bucketOf(final LocalDateTime dateTime) {
+		return dateTime.truncatedTo(this.unit);
+	}
+	
+	public LocalDateTime next(final LocalDateTime bucketStart) {
+		return bucketStart.plus(1, this.unit);
+	}
+	
+	public static RollupGranularity of(final String granularity) {
+		return Arrays.stream(values())
+				.filter(g -> g.getGranularity().equalsIgnoreCase(granularity))
+				.findFirst()
+				.orElseThrow(() -> new OrderValidationException(String
+						.format("Unsupported granularity: [%s]", granularity)));
+	}
+	
+}
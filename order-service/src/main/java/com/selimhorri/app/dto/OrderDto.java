@@ -43,6 +43,19 @@ public class OrderDto implements Serializable {
 	@JsonInclude(Include.NON_NULL)
 	private CartDto cartDto;
 	
+	/**
+	 * Target of the JPQL constructor expressions in OrderRepository; the cart is 
+	 * reduced to its id, as OrderMappingHelper does.
+	 */
+	public OrderDto(final Integer orderId, final LocalDateTime orderDate, final String orderDesc, 
+			final Double orderFee, final Integer cartId) {
+		this.orderId = orderId;
+		this.orderDate = orderDate;
+		this.orderDesc = orderDesc;
+		this.orderFee = orderFee;
+		this.cartDto = (cartId != null) ? CartDto.builder().cartId(cartId).build() : null;
+	}
+	
 }
 
 
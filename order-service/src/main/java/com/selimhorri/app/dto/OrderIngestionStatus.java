@@ -0,0 +1,16 @@
+package com.selimhorri.app.dto;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+@Getter
+public enum OrderIngestionStatus {
+	
+	QUEUED("queued"),
+	COMMITTED("committed"),
+	FAILED("failed");
+	
+	private final String status;
+	
+}
@@ -0,0 +1,53 @@
+package com.selimhorri.app.dto;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonFormat.Shape;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateTimeDeserializer;
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.RollupGranularity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class OrderRevenueStatsDto implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private RollupGranularity granularity;
+	
+	@JsonSerialize(using = LocalDateTimeSerializer.class)
+	@JsonDeserialize(using = LocalDateTimeDeserializer.class)
+	@JsonFormat(pattern = AppConstant.LOCAL_DATE_TIME_FORMAT, shape = Shape.STRING)
+	@DateTimeFormat(pattern = AppConstant.LOCAL_DATE_TIME_FORMAT)
+	private LocalDateTime bucketStart;
+	private Long orderCount;
+	private Double feeSum;
+	private Double feeMin;
+	private Double feeMax;
+	
+	/**
+	 * Target of the aggregate query in OrderRepository used to recompute a single bucket.
+	 */
+	public OrderRevenueStatsDto(final Long orderCount, final Double feeSum, 
+			final Double feeMin, final Double feeMax) {
+		this.orderCount = orderCount;
+		this.feeSum = feeSum;
+		this.feeMin = feeMin;
+		this.feeMax = feeMax;
+	}
+	
+}
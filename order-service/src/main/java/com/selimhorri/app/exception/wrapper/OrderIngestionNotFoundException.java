@@ -0,0 +1,36 @@
+package com.selimhorri.app.exception.wrapper;
+
+public class OrderIngestionNotFoundException extends RuntimeException {
+	
+	private static final long serialVersionUID = 1L;
+	
+	public OrderIngestionNotFoundException() {
+		super();
+	}
+	
+	public OrderIngestionNotFoundException(String message, Throwable cause) {
+		super(message, cause);
+	}
+	
+	public OrderIngestionNotFoundException(String message) {
+		super(message);
+	}
+	
+	public OrderIngestionNotFoundException(Throwable cause) {
+		super(cause);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,36 @@
+package com.selimhorri.app.exception.wrapper;
+
+public class OrderIngestionRejectedException extends RuntimeException {
+	
+	private static final long serialVersionUID = 1L;
+	
+	public OrderIngestionRejectedException() {
+		super();
+	}
+	
+	public OrderIngestionRejectedException(String message, Throwable cause) {
+		super(message, cause);
+	}
+	
+	public OrderIngestionRejectedException(String message) {
+		super(message);
+	}
+	
+	public OrderIngestionRejectedException(Throwable cause) {
+		super(cause);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
+
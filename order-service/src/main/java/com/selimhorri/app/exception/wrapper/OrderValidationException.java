@@ -0,0 +1,36 @@
+package com.selimhorri.app.exception.wrapper;
+
+public class OrderValidationException extends RuntimeException {
+	
+	private static final long serialVersionUID = 1L;
+	
+	public OrderValidationException() {
+		super();
+	}
+	
+	public OrderValidationException(String message, Throwable cause) {
+		super(message, cause);
+	}
+	
+	public OrderValidationException(String message) {
+		super(message);
+	}
+	
+	public OrderValidationException(Throwable cause) {
+		super(cause);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
+
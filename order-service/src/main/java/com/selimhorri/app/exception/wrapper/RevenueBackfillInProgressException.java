@@ -0,0 +1,36 @@
+package com.selimhorri.app.exception.wrapper;
+
+public class RevenueBackfillInProgressException extends RuntimeException {
+	
+	private static final long serialVersionUID = 1L;
+	
+	public RevenueBackfillInProgressException() {
+		super();
+	}
+	
+	public RevenueBackfillInProgressException(String message, Throwable cause) {
+		super(message, cause);
+	}
+	
+	public RevenueBackfillInProgressException(String message) {
+		super(message);
+	}
+	
+	public RevenueBackfillInProgressException(Throwable cause) {
+		super(cause);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,56 @@
+package com.selimhorri.app.helper;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.exception.wrapper.OrderValidationException;
+
+/**
+ * Opaque cursor tokens for keyset-paginated order listings. A token carries the sort key
+ * of the last order of a page, "orderId:{orderId}" or "orderDate:{orderDate}|{orderId}",
+ * base64url-encoded.
+ */
+public interface OrderCursorHelper {
+	
+	public static final String SORT_ORDER_ID = "orderId";
+	public static final String SORT_ORDER_DATE = "orderDate";
+	
+	public static String encode(final String sort, final OrderDto last) {
+		final String key = SORT_ORDER_DATE.equals(sort)
+				? SORT_ORDER_DATE + ":" + last.getOrderDate() + "|" + last.getOrderId()
+				: SORT_ORDER_ID + ":" + last.getOrderId();
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+	}
+	
+	/**
+	 * @return the sort key of the last order of the previous page, as an OrderDto
+	 * holding only orderId (and orderDate for the orderDate sort)
+	 */
+	public static OrderDto decode(final String sort, final String cursor) {
+		try {
+			final String key = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+			if (!key.startsWith(sort + ":")) {
+				throw new OrderValidationException(String.format("Cursor does not match sort [%s]", sort));
+			}
+			final String value = key.substring(sort.length() + 1);
+			if (SORT_ORDER_DATE.equals(sort)) {
+				final int separator = value.lastIndexOf('|');
+				return OrderDto.builder()
+						.orderDate(LocalDateTime.parse(value.substring(0, separator)))
+						.orderId(Integer.parseInt(value.substring(separator + 1)))
+						.build();
+			}
+			return OrderDto.builder()
+					.orderId(Integer.parseInt(value))
+					.build();
+		} catch (DateTimeParseException | IllegalArgumentException | IndexOutOfBoundsException e) {
+			throw new OrderValidationException(String.format("Invalid cursor: [%s]", cursor));
+		}
+	}
+	
+	
+	
+}
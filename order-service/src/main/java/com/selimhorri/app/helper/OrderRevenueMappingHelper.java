@@ -0,0 +1,19 @@
+package com.selimhorri.app.helper;
+
+import com.selimhorri.app.domain.OrderRevenueRollup;
+import com.selimhorri.app.dto.OrderRevenueStatsDto;
+
+public interface OrderRevenueMappingHelper {
+	
+	public static OrderRevenueStatsDto map(final OrderRevenueRollup rollup) {
+		return OrderRevenueStatsDto.builder()
+				.granularity(rollup.getGranularity())
+				.bucketStart(rollup.getBucketStart())
+				.orderCount(rollup.getOrderCount())
+				.feeSum(rollup.getFeeSum())
+				.feeMin(rollup.getFeeMin())
+				.feeMax(rollup.getFeeMax())
+				.build();
+	}
+	
+}
@@ -1,21 +1,56 @@
 package com.selimhorri.app.metrics;
 
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
 import org.springframework.stereotype.Component;
 
 import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.exception.wrapper.OrderNotFoundException;
 
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
 @Component
 public class OrderMetricsRecorder {
 
+    public static final String OPERATION_SAVE = "save";
+    public static final String OPERATION_UPDATE = "update";
+    public static final String OPERATION_DELETE = "delete";
+    public static final String OPERATION_FIND_PAGE = "findPage";
+    public static final String OPERATION_FIND_BY_ID = "findById";
+    public static final String OPERATION_FIND_BY_USER = "findByUser";
+    public static final String OPERATION_FIND_BY_IDS = "findByIds";
+
+    static final String OUTCOME_SUCCESS = "success";
+    static final String OUTCOME_NOT_FOUND = "not_found";
+    static final String OUTCOME_ERROR = "error";
+
+    private static final List<String> OPERATIONS = List.of(OPERATION_SAVE, OPERATION_UPDATE, OPERATION_DELETE, 
+            OPERATION_FIND_PAGE, OPERATION_FIND_BY_ID, OPERATION_FIND_BY_USER, OPERATION_FIND_BY_IDS);
+    private static final List<String> OUTCOMES = List.of(OUTCOME_SUCCESS, OUTCOME_NOT_FOUND, OUTCOME_ERROR);
+
     private final Counter ordersCreated;
     private final Counter ordersUpdated;
     private final Counter ordersDeleted;
     private final Counter orderFeeTotal;
+    private final DistributionSummary orderFee;
+    private final Map<String, Timer> operationTimers = new HashMap<>();
+    private final Timer ingestionCommit;
+    private final DistributionSummary ingestionBatchSize;
+    private final Counter ingestionRejected;
+    private final MeterRegistry meterRegistry;
 
     public OrderMetricsRecorder(final MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
         this.ordersCreated = Counter.builder("order_service_orders_created_total")
             .description("Cantidad total de órdenes creadas")
             .register(meterRegistry);
@@ -29,11 +64,50 @@ public class OrderMetricsRecorder {
             .description("Ingresos acumulados en órdenes (USD)")
             .baseUnit("USD")
             .register(meterRegistry);
+        this.orderFee = DistributionSummary.builder("order_service_order_fee")
+            .description("Distribución del monto de las órdenes creadas (USD)")
+            .baseUnit("USD")
+            .serviceLevelObjectives(10, 25, 50, 100, 250, 500, 1000, 5000)
+            .publishPercentileHistogram()
+            .minimumExpectedValue(1D)
+            .maximumExpectedValue(100_000D)
+            .register(meterRegistry);
+        // every (operation, outcome) pair is registered up front, so the series count is fixed
+        for (final String operation : OPERATIONS) {
+            for (final String outcome : OUTCOMES) {
+                this.operationTimers.put(key(operation, outcome), Timer.builder("order_service_operation")
+                    .description("Latencia de las operaciones de OrderServiceImpl")
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .serviceLevelObjectives(Duration.ofMillis(25), Duration.ofMillis(50), Duration.ofMillis(100), 
+                            Duration.ofMillis(250), Duration.ofMillis(500), Duration.ofSeconds(1))
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofMillis(1))
+                    .maximumExpectedValue(Duration.ofSeconds(10))
+                    .register(meterRegistry));
+            }
+        }
+        this.ingestionCommit = Timer.builder("order_service_ingestion_commit")
+            .description("Latencia de cada commit agrupado de la ingesta asíncrona de órdenes")
+            .serviceLevelObjectives(Duration.ofMillis(10), Duration.ofMillis(25), Duration.ofMillis(50), 
+                    Duration.ofMillis(100), Duration.ofMillis(250), Duration.ofMillis(500))
+            .publishPercentileHistogram()
+            .minimumExpectedValue(Duration.ofMillis(1))
+            .maximumExpectedValue(Duration.ofSeconds(10))
+            .register(meterRegistry);
+        this.ingestionBatchSize = DistributionSummary.builder("order_service_ingestion_batch_size")
+            .description("Órdenes confirmadas por commit agrupado")
+            .baseUnit("orders")
+            .register(meterRegistry);
+        this.ingestionRejected = Counter.builder("order_service_ingestion_rejected_total")
+            .description("Órdenes rechazadas por cola de ingesta llena")
+            .register(meterRegistry);
     }
 
     public void recordOrderCreated(final OrderDto orderDto) {
         this.ordersCreated.increment();
         this.orderFeeTotal.increment(extractAmount(orderDto));
+        this.orderFee.record(extractAmount(orderDto));
     }
 
     public void recordOrderUpdated(final OrderDto orderDto) {
@@ -45,6 +119,51 @@ public class OrderMetricsRecorder {
         this.ordersDeleted.increment();
     }
 
+    public void registerIngestionQueue(final Collection<?> queue) {
+        Gauge.builder("order_service_ingestion_queue_depth", queue, Collection::size)
+            .description("Órdenes aceptadas pendientes de confirmar en base de datos")
+            .register(this.meterRegistry);
+    }
+
+    public void recordIngestionCommit(final int orders, final long elapsedNanos) {
+        this.ingestionCommit.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        this.ingestionBatchSize.record(orders);
+    }
+
+    public void recordIngestionRejected() {
+        this.ingestionRejected.increment();
+    }
+
+    /**
+     * Runs {@code action} and records its latency under {@code operation}, tagged with 
+     * success, not_found (OrderNotFoundException) or error (any other exception).
+     */
+    public <T> T recordOperation(final String operation, final Supplier<T> action) {
+        final long start = System.nanoTime();
+        String outcome = OUTCOME_ERROR;
+        try {
+            final T result = action.get();
+            outcome = OUTCOME_SUCCESS;
+            return result;
+        } catch (OrderNotFoundException e) {
+            outcome = OUTCOME_NOT_FOUND;
+            throw e;
+        } finally {
+            this.operationTimers.get(key(operation, outcome)).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public void recordOperation(final String operation, final Runnable action) {
+        this.recordOperation(operation, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    private static String key(final String operation, final String outcome) {
+        return operation + ':' + outcome;
+    }
+
     private double extractAmount(final OrderDto orderDto) {
         if (orderDto == null || orderDto.getOrderFee() == null) {
             return 0D;
@@ -0,0 +1,34 @@
+package com.selimhorri.app.metrics;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Component
+public class UserLookupMetricsRecorder {
+
+    private final Counter userLookups;
+    private final Counter userServiceCalls;
+    private final DistributionSummary callsSavedPerRequest;
+
+    public UserLookupMetricsRecorder(final MeterRegistry meterRegistry) {
+        this.userLookups = Counter.builder("order_service_user_lookups_total")
+            .description("Usuarios requeridos para enriquecer carritos")
+            .register(meterRegistry);
+        this.userServiceCalls = Counter.builder("order_service_user_service_calls_total")
+            .description("Llamadas HTTP realizadas a USER-SERVICE")
+            .register(meterRegistry);
+        this.callsSavedPerRequest = DistributionSummary.builder("order_service_user_lookup_calls_saved")
+            .description("Llamadas a USER-SERVICE evitadas por petición (memoización y lotes)")
+            .baseUnit("calls")
+            .register(meterRegistry);
+    }
+
+    public void recordRequest(final int lookups, final int calls) {
+        this.userLookups.increment(lookups);
+        this.userServiceCalls.increment(calls);
+        this.callsSavedPerRequest.record(Math.max(lookups - calls, 0));
+    }
+}
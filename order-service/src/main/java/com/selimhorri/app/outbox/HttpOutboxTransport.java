@@ -0,0 +1,42 @@
+package com.selimhorri.app.outbox;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import com.selimhorri.app.dto.OutboxEventDto;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * POSTs each batch to the {@code /api/events} endpoint of every service listed in 
+ * {@code outbox.http.subscribers}; the receiving side republishes them locally.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.transport", havingValue = "http")
+@Slf4j
+public class HttpOutboxTransport implements OutboxTransport {
+	
+	private final RestTemplate restTemplate;
+	private final List<String> subscribers;
+	
+	public HttpOutboxTransport(final RestTemplate restTemplate, 
+			@Value("${outbox.http.subscribers:}") final List<String> subscribers) {
+		this.restTemplate = restTemplate;
+		this.subscribers = subscribers;
+	}
+	
+	@Override
+	public void send(final List<OutboxEventDto> events) {
+		for (final String subscriber : this.subscribers) {
+			log.debug("*** Sending {} outbox events to {} *", events.size(), subscriber);
+			this.restTemplate.postForObject(subscriber, events, Void.class);
+		}
+	}
+	
+	
+	
+}
@@ -0,0 +1,110 @@
+package com.selimhorri.app.outbox;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.domain.OutboxEvent;
+import com.selimhorri.app.dto.OutboxEventDto;
+import com.selimhorri.app.repository.OutboxEventRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Polls outbox_events and hands unpublished events to the {@link OutboxTransport} in id 
+ * order, one batch per transaction; a batch is marked published only once the transport 
+ * accepted it, so delivery is at least once.
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+	
+	private final OutboxEventRepository outboxEventRepository;
+	private final OutboxTransport outboxTransport;
+	private final TransactionTemplate transactionTemplate;
+	private final ObjectMapper objectMapper;
+	private final String source;
+	private final int batchSize;
+	private final int retentionHours;
+	
+	public OutboxRelay(
+			final OutboxEventRepository outboxEventRepository, 
+			final OutboxTransport outboxTransport, 
+			final TransactionTemplate transactionTemplate, 
+			final ObjectMapper objectMapper, 
+			@Value("${spring.application.name}") final String source, 
+			@Value("${outbox.batch-size:100}") final int batchSize, 
+			@Value("${outbox.retention-hours:24}") final int retentionHours) {
+		this.outboxEventRepository = outboxEventRepository;
+		this.outboxTransport = outboxTransport;
+		this.transactionTemplate = transactionTemplate;
+		this.objectMapper = objectMapper;
+		this.source = source;
+		this.batchSize = batchSize;
+		this.retentionHours = retentionHours;
+	}
+	
+	/**
+	 * Keeps relaying while full batches come back, then waits for the next poll.
+	 */
+	@Scheduled(initialDelayString = "${outbox.poll-interval-ms:1000}", 
+			fixedDelayString = "${outbox.poll-interval-ms:1000}")
+	public void relay() {
+		try {
+			Integer relayed;
+			do {
+				relayed = this.transactionTemplate.execute(status -> this.relayBatch());
+			} while (relayed != null && relayed == this.batchSize);
+		} catch (RuntimeException e) {
+			log.warn("*** Outbox relay failed, retrying on next poll: {} *", e.getMessage());
+		}
+	}
+	
+	@Scheduled(initialDelayString = "${outbox.cleanup-interval-ms:3600000}", 
+			fixedDelayString = "${outbox.cleanup-interval-ms:3600000}")
+	public void cleanup() {
+		final Integer deleted = this.transactionTemplate.execute(status -> this.outboxEventRepository
+				.deletePublishedBefore(LocalDateTime.now().minusHours(this.retentionHours)));
+		log.info("*** Deleted {} published outbox events *", deleted);
+	}
+	
+	private int relayBatch() {
+		final List<OutboxEvent> events = this.outboxEventRepository.findUnpublished(PageRequest.of(0, this.batchSize));
+		if (events.isEmpty()) {
+			return 0;
+		}
+		this.outboxTransport.send(events.stream()
+				.map(this::map)
+				.collect(Collectors.toUnmodifiableList()));
+		this.outboxEventRepository.markPublished(events.stream()
+				.map(OutboxEvent::getEventId)
+				.collect(Collectors.toUnmodifiableList()), LocalDateTime.now());
+		return events.size();
+	}
+	
+	private OutboxEventDto map(final OutboxEvent event) {
+		try {
+			return OutboxEventDto.builder()
+					.eventId(event.getEventId())
+					.source(this.source)
+					.aggregateType(event.getAggregateType())
+					.aggregateId(event.getAggregateId())
+					.eventType(event.getEventType())
+					.payload(this.objectMapper.readTree(event.getPayload()))
+					.build();
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException(String.format("Corrupt payload in outbox event %d", event.getEventId()), e);
+		}
+	}
+	
+	
+	
+}
@@ -1,11 +1,115 @@
 package com.selimhorri.app.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import com.selimhorri.app.domain.Order;
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.OrderRevenueStatsDto;
 
 public interface OrderRepository extends JpaRepository<Order, Integer> {
 	
+	/**
+	 * Full scan backing the NDJSON export, with the cart fetched in the same row. 
+	 * Must be consumed inside a transaction.
+	 */
+	@QueryHints({
+			@QueryHint(name = "org.hibernate.fetchSize", value = "1000"), 
+			@QueryHint(name = "org.hibernate.readOnly", value = "true")})
+	@Query("SELECT o FROM Order o LEFT JOIN FETCH o.cart ORDER BY o.orderId ASC")
+	Stream<Order> streamAll();
+	
+	/**
+	 * Select list shared by the read-only queries below: rows are projected straight into 
+	 * OrderDto, so no entity is hydrated, tracked or snapshotted.
+	 */
+	String ORDER_DTO_PROJECTION = "SELECT new com.selimhorri.app.dto.OrderDto("
+			+ "o.orderId, o.orderDate, o.orderDesc, o.orderFee, c.cartId) "
+			+ "FROM Order o LEFT JOIN o.cart c ";
+	
+	@Query(ORDER_DTO_PROJECTION)
+	List<OrderDto> findAllProjected();
+	
+	@Query(ORDER_DTO_PROJECTION + "WHERE o.orderId = :orderId")
+	Optional<OrderDto> findProjectedById(@Param("orderId") final Integer orderId);
+	
+	@Query(ORDER_DTO_PROJECTION + "WHERE o.orderId IN :orderIds")
+	List<OrderDto> findProjectedByIdIn(@Param("orderIds") final Collection<Integer> orderIds);
+	
+	/**
+	 * Keyset page by primary key.
+	 */
+	@Query(ORDER_DTO_PROJECTION 
+			+ "WHERE o.orderId > :afterId ORDER BY o.orderId ASC")
+	List<OrderDto> findPageAfterId(@Param("afterId") final Integer afterId, final Pageable pageable);
+	
+	/**
+	 * First page by (orderDate, orderId), served by idx_orders_order_date.
+	 */
+	@Query(ORDER_DTO_PROJECTION 
+			+ "ORDER BY o.orderDate ASC, o.orderId ASC")
+	List<OrderDto> findFirstPageByOrderDate(final Pageable pageable);
+	
+	/**
+	 * Keyset page: orders strictly after the (orderDate, orderId) cursor of the previous page.
+	 */
+	@Query(ORDER_DTO_PROJECTION 
+			+ "WHERE o.orderDate > :orderDate OR (o.orderDate = :orderDate AND o.orderId > :afterId) "
+			+ "ORDER BY o.orderDate ASC, o.orderId ASC")
+	List<OrderDto> findPageAfterOrderDate(
+			@Param("orderDate") final LocalDateTime orderDate, 
+			@Param("afterId") final Integer afterId, 
+			final Pageable pageable);
+	
+	/**
+	 * Newest orders of a user's carts, served by idx_carts_user_id and idx_orders_cart_id_order_date.
+	 */
+	@Query(ORDER_DTO_PROJECTION 
+			+ "WHERE c.userId = :userId "
+			+ "ORDER BY o.orderDate DESC, o.orderId DESC")
+	List<OrderDto> findFirstPageByUserId(@Param("userId") final Integer userId, final Pageable pageable);
+	
+	/**
+	 * Keyset page of a user's orders strictly older than the (orderDate, orderId) cursor.
+	 */
+	@Query(ORDER_DTO_PROJECTION 
+			+ "WHERE c.userId = :userId "
+			+ "AND (o.orderDate < :orderDate OR (o.orderDate = :orderDate AND o.orderId < :beforeId)) "
+			+ "ORDER BY o.orderDate DESC, o.orderId DESC")
+	List<OrderDto> findPageByUserIdBefore(
+			@Param("userId") final Integer userId, 
+			@Param("orderDate") final LocalDateTime orderDate, 
+			@Param("beforeId") final Integer beforeId, 
+			final Pageable pageable);
+	
+	/**
+	 * Projected full scan in (orderDate, orderId) order for the revenue rollup backfill.
+	 * Must be consumed inside a transaction.
+	 */
+	@QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+	@Query(ORDER_DTO_PROJECTION 
+			+ "ORDER BY o.orderDate ASC, o.orderId ASC")
+	Stream<OrderDto> streamProjectedByOrderDate();
 	
+	/**
+	 * Revenue of the orders dated in [from, to), served by idx_orders_order_date.
+	 */
+	@Query("SELECT new com.selimhorri.app.dto.OrderRevenueStatsDto("
+			+ "COUNT(o), SUM(o.orderFee), MIN(o.orderFee), MAX(o.orderFee)) "
+			+ "FROM Order o WHERE o.orderDate >= :from AND o.orderDate < :to")
+	OrderRevenueStatsDto aggregateRevenue(
+			@Param("from") final LocalDateTime from, 
+			@Param("to") final LocalDateTime to);
 	
 }
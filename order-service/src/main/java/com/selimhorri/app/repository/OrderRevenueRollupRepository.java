@@ -0,0 +1,47 @@
+package com.selimhorri.app.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import com.selimhorri.app.domain.OrderRevenueRollup;
+import com.selimhorri.app.domain.RollupGranularity;
+
+public interface OrderRevenueRollupRepository extends JpaRepository<OrderRevenueRollup, Integer> {
+	
+	boolean existsByGranularityAndBucketStart(final RollupGranularity granularity, final LocalDateTime bucketStart);
+	
+	/**
+	 * Locks the bucket row so concurrent order writes apply their deltas one after the other.
+	 */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	Optional<OrderRevenueRollup> findByGranularityAndBucketStart(
+			final RollupGranularity granularity, final LocalDateTime bucketStart);
+	
+	@Query("SELECT r FROM OrderRevenueRollup r "
+			+ "WHERE r.granularity = :granularity AND r.bucketStart >= :from AND r.bucketStart < :to "
+			+ "AND r.orderCount > 0 ORDER BY r.bucketStart ASC")
+	List<OrderRevenueRollup> findRange(
+			@Param("granularity") final RollupGranularity granularity, 
+			@Param("from") final LocalDateTime from, 
+			@Param("to") final LocalDateTime to);
+	
+	/**
+	 * Non-empty buckets for the backfill's stale bucket pass. Must be consumed inside a transaction.
+	 */
+	@QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+	@Query("SELECT r FROM OrderRevenueRollup r WHERE r.orderCount > 0 "
+			+ "ORDER BY r.granularity ASC, r.bucketStart ASC")
+	Stream<OrderRevenueRollup> streamNonEmpty();
+	
+}
@@ -1,9 +1,17 @@
 package com.selimhorri.app.resource;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.NotNull;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,10 +20,22 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.RollupGranularity;
 import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.OrderIngestionDto;
+import com.selimhorri.app.dto.OrderRevenueStatsDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.dto.response.collection.DtoPageResponse;
+import com.selimhorri.app.helper.NdjsonWriter;
+import com.selimhorri.app.helper.OrderCursorHelper;
+import com.selimhorri.app.service.OrderIngestionService;
+import com.selimhorri.app.service.OrderRevenueService;
 import com.selimhorri.app.service.OrderService;
 
 import lombok.RequiredArgsConstructor;
@@ -27,12 +47,67 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class OrderResource {
 	
+	public static final String TRACKING_ID_HEADER = "Order-Tracking-Id";
+	
 	private final OrderService orderService;
+	private final OrderIngestionService orderIngestionService;
+	private final OrderRevenueService orderRevenueService;
+	private final ObjectMapper objectMapper;
 	
 	@GetMapping
-	public ResponseEntity<DtoCollectionResponse<OrderDto>> findAll() {
-		log.info("*** OrderDto List, controller; fetch all orders *");
-		return ResponseEntity.ok(new DtoCollectionResponse<>(this.orderService.findAll()));
+	public ResponseEntity<DtoPageResponse<OrderDto>> findAll(
+			@RequestParam(value = "sort", defaultValue = OrderCursorHelper.SORT_ORDER_ID) final String sort, 
+			@RequestParam(value = "cursor", required = false) final String cursor, 
+			@RequestParam(value = "afterId", required = false) final Integer afterId, 
+			@RequestParam(value = "limit", defaultValue = "50") final int limit) {
+		log.info("*** OrderDto Page, controller; fetch orders page *");
+		return ResponseEntity.ok(this.orderService.findPage(sort, cursor, afterId, limit));
+	}
+	
+	@GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public void streamAll(final HttpServletResponse response) throws IOException {
+		log.info("*** OrderDto Stream, controller; stream all orders *");
+		response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+		try (final NdjsonWriter<OrderDto> writer = 
+				new NdjsonWriter<>(this.objectMapper, OrderDto.class, response.getOutputStream())) {
+			this.orderService.streamAll(writer::write);
+		}
+	}
+	
+	/**
+	 * Orders of the user's carts, newest first; pass {@code nextCursor} back as {@code cursor}.
+	 */
+	@GetMapping("/user/{userId}")
+	public ResponseEntity<DtoPageResponse<OrderDto>> findAllByUserId(
+			@PathVariable("userId") final Integer userId, 
+			@RequestParam(value = "cursor", required = false) final String cursor, 
+			@RequestParam(value = "limit", defaultValue = "50") final int limit, 
+			@RequestParam(value = "embedCart", defaultValue = "false") final boolean embedCart) {
+		log.info("*** OrderDto Page, controller; fetch orders page by userId *");
+		return ResponseEntity.ok(this.orderService.findPageByUserId(userId, cursor, limit, embedCart));
+	}
+	
+	/**
+	 * Revenue per hour or day bucket, read from the rollups; empty buckets are omitted.
+	 */
+	@GetMapping("/stats")
+	public ResponseEntity<DtoCollectionResponse<OrderRevenueStatsDto>> findStats(
+			@RequestParam("from") 
+			@DateTimeFormat(pattern = AppConstant.LOCAL_DATE_TIME_FORMAT) final LocalDateTime from, 
+			@RequestParam("to") 
+			@DateTimeFormat(pattern = AppConstant.LOCAL_DATE_TIME_FORMAT) final LocalDateTime to, 
+			@RequestParam(value = "granularity", defaultValue = "day") final String granularity) {
+		log.info("*** OrderRevenueStatsDto List, resource; fetch revenue stats *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.orderRevenueService
+				.findStats(from, to, RollupGranularity.of(granularity))));
+	}
+	
+	@GetMapping("/batch")
+	public ResponseEntity<DtoCollectionResponse<OrderDto>> findAllByIds(
+			@RequestParam("ids") 
+			@NotEmpty(message = "Input must not be empty") final List<Integer> orderIds) {
+		log.info("*** OrderDto List, resource; fetch orders by ids *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.orderService.findAllByIds(orderIds)));
 	}
 	
 	@GetMapping("/{orderId}")
@@ -44,15 +119,37 @@ public class OrderResource {
 		return ResponseEntity.ok(this.orderService.findById(Integer.parseInt(orderId)));
 	}
 	
+	/**
+	 * With order-ingestion.async-enabled the order is only queued: 202 echoing the order 
+	 * without an orderId, with its tracking id in the {@value #TRACKING_ID_HEADER} header 
+	 * and the ingestion state under Location; 503 when the ingestion queue is full.
+	 */
 	@PostMapping
 	public ResponseEntity<OrderDto> save(
 			@RequestBody 
 			@NotNull(message = "Input must not be NULL") 
 			@Valid final OrderDto orderDto) {
 		log.info("*** OrderDto, resource; save order *");
+		if (this.orderIngestionService.isEnabled()) {
+			final String trackingId = this.orderIngestionService.submit(orderDto).getTrackingId();
+			return ResponseEntity.accepted()
+					.header(TRACKING_ID_HEADER, trackingId)
+					.location(ServletUriComponentsBuilder.fromCurrentRequestUri()
+							.path("/ingestion/{trackingId}")
+							.buildAndExpand(trackingId)
+							.toUri())
+					.body(orderDto);
+		}
 		return ResponseEntity.ok(this.orderService.save(orderDto));
 	}
 	
+	@GetMapping("/ingestion/{trackingId}")
+	public ResponseEntity<OrderIngestionDto> findIngestionByTrackingId(
+			@PathVariable("trackingId") final String trackingId) {
+		log.info("*** OrderIngestionDto, resource; fetch order ingestion by trackingId *");
+		return ResponseEntity.ok(this.orderIngestionService.findByTrackingId(trackingId));
+	}
+	
 	@PutMapping
 	public ResponseEntity<OrderDto> update(
 			@RequestBody 
@@ -0,0 +1,58 @@
+package com.selimhorri.app.resource;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.web.annotation.RestControllerEndpoint;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.selimhorri.app.exception.wrapper.RevenueBackfillInProgressException;
+import com.selimhorri.app.service.OrderRevenueService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@code POST /actuator/revenuebackfill} recounts every revenue rollup bucket from the orders table 
+ * and returns the number of orders read. Requires the {@code X-Admin-Token} header to match 
+ * management.admin-token; with no token configured every call gets 403. A second trigger while 
+ * one is running gets 409.
+ */
+@RestControllerEndpoint(id = "revenuebackfill")
+@Slf4j
+public class RevenueBackfillEndpoint {
+	
+	public static final String ADMIN_TOKEN_HEADER = "X-Admin-Token";
+	
+	private final OrderRevenueService orderRevenueService;
+	private final byte[] adminToken;
+	
+	public RevenueBackfillEndpoint(
+			final OrderRevenueService orderRevenueService, 
+			@Value("${management.admin-token:}") final String adminToken) {
+		this.orderRevenueService = orderRevenueService;
+		this.adminToken = adminToken.getBytes(StandardCharsets.UTF_8);
+	}
+	
+	@PostMapping
+	public ResponseEntity<Long> backfill(
+			@RequestHeader(value = ADMIN_TOKEN_HEADER, required = false) final String token) {
+		log.info("*** Long, endpoint; backfill revenue rollups *");
+		if (this.adminToken.length == 0 || token == null 
+				|| !MessageDigest.isEqual(this.adminToken, token.getBytes(StandardCharsets.UTF_8))) {
+			throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Missing or invalid admin token");
+		}
+		try {
+			return ResponseEntity.ok(this.orderRevenueService.backfill());
+		} catch (RevenueBackfillInProgressException e) {
+			throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage(), e);
+		}
+	}
+	
+	
+	
+}
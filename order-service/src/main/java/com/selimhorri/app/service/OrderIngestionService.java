@@ -0,0 +1,12 @@
+package com.selimhorri.app.service;
+
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.OrderIngestionDto;
+
+public interface OrderIngestionService {
+	
+	boolean isEnabled();
+	OrderIngestionDto submit(final OrderDto orderDto);
+	OrderIngestionDto findByTrackingId(final String trackingId);
+	
+}
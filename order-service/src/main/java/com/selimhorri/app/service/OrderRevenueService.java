@@ -0,0 +1,19 @@
+package com.selimhorri.app.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.selimhorri.app.domain.RollupGranularity;
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.OrderRevenueStatsDto;
+
+public interface OrderRevenueService {
+	
+	List<OrderRevenueStatsDto> findStats(final LocalDateTime from, final LocalDateTime to, 
+			final RollupGranularity granularity);
+	void recordCreated(final List<OrderDto> orders);
+	void recordUpdated(final OrderDto previous, final OrderDto current);
+	void recordDeleted(final OrderDto order);
+	long backfill();
+	
+}
@@ -1,13 +1,20 @@
 package com.selimhorri.app.service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.response.collection.DtoPageResponse;
 
 public interface OrderService {
 	
-	List<OrderDto> findAll();
+	void streamAll(final Consumer<OrderDto> action);
+	DtoPageResponse<OrderDto> findPage(final String sort, final String cursor, final Integer afterId, final int limit);
+	DtoPageResponse<OrderDto> findPageByUserId(final Integer userId, final String cursor, final int limit, 
+			final boolean embedCart);
 	OrderDto findById(final Integer orderId);
+	List<OrderDto> findAllByIds(final Collection<Integer> orderIds);
 	OrderDto save(final OrderDto orderDto);
 	OrderDto update(final OrderDto orderDto);
 	OrderDto update(final Integer orderId, final OrderDto orderDto);
@@ -0,0 +1,284 @@
+package com.selimhorri.app.service.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.Order;
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.OrderIngestionDto;
+import com.selimhorri.app.dto.OrderIngestionStatus;
+import com.selimhorri.app.exception.wrapper.OrderIngestionNotFoundException;
+import com.selimhorri.app.exception.wrapper.OrderIngestionRejectedException;
+import com.selimhorri.app.helper.OrderMappingHelper;
+import com.selimhorri.app.metrics.OrderMetricsRecorder;
+import com.selimhorri.app.outbox.OutboxWriter;
+import com.selimhorri.app.repository.OrderRepository;
+import com.selimhorri.app.service.OrderIngestionService;
+import com.selimhorri.app.service.OrderRevenueService;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Write-behind order ingestion. Accepted orders wait in a bounded queue and a single writer
+ * thread commits them in groups of up to {@code order-ingestion.batch-size}, waiting at most
+ * {@code order-ingestion.flush-interval-ms} for a group to fill, so a burst of orders costs one
+ * transaction per group instead of one per order. A full queue rejects new orders; on shutdown
+ * intake stops first and the writer drains whatever was already accepted.
+ */
+@Service
+@Slf4j
+public class OrderIngestionServiceImpl implements OrderIngestionService {
+	
+	private static final int MAX_TRACKED_ORDERS = 100_000;
+	
+	private final OrderRepository orderRepository;
+	private final TransactionTemplate transactionTemplate;
+	private final OrderMetricsRecorder orderMetricsRecorder;
+	private final OutboxWriter outboxWriter;
+	private final OrderRevenueService orderRevenueService;
+	private final boolean enabled;
+	private final int queueCapacity;
+	private final int batchSize;
+	private final long flushIntervalMs;
+	private final BlockingQueue<PendingOrder> queue;
+	
+	/** Most recent ingestion states by tracking id, oldest evicted first. */
+	private final Map<String, OrderIngestionDto> tracked = Collections.synchronizedMap(
+			new LinkedHashMap<String, OrderIngestionDto>() {
+				private static final long serialVersionUID = 1L;
+				@Override
+				protected boolean removeEldestEntry(final Map.Entry<String, OrderIngestionDto> eldest) {
+					return this.size() > MAX_TRACKED_ORDERS;
+				}
+			});
+	
+	/** Submitters hold the read lock while offering, so no order slips in after shutdown starts. */
+	private final ReadWriteLock intakeLock = new ReentrantReadWriteLock();
+	private volatile boolean accepting;
+	private Thread writer;
+	
+	public OrderIngestionServiceImpl(
+			final OrderRepository orderRepository,
+			final TransactionTemplate transactionTemplate,
+			final OrderMetricsRecorder orderMetricsRecorder,
+			final OutboxWriter outboxWriter,
+			final OrderRevenueService orderRevenueService,
+			@Value("${order-ingestion.async-enabled:false}") final boolean enabled,
+			@Value("${order-ingestion.queue-capacity:10000}") final int queueCapacity,
+			@Value("${order-ingestion.batch-size:200}") final int batchSize,
+			@Value("${order-ingestion.flush-interval-ms:50}") final long flushIntervalMs) {
+		this.orderRepository = orderRepository;
+		this.transactionTemplate = transactionTemplate;
+		this.orderMetricsRecorder = orderMetricsRecorder;
+		this.outboxWriter = outboxWriter;
+		this.orderRevenueService = orderRevenueService;
+		this.enabled = enabled;
+		this.queueCapacity = queueCapacity;
+		this.batchSize = batchSize;
+		this.flushIntervalMs = flushIntervalMs;
+		this.queue = new ArrayBlockingQueue<>(queueCapacity);
+		this.accepting = enabled;
+		this.orderMetricsRecorder.registerIngestionQueue(this.queue);
+	}
+	
+	@PostConstruct
+	public void start() {
+		if (this.enabled) {
+			this.writer = new Thread(this::drain, "order-ingestion-writer");
+			this.writer.start();
+		}
+	}
+	
+	@PreDestroy
+	public void stop() throws InterruptedException {
+		this.intakeLock.writeLock().lock();
+		try {
+			this.accepting = false;
+		} finally {
+			this.intakeLock.writeLock().unlock();
+		}
+		if (this.writer != null) {
+			this.writer.join();
+			log.info("*** Order ingestion stopped, queue drained *");
+		}
+	}
+	
+	@Override
+	public boolean isEnabled() {
+		return this.enabled;
+	}
+	
+	@Override
+	public OrderIngestionDto submit(final OrderDto orderDto) {
+		log.info("*** OrderIngestionDto, service; enqueue order *");
+		final String trackingId = UUID.randomUUID().toString();
+		final OrderIngestionDto queued = OrderIngestionDto.builder()
+				.trackingId(trackingId)
+				.status(OrderIngestionStatus.QUEUED)
+				.build();
+	
+		this.intakeLock.readLock().lock();
+		try {
+			if (!this.accepting) {
+				throw new OrderIngestionRejectedException("Order ingestion is not accepting orders");
+			}
+			this.tracked.put(trackingId, queued);
+			if (!this.queue.offer(new PendingOrder(trackingId, orderDto))) {
+				this.tracked.remove(trackingId);
+				this.orderMetricsRecorder.recordIngestionRejected();
+				throw new OrderIngestionRejectedException(String
+						.format("Order ingestion queue is full (%d orders), retry later", this.queueCapacity));
+			}
+		} finally {
+			this.intakeLock.readLock().unlock();
+		}
+		return queued;
+	}
+	
+	@Override
+	public OrderIngestionDto findByTrackingId(final String trackingId) {
+		log.info("*** OrderIngestionDto, service; fetch ingestion state by trackingId *");
+		return Optional.ofNullable(this.tracked.get(trackingId))
+				.orElseThrow(() -> new OrderIngestionNotFoundException(String
+						.format("Order ingestion with trackingId: %s not found", trackingId)));
+	}
+	
+	private void drain() {
+		final List<PendingOrder> batch = new ArrayList<>(this.batchSize);
+		try {
+			while (this.accepting || !this.queue.isEmpty()) {
+				this.fill(batch);
+				this.commit(batch);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			log.warn("*** Order ingestion writer interrupted, committing the remaining orders *");
+			do {
+				this.commit(batch);
+				this.queue.drainTo(batch, this.batchSize);
+			} while (!batch.isEmpty());
+		}
+	}
+	
+	/**
+	 * Blocks for the first order, then gives the group until the flush interval to fill up.
+	 */
+	private void fill(final List<PendingOrder> batch) throws InterruptedException {
+		final PendingOrder first = this.queue.poll(this.flushIntervalMs, TimeUnit.MILLISECONDS);
+		if (first == null) {
+			return;
+		}
+		batch.add(first);
+		final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(this.flushIntervalMs);
+		while (batch.size() < this.batchSize) {
+			if (this.queue.drainTo(batch, this.batchSize - batch.size()) > 0) {
+				continue;
+			}
+			final long remaining = deadline - System.nanoTime();
+			if (remaining <= 0 || !this.accepting) {
+				return;
+			}
+			final PendingOrder next = this.queue.poll(remaining, TimeUnit.NANOSECONDS);
+			if (next == null) {
+				return;
+			}
+			batch.add(next);
+		}
+	}
+	
+	/**
+	 * One transaction for the whole group; if it fails, orders are retried one by one so a
+	 * single bad order does not fail the others.
+	 */
+	private void commit(final List<PendingOrder> batch) {
+		if (batch.isEmpty()) {
+			return;
+		}
+		final long start = System.nanoTime();
+		try {
+			final List<Order> saved = this.transactionTemplate.execute(status -> {
+				final List<Order> orders = this.orderRepository.saveAll(batch.stream()
+						.map(pending -> OrderMappingHelper.map(pending.getOrderDto()))
+						.collect(Collectors.toList()));
+				orders.forEach(this::appendCreated);
+				this.orderRevenueService.recordCreated(orders.stream()
+						.map(OrderMappingHelper::map)
+						.collect(Collectors.toList()));
+				return orders;
+			});
+			this.orderMetricsRecorder.recordIngestionCommit(batch.size(), System.nanoTime() - start);
+			for (int i = 0; i < batch.size(); i++) {
+				this.committed(batch.get(i), OrderMappingHelper.map(saved.get(i)));
+			}
+		} catch (RuntimeException e) {
+			log.warn("*** Group commit of {} orders failed, committing one by one: {} *", batch.size(), e.getMessage());
+			batch.forEach(this::commitOne);
+		} finally {
+			batch.clear();
+		}
+	}
+	
+	private void commitOne(final PendingOrder pending) {
+		try {
+			final Order order = this.transactionTemplate.execute(status -> {
+				final Order saved = this.orderRepository.save(OrderMappingHelper.map(pending.getOrderDto()));
+				this.appendCreated(saved);
+				this.orderRevenueService.recordCreated(List.of(OrderMappingHelper.map(saved)));
+				return saved;
+			});
+			this.committed(pending, OrderMappingHelper.map(order));
+		} catch (RuntimeException e) {
+			log.warn("*** Could not commit order with trackingId {}: {} *", pending.getTrackingId(), e.getMessage());
+			this.tracked.put(pending.getTrackingId(), OrderIngestionDto.builder()
+					.trackingId(pending.getTrackingId())
+					.status(OrderIngestionStatus.FAILED)
+					.message(e.getMessage())
+					.build());
+		}
+	}
+	
+	private void appendCreated(final Order order) {
+		this.outboxWriter.append(AppConstant.OutboxEvents.AGGREGATE_ORDER, order.getOrderId(), 
+				AppConstant.OutboxEvents.ORDER_CREATED, OrderMappingHelper.map(order));
+	}
+	
+	private void committed(final PendingOrder pending, final OrderDto saved) {
+		this.orderMetricsRecorder.recordOrderCreated(saved);
+		this.tracked.put(pending.getTrackingId(), OrderIngestionDto.builder()
+				.trackingId(pending.getTrackingId())
+				.status(OrderIngestionStatus.COMMITTED)
+				.orderId(saved.getOrderId())
+				.build());
+	}
+	
+	@RequiredArgsConstructor
+	@Getter
+	private static final class PendingOrder {
+		private final String trackingId;
+		private final OrderDto orderDto;
+	}
+	
+	
+	
+}
@@ -0,0 +1,301 @@
+package com.selimhorri.app.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.persistence.EntityManager;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.selimhorri.app.domain.OrderRevenueRollup;
+import com.selimhorri.app.domain.RollupGranularity;
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.OrderRevenueStatsDto;
+import com.selimhorri.app.exception.wrapper.OrderValidationException;
+import com.selimhorri.app.exception.wrapper.RevenueBackfillInProgressException;
+import com.selimhorri.app.helper.OrderRevenueMappingHelper;
+import com.selimhorri.app.repository.OrderRepository;
+import com.selimhorri.app.repository.OrderRevenueRollupRepository;
+import com.selimhorri.app.service.OrderRevenueService;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps hourly and daily revenue rollups in step with the orders table. Each order write applies 
+ * count/sum deltas to its buckets in the same transaction; min and max only widen incrementally, 
+ * so removing the fee that is a bucket's min or max recomputes that bucket from the orders in it.
+ */
+@Service
+@Transactional
+@Slf4j
+public class OrderRevenueServiceImpl implements OrderRevenueService {
+	
+	private static final int MAX_BUCKETS = 10_000;
+	private static final int BACKFILL_CLEAR_INTERVAL = 1000;
+	
+	private final OrderRevenueRollupRepository orderRevenueRollupRepository;
+	private final OrderRepository orderRepository;
+	private final EntityManager entityManager;
+	private final TransactionTemplate bucketCreator;
+	private final TransactionTemplate bucketRebuilder;
+	private final AtomicBoolean backfilling = new AtomicBoolean();
+	
+	public OrderRevenueServiceImpl(
+			final OrderRevenueRollupRepository orderRevenueRollupRepository, 
+			final OrderRepository orderRepository, 
+			final EntityManager entityManager, 
+			final PlatformTransactionManager transactionManager) {
+		this.orderRevenueRollupRepository = orderRevenueRollupRepository;
+		this.orderRepository = orderRepository;
+		this.entityManager = entityManager;
+		this.bucketCreator = new TransactionTemplate(transactionManager);
+		this.bucketCreator.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		// read committed, so the recount sees every write committed before the bucket lock was granted
+		this.bucketRebuilder = new TransactionTemplate(transactionManager);
+		this.bucketRebuilder.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		this.bucketRebuilder.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	public List<OrderRevenueStatsDto> findStats(final LocalDateTime from, final LocalDateTime to, 
+			final RollupGranularity granularity) {
+		log.info("*** OrderRevenueStatsDto List, service; fetch revenue stats *");
+		final LocalDateTime firstBucket = granularity.bucketOf(from);
+		if (!firstBucket.isBefore(to)) {
+			throw new OrderValidationException("Stats range must have from before to");
+		}
+		if (granularity.getUnit().between(firstBucket, to) > MAX_BUCKETS) {
+			throw new OrderValidationException(String.format("Stats range spans more than %d %s buckets", 
+					MAX_BUCKETS, granularity.getGranularity()));
+		}
+		return this.orderRevenueRollupRepository.findRange(granularity, firstBucket, to)
+				.stream()
+					.map(OrderRevenueMappingHelper::map)
+					.collect(Collectors.toUnmodifiableList());
+	}
+	
+	@Override
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void recordCreated(final List<OrderDto> orders) {
+		this.apply(Collections.emptyList(), orders);
+	}
+	
+	@Override
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void recordUpdated(final OrderDto previous, final OrderDto current) {
+		this.apply(List.of(previous), List.of(current));
+	}
+	
+	@Override
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void recordDeleted(final OrderDto order) {
+		this.apply(List.of(order), Collections.emptyList());
+	}
+	
+	/**
+	 * Recounts every bucket from the orders in it, one bucket per transaction under the same 
+	 * row lock order writes take: a write committed before the lock is granted is in the recount, 
+	 * a later one applies its delta on top of it, so the backfill is safe under live traffic. 
+	 * Buckets are found in one pass over the orders sorted by order_date, then non-empty 
+	 * buckets without orders left are reset. One backfill runs at a time per instance.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public long backfill() {
+		if (!this.backfilling.compareAndSet(false, true)) {
+			throw new RevenueBackfillInProgressException("A revenue backfill is already running");
+		}
+		log.info("*** Long, service; backfill revenue rollups *");
+		try {
+			final Map<RollupGranularity, LocalDateTime> current = new EnumMap<>(RollupGranularity.class);
+			long orders = 0;
+			int rebuilt = 0;
+			try (final Stream<OrderDto> stream = this.orderRepository.streamProjectedByOrderDate()) {
+				final Iterator<OrderDto> iterator = stream.iterator();
+				while (iterator.hasNext()) {
+					final OrderDto order = iterator.next();
+					for (final RollupGranularity granularity : RollupGranularity.values()) {
+						final LocalDateTime bucketStart = granularity.bucketOf(orderDateOf(order));
+						if (!bucketStart.equals(current.put(granularity, bucketStart))) {
+							this.rebuild(granularity, bucketStart);
+							rebuilt++;
+						}
+					}
+					orders++;
+				}
+			}
+			int read = 0;
+			try (final Stream<OrderRevenueRollup> stream = this.orderRevenueRollupRepository.streamNonEmpty()) {
+				final Iterator<OrderRevenueRollup> iterator = stream.iterator();
+				while (iterator.hasNext()) {
+					final OrderRevenueRollup rollup = iterator.next();
+					final LocalDateTime bucketStart = rollup.getBucketStart();
+					if (this.orderRepository.aggregateRevenue(bucketStart, 
+							rollup.getGranularity().next(bucketStart)).getOrderCount() == 0) {
+						this.rebuild(rollup.getGranularity(), bucketStart);
+						rebuilt++;
+					}
+					if (++read % BACKFILL_CLEAR_INTERVAL == 0) {
+						this.entityManager.clear();
+					}
+				}
+			}
+			log.info("*** Revenue rollups rebuilt from {} orders into {} buckets *", orders, rebuilt);
+			return orders;
+		} finally {
+			this.backfilling.set(false);
+		}
+	}
+	
+	private void rebuild(final RollupGranularity granularity, final LocalDateTime bucketStart) {
+		this.bucketRebuilder.executeWithoutResult(status -> reset(this.lockBucket(granularity, bucketStart), 
+				this.orderRepository.aggregateRevenue(bucketStart, granularity.next(bucketStart))));
+	}
+	
+	/**
+	 * Folds the changes into one delta per bucket, then applies the deltas in bucket order so 
+	 * concurrent writers always lock rollup rows in the same sequence.
+	 */
+	private void apply(final List<OrderDto> removed, final List<OrderDto> added) {
+		final Map<List<Object>, BucketDelta> deltas = new LinkedHashMap<>();
+		for (final RollupGranularity granularity : RollupGranularity.values()) {
+			removed.forEach(order -> this.deltaOf(deltas, granularity, order).remove(order.getOrderFee()));
+			added.forEach(order -> this.deltaOf(deltas, granularity, order).add(order.getOrderFee()));
+		}
+		deltas.values().stream()
+				.sorted(Comparator.comparing(BucketDelta::getGranularity)
+						.thenComparing(BucketDelta::getBucketStart))
+				.forEach(this::applyDelta);
+	}
+	
+	private BucketDelta deltaOf(final Map<List<Object>, BucketDelta> deltas, 
+			final RollupGranularity granularity, final OrderDto order) {
+		final LocalDateTime bucketStart = granularity.bucketOf(orderDateOf(order));
+		return deltas.computeIfAbsent(List.of(granularity, bucketStart), 
+				key -> new BucketDelta(granularity, bucketStart));
+	}
+	
+	private void applyDelta(final BucketDelta delta) {
+		final OrderRevenueRollup rollup = this.lockBucket(delta.getGranularity(), delta.getBucketStart());
+		if (delta.removesExtremeOf(rollup)) {
+			// The orders table already holds this change: the query below flushes it first
+			reset(rollup, this.orderRepository.aggregateRevenue(
+					delta.getBucketStart(), delta.getGranularity().next(delta.getBucketStart())));
+			return;
+		}
+		rollup.setOrderCount(rollup.getOrderCount() + delta.getCount());
+		rollup.setFeeSum(rollup.getFeeSum() + delta.getSum());
+		rollup.setFeeMin(min(rollup.getFeeMin(), delta.getAddedMin()));
+		rollup.setFeeMax(max(rollup.getFeeMax(), delta.getAddedMax()));
+	}
+	
+	/**
+	 * A missing bucket is inserted in its own transaction, so a concurrent insert of the 
+	 * same bucket only costs a duplicate-key retry instead of this whole transaction. The 
+	 * existence check takes no lock: a locking read of a missing row would hold a gap lock 
+	 * that blocks that very insert.
+	 */
+	private OrderRevenueRollup lockBucket(final RollupGranularity granularity, final LocalDateTime bucketStart) {
+		if (!this.orderRevenueRollupRepository.existsByGranularityAndBucketStart(granularity, bucketStart)) {
+			try {
+				this.bucketCreator.executeWithoutResult(status -> this.orderRevenueRollupRepository
+						.saveAndFlush(emptyBucket(granularity, bucketStart)));
+			} catch (DataIntegrityViolationException e) {
+				log.debug("*** Revenue bucket {} {} created concurrently *", granularity, bucketStart);
+			}
+		}
+		return this.orderRevenueRollupRepository.findByGranularityAndBucketStart(granularity, bucketStart)
+				.orElseThrow(() -> new IllegalStateException(String
+						.format("Revenue bucket %s %s could not be created", granularity, bucketStart)));
+	}
+	
+	/**
+	 * order_date defaults to the insert time when an order is saved without one.
+	 */
+	private static LocalDateTime orderDateOf(final OrderDto order) {
+		return (order.getOrderDate() != null) ? order.getOrderDate() : LocalDateTime.now();
+	}
+	
+	private static OrderRevenueRollup emptyBucket(final RollupGranularity granularity, final LocalDateTime bucketStart) {
+		return OrderRevenueRollup.builder()
+				.granularity(granularity)
+				.bucketStart(bucketStart)
+				.orderCount(0L)
+				.feeSum(0.0)
+				.build();
+	}
+	
+	private static void reset(final OrderRevenueRollup rollup, final OrderRevenueStatsDto actual) {
+		rollup.setOrderCount(actual.getOrderCount());
+		rollup.setFeeSum(actual.getFeeSum() != null ? actual.getFeeSum() : 0.0);
+		rollup.setFeeMin(actual.getFeeMin());
+		rollup.setFeeMax(actual.getFeeMax());
+	}
+	
+	private static Double min(final Double a, final Double b) {
+		return (a == null) ? b : (b == null) ? a : Math.min(a, b);
+	}
+	
+	private static Double max(final Double a, final Double b) {
+		return (a == null) ? b : (b == null) ? a : Math.max(a, b);
+	}
+	
+	@RequiredArgsConstructor
+	@Getter
+	private static final class BucketDelta {
+		
+		private final RollupGranularity granularity;
+		private final LocalDateTime bucketStart;
+		private long count;
+		private double sum;
+		private Double addedMin;
+		private Double addedMax;
+		private Double removedMin;
+		private Double removedMax;
+		
+		void add(final Double fee) {
+			this.count++;
+			if (fee != null) {
+				this.sum += fee;
+				this.addedMin = min(this.addedMin, fee);
+				this.addedMax = max(this.addedMax, fee);
+			}
+		}
+		
+		void remove(final Double fee) {
+			this.count--;
+			if (fee != null) {
+				this.sum -= fee;
+				this.removedMin = min(this.removedMin, fee);
+				this.removedMax = max(this.removedMax, fee);
+			}
+		}
+		
+		boolean removesExtremeOf(final OrderRevenueRollup rollup) {
+			return (this.removedMin != null && rollup.getFeeMin() != null && this.removedMin <= rollup.getFeeMin())
+					|| (this.removedMax != null && rollup.getFeeMax() != null && this.removedMax >= rollup.getFeeMax());
+		}
+		
+	}
+	
+	
+	
+}
@@ -1,46 +1,191 @@
 package com.selimhorri.app.service.impl;
 
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
-import javax.transaction.Transactional;
+import javax.persistence.EntityManager;
 
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.Order;
+import com.selimhorri.app.dto.CartDto;
 import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.response.collection.DtoPageResponse;
 import com.selimhorri.app.exception.wrapper.OrderNotFoundException;
+import com.selimhorri.app.exception.wrapper.OrderValidationException;
+import com.selimhorri.app.helper.OrderCursorHelper;
 import com.selimhorri.app.helper.OrderMappingHelper;
 import com.selimhorri.app.metrics.OrderMetricsRecorder;
+import com.selimhorri.app.outbox.OutboxWriter;
 import com.selimhorri.app.repository.OrderRepository;
+import com.selimhorri.app.service.OrderRevenueService;
 import com.selimhorri.app.service.OrderService;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Operations run their own transaction inside the latency timer, so the recorded 
+ * time includes the flush and commit.
+ */
 @Service
-@Transactional
 @Slf4j
-@RequiredArgsConstructor
 public class OrderServiceImpl implements OrderService {
 	
+	private static final int MAX_PAGE_SIZE = 500;
+	private static final int STREAM_CLEAR_INTERVAL = 1000;
+	
 	private final OrderRepository orderRepository;
 	private final OrderMetricsRecorder orderMetricsRecorder;
+	private final EntityManager entityManager;
+	private final OutboxWriter outboxWriter;
+	private final OrderRevenueService orderRevenueService;
+	private final TransactionTemplate readWriteTransaction;
+	private final TransactionTemplate readOnlyTransaction;
+	
+	public OrderServiceImpl(
+			final OrderRepository orderRepository, 
+			final OrderMetricsRecorder orderMetricsRecorder, 
+			final EntityManager entityManager, 
+			final OutboxWriter outboxWriter, 
+			final OrderRevenueService orderRevenueService, 
+			final PlatformTransactionManager transactionManager) {
+		this.orderRepository = orderRepository;
+		this.orderMetricsRecorder = orderMetricsRecorder;
+		this.entityManager = entityManager;
+		this.outboxWriter = outboxWriter;
+		this.orderRevenueService = orderRevenueService;
+		this.readWriteTransaction = new TransactionTemplate(transactionManager);
+		this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+		this.readOnlyTransaction.setReadOnly(true);
+	}
+	
+	/**
+	 * Maps and hands over one order at a time; the persistence context is cleared 
+	 * every {@value #STREAM_CLEAR_INTERVAL} rows so memory stays flat on large tables.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public void streamAll(final Consumer<OrderDto> action) {
+		log.info("*** OrderDto Stream, service; stream all orders *");
+		try (final Stream<Order> orders = this.orderRepository.streamAll()) {
+			final Iterator<Order> iterator = orders.iterator();
+			for (int i = 1; iterator.hasNext(); i++) {
+				action.accept(OrderMappingHelper.map(iterator.next()));
+				if (i % STREAM_CLEAR_INTERVAL == 0) {
+					this.entityManager.clear();
+				}
+			}
+		}
+	}
+	
+	@Override
+	public DtoPageResponse<OrderDto> findPage(final String sort, final String cursor, 
+			final Integer afterId, final int limit) {
+		log.info("*** OrderDto Page, service; fetch orders page *");
+		return this.orderMetricsRecorder.recordOperation(OrderMetricsRecorder.OPERATION_FIND_PAGE, () -> 
+				this.readOnlyTransaction.execute(status -> this.fetchPage(sort, cursor, afterId, limit)));
+	}
 	
+	/**
+	 * Fetches one row past the page to know whether a next page exists.
+	 */
+	private DtoPageResponse<OrderDto> fetchPage(final String sort, final String cursor, 
+			final Integer afterId, final int limit) {
+		final int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+		final Pageable page = PageRequest.of(0, pageSize + 1);
+		final List<OrderDto> orders;
+		
+		if (OrderCursorHelper.SORT_ORDER_DATE.equals(sort)) {
+			final OrderDto last = (cursor != null) ? OrderCursorHelper.decode(sort, cursor) : null;
+			orders = (last == null)
+					? this.orderRepository.findFirstPageByOrderDate(page)
+					: this.orderRepository.findPageAfterOrderDate(last.getOrderDate(), last.getOrderId(), page);
+		} else if (OrderCursorHelper.SORT_ORDER_ID.equals(sort)) {
+			final Integer lastOrderId = (cursor != null) 
+					? OrderCursorHelper.decode(sort, cursor).getOrderId() 
+					: (afterId != null ? afterId : 0);
+			orders = this.orderRepository.findPageAfterId(lastOrderId, page);
+		} else {
+			throw new OrderValidationException(String.format("Unsupported sort: [%s]", sort));
+		}
+		
+		return toPage(sort, orders, pageSize);
+	}
+	
+	/**
+	 * A user's orders, newest first, in one join over carts.user_id; the cart is only 
+	 * embedded on request, and then costs nothing more since its user is already known.
+	 */
 	@Override
-	public List<OrderDto> findAll() {
-		log.info("*** OrderDto List, service; fetch all orders *");
-		return this.orderRepository.findAll()
-				.stream()
-					.map(OrderMappingHelper::map)
-					.distinct()
-					.collect(Collectors.toUnmodifiableList());
+	public DtoPageResponse<OrderDto> findPageByUserId(final Integer userId, final String cursor, 
+			final int limit, final boolean embedCart) {
+		log.info("*** OrderDto Page, service; fetch orders page by userId *");
+		return this.orderMetricsRecorder.recordOperation(OrderMetricsRecorder.OPERATION_FIND_BY_USER, () -> 
+				this.readOnlyTransaction.execute(status -> {
+			final int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+			final Pageable page = PageRequest.of(0, pageSize + 1);
+			final OrderDto last = (cursor != null) 
+					? OrderCursorHelper.decode(OrderCursorHelper.SORT_ORDER_DATE, cursor) 
+					: null;
+			final List<OrderDto> orders = (last == null)
+					? this.orderRepository.findFirstPageByUserId(userId, page)
+					: this.orderRepository.findPageByUserIdBefore(userId, last.getOrderDate(), last.getOrderId(), page);
+			orders.forEach(o -> o.setCartDto(embedCart && o.getCartDto() != null 
+					? CartDto.builder().cartId(o.getCartDto().getCartId()).userId(userId).build() 
+					: null));
+			return toPage(OrderCursorHelper.SORT_ORDER_DATE, orders, pageSize);
+		}));
+	}
+	
+	private static DtoPageResponse<OrderDto> toPage(final String sort, final List<OrderDto> orders, final int pageSize) {
+		final List<OrderDto> orderDtos = orders.stream()
+				.limit(pageSize)
+				.collect(Collectors.toUnmodifiableList());
+		return new DtoPageResponse<>(orderDtos, (orders.size() > pageSize)
+				? OrderCursorHelper.encode(sort, orderDtos.get(orderDtos.size() - 1))
+				: null);
 	}
 	
 	@Override
 	public OrderDto findById(final Integer orderId) {
 		log.info("*** OrderDto, service; fetch order by id *");
-		return this.orderRepository.findById(orderId)
-				.map(OrderMappingHelper::map)
+		return this.orderMetricsRecorder.recordOperation(OrderMetricsRecorder.OPERATION_FIND_BY_ID, () -> 
+				this.readOnlyTransaction.execute(status -> this.fetchById(orderId)));
+	}
+	
+	/**
+	 * Ids without an order are simply absent from the result.
+	 */
+	@Override
+	public List<OrderDto> findAllByIds(final Collection<Integer> orderIds) {
+		log.info("*** OrderDto List, service; fetch orders by ids *");
+		if (orderIds.isEmpty()) {
+			return List.of();
+		}
+		if (orderIds.size() > MAX_PAGE_SIZE) {
+			throw new OrderValidationException(String
+					.format("At most %d order ids can be fetched at once", MAX_PAGE_SIZE));
+		}
+		return this.orderMetricsRecorder.recordOperation(OrderMetricsRecorder.OPERATION_FIND_BY_IDS, () -> 
+				this.readOnlyTransaction.execute(status -> this.orderRepository.findProjectedByIdIn(orderIds)
+					.stream()
+						.distinct()
+						.collect(Collectors.toUnmodifiableList())));
+	}
+	
+	private OrderDto fetchById(final Integer orderId) {
+		return this.orderRepository.findProjectedById(orderId)
 				.orElseThrow(() -> new OrderNotFoundException(String
 						.format("Order with id: %d not found", orderId)));
 	}
@@ -48,35 +193,68 @@ public class OrderServiceImpl implements OrderService {
 	@Override
 	public OrderDto save(final OrderDto orderDto) {
 		log.info("*** OrderDto, service; save order *");
-		final OrderDto saved = OrderMappingHelper.map(this.orderRepository
-				.save(OrderMappingHelper.map(orderDto)));
-		this.orderMetricsRecorder.recordOrderCreated(saved);
-		return saved;
+		return this.orderMetricsRecorder.recordOperation(OrderMetricsRecorder.OPERATION_SAVE, () -> 
+				this.readWriteTransaction.execute(status -> {
+			final OrderDto saved = OrderMappingHelper.map(this.orderRepository
+					.save(OrderMappingHelper.map(orderDto)));
+			this.outboxWriter.append(AppConstant.OutboxEvents.AGGREGATE_ORDER, saved.getOrderId(), 
+					AppConstant.OutboxEvents.ORDER_CREATED, saved);
+			this.orderRevenueService.recordCreated(List.of(saved));
+			this.orderMetricsRecorder.recordOrderCreated(saved);
+			return saved;
+		}));
 	}
 	
 	@Override
 	public OrderDto update(final OrderDto orderDto) {
 		log.info("*** OrderDto, service; update order *");
-		final OrderDto updated = OrderMappingHelper.map(this.orderRepository
-				.save(OrderMappingHelper.map(orderDto)));
-		this.orderMetricsRecorder.recordOrderUpdated(updated);
-		return updated;
+		return this.orderMetricsRecorder.recordOperation(OrderMetricsRecorder.OPERATION_UPDATE, () -> 
+				this.readWriteTransaction.execute(status -> {
+			final Optional<OrderDto> previous = (orderDto.getOrderId() != null) 
+					? this.orderRepository.findProjectedById(orderDto.getOrderId()) 
+					: Optional.empty();
+			final OrderDto updated = OrderMappingHelper.map(this.orderRepository
+					.save(OrderMappingHelper.map(orderDto)));
+			this.outboxWriter.append(AppConstant.OutboxEvents.AGGREGATE_ORDER, updated.getOrderId(), 
+					AppConstant.OutboxEvents.ORDER_UPDATED, updated);
+			if (previous.isPresent()) {
+				this.orderRevenueService.recordUpdated(previous.get(), updated);
+			} else {
+				this.orderRevenueService.recordCreated(List.of(updated));
+			}
+			this.orderMetricsRecorder.recordOrderUpdated(updated);
+			return updated;
+		}));
 	}
 	
 	@Override
 	public OrderDto update(final Integer orderId, final OrderDto orderDto) {
 		log.info("*** OrderDto, service; update order with orderId *");
-		final OrderDto updated = OrderMappingHelper.map(this.orderRepository
-				.save(OrderMappingHelper.map(this.findById(orderId))));
-		this.orderMetricsRecorder.recordOrderUpdated(updated);
-		return updated;
+		return this.orderMetricsRecorder.recordOperation(OrderMetricsRecorder.OPERATION_UPDATE, () -> 
+				this.readWriteTransaction.execute(status -> {
+			final OrderDto previous = this.fetchById(orderId);
+			final OrderDto updated = OrderMappingHelper.map(this.orderRepository
+					.save(OrderMappingHelper.map(previous)));
+			this.outboxWriter.append(AppConstant.OutboxEvents.AGGREGATE_ORDER, updated.getOrderId(), 
+					AppConstant.OutboxEvents.ORDER_UPDATED, updated);
+			this.orderRevenueService.recordUpdated(previous, updated);
+			this.orderMetricsRecorder.recordOrderUpdated(updated);
+			return updated;
+		}));
 	}
 	
 	@Override
 	public void deleteById(final Integer orderId) {
 		log.info("*** Void, service; delete order by id *");
-		this.orderRepository.delete(OrderMappingHelper.map(this.findById(orderId)));
-		this.orderMetricsRecorder.recordOrderDeleted();
+		this.orderMetricsRecorder.recordOperation(OrderMetricsRecorder.OPERATION_DELETE, () -> 
+				this.readWriteTransaction.executeWithoutResult(status -> {
+			final OrderDto deleted = this.fetchById(orderId);
+			this.orderRepository.delete(OrderMappingHelper.map(deleted));
+			this.outboxWriter.append(AppConstant.OutboxEvents.AGGREGATE_ORDER, orderId, 
+					AppConstant.OutboxEvents.ORDER_DELETED, deleted);
+			this.orderRevenueService.recordDeleted(deleted);
+			this.orderMetricsRecorder.recordOrderDeleted();
+		}));
 	}
 	
 	
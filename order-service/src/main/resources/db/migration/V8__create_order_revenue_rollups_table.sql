@@ -0,0 +1,14 @@
+
+CREATE TABLE order_revenue_rollups (
+	rollup_id INT(11) NOT NULL PRIMARY KEY AUTO_INCREMENT,
+	granularity VARCHAR(16) NOT NULL,
+	bucket_start TIMESTAMP NOT NULL,
+	order_count BIGINT NOT NULL,
+	fee_sum DECIMAL(15, 2) NOT NULL,
+	fee_min DECIMAL(7, 2),
+	fee_max DECIMAL(7, 2),
+	created_at TIMESTAMP DEFAULT LOCALTIMESTAMP NOT NULL NULL_TO_DEFAULT,
+	updated_at TIMESTAMP,
+	CONSTRAINT uk_order_revenue_rollups_bucket UNIQUE (granularity, bucket_start)
+);
+
@@ -0,0 +1,138 @@
+package com.selimhorri.app.benchmark;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.helper.OrderMappingHelper;
+import com.selimhorri.app.repository.OrderRepository;
+
+/**
+ * Order listing through the entity path (Order plus EAGER Cart hydrated in a read-write
+ * transaction, then copied by OrderMappingHelper, as OrderServiceImpl.findAll used to do)
+ * versus the constructor-expression projection in a read-only transaction. Both go through
+ * a real OrderRepository over in-memory H2. The GC profiler reports allocation per
+ * operation (gc.alloc.rate.norm) next to the throughput.
+ * 
+ * Run with:
+ *   mvn -pl order-service test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=com.selimhorri.app.benchmark.OrderReadPathBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderReadPathBenchmark {
+
+    @Param({"1000", "10000"})
+    public int orders;
+
+    @Param({"100"})
+    public int ordersPerCart;
+
+    private LocalContainerEntityManagerFactoryBean entityManagerFactoryBean;
+    private OrderRepository orderRepository;
+    private TransactionTemplate readWriteTransaction;
+    private TransactionTemplate readOnlyTransaction;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:order_read_benchmark;DB_CLOSE_DELAY=-1", "sa", "");
+        this.entityManagerFactoryBean = new LocalContainerEntityManagerFactoryBean();
+        this.entityManagerFactoryBean.setDataSource(dataSource);
+        this.entityManagerFactoryBean.setPackagesToScan("com.selimhorri.app.domain");
+        this.entityManagerFactoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        this.entityManagerFactoryBean.setJpaPropertyMap(Map.of("hibernate.hbm2ddl.auto", "create-drop"));
+        this.entityManagerFactoryBean.afterPropertiesSet();
+        final EntityManagerFactory entityManagerFactory = this.entityManagerFactoryBean.getObject();
+
+        this.orderRepository = new JpaRepositoryFactory(SharedEntityManagerCreator
+                .createSharedEntityManager(entityManagerFactory))
+                .getRepository(OrderRepository.class);
+        final JpaTransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory);
+        this.readWriteTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+
+        final JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        final int carts = (this.orders + this.ordersPerCart - 1) / this.ordersPerCart;
+        jdbcTemplate.batchUpdate("INSERT INTO carts (cart_id, user_id) VALUES (?, ?)", 
+                IntStream.rangeClosed(1, carts)
+                        .mapToObj(i -> new Object[] { i, i })
+                        .collect(Collectors.toUnmodifiableList()));
+        final LocalDateTime orderDate = LocalDateTime.of(2024, 1, 1, 0, 0);
+        jdbcTemplate.batchUpdate("INSERT INTO orders (order_id, order_date, order_desc, order_fee, cart_id) "
+                + "VALUES (?, ?, ?, ?, ?)", 
+                IntStream.rangeClosed(1, this.orders)
+                        .mapToObj(i -> new Object[] { i, Timestamp.valueOf(orderDate.plusMinutes(i)), 
+                                "order " + i, 10.0 + i % 100, 1 + (i - 1) / this.ordersPerCart })
+                        .collect(Collectors.toUnmodifiableList()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.entityManagerFactoryBean.destroy();
+    }
+
+    @Benchmark
+    public List<OrderDto> entities() {
+        return this.readWriteTransaction.execute(status -> this.orderRepository.findAll()
+                .stream()
+                    .map(OrderMappingHelper::map)
+                    .distinct()
+                    .collect(Collectors.toUnmodifiableList()));
+    }
+
+    @Benchmark
+    public List<OrderDto> projection() {
+        return this.readOnlyTransaction.execute(status -> this.orderRepository.findAllProjected()
+                .stream()
+                    .distinct()
+                    .collect(Collectors.toUnmodifiableList()));
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(OrderReadPathBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+            .run();
+    }
+
+}
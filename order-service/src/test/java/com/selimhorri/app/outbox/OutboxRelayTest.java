@@ -0,0 +1,106 @@
+package com.selimhorri.app.outbox;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.OutboxEvent;
+import com.selimhorri.app.dto.OutboxEventDto;
+import com.selimhorri.app.repository.OutboxEventRepository;
+
+/**
+ * Unit Tests for OutboxRelay
+ * Events are marked published only after the transport accepted the batch
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OutboxRelay Unit Tests")
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private OutboxTransport outboxTransport;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        outboxRelay = new OutboxRelay(outboxEventRepository, outboxTransport, 
+                new TransactionTemplate(transactionManager), new ObjectMapper(), 
+                "ORDER-SERVICE", 2, 24);
+    }
+
+    private OutboxEvent event(final long eventId, final int orderId) {
+        return OutboxEvent.builder()
+                .eventId(eventId)
+                .aggregateType(AppConstant.OutboxEvents.AGGREGATE_ORDER)
+                .aggregateId(orderId)
+                .eventType(AppConstant.OutboxEvents.ORDER_CREATED)
+                .payload("{\"orderId\":" + orderId + "}")
+                .build();
+    }
+
+    /**
+     * Business Value: Subscribers see every committed order change, in commit order
+     */
+    @Test
+    @DisplayName("Should relay full batches until the outbox is drained")
+    @SuppressWarnings("unchecked")
+    void testRelay_SendsBatchesAndMarksThemPublished() {
+        // Arrange
+        when(outboxEventRepository.findUnpublished(any(Pageable.class)))
+                .thenReturn(List.of(event(1L, 10), event(2L, 11)))
+                .thenReturn(List.of(event(3L, 12)));
+
+        // Act
+        outboxRelay.relay();
+
+        // Assert
+        ArgumentCaptor<List<OutboxEventDto>> sent = ArgumentCaptor.forClass(List.class);
+        verify(outboxTransport, times(2)).send(sent.capture());
+        OutboxEventDto first = sent.getAllValues().get(0).get(0);
+        assertEquals("ORDER-SERVICE", first.getSource());
+        assertEquals(10, first.getAggregateId());
+        assertEquals(10, first.getPayload().get("orderId").asInt());
+        verify(outboxEventRepository).markPublished(eq(List.of(1L, 2L)), any());
+        verify(outboxEventRepository).markPublished(eq(List.of(3L)), any());
+    }
+
+    /**
+     * Business Value: A subscriber outage must not lose events
+     */
+    @Test
+    @DisplayName("Should leave the batch unpublished when the transport fails")
+    void testRelay_TransportFailure_KeepsEventsUnpublished() {
+        // Arrange
+        when(outboxEventRepository.findUnpublished(any(Pageable.class)))
+                .thenReturn(List.of(event(1L, 10)));
+        doThrow(new IllegalStateException("subscriber down")).when(outboxTransport).send(anyList());
+
+        // Act
+        assertDoesNotThrow(() -> outboxRelay.relay());
+
+        // Assert
+        verify(outboxEventRepository, never()).markPublished(anyCollection(), any());
+    }
+
+}
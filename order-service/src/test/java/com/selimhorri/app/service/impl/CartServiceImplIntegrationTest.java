@@ -13,17 +13,26 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.domain.Cart;
 import com.selimhorri.app.dto.CartDto;
 import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 import com.selimhorri.app.exception.wrapper.CartNotFoundException;
 import com.selimhorri.app.repository.CartRepository;
 import com.selimhorri.app.service.CartService;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 /**
  * Integration Tests for CartServiceImpl
  * Tests service communication with User microservice
@@ -40,6 +49,9 @@ class CartServiceImplIntegrationTest {
     @Autowired
     private CartRepository cartRepository;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @MockBean
     private RestTemplate restTemplate;
 
@@ -75,15 +87,15 @@ class CartServiceImplIntegrationTest {
 
     /**
      * Test 1: Verify Cart service fetches user data from USER-SERVICE when finding all carts
-     * Integration: Order Service → User Service (GET /users/{userId})
+     * Integration: Order Service → User Service (GET /users/batch?ids=)
      */
     @Test
-    @DisplayName("Integration Test 1: findAll() should fetch user data from USER-SERVICE for each cart")
+    @DisplayName("Integration Test 1: findAll() should fetch user data from USER-SERVICE in one batch call")
     void testFindAll_FetchesUserDataFromUserService() {
-        // Given: Mock USER-SERVICE response
-        String expectedUrl = AppConstant.DiscoveredDomainsApi.USER_SERVICE_API_URL + "/" + testUserDto.getUserId();
-        when(restTemplate.getForObject(expectedUrl, UserDto.class))
-                .thenReturn(testUserDto);
+        // Given: Mock USER-SERVICE batch response
+        String expectedUrl = AppConstant.DiscoveredDomainsApi.USER_SERVICE_API_URL + "/batch?ids=" + testUserDto.getUserId();
+        when(restTemplate.exchange(eq(expectedUrl), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.ok(new DtoCollectionResponse<>(List.of(testUserDto))));
 
         // When: Find all carts
         List<CartDto> result = cartService.findAll();
@@ -100,7 +112,54 @@ class CartServiceImplIntegrationTest {
         assertEquals(testUserDto.getEmail(), cartDto.getUserDto().getEmail());
 
         // Verify REST call was made to USER-SERVICE
-        verify(restTemplate, times(1)).getForObject(expectedUrl, UserDto.class);
+        verify(restTemplate, times(1)).exchange(eq(expectedUrl), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class));
+        verify(restTemplate, never()).getForObject(anyString(), eq(UserDto.class));
+    }
+
+    /**
+     * Test 1b: Verify carts sharing a user cost one lookup, and findById reuses users
+     * resolved earlier in the same request
+     * Integration: Order Service → User Service (request-scoped memoization)
+     */
+    @Test
+    @DisplayName("Integration Test 1b: each distinct user should be resolved once per request")
+    void testFindAllThenFindById_ResolvesEachUserOncePerRequest() {
+        // Given: three more carts, two of them sharing user 1
+        Cart sameUserCart = new Cart();
+        sameUserCart.setUserId(1);
+        cartRepository.save(sameUserCart);
+        Cart otherUserCart = new Cart();
+        otherUserCart.setUserId(2);
+        cartRepository.save(otherUserCart);
+        UserDto otherUserDto = new UserDto();
+        otherUserDto.setUserId(2);
+        otherUserDto.setFirstName("Ana");
+
+        String expectedUrl = AppConstant.DiscoveredDomainsApi.USER_SERVICE_API_URL + "/batch?ids=1,2";
+        when(restTemplate.exchange(eq(expectedUrl), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.ok(new DtoCollectionResponse<>(List.of(testUserDto, otherUserDto))));
+        double savedBefore = meterRegistry.summary("order_service_user_lookup_calls_saved").totalAmount();
+
+        // When: both lookups run inside the same HTTP request
+        ServletRequestAttributes attributes = new ServletRequestAttributes(new MockHttpServletRequest());
+        RequestContextHolder.setRequestAttributes(attributes);
+        List<CartDto> result;
+        CartDto cartDto;
+        try {
+            result = cartService.findAll();
+            cartDto = cartService.findById(testCart.getCartId());
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+            attributes.requestCompleted();
+        }
+
+        // Then: one batch call for 3 carts, no call for findById
+        assertEquals(3, result.size());
+        assertEquals("Juan", cartDto.getUserDto().getFirstName());
+        verify(restTemplate, times(1)).exchange(anyString(), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class));
+        verify(restTemplate, never()).getForObject(anyString(), eq(UserDto.class));
+        assertEquals(3.0, meterRegistry.summary("order_service_user_lookup_calls_saved").totalAmount() - savedBefore,
+                "4 lookups served by 1 call should save 3 calls");
     }
 
     /**
@@ -0,0 +1,172 @@
+package com.selimhorri.app.service.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.selimhorri.app.domain.Order;
+import com.selimhorri.app.dto.CartDto;
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.OrderIngestionDto;
+import com.selimhorri.app.dto.OrderIngestionStatus;
+import com.selimhorri.app.exception.wrapper.OrderIngestionNotFoundException;
+import com.selimhorri.app.exception.wrapper.OrderIngestionRejectedException;
+import com.selimhorri.app.metrics.OrderMetricsRecorder;
+import com.selimhorri.app.outbox.OutboxWriter;
+import com.selimhorri.app.repository.OrderRepository;
+import com.selimhorri.app.service.OrderRevenueService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit Tests for OrderIngestionServiceImpl
+ * Orders are queued before the writer starts, so every group commit is deterministic
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OrderIngestionServiceImpl Unit Tests")
+class OrderIngestionServiceImplTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private OutboxWriter outboxWriter;
+
+    @Mock
+    private OrderRevenueService orderRevenueService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OrderIngestionServiceImpl orderIngestionService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        orderIngestionService = new OrderIngestionServiceImpl(orderRepository, 
+                new TransactionTemplate(transactionManager), 
+                new OrderMetricsRecorder(meterRegistry), 
+                outboxWriter, 
+                orderRevenueService, 
+                true, 3, 10, 20);
+    }
+
+    /**
+     * Business Value: A burst of orders must cost one transaction, not one per order
+     */
+    @Test
+    @DisplayName("Queued orders should be committed together and be trackable")
+    void testSubmit_GroupCommitsQueuedOrders() throws InterruptedException {
+        // Arrange
+        AtomicInteger ids = new AtomicInteger();
+        when(orderRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Order> saved = new ArrayList<>();
+            for (Order order : invocation.<List<Order>>getArgument(0)) {
+                order.setOrderId(ids.incrementAndGet());
+                saved.add(order);
+            }
+            return saved;
+        });
+        List<OrderIngestionDto> accepted = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            accepted.add(orderIngestionService.submit(order(i)));
+        }
+        assertEquals(3.0, meterRegistry.get("order_service_ingestion_queue_depth").gauge().value());
+
+        // Act: the writer drains the queue on shutdown
+        orderIngestionService.start();
+        orderIngestionService.stop();
+
+        // Assert
+        verify(orderRepository, times(1)).saveAll(argThat(orders -> ((List<?>) orders).size() == 3));
+        verify(transactionManager, times(1)).commit(any());
+        for (int i = 0; i < 3; i++) {
+            OrderIngestionDto state = orderIngestionService.findByTrackingId(accepted.get(i).getTrackingId());
+            assertEquals(OrderIngestionStatus.COMMITTED, state.getStatus());
+            assertEquals(i + 1, state.getOrderId());
+        }
+        assertEquals(1L, meterRegistry.get("order_service_ingestion_commit").timer().count());
+        assertEquals(0.0, meterRegistry.get("order_service_ingestion_queue_depth").gauge().value());
+    }
+
+    /**
+     * Business Value: Backpressure instead of unbounded memory during flash sales
+     */
+    @Test
+    @DisplayName("submit() should be rejected when the queue is full or after shutdown")
+    void testSubmit_QueueFull_IsRejected() throws InterruptedException {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            orderIngestionService.submit(order(i));
+        }
+
+        // Act & Assert
+        assertThrows(OrderIngestionRejectedException.class, () -> orderIngestionService.submit(order(3)));
+        assertEquals(1.0, meterRegistry.get("order_service_ingestion_rejected_total").counter().count());
+
+        orderIngestionService.stop();
+        assertThrows(OrderIngestionRejectedException.class, () -> orderIngestionService.submit(order(4)));
+    }
+
+    /**
+     * Business Value: One bad order must not fail the rest of its group
+     */
+    @Test
+    @DisplayName("A failed group commit should fall back to committing orders one by one")
+    void testCommit_GroupFailure_FallsBackPerOrder() throws InterruptedException {
+        // Arrange
+        when(orderRepository.saveAll(anyList())).thenThrow(new IllegalStateException("cart does not exist"));
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> {
+            Order order = invocation.getArgument(0);
+            if (order.getCart().getCartId() == 1) {
+                throw new IllegalStateException("cart does not exist");
+            }
+            order.setOrderId(100 + order.getCart().getCartId());
+            return order;
+        });
+        OrderIngestionDto good = orderIngestionService.submit(order(0));
+        OrderIngestionDto bad = orderIngestionService.submit(order(1));
+
+        // Act
+        orderIngestionService.start();
+        orderIngestionService.stop();
+
+        // Assert
+        assertEquals(OrderIngestionStatus.COMMITTED, orderIngestionService.findByTrackingId(good.getTrackingId()).getStatus());
+        assertEquals(100, orderIngestionService.findByTrackingId(good.getTrackingId()).getOrderId());
+        assertEquals(OrderIngestionStatus.FAILED, orderIngestionService.findByTrackingId(bad.getTrackingId()).getStatus());
+    }
+
+    /**
+     * Business Value: Clients polling a tracking id can tell an unknown id from a bad request
+     */
+    @Test
+    @DisplayName("findByTrackingId() with an unknown id should throw OrderIngestionNotFoundException")
+    void testFindByTrackingId_UnknownId_ThrowsNotFound() {
+        assertThrows(OrderIngestionNotFoundException.class, () -> orderIngestionService.findByTrackingId("unknown"));
+    }
+
+    private static OrderDto order(final int cartId) {
+        return OrderDto.builder()
+                .orderDate(LocalDateTime.of(2024, 1, 15, 10, 30))
+                .orderDesc("Flash sale order")
+                .orderFee(10.0)
+                .cartDto(CartDto.builder().cartId(cartId).build())
+                .build();
+    }
+}
@@ -188,14 +188,14 @@ class OrderProductStockValidationIntegrationTest {
     }
 
     /**
-     * Test 5: Validates that findAll() can enrich multiple orders efficiently
+     * Test 5: Validates that findPage() can enrich multiple orders efficiently
      * 
      * Business Logic: When listing orders, if product enrichment is needed,
      * it should batch or optimize calls to PRODUCT-SERVICE to avoid N+1 queries.
      */
     @Test
-    @DisplayName("findAll() retrieves all orders efficiently (no N+1 product queries)")
-    void testFindAll_RetrievesOrdersEfficientlyWithoutNPlusOne() {
+    @DisplayName("findPage() retrieves all orders efficiently (no N+1 product queries)")
+    void testFindPage_RetrievesOrdersEfficientlyWithoutNPlusOne() {
         // Given: Multiple orders in database
         Order order2 = Order.builder()
                 .orderDate(LocalDateTime.now())
@@ -211,7 +211,7 @@ class OrderProductStockValidationIntegrationTest {
         orderRepository.save(order3);
 
         // When: We retrieve all orders
-        var orders = orderService.findAll();
+        var orders = orderService.findPage("orderId", null, null, 50).getCollection();
 
         // Then: All orders should be retrieved
         assertThat(orders).isNotNull();
@@ -232,7 +232,7 @@ class OrderProductStockValidationIntegrationTest {
      * 
      * The architecture decision is:
      * - Write operations (save, update): NO external calls for performance ✅
-     * - Read operations (findById, findAll): COULD enrich with product data (optional)
+     * - Read operations (findById, findPage): COULD enrich with product data (optional)
      * 
      * If business requirements demand product enrichment in findById():
      * 1. Add RestTemplate bean to OrderServiceImpl
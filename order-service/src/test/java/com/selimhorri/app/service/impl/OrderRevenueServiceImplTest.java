@@ -0,0 +1,196 @@
+package com.selimhorri.app.service.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import javax.persistence.EntityManager;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.selimhorri.app.domain.OrderRevenueRollup;
+import com.selimhorri.app.domain.RollupGranularity;
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.OrderRevenueStatsDto;
+import com.selimhorri.app.exception.wrapper.OrderValidationException;
+import com.selimhorri.app.repository.OrderRepository;
+import com.selimhorri.app.repository.OrderRevenueRollupRepository;
+
+/**
+ * Unit Tests for OrderRevenueServiceImpl
+ * Rollup rows are kept in memory so every delta can be checked
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OrderRevenueServiceImpl Unit Tests")
+class OrderRevenueServiceImplTest {
+
+    private static final LocalDateTime ORDER_DATE = LocalDateTime.of(2024, 1, 15, 10, 30);
+
+    @Mock
+    private OrderRevenueRollupRepository orderRevenueRollupRepository;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OrderRevenueServiceImpl orderRevenueService;
+    private OrderRevenueRollup hourRollup;
+    private OrderRevenueRollup dayRollup;
+
+    @BeforeEach
+    void setUp() {
+        orderRevenueService = new OrderRevenueServiceImpl(orderRevenueRollupRepository, orderRepository, 
+                entityManager, transactionManager);
+        hourRollup = OrderRevenueRollup.builder()
+                .granularity(RollupGranularity.HOUR)
+                .bucketStart(LocalDateTime.of(2024, 1, 15, 10, 0))
+                .orderCount(2L).feeSum(150.0).feeMin(50.0).feeMax(100.0)
+                .build();
+        dayRollup = OrderRevenueRollup.builder()
+                .granularity(RollupGranularity.DAY)
+                .bucketStart(LocalDateTime.of(2024, 1, 15, 0, 0))
+                .orderCount(2L).feeSum(150.0).feeMin(50.0).feeMax(100.0)
+                .build();
+    }
+
+    private void stubExistingBuckets() {
+        when(orderRevenueRollupRepository.existsByGranularityAndBucketStart(any(), any())).thenReturn(true);
+        when(orderRevenueRollupRepository.findByGranularityAndBucketStart(RollupGranularity.HOUR, hourRollup.getBucketStart()))
+                .thenReturn(Optional.of(hourRollup));
+        when(orderRevenueRollupRepository.findByGranularityAndBucketStart(RollupGranularity.DAY, dayRollup.getBucketStart()))
+                .thenReturn(Optional.of(dayRollup));
+    }
+
+    private OrderDto order(final int orderId, final Double orderFee) {
+        return OrderDto.builder().orderId(orderId).orderDate(ORDER_DATE).orderFee(orderFee).build();
+    }
+
+    /**
+     * Business Value: Finance dashboards read revenue per bucket without scanning orders
+     */
+    @Test
+    @DisplayName("Created orders should be folded into their hour and day buckets")
+    void testRecordCreated_AppliesDeltasToHourAndDayBuckets() {
+        // Arrange
+        stubExistingBuckets();
+
+        // Act
+        orderRevenueService.recordCreated(List.of(order(3, 20.0), order(4, 130.0)));
+
+        // Assert
+        for (OrderRevenueRollup rollup : List.of(hourRollup, dayRollup)) {
+            assertEquals(4L, rollup.getOrderCount());
+            assertEquals(300.0, rollup.getFeeSum(), 0.001);
+            assertEquals(20.0, rollup.getFeeMin());
+            assertEquals(130.0, rollup.getFeeMax());
+        }
+        verify(orderRepository, never()).aggregateRevenue(any(), any());
+    }
+
+    /**
+     * Business Value: Deleting the cheapest order must not leave a stale minimum behind
+     */
+    @Test
+    @DisplayName("Removing a bucket's min fee should recompute the bucket from orders")
+    void testRecordDeleted_MinFee_RecomputesBucket() {
+        // Arrange
+        stubExistingBuckets();
+        when(orderRepository.aggregateRevenue(any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(new OrderRevenueStatsDto(1L, 100.0, 100.0, 100.0));
+
+        // Act
+        orderRevenueService.recordDeleted(order(1, 50.0));
+
+        // Assert
+        assertEquals(1L, hourRollup.getOrderCount());
+        assertEquals(100.0, hourRollup.getFeeMin());
+        verify(orderRepository).aggregateRevenue(LocalDateTime.of(2024, 1, 15, 10, 0), LocalDateTime.of(2024, 1, 15, 11, 0));
+        verify(orderRepository).aggregateRevenue(LocalDateTime.of(2024, 1, 15, 0, 0), LocalDateTime.of(2024, 1, 16, 0, 0));
+    }
+
+    /**
+     * Business Value: A fee change inside the bucket range is a pure delta
+     */
+    @Test
+    @DisplayName("Updating a fee between min and max should only adjust the sum")
+    void testRecordUpdated_InnerFee_AdjustsSum() {
+        // Arrange
+        stubExistingBuckets();
+        hourRollup.setOrderCount(3L);
+        hourRollup.setFeeSum(225.0);
+
+        // Act
+        orderRevenueService.recordUpdated(order(2, 75.0), order(2, 80.0));
+
+        // Assert
+        assertEquals(3L, hourRollup.getOrderCount());
+        assertEquals(230.0, hourRollup.getFeeSum(), 0.001);
+        assertEquals(50.0, hourRollup.getFeeMin());
+        assertEquals(100.0, hourRollup.getFeeMax());
+        verify(orderRepository, never()).aggregateRevenue(any(), any());
+    }
+
+    /**
+     * Business Value: Rollups can be rebuilt under live traffic without dropping concurrent writes
+     */
+    @Test
+    @DisplayName("Backfill should recount each bucket in place and reset buckets left without orders")
+    void testBackfill_RecountsBucketsInPlace() {
+        // Arrange
+        stubExistingBuckets();
+        final OrderRevenueRollup staleRollup = OrderRevenueRollup.builder()
+                .granularity(RollupGranularity.HOUR)
+                .bucketStart(LocalDateTime.of(2024, 1, 14, 9, 0))
+                .orderCount(1L).feeSum(40.0).feeMin(40.0).feeMax(40.0)
+                .build();
+        when(orderRevenueRollupRepository.findByGranularityAndBucketStart(RollupGranularity.HOUR, staleRollup.getBucketStart()))
+                .thenReturn(Optional.of(staleRollup));
+        when(orderRepository.streamProjectedByOrderDate()).thenReturn(Stream.of(order(1, 50.0), order(2, 100.0), order(3, 30.0)));
+        when(orderRepository.aggregateRevenue(any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(new OrderRevenueStatsDto(3L, 180.0, 30.0, 100.0));
+        when(orderRepository.aggregateRevenue(staleRollup.getBucketStart(), LocalDateTime.of(2024, 1, 14, 10, 0)))
+                .thenReturn(new OrderRevenueStatsDto(0L, null, null, null));
+        when(orderRevenueRollupRepository.streamNonEmpty()).thenReturn(Stream.of(staleRollup, hourRollup, dayRollup));
+
+        // Act
+        final long orders = orderRevenueService.backfill();
+
+        // Assert
+        assertEquals(3L, orders);
+        for (OrderRevenueRollup rollup : List.of(hourRollup, dayRollup)) {
+            assertEquals(3L, rollup.getOrderCount());
+            assertEquals(180.0, rollup.getFeeSum(), 0.001);
+            assertEquals(30.0, rollup.getFeeMin());
+        }
+        assertEquals(0L, staleRollup.getOrderCount());
+        assertEquals(0.0, staleRollup.getFeeSum(), 0.001);
+        assertNull(staleRollup.getFeeMax());
+        verify(orderRevenueRollupRepository, never()).deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("Stats range must not be empty")
+    void testFindStats_InvertedRange_ThrowsException() {
+        // Act & Assert
+        assertThrows(OrderValidationException.class, () -> orderRevenueService
+                .findStats(ORDER_DATE, ORDER_DATE.minusDays(1), RollupGranularity.DAY));
+        verifyNoInteractions(orderRevenueRollupRepository);
+    }
+
+}
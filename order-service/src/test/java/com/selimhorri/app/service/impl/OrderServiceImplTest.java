@@ -5,9 +5,13 @@ import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.IntStream;
+
+import javax.persistence.EntityManager;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -15,14 +19,25 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionSystemException;
 
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.domain.Cart;
 import com.selimhorri.app.domain.Order;
 import com.selimhorri.app.dto.CartDto;
 import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.response.collection.DtoPageResponse;
 import com.selimhorri.app.exception.wrapper.OrderNotFoundException;
+import com.selimhorri.app.exception.wrapper.OrderValidationException;
+import com.selimhorri.app.metrics.OrderMetricsRecorder;
+import com.selimhorri.app.outbox.OutboxWriter;
 import com.selimhorri.app.repository.OrderRepository;
+import com.selimhorri.app.service.OrderRevenueService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 /**
  * Unit Tests for OrderServiceImpl
@@ -36,6 +51,23 @@ class OrderServiceImplTest {
     @Mock
     private OrderRepository orderRepository;
 
+    @Mock
+    private OutboxWriter outboxWriter;
+
+    @Mock
+    private OrderRevenueService orderRevenueService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private OrderMetricsRecorder orderMetricsRecorder = new OrderMetricsRecorder(meterRegistry);
+
     @InjectMocks
     private OrderServiceImpl orderService;
 
@@ -75,35 +107,6 @@ class OrderServiceImplTest {
                 .build();
     }
 
-    /**
-     * Business Value: Ensures orders can be retrieved from repository
-     * Critical for: Order management dashboard, reporting
-     */
-    @Test
-    @DisplayName("findAll() should return list of all orders")
-    void testFindAll_ReturnsAllOrders() {
-        // Arrange
-        Cart cart2 = Cart.builder().cartId(2).build();
-        
-        Order order2 = Order.builder()
-                .orderId(2)
-                .orderDate(LocalDateTime.of(2024, 1, 16, 14, 0))
-                .orderDesc("Second Order")
-                .orderFee(75.0)
-                .cart(cart2)
-                .build();
-
-        when(orderRepository.findAll()).thenReturn(Arrays.asList(testOrder, order2));
-
-        // Act
-        List<OrderDto> result = orderService.findAll();
-
-        // Assert
-        assertNotNull(result, "Result should not be null");
-        assertEquals(2, result.size(), "Should return 2 orders");
-        verify(orderRepository, times(1)).findAll();
-    }
-
     /**
      * Business Value: Validates single order retrieval by ID
      * Critical for: Order details page, order tracking
@@ -113,7 +116,7 @@ class OrderServiceImplTest {
     void testFindById_ValidId_ReturnsOrder() {
         // Arrange
         Integer orderId = 1;
-        when(orderRepository.findById(orderId)).thenReturn(Optional.of(testOrder));
+        when(orderRepository.findProjectedById(orderId)).thenReturn(Optional.of(testOrderDto));
 
         // Act
         OrderDto result = orderService.findById(orderId);
@@ -123,7 +126,7 @@ class OrderServiceImplTest {
         assertEquals(orderId, result.getOrderId(), "Order ID should match");
         assertEquals("Test Order Description", result.getOrderDesc(), "Order description should match");
         assertEquals(50.0, result.getOrderFee(), "Order fee should match");
-        verify(orderRepository, times(1)).findById(orderId);
+        verify(orderRepository, times(1)).findProjectedById(orderId);
     }
 
     /**
@@ -135,14 +138,14 @@ class OrderServiceImplTest {
     void testFindById_InvalidId_ThrowsException() {
         // Arrange
         Integer invalidOrderId = 999;
-        when(orderRepository.findById(invalidOrderId)).thenReturn(Optional.empty());
+        when(orderRepository.findProjectedById(invalidOrderId)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(OrderNotFoundException.class, () -> {
             orderService.findById(invalidOrderId);
         }, "Should throw OrderNotFoundException for non-existent order");
 
-        verify(orderRepository, times(1)).findById(invalidOrderId);
+        verify(orderRepository, times(1)).findProjectedById(invalidOrderId);
     }
 
     /**
@@ -183,6 +186,8 @@ class OrderServiceImplTest {
         assertEquals("New Order", result.getOrderDesc(), "Order description should match");
         assertEquals(100.0, result.getOrderFee(), "Order fee should match");
         verify(orderRepository, times(1)).save(any(Order.class));
+        verify(outboxWriter, times(1)).append(eq(AppConstant.OutboxEvents.AGGREGATE_ORDER), eq(3), 
+                eq(AppConstant.OutboxEvents.ORDER_CREATED), any(OrderDto.class));
     }
 
     /**
@@ -194,14 +199,150 @@ class OrderServiceImplTest {
     void testDeleteById_ValidId_DeletesOrder() {
         // Arrange
         Integer orderId = 1;
-        when(orderRepository.findById(orderId)).thenReturn(Optional.of(testOrder));
+        when(orderRepository.findProjectedById(orderId)).thenReturn(Optional.of(testOrderDto));
         doNothing().when(orderRepository).delete(any(Order.class));
 
         // Act
         orderService.deleteById(orderId);
 
         // Assert
-        verify(orderRepository, times(1)).findById(orderId);
+        verify(orderRepository, times(1)).findProjectedById(orderId);
         verify(orderRepository, times(1)).delete(any(Order.class));
+        verify(outboxWriter, times(1)).append(eq(AppConstant.OutboxEvents.AGGREGATE_ORDER), eq(orderId), 
+                eq(AppConstant.OutboxEvents.ORDER_DELETED), any(OrderDto.class));
+    }
+
+    /**
+     * Business Value: Validates keyset pagination of the order listing
+     * Critical for: Order listings that cannot be loaded in a single query
+     */
+    @Test
+    @DisplayName("findPage() should return a cursor that continues after the last order")
+    void testFindPage_SortByOrderDate_ReturnsCursorForNextPage() {
+        // Arrange: one row more than the page size means a next page exists
+        OrderDto order2 = new OrderDto(2, LocalDateTime.of(2024, 1, 16, 9, 0), null, null, 1);
+        OrderDto order3 = new OrderDto(3, LocalDateTime.of(2024, 1, 17, 9, 0), null, null, 1);
+        when(orderRepository.findFirstPageByOrderDate(any())).thenReturn(Arrays.asList(testOrderDto, order2, order3));
+        when(orderRepository.findPageAfterOrderDate(any(), any(), any())).thenReturn(List.of(order3));
+
+        // Act
+        DtoPageResponse<OrderDto> first = orderService.findPage("orderDate", null, null, 2);
+        DtoPageResponse<OrderDto> second = orderService.findPage("orderDate", first.getNextCursor(), null, 2);
+
+        // Assert
+        assertEquals(2, first.getCollection().size(), "Page should be cut at the limit");
+        assertNotNull(first.getNextCursor(), "First page should have a next cursor");
+        verify(orderRepository).findPageAfterOrderDate(eq(LocalDateTime.of(2024, 1, 16, 9, 0)), eq(2), any());
+        assertEquals(1, second.getCollection().size());
+        assertNull(second.getNextCursor(), "Last page should not have a next cursor");
+    }
+
+    /**
+     * Business Value: "My orders" is one indexed query, newest first, with the cart only on request
+     */
+    @Test
+    @DisplayName("findPageByUserId() should page newest first and embed the cart on request")
+    void testFindPageByUserId_EmbedCart_ReturnsCursorForOlderOrders() {
+        // Arrange
+        OrderDto newest = new OrderDto(3, LocalDateTime.of(2024, 1, 17, 9, 0), null, null, 1);
+        OrderDto older = new OrderDto(2, LocalDateTime.of(2024, 1, 16, 9, 0), null, null, 1);
+        OrderDto oldest = new OrderDto(1, LocalDateTime.of(2024, 1, 15, 9, 0), null, null, 1);
+        when(orderRepository.findFirstPageByUserId(eq(7), any())).thenReturn(Arrays.asList(newest, older, oldest));
+        when(orderRepository.findPageByUserIdBefore(eq(7), any(), any(), any())).thenReturn(Arrays.asList(oldest));
+
+        // Act
+        DtoPageResponse<OrderDto> first = orderService.findPageByUserId(7, null, 2, true);
+        DtoPageResponse<OrderDto> second = orderService.findPageByUserId(7, first.getNextCursor(), 2, false);
+
+        // Assert
+        assertEquals(2, first.getCollection().size(), "Page should be cut at the limit");
+        OrderDto embedded = first.getCollection().iterator().next();
+        assertEquals(1, embedded.getCartDto().getCartId());
+        assertEquals(7, embedded.getCartDto().getUserId());
+        verify(orderRepository).findPageByUserIdBefore(eq(7), eq(LocalDateTime.of(2024, 1, 16, 9, 0)), eq(2), any());
+        assertNull(second.getCollection().iterator().next().getCartDto(), "Cart should be left out unless requested");
+        assertNull(second.getNextCursor(), "Last page should not have a next cursor");
+    }
+
+    /**
+     * Business Value: Ensures bad cursors are rejected instead of silently restarting the listing
+     */
+    @Test
+    @DisplayName("findPage() should reject a cursor issued for another sort")
+    void testFindPage_CursorOfOtherSort_ThrowsException() {
+        // Arrange
+        when(orderRepository.findPageAfterId(eq(0), any())).thenReturn(Arrays.asList(testOrderDto, testOrderDto));
+        String idCursor = orderService.findPage("orderId", null, null, 1).getNextCursor();
+
+        // Act & Assert
+        assertThrows(OrderValidationException.class, () -> orderService.findPage("orderDate", idCursor, null, 1));
+        verify(orderRepository, never()).findPageAfterOrderDate(any(), any(), any());
+    }
+
+    /**
+     * Business Value: Latency per operation and outcome is what the p99 write alerts are built on
+     */
+    @Test
+    @DisplayName("Operations should be timed per operation and outcome")
+    void testOperations_AreTimedByOutcome() {
+        // Arrange
+        when(orderRepository.findProjectedById(1)).thenReturn(Optional.of(testOrderDto));
+        when(orderRepository.findProjectedById(999)).thenReturn(Optional.empty());
+
+        // Act
+        orderService.findById(1);
+        assertThrows(OrderNotFoundException.class, () -> orderService.findById(999));
+        assertThrows(OrderNotFoundException.class, () -> orderService.deleteById(999));
+
+        // Assert
+        assertEquals(1L, meterRegistry.get("order_service_operation")
+                .tags("operation", "findById", "outcome", "success").timer().count());
+        assertEquals(1L, meterRegistry.get("order_service_operation")
+                .tags("operation", "findById", "outcome", "not_found").timer().count());
+        assertEquals(1L, meterRegistry.get("order_service_operation")
+                .tags("operation", "delete", "outcome", "not_found").timer().count());
+        assertEquals(0L, meterRegistry.get("order_service_operation")
+                .tags("operation", "findById", "outcome", "error").timer().count());
+    }
+
+    /**
+     * Business Value: Commit cost is part of the write latency users see
+     */
+    @Test
+    @DisplayName("Operations should be timed around the commit")
+    void testSave_CommitFailureIsTimedAsError() {
+        // Arrange
+        when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
+        doThrow(new TransactionSystemException("commit failed")).when(transactionManager).commit(any());
+
+        // Act
+        assertThrows(TransactionSystemException.class, () -> orderService.save(testOrderDto));
+
+        // Assert
+        assertEquals(1L, meterRegistry.get("order_service_operation")
+                .tags("operation", "save", "outcome", "error").timer().count());
+        assertEquals(0L, meterRegistry.get("order_service_operation")
+                .tags("operation", "save", "outcome", "success").timer().count());
+    }
+
+    /**
+     * Business Value: Validates the NDJSON export keeps the persistence context bounded
+     */
+    @Test
+    @DisplayName("streamAll() should hand over every order and clear the context every 1000 rows")
+    void testStreamAll_ClearsPersistenceContextPerBatch() {
+        // Arrange
+        when(orderRepository.streamAll()).thenReturn(IntStream.rangeClosed(1, 2500)
+                .mapToObj(i -> Order.builder().orderId(i).cart(testCart).build()));
+        List<OrderDto> streamed = new ArrayList<>();
+
+        // Act
+        orderService.streamAll(streamed::add);
+
+        // Assert
+        assertEquals(2500, streamed.size());
+        assertEquals(2500, streamed.get(2499).getOrderId());
+        assertEquals(1, streamed.get(2499).getCartDto().getCartId());
+        verify(entityManager, times(2)).clear();
     }
 }
@@ -0,0 +1,139 @@
+package com.selimhorri.app.client;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.dto.response.collection.DtoPageResponse;
+import com.selimhorri.app.metrics.PaymentMetricsRecorder;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Resolves payment orders against ORDER-SERVICE through its batch endpoint: ids are 
+ * deduplicated and fetched {@code order-lookup.batch-size} at a time, so a list of 
+ * payments costs one call per chunk of distinct orders instead of one per payment.
+ */
+@Component
+@Slf4j
+public class OrderResolver {
+	
+	private static final ParameterizedTypeReference<DtoCollectionResponse<OrderDto>> ORDER_COLLECTION_TYPE = 
+			new ParameterizedTypeReference<>() {};
+	private static final ParameterizedTypeReference<DtoPageResponse<OrderDto>> ORDER_PAGE_TYPE = 
+			new ParameterizedTypeReference<>() {};
+	
+	private final RestTemplate restTemplate;
+	private final PaymentMetricsRecorder paymentMetricsRecorder;
+	private final int batchSize;
+	private final int pageSize;
+	
+	public OrderResolver(final RestTemplate restTemplate, 
+			final PaymentMetricsRecorder paymentMetricsRecorder, 
+			@Value("${order-lookup.batch-size:200}") final int batchSize, 
+			@Value("${order-lookup.page-size:500}") final int pageSize) {
+		this.restTemplate = restTemplate;
+		this.paymentMetricsRecorder = paymentMetricsRecorder;
+		this.batchSize = Math.max(batchSize, 1);
+		this.pageSize = Math.max(pageSize, 1);
+	}
+	
+	/**
+	 * Orders unknown to ORDER-SERVICE are absent from the returned map, and so are the orders 
+	 * of a chunk whose call failed; the other chunks are still resolved.
+	 */
+	public Map<Integer, OrderDto> resolveAll(final Collection<Integer> orderIds) {
+		final List<Integer> distinct = orderIds.stream()
+				.filter(Objects::nonNull)
+				.distinct()
+				.sorted()
+				.collect(Collectors.toList());
+		
+		final Map<Integer, OrderDto> resolved = new HashMap<>();
+		for (int from = 0; from < distinct.size(); from += this.batchSize) {
+			final List<Integer> batch = distinct.subList(from, Math.min(from + this.batchSize, distinct.size()));
+			final DtoCollectionResponse<OrderDto> response;
+			try {
+				response = this.paymentMetricsRecorder.recordOrderEnrichment(
+						PaymentMetricsRecorder.ENRICHMENT_BATCH, () -> this.restTemplate.exchange(
+								AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL + "/batch?ids=" + batch.stream()
+										.map(String::valueOf)
+										.collect(Collectors.joining(",")), 
+								HttpMethod.GET, null, ORDER_COLLECTION_TYPE)
+								.getBody());
+			} catch (RestClientException e) {
+				log.warn("*** Orders {} to {} not fetched from ORDER-SERVICE: {} *", 
+						batch.get(0), batch.get(batch.size() - 1), e.getMessage());
+				continue;
+			}
+			if (response != null && response.getCollection() != null) {
+				response.getCollection().forEach(o -> resolved.put(o.getOrderId(), o));
+			}
+		}
+		if (resolved.size() < distinct.size()) {
+			log.warn("*** {} of {} orders not resolved by ORDER-SERVICE *", distinct.size() - resolved.size(), distinct.size());
+		}
+		return resolved;
+	}
+	
+	/**
+	 * All orders in ascending orderId order, fetched lazily one keyset page of 
+	 * {@code order-lookup.page-size} at a time, so only the current page is held in memory.
+	 */
+	public Iterator<OrderDto> iterateAll() {
+		return new Iterator<>() {
+			
+			private Iterator<OrderDto> page = List.<OrderDto>of().iterator();
+			private String cursor;
+			private boolean lastPage;
+			
+			@Override
+			public boolean hasNext() {
+				while (!this.page.hasNext() && !this.lastPage) {
+					final DtoPageResponse<OrderDto> response = fetchPage(this.cursor);
+					this.page = (response != null && response.getCollection() != null) 
+							? response.getCollection().iterator() 
+							: List.<OrderDto>of().iterator();
+					this.cursor = (response != null) ? response.getNextCursor() : null;
+					this.lastPage = this.cursor == null;
+				}
+				return this.page.hasNext();
+			}
+			
+			@Override
+			public OrderDto next() {
+				if (!this.hasNext()) {
+					throw new NoSuchElementException();
+				}
+				return this.page.next();
+			}
+			
+		};
+	}
+	
+	private DtoPageResponse<OrderDto> fetchPage(final String cursor) {
+		return this.paymentMetricsRecorder.recordOrderEnrichment(PaymentMetricsRecorder.ENRICHMENT_PAGE, () -> 
+				this.restTemplate.exchange(AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL 
+						+ "?sort=orderId&limit=" + this.pageSize + (cursor != null ? "&cursor=" + cursor : ""), 
+						HttpMethod.GET, null, ORDER_PAGE_TYPE)
+						.getBody());
+	}
+	
+	
+	
+}
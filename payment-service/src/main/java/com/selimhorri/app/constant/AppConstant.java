@@ -34,6 +34,19 @@ public abstract class AppConstant {
 		
 	}
 	
+	@NoArgsConstructor(access = AccessLevel.PRIVATE)
+	public abstract class OutboxEvents {
+		
+		public static final String AGGREGATE_PAYMENT = "Payment";
+		public static final String PAYMENT_CREATED = "PaymentCreated";
+		public static final String PAYMENT_UPDATED = "PaymentUpdated";
+		
+		public static final String AGGREGATE_ORDER = "Order";
+		public static final String ORDER_CREATED = "OrderCreated";
+		public static final String ORDER_UPDATED = "OrderUpdated";
+		
+	}
+	
 	
 	
 }
@@ -0,0 +1,45 @@
+package com.selimhorri.app.domain;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * A request executed under an Idempotency-Key. While the request runs the response is null 
+ * and {@code expiresAt} is a short lease; once it committed, the response is kept until the TTL.
+ */
+@Entity
+@Table(name = "idempotency_records")
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+@Data
+@Builder
+public final class IdempotencyRecord extends AbstractMappedEntity implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	@Id
+	@Column(name = "idempotency_key", unique = true, nullable = false, updatable = false)
+	private String idempotencyKey;
+	
+	@Column(name = "request_hash", length = 64, nullable = false, updatable = false)
+	private String requestHash;
+	
+	@Column(name = "response_body", length = 4000)
+	private String responseBody;
+	
+	@Column(name = "expires_at", nullable = false)
+	private LocalDateTime expiresAt;
+	
+}
@@ -1,6 +1,7 @@
 package com.selimhorri.app.domain;
 
 import java.io.Serializable;
+import java.time.LocalDateTime;
 
 import javax.persistence.Column;
 import javax.persistence.Entity;
@@ -39,10 +40,38 @@ public final class Payment extends AbstractMappedEntity implements Serializable
 	@Column(name = "is_payed")
 	private Boolean isPayed;
 	
+	/**
+	 * Written on insert, then only by the state machine's conditional updates in PaymentRepository.
+	 */
 	@Enumerated(EnumType.STRING)
-	@Column(name = "payment_status")
+	@Column(name = "payment_status", updatable = false)
 	private PaymentStatus paymentStatus;
 	
+	/**
+	 * Order snapshot columns: written on insert from the order ORDER-SERVICE returns, then only 
+	 * by order events through PaymentRepository#refreshOrderSnapshot and, while still empty, 
+	 * by the OrderSnapshotService backfill; never by a payment update.
+	 */
+	@Column(name = "order_fee", columnDefinition = "decimal", updatable = false)
+	private Double orderFee;
+	
+	@Column(name = "order_date", updatable = false)
+	private LocalDateTime orderDate;
+	
+	@Column(name = "order_desc", updatable = false)
+	private String orderDesc;
+	
+	@Column(name = "order_snapshot_event_id", updatable = false)
+	private Long orderSnapshotEventId;
+	
+	/**
+	 * Set while asynchronous processing owns the payment: until then its worker is expected to 
+	 * move it on, after that PaymentProcessingService#sweep re-dispatches it. Written only by 
+	 * the lease updates in PaymentRepository.
+	 */
+	@Column(name = "processing_lease_until", insertable = false, updatable = false)
+	private LocalDateTime processingLeaseUntil;
+	
 }
 
 
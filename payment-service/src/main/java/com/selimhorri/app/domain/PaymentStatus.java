@@ -13,4 +13,18 @@ public enum PaymentStatus {
 	
 	private final String status;
 	
+	/**
+	 * Payments only move forward: NOT_STARTED to IN_PROGRESS, then IN_PROGRESS to COMPLETED.
+	 */
+	public boolean canTransitionTo(final PaymentStatus next) {
+		switch (this) {
+			case NOT_STARTED:
+				return next == IN_PROGRESS;
+			case IN_PROGRESS:
+				return next == COMPLETED;
+			default:
+				return false;
+		}
+	}
+	
 }
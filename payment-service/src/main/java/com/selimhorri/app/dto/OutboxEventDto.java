@@ -0,0 +1,31 @@
+package com.selimhorri.app.dto;
+
+import java.io.Serializable;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A committed state change as delivered to subscribers. Delivery is at least once, so 
+ * subscribers must tolerate duplicates; {@code (source, eventId)} identifies an event.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class OutboxEventDto implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private Long eventId;
+	private String source;
+	private String aggregateType;
+	private Integer aggregateId;
+	private String eventType;
+	private JsonNode payload;
+	
+}
@@ -0,0 +1,31 @@
+package com.selimhorri.app.dto;
+
+import java.io.Serializable;
+
+import javax.validation.constraints.NotNull;
+
+import com.selimhorri.app.domain.PaymentStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Requested status change. Without {@code expectedStatus} the transition applies 
+ * to the status the payment has when the request is handled.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class PaymentStatusTransitionDto implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private PaymentStatus expectedStatus;
+	
+	@NotNull(message = "Input must not be NULL")
+	private PaymentStatus paymentStatus;
+	
+}
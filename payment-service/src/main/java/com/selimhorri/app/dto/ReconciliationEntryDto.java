@@ -0,0 +1,42 @@
+package com.selimhorri.app.dto;
+
+import java.io.Serializable;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.selimhorri.app.domain.PaymentStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One line of the reconciliation report: an order without a completed payment 
+ * ({@code payments} is how many unfinished ones it has), or a payment whose order 
+ * ORDER-SERVICE does not know.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class ReconciliationEntryDto implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private ReconciliationFinding finding;
+	private Integer orderId;
+	
+	@JsonInclude(Include.NON_NULL)
+	private Double orderFee;
+	
+	@JsonInclude(Include.NON_NULL)
+	private Integer payments;
+	
+	@JsonInclude(Include.NON_NULL)
+	private Integer paymentId;
+	
+	@JsonInclude(Include.NON_NULL)
+	private PaymentStatus paymentStatus;
+	
+}
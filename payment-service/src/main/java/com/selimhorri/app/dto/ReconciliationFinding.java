@@ -0,0 +1,15 @@
+package com.selimhorri.app.dto;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+@Getter
+public enum ReconciliationFinding {
+	
+	UNPAID_ORDER("unpaid_order"),
+	ORPHANED_PAYMENT("orphaned_payment");
+	
+	private final String finding;
+	
+}
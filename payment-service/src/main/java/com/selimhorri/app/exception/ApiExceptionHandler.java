@@ -3,6 +3,7 @@ package com.selimhorri.app.exception;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -12,7 +13,11 @@ import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
 import com.selimhorri.app.exception.payload.ExceptionMsg;
+import com.selimhorri.app.exception.wrapper.IdempotencyKeyInProgressException;
+import com.selimhorri.app.exception.wrapper.IdempotencyKeyMismatchException;
 import com.selimhorri.app.exception.wrapper.PaymentNotFoundException;
+import com.selimhorri.app.exception.wrapper.PaymentProcessingRejectedException;
+import com.selimhorri.app.exception.wrapper.PaymentStatusTransitionException;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -58,6 +63,68 @@ public class ApiExceptionHandler {
 					.build(), badRequest);
 	}
 	
+	@ExceptionHandler(value = IdempotencyKeyInProgressException.class)
+	public ResponseEntity<ExceptionMsg> handleIdempotencyKeyInProgressException(final IdempotencyKeyInProgressException e) {
+		
+		log.info("**ApiExceptionHandler controller, handle idempotent request in progress*\n");
+		final var conflict = HttpStatus.CONFLICT;
+		
+		return ResponseEntity.status(conflict)
+				.header(HttpHeaders.RETRY_AFTER, "1")
+				.body(ExceptionMsg.builder()
+					.msg("#### " + e.getMessage() + "! ####")
+					.httpStatus(conflict)
+					.timestamp(ZonedDateTime
+							.now(ZoneId.systemDefault()))
+					.build());
+	}
+	
+	@ExceptionHandler(value = IdempotencyKeyMismatchException.class)
+	public ResponseEntity<ExceptionMsg> handleIdempotencyKeyMismatchException(final IdempotencyKeyMismatchException e) {
+		
+		log.info("**ApiExceptionHandler controller, handle reused idempotency key*\n");
+		final var unprocessableEntity = HttpStatus.UNPROCESSABLE_ENTITY;
+		
+		return new ResponseEntity<>(
+				ExceptionMsg.builder()
+					.msg("#### " + e.getMessage() + "! ####")
+					.httpStatus(unprocessableEntity)
+					.timestamp(ZonedDateTime
+							.now(ZoneId.systemDefault()))
+					.build(), unprocessableEntity);
+	}
+	
+	@ExceptionHandler(value = PaymentStatusTransitionException.class)
+	public ResponseEntity<ExceptionMsg> handlePaymentStatusTransitionException(final PaymentStatusTransitionException e) {
+		
+		log.info("**ApiExceptionHandler controller, handle payment status conflict*\n");
+		final var conflict = HttpStatus.CONFLICT;
+		
+		return new ResponseEntity<>(
+				ExceptionMsg.builder()
+					.msg("#### " + e.getMessage() + "! ####")
+					.httpStatus(conflict)
+					.timestamp(ZonedDateTime
+							.now(ZoneId.systemDefault()))
+					.build(), conflict);
+	}
+	
+	@ExceptionHandler(value = PaymentProcessingRejectedException.class)
+	public ResponseEntity<ExceptionMsg> handlePaymentProcessingRejectedException(final PaymentProcessingRejectedException e) {
+		
+		log.info("**ApiExceptionHandler controller, handle payment processing backpressure*\n");
+		final var serviceUnavailable = HttpStatus.SERVICE_UNAVAILABLE;
+		
+		return ResponseEntity.status(serviceUnavailable)
+				.header(HttpHeaders.RETRY_AFTER, "1")
+				.body(ExceptionMsg.builder()
+					.msg("#### " + e.getMessage() + "! ####")
+					.httpStatus(serviceUnavailable)
+					.timestamp(ZonedDateTime
+							.now(ZoneId.systemDefault()))
+					.build());
+	}
+	
 	
 	
 }
@@ -0,0 +1,35 @@
+package com.selimhorri.app.exception.wrapper;
+
+public class IdempotencyKeyInProgressException extends RuntimeException {
+	
+	private static final long serialVersionUID = 1L;
+	
+	public IdempotencyKeyInProgressException() {
+		super();
+	}
+	
+	public IdempotencyKeyInProgressException(String message, Throwable cause) {
+		super(message, cause);
+	}
+	
+	public IdempotencyKeyInProgressException(String message) {
+		super(message);
+	}
+	
+	public IdempotencyKeyInProgressException(Throwable cause) {
+		super(cause);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,35 @@
+package com.selimhorri.app.exception.wrapper;
+
+public class PaymentProcessingRejectedException extends RuntimeException {
+	
+	private static final long serialVersionUID = 1L;
+	
+	public PaymentProcessingRejectedException() {
+		super();
+	}
+	
+	public PaymentProcessingRejectedException(String message, Throwable cause) {
+		super(message, cause);
+	}
+	
+	public PaymentProcessingRejectedException(String message) {
+		super(message);
+	}
+	
+	public PaymentProcessingRejectedException(Throwable cause) {
+		super(cause);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,35 @@
+package com.selimhorri.app.exception.wrapper;
+
+public class PaymentStatusTransitionException extends RuntimeException {
+	
+	private static final long serialVersionUID = 1L;
+	
+	public PaymentStatusTransitionException() {
+		super();
+	}
+	
+	public PaymentStatusTransitionException(String message, Throwable cause) {
+		super(message, cause);
+	}
+	
+	public PaymentStatusTransitionException(String message) {
+		super(message);
+	}
+	
+	public PaymentStatusTransitionException(Throwable cause) {
+		super(cause);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,35 @@
+package com.selimhorri.app.exception.wrapper;
+
+public class ReconciliationInProgressException extends RuntimeException {
+	
+	private static final long serialVersionUID = 1L;
+	
+	public ReconciliationInProgressException() {
+		super();
+	}
+	
+	public ReconciliationInProgressException(String message, Throwable cause) {
+		super(message, cause);
+	}
+	
+	public ReconciliationInProgressException(String message) {
+		super(message);
+	}
+	
+	public ReconciliationInProgressException(Throwable cause) {
+		super(cause);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
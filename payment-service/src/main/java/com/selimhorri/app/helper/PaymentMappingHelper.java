@@ -14,16 +14,26 @@ public interface PaymentMappingHelper {
 				.orderDto(
 						OrderDto.builder()
 							.orderId(payment.getOrderId())
+							.orderDate(payment.getOrderDate())
+							.orderDesc(payment.getOrderDesc())
+							.orderFee(payment.getOrderFee())
 							.build())
 				.build();
 	}
 	
-	public static Payment map(final PaymentDto paymentDto) {
+	/**
+	 * The order snapshot is never taken from the request: it comes from {@code orderSnapshot}, 
+	 * the order as ORDER-SERVICE or the stored payment knows it, and stays empty when that is null.
+	 */
+	public static Payment map(final PaymentDto paymentDto, final OrderDto orderSnapshot) {
 		return Payment.builder()
 				.paymentId(paymentDto.getPaymentId())
 				.orderId(paymentDto.getOrderDto().getOrderId())
 				.isPayed(paymentDto.getIsPayed())
 				.paymentStatus(paymentDto.getPaymentStatus())
+				.orderDate((orderSnapshot != null) ? orderSnapshot.getOrderDate() : null)
+				.orderDesc((orderSnapshot != null) ? orderSnapshot.getOrderDesc() : null)
+				.orderFee((orderSnapshot != null) ? orderSnapshot.getOrderFee() : null)
 				.build();
 	}
 	
@@ -0,0 +1,52 @@
+package com.selimhorri.app.listener;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.OutboxEventDto;
+import com.selimhorri.app.repository.PaymentRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the order snapshot stored on payments current from ORDER-SERVICE outbox events, 
+ * which arrive through POST /api/events.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class OrderSnapshotListener {
+	
+	private final PaymentRepository paymentRepository;
+	private final ObjectMapper objectMapper;
+	
+	@EventListener
+	@Transactional
+	public void onOutboxEvent(final OutboxEventDto event) {
+		if (!AppConstant.OutboxEvents.AGGREGATE_ORDER.equals(event.getAggregateType())
+				|| !(AppConstant.OutboxEvents.ORDER_CREATED.equals(event.getEventType())
+						|| AppConstant.OutboxEvents.ORDER_UPDATED.equals(event.getEventType()))) {
+			return;
+		}
+		final OrderDto order;
+		try {
+			order = this.objectMapper.treeToValue(event.getPayload(), OrderDto.class);
+		} catch (JsonProcessingException e) {
+			log.warn("*** Skipping unreadable order event {} from {}: {} *", 
+					event.getEventId(), event.getSource(), e.getMessage());
+			return;
+		}
+		final int refreshed = this.paymentRepository.refreshOrderSnapshot(event.getAggregateId(), 
+				order.getOrderFee(), order.getOrderDate(), order.getOrderDesc(), event.getEventId());
+		log.debug("*** Order {} snapshot refreshed on {} payments *", event.getAggregateId(), refreshed);
+	}
+	
+	
+	
+}
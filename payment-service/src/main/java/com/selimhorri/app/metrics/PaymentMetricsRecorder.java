@@ -1,21 +1,73 @@
 package com.selimhorri.app.metrics;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
 import org.springframework.stereotype.Component;
 
+import com.selimhorri.app.domain.PaymentStatus;
 import com.selimhorri.app.dto.PaymentDto;
+import com.selimhorri.app.dto.ReconciliationFinding;
+import com.selimhorri.app.exception.wrapper.PaymentNotFoundException;
 
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
 @Component
 public class PaymentMetricsRecorder {
 
+    public static final String OPERATION_SAVE = "save";
+    public static final String OPERATION_UPDATE = "update";
+    public static final String OPERATION_UPDATE_STATUS = "updateStatus";
+    public static final String OPERATION_DELETE = "delete";
+    public static final String OPERATION_FIND_ALL = "findAll";
+    public static final String OPERATION_FIND_BY_ID = "findById";
+
+    public static final String ENRICHMENT_BATCH = "batch";
+    public static final String ENRICHMENT_SINGLE = "single";
+    public static final String ENRICHMENT_PAGE = "page";
+
+    static final String OUTCOME_SUCCESS = "success";
+    static final String OUTCOME_NOT_FOUND = "not_found";
+    static final String OUTCOME_ERROR = "error";
+
+    static final String STATUS_UNKNOWN = "unknown";
+
+    private static final List<String> OPERATIONS = List.of(OPERATION_SAVE, OPERATION_UPDATE, OPERATION_UPDATE_STATUS, 
+            OPERATION_DELETE, OPERATION_FIND_ALL, OPERATION_FIND_BY_ID);
+    private static final List<String> OUTCOMES = List.of(OUTCOME_SUCCESS, OUTCOME_NOT_FOUND, OUTCOME_ERROR);
+    private static final List<String> ENRICHMENT_CALLS = List.of(ENRICHMENT_BATCH, ENRICHMENT_SINGLE, ENRICHMENT_PAGE);
+    private static final List<String> ENRICHMENT_OUTCOMES = List.of(OUTCOME_SUCCESS, OUTCOME_ERROR);
+
+    private final MeterRegistry meterRegistry;
     private final Counter paymentsTotal;
     private final Counter paymentsFailed;
     private final Counter paymentsAmount;
     private final Counter paymentsDeleted;
+    private final Counter idempotentReplays;
+    private final Map<String, DistributionSummary> paymentAmounts = new HashMap<>();
+    private final Map<String, Timer> operationTimers = new HashMap<>();
+    private final Map<String, Timer> enrichmentTimers = new HashMap<>();
+    private final Map<ReconciliationFinding, Counter> reconciliationFindings = new HashMap<>();
+    private final Timer reconciliationDuration;
+    private final AtomicLong reconciliationRunning = new AtomicLong();
+    private final AtomicLong reconciliationOrders = new AtomicLong();
+    private final AtomicLong reconciliationPayments = new AtomicLong();
+    private final Timer statusBatch;
+    private final DistributionSummary statusBatchSize;
+    private final Counter processingRejected;
 
     public PaymentMetricsRecorder(final MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
         this.paymentsTotal = Counter.builder("payment_service_payments_total")
             .description("Cantidad total de pagos procesados")
             .register(meterRegistry);
@@ -29,24 +81,222 @@ public class PaymentMetricsRecorder {
         this.paymentsDeleted = Counter.builder("payment_service_payments_deleted_total")
             .description("Pagos eliminados o revertidos")
             .register(meterRegistry);
+        this.idempotentReplays = Counter.builder("payment_service_idempotent_replays_total")
+            .description("Reintentos con Idempotency-Key respondidos con la respuesta almacenada")
+            .register(meterRegistry);
+        // status and is_payed take a fixed set of values, so every series is registered up front
+        for (final String status : statuses()) {
+            for (final Boolean isPayed : List.of(Boolean.TRUE, Boolean.FALSE)) {
+                this.paymentAmounts.put(key(status, isPayed.toString()), DistributionSummary.builder("payment_service_payment_amount")
+                    .description("Distribución del monto de los pagos procesados (USD)")
+                    .baseUnit("USD")
+                    .tag("status", status)
+                    .tag("is_payed", isPayed.toString())
+                    .serviceLevelObjectives(10, 25, 50, 100, 250, 500, 1000, 5000)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(1D)
+                    .maximumExpectedValue(100_000D)
+                    .register(meterRegistry));
+            }
+        }
+        for (final String operation : OPERATIONS) {
+            for (final String outcome : OUTCOMES) {
+                this.operationTimers.put(key(operation, outcome), Timer.builder("payment_service_operation")
+                    .description("Latencia de las operaciones de PaymentServiceImpl")
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .serviceLevelObjectives(Duration.ofMillis(25), Duration.ofMillis(50), Duration.ofMillis(100), 
+                            Duration.ofMillis(250), Duration.ofMillis(500), Duration.ofSeconds(1))
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofMillis(1))
+                    .maximumExpectedValue(Duration.ofSeconds(10))
+                    .register(meterRegistry));
+            }
+        }
+        for (final String call : ENRICHMENT_CALLS) {
+            for (final String outcome : ENRICHMENT_OUTCOMES) {
+                this.enrichmentTimers.put(key(call, outcome), Timer.builder("payment_service_order_enrichment")
+                    .description("Latencia de las llamadas a ORDER-SERVICE para completar las órdenes de los pagos")
+                    .tag("call", call)
+                    .tag("outcome", outcome)
+                    .serviceLevelObjectives(Duration.ofMillis(25), Duration.ofMillis(50), Duration.ofMillis(100), 
+                            Duration.ofMillis(250), Duration.ofMillis(500), Duration.ofSeconds(1))
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofMillis(1))
+                    .maximumExpectedValue(Duration.ofSeconds(10))
+                    .register(meterRegistry));
+            }
+        }
+        for (final ReconciliationFinding finding : ReconciliationFinding.values()) {
+            this.reconciliationFindings.put(finding, Counter.builder("payment_service_reconciliation_findings_total")
+                .description("Hallazgos de la conciliación entre órdenes y pagos")
+                .tag("finding", finding.getFinding())
+                .register(meterRegistry));
+        }
+        this.reconciliationDuration = Timer.builder("payment_service_reconciliation_duration")
+            .description("Duración de cada conciliación completa entre órdenes y pagos")
+            .register(meterRegistry);
+        Gauge.builder("payment_service_reconciliation_running", this.reconciliationRunning, AtomicLong::get)
+            .description("1 mientras hay una conciliación en curso")
+            .register(meterRegistry);
+        Gauge.builder("payment_service_reconciliation_orders_scanned", this.reconciliationOrders, AtomicLong::get)
+            .description("Órdenes recorridas por la conciliación en curso o la última")
+            .register(meterRegistry);
+        Gauge.builder("payment_service_reconciliation_payments_scanned", this.reconciliationPayments, AtomicLong::get)
+            .description("Pagos recorridos por la conciliación en curso o la última")
+            .register(meterRegistry);
+        this.statusBatch = Timer.builder("payment_service_status_batch")
+            .description("Latencia de cada UPDATE agrupado de estados de pago del procesamiento asíncrono")
+            .serviceLevelObjectives(Duration.ofMillis(10), Duration.ofMillis(25), Duration.ofMillis(50), 
+                    Duration.ofMillis(100), Duration.ofMillis(250), Duration.ofMillis(500))
+            .publishPercentileHistogram()
+            .minimumExpectedValue(Duration.ofMillis(1))
+            .maximumExpectedValue(Duration.ofSeconds(10))
+            .register(meterRegistry);
+        this.statusBatchSize = DistributionSummary.builder("payment_service_status_batch_size")
+            .description("Cambios de estado aplicados por UPDATE agrupado")
+            .baseUnit("payments")
+            .register(meterRegistry);
+        this.processingRejected = Counter.builder("payment_service_processing_rejected_total")
+            .description("Pagos rechazados por capacidad de procesamiento asíncrono agotada")
+            .register(meterRegistry);
     }
 
+    /**
+     * Amounts come from the order snapshot of {@code persistedDto}, which PaymentServiceImpl takes 
+     * from ORDER-SERVICE, never from the order fee the client sent in {@code sourcePayload}.
+     */
     public void recordPayment(final PaymentDto sourcePayload, final PaymentDto persistedDto) {
         this.paymentsTotal.increment();
         final PaymentDto metricSource = sourcePayload != null ? sourcePayload : persistedDto;
-        final double amount = extractAmount(metricSource);
+        final double amount = extractAmount(persistedDto);
         if (amount > 0D) {
             this.paymentsAmount.increment(amount);
         }
         if (metricSource == null || !Boolean.TRUE.equals(metricSource.getIsPayed())) {
             this.paymentsFailed.increment();
         }
+        final PaymentDto tagSource = persistedDto != null ? persistedDto : metricSource;
+        this.paymentAmounts.get(key(
+                tagSource == null || tagSource.getPaymentStatus() == null ? STATUS_UNKNOWN : tagSource.getPaymentStatus().name(), 
+                String.valueOf(tagSource != null && Boolean.TRUE.equals(tagSource.getIsPayed()))))
+            .record(amount);
     }
 
     public void recordPaymentDeletion() {
         this.paymentsDeleted.increment();
     }
 
+    public void recordIdempotentReplay() {
+        this.idempotentReplays.increment();
+    }
+
+    public void recordStatusTransition(final PaymentStatus from, final PaymentStatus to) {
+        this.recordStatusTransitions(from, to, 1);
+    }
+
+    public void recordStatusTransitions(final PaymentStatus from, final PaymentStatus to, final int count) {
+        Counter.builder("payment_service_status_transitions_total")
+            .description("Transiciones de estado de pago aplicadas")
+            .tag("from", from.name())
+            .tag("to", to.name())
+            .register(this.meterRegistry)
+            .increment(count);
+    }
+
+    public void registerProcessingQueue(final Supplier<Number> inFlight) {
+        Gauge.builder("payment_service_processing_in_flight", inFlight, s -> s.get().doubleValue())
+            .description("Pagos aceptados pendientes de confirmar por el procesamiento asíncrono")
+            .register(this.meterRegistry);
+    }
+
+    public void recordStatusBatch(final int payments, final long elapsedNanos) {
+        this.statusBatch.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        this.statusBatchSize.record(payments);
+    }
+
+    public void recordProcessingRejected() {
+        this.processingRejected.increment();
+    }
+
+    /**
+     * Runs {@code action} and records its latency under {@code operation}, tagged with 
+     * success, not_found (PaymentNotFoundException) or error (any other exception).
+     */
+    public <T> T recordOperation(final String operation, final Supplier<T> action) {
+        final long start = System.nanoTime();
+        String outcome = OUTCOME_ERROR;
+        try {
+            final T result = action.get();
+            outcome = OUTCOME_SUCCESS;
+            return result;
+        } catch (PaymentNotFoundException e) {
+            outcome = OUTCOME_NOT_FOUND;
+            throw e;
+        } finally {
+            this.operationTimers.get(key(operation, outcome)).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public void recordOperation(final String operation, final Runnable action) {
+        this.recordOperation(operation, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Times one call to ORDER-SERVICE on its own, so enrichment latency can be told apart 
+     * from the database time inside the enclosing operation.
+     */
+    public <T> T recordOrderEnrichment(final String call, final Supplier<T> action) {
+        final long start = System.nanoTime();
+        String outcome = OUTCOME_ERROR;
+        try {
+            final T result = action.get();
+            outcome = OUTCOME_SUCCESS;
+            return result;
+        } finally {
+            this.enrichmentTimers.get(key(call, outcome)).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public void recordReconciliationStarted() {
+        this.reconciliationOrders.set(0L);
+        this.reconciliationPayments.set(0L);
+        this.reconciliationRunning.set(1L);
+    }
+
+    public void recordReconciledOrder() {
+        this.reconciliationOrders.incrementAndGet();
+    }
+
+    public void recordReconciledPayment() {
+        this.reconciliationPayments.incrementAndGet();
+    }
+
+    public void recordReconciliationFinding(final ReconciliationFinding finding) {
+        this.reconciliationFindings.get(finding).increment();
+    }
+
+    public void recordReconciliationFinished(final long elapsedNanos) {
+        this.reconciliationDuration.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        this.reconciliationRunning.set(0L);
+    }
+
+    private static List<String> statuses() {
+        final List<String> statuses = new ArrayList<>();
+        for (final PaymentStatus status : PaymentStatus.values()) {
+            statuses.add(status.name());
+        }
+        statuses.add(STATUS_UNKNOWN);
+        return statuses;
+    }
+
+    private static String key(final String first, final String second) {
+        return first + ':' + second;
+    }
+
     private double extractAmount(final PaymentDto paymentDto) {
         if (paymentDto == null || paymentDto.getOrderDto() == null || paymentDto.getOrderDto().getOrderFee() == null) {
             return 0D;
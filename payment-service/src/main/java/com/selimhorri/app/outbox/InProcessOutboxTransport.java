@@ -0,0 +1,32 @@
+package com.selimhorri.app.outbox;
+
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import com.selimhorri.app.dto.OutboxEventDto;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Events go to {@code @EventListener(OutboxEventDto)} beans of this same service only, 
+ * no broker or network involved; other services never see them. Used when 
+ * {@code outbox.transport} is unset or in-process, e.g. in tests.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.transport", havingValue = "in-process", matchIfMissing = true)
+@RequiredArgsConstructor
+public class InProcessOutboxTransport implements OutboxTransport {
+	
+	private final ApplicationEventPublisher applicationEventPublisher;
+	
+	@Override
+	public void send(final List<OutboxEventDto> events) {
+		events.forEach(this.applicationEventPublisher::publishEvent);
+	}
+	
+	
+	
+}
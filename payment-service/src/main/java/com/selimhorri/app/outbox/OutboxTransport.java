@@ -0,0 +1,15 @@
+package com.selimhorri.app.outbox;
+
+import java.util.List;
+
+import com.selimhorri.app.dto.OutboxEventDto;
+
+/**
+ * Delivers a batch of committed events to subscribers. Throwing leaves the whole batch 
+ * unpublished, so it is retried on the next relay run.
+ */
+public interface OutboxTransport {
+	
+	void send(final List<OutboxEventDto> events);
+	
+}
@@ -0,0 +1,47 @@
+package com.selimhorri.app.outbox;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.selimhorri.app.domain.OutboxEvent;
+import com.selimhorri.app.repository.OutboxEventRepository;
+
+@Component
+public class OutboxWriter {
+	
+	private final OutboxEventRepository outboxEventRepository;
+	private final ObjectWriter payloadWriter;
+	
+	public OutboxWriter(final OutboxEventRepository outboxEventRepository, final ObjectMapper objectMapper) {
+		this.outboxEventRepository = outboxEventRepository;
+		this.payloadWriter = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+	}
+	
+	/**
+	 * Must run inside the transaction that makes the change, so the event is committed 
+	 * or rolled back together with it.
+	 */
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void append(final String aggregateType, final Integer aggregateId, 
+			final String eventType, final Object payload) {
+		try {
+			this.outboxEventRepository.save(OutboxEvent.builder()
+					.aggregateType(aggregateType)
+					.aggregateId(aggregateId)
+					.eventType(eventType)
+					.payload(this.payloadWriter.writeValueAsString(payload))
+					.build());
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException(String.format("Could not serialize %s event for %s %d", 
+					eventType, aggregateType, aggregateId), e);
+		}
+	}
+	
+	
+	
+}
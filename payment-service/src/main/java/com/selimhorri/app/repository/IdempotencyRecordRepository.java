@@ -0,0 +1,41 @@
+package com.selimhorri.app.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.selimhorri.app.domain.IdempotencyRecord;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+	
+	/**
+	 * Plain insert, so a key taken concurrently fails on the primary key instead of being merged over.
+	 */
+	@Modifying
+	@Query(nativeQuery = true, value = "INSERT INTO idempotency_records (idempotency_key, request_hash, expires_at) "
+			+ "VALUES (:idempotencyKey, :requestHash, :expiresAt)")
+	int claim(
+			@Param("idempotencyKey") final String idempotencyKey, 
+			@Param("requestHash") final String requestHash, 
+			@Param("expiresAt") final LocalDateTime expiresAt);
+	
+	@Modifying
+	@Query("UPDATE IdempotencyRecord r SET r.responseBody = :responseBody, r.expiresAt = :expiresAt "
+			+ "WHERE r.idempotencyKey = :idempotencyKey")
+	int complete(
+			@Param("idempotencyKey") final String idempotencyKey, 
+			@Param("responseBody") final String responseBody, 
+			@Param("expiresAt") final LocalDateTime expiresAt);
+	
+	@Modifying
+	@Query("DELETE FROM IdempotencyRecord r WHERE r.idempotencyKey = :idempotencyKey AND r.expiresAt <= :now")
+	int deleteExpired(@Param("idempotencyKey") final String idempotencyKey, @Param("now") final LocalDateTime now);
+	
+	@Modifying
+	@Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now")
+	int deleteExpired(@Param("now") final LocalDateTime now);
+	
+}
@@ -1,11 +1,144 @@
 package com.selimhorri.app.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import com.selimhorri.app.domain.Payment;
+import com.selimhorri.app.domain.PaymentStatus;
 
 public interface PaymentRepository extends JpaRepository<Payment, Integer> {
 	
+	/**
+	 * Read-only cursor over all payments, fetched 1000 rows at a time; consume inside a transaction.
+	 */
+	@QueryHints({
+			@QueryHint(name = "org.hibernate.fetchSize", value = "1000"), 
+			@QueryHint(name = "org.hibernate.readOnly", value = "true")})
+	@Query("SELECT p FROM Payment p ORDER BY p.paymentId ASC")
+	Stream<Payment> streamAll();
+	
+	/**
+	 * Same cursor in order_id order, served by idx_payments_order_id; payments without 
+	 * an order id are left out.
+	 */
+	@QueryHints({
+			@QueryHint(name = "org.hibernate.fetchSize", value = "1000"), 
+			@QueryHint(name = "org.hibernate.readOnly", value = "true")})
+	@Query("SELECT p FROM Payment p WHERE p.orderId IS NOT NULL ORDER BY p.orderId ASC, p.paymentId ASC")
+	Stream<Payment> streamAllByOrderId();
+	
+	/**
+	 * Applies an order event to the snapshots of that order's payments, served by 
+	 * idx_payments_order_id. Events older than the one already applied are ignored, 
+	 * so redelivered or reordered events never roll a snapshot back.
+	 */
+	@Modifying
+	@Query("UPDATE Payment p SET p.orderFee = :orderFee, p.orderDate = :orderDate, "
+			+ "p.orderDesc = :orderDesc, p.orderSnapshotEventId = :eventId "
+			+ "WHERE p.orderId = :orderId "
+			+ "AND (p.orderSnapshotEventId IS NULL OR p.orderSnapshotEventId < :eventId)")
+	int refreshOrderSnapshot(
+			@Param("orderId") final Integer orderId, 
+			@Param("orderFee") final Double orderFee, 
+			@Param("orderDate") final LocalDateTime orderDate, 
+			@Param("orderDesc") final String orderDesc, 
+			@Param("eventId") final Long eventId);
+	
+	/**
+	 * Payments with an order id but an empty order snapshot, after {@code afterId} in paymentId order.
+	 */
+	@Query("SELECT p FROM Payment p WHERE p.paymentId > :afterId AND p.orderId IS NOT NULL "
+			+ "AND p.orderSnapshotEventId IS NULL AND p.orderFee IS NULL AND p.orderDate IS NULL "
+			+ "AND p.orderDesc IS NULL ORDER BY p.paymentId ASC")
+	List<Payment> findPageWithoutOrderSnapshot(@Param("afterId") final Integer afterId, final Pageable pageable);
+	
+	/**
+	 * Fills the empty snapshots of that order's payments; snapshots already set, by an order 
+	 * event or at creation, are left alone.
+	 */
+	@Modifying
+	@Query("UPDATE Payment p SET p.orderFee = :orderFee, p.orderDate = :orderDate, p.orderDesc = :orderDesc "
+			+ "WHERE p.orderId = :orderId AND p.orderSnapshotEventId IS NULL "
+			+ "AND p.orderFee IS NULL AND p.orderDate IS NULL AND p.orderDesc IS NULL")
+	int fillOrderSnapshot(
+			@Param("orderId") final Integer orderId, 
+			@Param("orderFee") final Double orderFee, 
+			@Param("orderDate") final LocalDateTime orderDate, 
+			@Param("orderDesc") final String orderDesc);
+	
+	@Query("SELECT p.paymentStatus FROM Payment p WHERE p.paymentId = :paymentId")
+	Optional<PaymentStatus> findPaymentStatusById(@Param("paymentId") final Integer paymentId);
+	
+	/**
+	 * Moves the payment to {@code next} only if it is still in {@code expected}; 
+	 * returns 0 when another update got there first.
+	 */
+	@Modifying(clearAutomatically = true)
+	@Query("UPDATE Payment p SET p.paymentStatus = :next "
+			+ "WHERE p.paymentId = :paymentId AND p.paymentStatus = :expected")
+	int compareAndSetStatus(
+			@Param("paymentId") final Integer paymentId, 
+			@Param("expected") final PaymentStatus expected, 
+			@Param("next") final PaymentStatus next);
+	
+	/**
+	 * Locks the listed payments that are still in {@code expected}, in paymentId order; a 
+	 * compareAndSetStatuses on their ids in the same transaction then moves exactly these.
+	 */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT p FROM Payment p WHERE p.paymentId IN :paymentIds AND p.paymentStatus = :expected "
+			+ "ORDER BY p.paymentId ASC")
+	List<Payment> findAllByIdInStatusForUpdate(
+			@Param("paymentIds") final Collection<Integer> paymentIds, 
+			@Param("expected") final PaymentStatus expected);
+	
+	/**
+	 * Batched form of {@link #compareAndSetStatus}: moves every listed payment still in 
+	 * {@code expected} to {@code next} in one statement, setting its processing lease to 
+	 * {@code leaseUntil}, and returns how many moved.
+	 */
+	@Modifying(clearAutomatically = true)
+	@Query("UPDATE Payment p SET p.paymentStatus = :next, p.isPayed = :isPayed, p.processingLeaseUntil = :leaseUntil "
+			+ "WHERE p.paymentId IN :paymentIds AND p.paymentStatus = :expected")
+	int compareAndSetStatuses(
+			@Param("paymentIds") final Collection<Integer> paymentIds, 
+			@Param("expected") final PaymentStatus expected, 
+			@Param("next") final PaymentStatus next, 
+			@Param("isPayed") final Boolean isPayed, 
+			@Param("leaseUntil") final LocalDateTime leaseUntil);
+	
+	/**
+	 * Payments in one of {@code statuses} whose processing lease ran out before {@code now}, 
+	 * oldest lease first, locked with SKIP LOCKED (lock timeout -2) so sweeps on other 
+	 * instances pick up the next rows instead of waiting.
+	 */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@QueryHints(@QueryHint(name = "javax.persistence.lock.timeout", value = "-2"))
+	@Query("SELECT p FROM Payment p WHERE p.paymentStatus IN :statuses AND p.processingLeaseUntil < :now "
+			+ "ORDER BY p.processingLeaseUntil ASC")
+	List<Payment> findExpiredProcessingLeases(
+			@Param("statuses") final Collection<PaymentStatus> statuses, 
+			@Param("now") final LocalDateTime now, 
+			final Pageable pageable);
 	
+	@Modifying
+	@Query("UPDATE Payment p SET p.processingLeaseUntil = :leaseUntil WHERE p.paymentId IN :paymentIds")
+	int renewProcessingLeases(
+			@Param("paymentIds") final Collection<Integer> paymentIds, 
+			@Param("leaseUntil") final LocalDateTime leaseUntil);
 	
 }
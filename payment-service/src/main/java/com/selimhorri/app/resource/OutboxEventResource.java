@@ -0,0 +1,42 @@
+package com.selimhorri.app.resource;
+
+import java.util.List;
+
+import javax.validation.constraints.NotNull;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.selimhorri.app.dto.OutboxEventDto;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Receiving end of the HTTP outbox transport: events from other services are republished 
+ * to local {@code @EventListener(OutboxEventDto)} beans, exactly as in-process events are.
+ */
+@RestController
+@RequestMapping("/api/events")
+@Slf4j
+@RequiredArgsConstructor
+public class OutboxEventResource {
+	
+	private final ApplicationEventPublisher applicationEventPublisher;
+	
+	@PostMapping
+	public ResponseEntity<Void> receive(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL") final List<OutboxEventDto> events) {
+		log.info("*** OutboxEventDto List, resource; receive outbox events *");
+		events.forEach(this.applicationEventPublisher::publishEvent);
+		return ResponseEntity.ok().build();
+	}
+	
+	
+	
+}
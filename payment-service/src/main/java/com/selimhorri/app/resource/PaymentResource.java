@@ -1,21 +1,34 @@
 package com.selimhorri.app.resource;
 
+import java.io.IOException;
+import java.util.function.Supplier;
+
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.selimhorri.app.dto.PaymentDto;
+import com.selimhorri.app.dto.PaymentStatusTransitionDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.helper.NdjsonWriter;
+import com.selimhorri.app.service.IdempotencyService;
+import com.selimhorri.app.service.PaymentProcessingService;
 import com.selimhorri.app.service.PaymentService;
 
 import lombok.RequiredArgsConstructor;
@@ -27,30 +40,67 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class PaymentResource {
 	
+	private static final String EXPAND_LIVE_ORDER = "liveOrder";
+	private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+	
 	private final PaymentService paymentService;
+	private final IdempotencyService idempotencyService;
+	private final PaymentProcessingService paymentProcessingService;
+	private final ObjectMapper objectMapper;
 	
+	/**
+	 * Orders come from the snapshot stored on each payment; {@code expand=liveOrder} 
+	 * fetches them from ORDER-SERVICE instead.
+	 */
 	@GetMapping
-	public ResponseEntity<DtoCollectionResponse<PaymentDto>> findAll() {
+	public ResponseEntity<DtoCollectionResponse<PaymentDto>> findAll(
+			@RequestParam(value = "expand", required = false) final String expand) {
 		log.info("*** PaymentDto List, controller; fetch all payments *");
-		return ResponseEntity.ok(new DtoCollectionResponse<>(this.paymentService.findAll()));
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.paymentService.findAll(EXPAND_LIVE_ORDER.equals(expand))));
+	}
+	
+	@GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public void streamAll(final HttpServletResponse response) throws IOException {
+		log.info("*** PaymentDto Stream, controller; stream all payments *");
+		response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+		try (final NdjsonWriter<PaymentDto> writer = 
+				new NdjsonWriter<>(this.objectMapper, PaymentDto.class, response.getOutputStream())) {
+			this.paymentService.streamAll(writer::write);
+		}
 	}
 	
 	@GetMapping("/{paymentId}")
 	public ResponseEntity<PaymentDto> findById(
 			@PathVariable("paymentId") 
 			@NotBlank(message = "Input must not be blank") 
-			@Valid final String paymentId) {
+			@Valid final String paymentId, 
+			@RequestParam(value = "expand", required = false) final String expand) {
 		log.info("*** PaymentDto, resource; fetch payment by id *");
-		return ResponseEntity.ok(this.paymentService.findById(Integer.parseInt(paymentId)));
+		return ResponseEntity.ok(this.paymentService.findById(Integer.parseInt(paymentId), 
+				EXPAND_LIVE_ORDER.equals(expand)));
 	}
 	
+	/**
+	 * With an {@code Idempotency-Key} header, retries of the same request get the first response 
+	 * back instead of creating another payment. With payment-processing.async-enabled the payment 
+	 * is only stored as NOT_STARTED: 202, then poll it by id for its final status, or 503 when 
+	 * processing is at capacity.
+	 */
 	@PostMapping
 	public ResponseEntity<PaymentDto> save(
+			@RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) final String idempotencyKey, 
 			@RequestBody 
 			@NotNull(message = "Input must not be NULL") 
 			@Valid final PaymentDto paymentDto) {
 		log.info("*** PaymentDto, resource; save payment *");
-		return ResponseEntity.ok(this.paymentService.save(paymentDto));
+		final boolean async = this.paymentProcessingService.isEnabled();
+		final Supplier<PaymentDto> save = async 
+				? () -> this.paymentProcessingService.submit(paymentDto) 
+				: () -> this.paymentService.save(paymentDto);
+		final PaymentDto saved = (idempotencyKey == null || idempotencyKey.isBlank()) 
+				? save.get() 
+				: this.idempotencyService.execute(idempotencyKey, paymentDto, PaymentDto.class, save);
+		return async ? ResponseEntity.accepted().body(saved) : ResponseEntity.ok(saved);
 	}
 	
 	@PutMapping
@@ -62,6 +112,18 @@ public class PaymentResource {
 		return ResponseEntity.ok(this.paymentService.update(paymentDto));
 	}
 	
+	@PatchMapping("/{paymentId}/status")
+	public ResponseEntity<PaymentDto> updateStatus(
+			@PathVariable("paymentId") 
+			@NotBlank(message = "Input must not be blank") 
+			@Valid final String paymentId, 
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL") 
+			@Valid final PaymentStatusTransitionDto transitionDto) {
+		log.info("*** PaymentDto, resource; update payment status *");
+		return ResponseEntity.ok(this.paymentService.updateStatus(Integer.parseInt(paymentId), transitionDto));
+	}
+	
 	@DeleteMapping("/{paymentId}")
 	public ResponseEntity<Boolean> deleteById(@PathVariable("paymentId") final String paymentId) {
 		log.info("*** Boolean, resource; delete payment by id *");
@@ -0,0 +1,73 @@
+package com.selimhorri.app.resource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.web.annotation.RestControllerEndpoint;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.dto.ReconciliationEntryDto;
+import com.selimhorri.app.exception.wrapper.ReconciliationInProgressException;
+import com.selimhorri.app.helper.NdjsonWriter;
+import com.selimhorri.app.service.ReconciliationService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@code POST /actuator/reconciliation} runs a reconciliation and streams its findings as NDJSON 
+ * while it runs; progress is published in the payment_service_reconciliation_* metrics. 
+ * Requires the {@code X-Admin-Token} header to match management.admin-token; with no token 
+ * configured every call gets 403. A second trigger while one is running gets 409.
+ */
+@RestControllerEndpoint(id = "reconciliation")
+@Slf4j
+public class ReconciliationEndpoint {
+	
+	public static final String ADMIN_TOKEN_HEADER = "X-Admin-Token";
+	
+	private final ReconciliationService reconciliationService;
+	private final ObjectMapper objectMapper;
+	private final byte[] adminToken;
+	
+	public ReconciliationEndpoint(
+			final ReconciliationService reconciliationService, 
+			final ObjectMapper objectMapper, 
+			@Value("${management.admin-token:}") final String adminToken) {
+		this.reconciliationService = reconciliationService;
+		this.objectMapper = objectMapper;
+		this.adminToken = adminToken.getBytes(StandardCharsets.UTF_8);
+	}
+	
+	@PostMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public void reconcile(
+			@RequestHeader(value = ADMIN_TOKEN_HEADER, required = false) final String token, 
+			final HttpServletResponse response) throws IOException {
+		log.info("*** ReconciliationEntryDto Stream, endpoint; reconcile orders and payments *");
+		if (this.adminToken.length == 0 || token == null 
+				|| !MessageDigest.isEqual(this.adminToken, token.getBytes(StandardCharsets.UTF_8))) {
+			response.sendError(HttpStatus.FORBIDDEN.value(), "Missing or invalid admin token");
+			return;
+		}
+		response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+		final NdjsonWriter<ReconciliationEntryDto> writer = 
+				new NdjsonWriter<>(this.objectMapper, ReconciliationEntryDto.class, response.getOutputStream());
+		try {
+			this.reconciliationService.reconcile(writer::write);
+			writer.close();
+		} catch (ReconciliationInProgressException e) {
+			// rejected before anything was written, so the response can still carry the status
+			response.sendError(HttpStatus.CONFLICT.value(), e.getMessage());
+		}
+	}
+	
+	
+	
+}
@@ -0,0 +1,7 @@
+package com.selimhorri.app.service;
+
+public interface OrderSnapshotService {
+	
+	int backfill();
+	
+}
@@ -0,0 +1,11 @@
+package com.selimhorri.app.service;
+
+import com.selimhorri.app.dto.PaymentDto;
+
+public interface PaymentProcessingService {
+	
+	boolean isEnabled();
+	PaymentDto submit(final PaymentDto paymentDto);
+	int sweep();
+	
+}
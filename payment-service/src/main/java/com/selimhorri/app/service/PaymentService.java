@@ -1,15 +1,22 @@
 package com.selimhorri.app.service;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import com.selimhorri.app.dto.PaymentDto;
+import com.selimhorri.app.dto.PaymentStatusTransitionDto;
 
 public interface PaymentService {
 	
 	List<PaymentDto> findAll();
+	List<PaymentDto> findAll(final boolean liveOrder);
+	void streamAll(final Consumer<PaymentDto> action);
 	PaymentDto findById(final Integer paymentId);
+	PaymentDto findById(final Integer paymentId, final boolean liveOrder);
 	PaymentDto save(final PaymentDto paymentDto);
+	PaymentDto save(final PaymentDto paymentDto, final boolean liveOrder);
 	PaymentDto update(final PaymentDto paymentDto);
+	PaymentDto updateStatus(final Integer paymentId, final PaymentStatusTransitionDto transitionDto);
 	void deleteById(final Integer paymentId);
 	
 }
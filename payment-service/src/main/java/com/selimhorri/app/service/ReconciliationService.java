@@ -0,0 +1,12 @@
+package com.selimhorri.app.service;
+
+import java.util.function.Consumer;
+
+import com.selimhorri.app.dto.ReconciliationEntryDto;
+import com.selimhorri.app.dto.ReconciliationSummaryDto;
+
+public interface ReconciliationService {
+	
+	ReconciliationSummaryDto reconcile(final Consumer<ReconciliationEntryDto> action);
+	
+}
@@ -0,0 +1,254 @@
+package com.selimhorri.app.service.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.selimhorri.app.exception.wrapper.IdempotencyKeyInProgressException;
+import com.selimhorri.app.exception.wrapper.IdempotencyKeyMismatchException;
+import com.selimhorri.app.metrics.PaymentMetricsRecorder;
+import com.selimhorri.app.repository.IdempotencyRecordRepository;
+import com.selimhorri.app.service.IdempotencyService;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs a request at most once per Idempotency-Key and replays the stored response to retries. 
+ * A key is claimed by inserting its record in a transaction of its own, so instances see each 
+ * other's claims; the action and the stored response then commit together. Retries hitting this 
+ * instance while the first execution is still running wait for it instead of racing it, and 
+ * committed responses are kept in an LRU in front of the table.
+ */
+@Service
+@Slf4j
+public class IdempotencyServiceImpl implements IdempotencyService {
+	
+	private final IdempotencyRecordRepository idempotencyRecordRepository;
+	private final PaymentMetricsRecorder paymentMetricsRecorder;
+	private final ObjectMapper objectMapper;
+	private final ObjectWriter jsonWriter;
+	private final TransactionTemplate transactionTemplate;
+	private final TransactionTemplate claimTemplate;
+	private final long ttlHours;
+	private final long leaseSeconds;
+	
+	/** Committed responses by key, least recently used evicted first. */
+	private final Map<String, StoredResponse> responses;
+	private final ConcurrentMap<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+	
+	public IdempotencyServiceImpl(
+			final IdempotencyRecordRepository idempotencyRecordRepository, 
+			final PaymentMetricsRecorder paymentMetricsRecorder, 
+			final ObjectMapper objectMapper, 
+			final PlatformTransactionManager transactionManager, 
+			@Value("${idempotency.ttl-hours:24}") final long ttlHours, 
+			@Value("${idempotency.lease-seconds:30}") final long leaseSeconds, 
+			@Value("${idempotency.cache-size:10000}") final int cacheSize) {
+		this.idempotencyRecordRepository = idempotencyRecordRepository;
+		this.paymentMetricsRecorder = paymentMetricsRecorder;
+		this.objectMapper = objectMapper;
+		this.jsonWriter = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.claimTemplate = new TransactionTemplate(transactionManager);
+		this.claimTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		this.ttlHours = ttlHours;
+		this.leaseSeconds = leaseSeconds;
+		this.responses = Collections.synchronizedMap(new LinkedHashMap<String, StoredResponse>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<String, StoredResponse> eldest) {
+				return this.size() > cacheSize;
+			}
+		});
+	}
+	
+	@Override
+	public <T> T execute(final String idempotencyKey, final Object request, final Class<T> responseType, 
+			final Supplier<T> action) {
+		final String requestHash = this.hash(request);
+		final Optional<StoredResponse> stored = this.findStored(idempotencyKey);
+		if (stored.isPresent()) {
+			return this.replay(idempotencyKey, stored.get(), requestHash, responseType);
+		}
+		
+		final CompletableFuture<StoredResponse> execution = new CompletableFuture<>();
+		final CompletableFuture<StoredResponse> running = this.inFlight.putIfAbsent(idempotencyKey, execution);
+		if (running != null) {
+			return this.replay(idempotencyKey, this.await(idempotencyKey, running), requestHash, responseType);
+		}
+		try {
+			final Optional<StoredResponse> claimed = this.claim(idempotencyKey, requestHash);
+			if (claimed.isPresent()) {
+				execution.complete(claimed.get());
+				return this.replay(idempotencyKey, claimed.get(), requestHash, responseType);
+			}
+			final LocalDateTime expiresAt = LocalDateTime.now().plusHours(this.ttlHours);
+			final StoredResponse[] committed = new StoredResponse[1];
+			final T response;
+			try {
+				response = this.transactionTemplate.execute(status -> {
+					final T result = action.get();
+					final String responseBody = this.serialize(result);
+					this.idempotencyRecordRepository.complete(idempotencyKey, responseBody, expiresAt);
+					committed[0] = new StoredResponse(requestHash, responseBody, expiresAt);
+					return result;
+				});
+			} catch (RuntimeException e) {
+				this.release(idempotencyKey);
+				throw e;
+			}
+			this.responses.put(idempotencyKey, committed[0]);
+			execution.complete(committed[0]);
+			return response;
+		} catch (RuntimeException e) {
+			execution.completeExceptionally(e);
+			throw e;
+		} finally {
+			this.inFlight.remove(idempotencyKey, execution);
+		}
+	}
+	
+	@Scheduled(initialDelayString = "${idempotency.cleanup-interval-ms:3600000}", 
+			fixedDelayString = "${idempotency.cleanup-interval-ms:3600000}")
+	public void deleteExpired() {
+		final Integer deleted = this.transactionTemplate.execute(status -> 
+				this.idempotencyRecordRepository.deleteExpired(LocalDateTime.now()));
+		log.info("*** Deleted {} expired idempotency records *", deleted);
+	}
+	
+	private Optional<StoredResponse> findStored(final String idempotencyKey) {
+		final StoredResponse cached = this.responses.get(idempotencyKey);
+		if (cached != null && cached.getExpiresAt().isAfter(LocalDateTime.now())) {
+			return Optional.of(cached);
+		}
+		return this.idempotencyRecordRepository.findById(idempotencyKey)
+				.filter(r -> r.getResponseBody() != null && r.getExpiresAt().isAfter(LocalDateTime.now()))
+				.map(r -> {
+					final StoredResponse response = new StoredResponse(r.getRequestHash(), r.getResponseBody(), r.getExpiresAt());
+					this.responses.put(idempotencyKey, response);
+					return response;
+				});
+	}
+	
+	/**
+	 * Inserts the in-flight record for the key. When the key is already taken, returns its 
+	 * stored response, takes over a record whose lease or TTL ran out, or fails while 
+	 * another instance is still executing it.
+	 */
+	private Optional<StoredResponse> claim(final String idempotencyKey, final String requestHash) {
+		try {
+			this.claimTemplate.executeWithoutResult(status -> {
+				final LocalDateTime now = LocalDateTime.now();
+				this.idempotencyRecordRepository.deleteExpired(idempotencyKey, now);
+				this.idempotencyRecordRepository.claim(idempotencyKey, requestHash, now.plusSeconds(this.leaseSeconds));
+			});
+			return Optional.empty();
+		} catch (DataIntegrityViolationException e) {
+			return Optional.of(this.findStored(idempotencyKey)
+					.orElseThrow(() -> new IdempotencyKeyInProgressException(String
+							.format("Request with Idempotency-Key %s is still being processed, retry later", idempotencyKey))));
+		}
+	}
+	
+	private void release(final String idempotencyKey) {
+		try {
+			this.claimTemplate.executeWithoutResult(status -> 
+					this.idempotencyRecordRepository.deleteById(idempotencyKey));
+		} catch (RuntimeException e) {
+			log.warn("*** Could not release Idempotency-Key {}, it frees up when its lease ends: {} *", 
+					idempotencyKey, e.getMessage());
+		}
+	}
+	
+	private StoredResponse await(final String idempotencyKey, final CompletableFuture<StoredResponse> running) {
+		try {
+			return running.get(this.leaseSeconds, TimeUnit.SECONDS);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new IllegalStateException(e.getCause());
+		} catch (TimeoutException e) {
+			throw new IdempotencyKeyInProgressException(String
+					.format("Request with Idempotency-Key %s is still being processed, retry later", idempotencyKey));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IdempotencyKeyInProgressException(String
+					.format("Interrupted while waiting for Idempotency-Key %s", idempotencyKey), e);
+		}
+	}
+	
+	private <T> T replay(final String idempotencyKey, final StoredResponse stored, final String requestHash, 
+			final Class<T> responseType) {
+		if (!stored.getRequestHash().equals(requestHash)) {
+			throw new IdempotencyKeyMismatchException(String
+					.format("Idempotency-Key %s was already used with a different request", idempotencyKey));
+		}
+		try {
+			final T response = this.objectMapper.readValue(stored.getResponseBody(), responseType);
+			this.paymentMetricsRecorder.recordIdempotentReplay();
+			return response;
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException(String.format("Corrupt response stored for Idempotency-Key %s", idempotencyKey), e);
+		}
+	}
+	
+	private String serialize(final Object value) {
+		try {
+			return this.jsonWriter.writeValueAsString(value);
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("Could not serialize idempotent response", e);
+		}
+	}
+	
+	private String hash(final Object request) {
+		try {
+			final byte[] digest = MessageDigest.getInstance("SHA-256")
+					.digest(this.serialize(request).getBytes(StandardCharsets.UTF_8));
+			final StringBuilder hex = new StringBuilder(digest.length * 2);
+			for (final byte b : digest) {
+				hex.append(String.format("%02x", b));
+			}
+			return hex.toString();
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+	
+	@RequiredArgsConstructor
+	@Getter
+	private static final class StoredResponse {
+		private final String requestHash;
+		private final String responseBody;
+		private final LocalDateTime expiresAt;
+	}
+	
+	
+	
+}
@@ -0,0 +1,77 @@
+package com.selimhorri.app.service.impl;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.selimhorri.app.client.OrderResolver;
+import com.selimhorri.app.domain.Payment;
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.repository.PaymentRepository;
+import com.selimhorri.app.service.OrderSnapshotService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Fills the order snapshot of payments stored without one, i.e. created before the snapshot 
+ * columns existed, while ORDER-SERVICE could not be reached or through asynchronous processing. 
+ * Walks them in paymentId order, one OrderResolver batch per page; orders ORDER-SERVICE no 
+ * longer knows, or could not return, stay empty and are retried on the next run.
+ */
+@Service
+@Slf4j
+public class OrderSnapshotServiceImpl implements OrderSnapshotService {
+	
+	private final PaymentRepository paymentRepository;
+	private final OrderResolver orderResolver;
+	private final TransactionTemplate transactionTemplate;
+	private final int batchSize;
+	
+	public OrderSnapshotServiceImpl(
+			final PaymentRepository paymentRepository, 
+			final OrderResolver orderResolver, 
+			final PlatformTransactionManager transactionManager, 
+			@Value("${order-lookup.batch-size:200}") final int batchSize) {
+		this.paymentRepository = paymentRepository;
+		this.orderResolver = orderResolver;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.batchSize = Math.max(batchSize, 1);
+	}
+	
+	@Override
+	@Scheduled(initialDelayString = "${order-snapshot.backfill-initial-delay-ms:60000}", 
+			fixedDelayString = "${order-snapshot.backfill-interval-ms:3600000}")
+	public int backfill() {
+		int filled = 0;
+		Integer afterId = 0;
+		List<Payment> page;
+		do {
+			page = this.paymentRepository.findPageWithoutOrderSnapshot(afterId, PageRequest.of(0, this.batchSize));
+			if (page.isEmpty()) {
+				break;
+			}
+			afterId = page.get(page.size() - 1).getPaymentId();
+			final Map<Integer, OrderDto> orders = this.orderResolver.resolveAll(page.stream()
+					.map(Payment::getOrderId)
+					.collect(Collectors.toList()));
+			filled += this.transactionTemplate.execute(status -> orders.values().stream()
+					.mapToInt(o -> this.paymentRepository.fillOrderSnapshot(o.getOrderId(), 
+							o.getOrderFee(), o.getOrderDate(), o.getOrderDesc()))
+					.sum());
+		} while (page.size() == this.batchSize);
+		if (filled > 0) {
+			log.info("*** Filled the order snapshot of {} payments *", filled);
+		}
+		return filled;
+	}
+	
+	
+	
+}
@@ -0,0 +1,358 @@
+package com.selimhorri.app.service.impl;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.Payment;
+import com.selimhorri.app.domain.PaymentStatus;
+import com.selimhorri.app.dto.PaymentDto;
+import com.selimhorri.app.exception.wrapper.PaymentProcessingRejectedException;
+import com.selimhorri.app.helper.PaymentMappingHelper;
+import com.selimhorri.app.metrics.PaymentMetricsRecorder;
+import com.selimhorri.app.outbox.OutboxWriter;
+import com.selimhorri.app.repository.PaymentRepository;
+import com.selimhorri.app.service.PaymentProcessingService;
+import com.selimhorri.app.service.PaymentService;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Asynchronous payment processing. A submitted payment is stored as NOT_STARTED and handed, 
+ * once its insert committed, to a bounded pool of {@code payment-processing.worker-threads} 
+ * workers that confirm it (a {@code confirmation-delay-ms} stand-in for the PSP) off the 
+ * request thread. The resulting status changes are queued and a single writer applies them 
+ * in groups of up to {@code batch-size}, one compare-and-set UPDATE per transition kind, 
+ * publishing a PaymentUpdated event for each payment that moved. At most 
+ * {@code queue-capacity} payments are in flight; beyond that submissions are rejected. 
+ * Each accepted payment holds a {@code lease-ms} processing lease, renewed on every status 
+ * change; a sweep at startup and every {@code sweep-interval-ms} re-dispatches NOT_STARTED 
+ * and IN_PROGRESS payments whose lease ran out, e.g. after a crash or a full worker queue.
+ */
+@Service
+@Slf4j
+public class PaymentProcessingServiceImpl implements PaymentProcessingService {
+	
+	private static final long SHUTDOWN_TIMEOUT_SECONDS = 30L;
+	
+	private final PaymentService paymentService;
+	private final PaymentRepository paymentRepository;
+	private final TransactionTemplate transactionTemplate;
+	private final OutboxWriter outboxWriter;
+	private final PaymentMetricsRecorder paymentMetricsRecorder;
+	private final boolean enabled;
+	private final int queueCapacity;
+	private final int workerThreads;
+	private final long confirmationDelayMs;
+	private final int batchSize;
+	private final long flushIntervalMs;
+	private final long leaseMs;
+	
+	/** One permit per payment between submission and its final status change being queued. */
+	private final Semaphore inFlight;
+	private final BlockingQueue<StatusChange> statusChanges = new LinkedBlockingQueue<>();
+	private ThreadPoolExecutor workers;
+	private Thread writer;
+	private volatile boolean writing;
+	
+	public PaymentProcessingServiceImpl(
+			final PaymentService paymentService, 
+			final PaymentRepository paymentRepository, 
+			final TransactionTemplate transactionTemplate, 
+			final OutboxWriter outboxWriter, 
+			final PaymentMetricsRecorder paymentMetricsRecorder, 
+			@Value("${payment-processing.async-enabled:false}") final boolean enabled, 
+			@Value("${payment-processing.queue-capacity:1000}") final int queueCapacity, 
+			@Value("${payment-processing.worker-threads:8}") final int workerThreads, 
+			@Value("${payment-processing.confirmation-delay-ms:200}") final long confirmationDelayMs, 
+			@Value("${payment-processing.batch-size:200}") final int batchSize, 
+			@Value("${payment-processing.flush-interval-ms:50}") final long flushIntervalMs, 
+			@Value("${payment-processing.lease-ms:60000}") final long leaseMs) {
+		this.paymentService = paymentService;
+		this.paymentRepository = paymentRepository;
+		this.transactionTemplate = transactionTemplate;
+		this.outboxWriter = outboxWriter;
+		this.paymentMetricsRecorder = paymentMetricsRecorder;
+		this.enabled = enabled;
+		this.queueCapacity = queueCapacity;
+		this.workerThreads = workerThreads;
+		this.confirmationDelayMs = confirmationDelayMs;
+		this.batchSize = batchSize;
+		this.flushIntervalMs = flushIntervalMs;
+		this.leaseMs = leaseMs;
+		this.inFlight = new Semaphore(queueCapacity);
+		this.paymentMetricsRecorder.registerProcessingQueue(() -> queueCapacity - this.inFlight.availablePermits());
+	}
+	
+	@PostConstruct
+	public void start() {
+		if (this.enabled) {
+			final AtomicInteger threadCount = new AtomicInteger();
+			this.workers = new ThreadPoolExecutor(this.workerThreads, this.workerThreads, 0L, TimeUnit.MILLISECONDS, 
+					new LinkedBlockingQueue<>(this.queueCapacity), 
+					r -> new Thread(r, "payment-processing-worker-" + threadCount.incrementAndGet()));
+			this.writing = true;
+			this.writer = new Thread(this::drain, "payment-status-writer");
+			this.writer.start();
+		}
+	}
+	
+	/**
+	 * Lets accepted payments finish, then stops the writer once their status changes are applied.
+	 */
+	@PreDestroy
+	public void stop() throws InterruptedException {
+		if (this.workers != null) {
+			this.workers.shutdown();
+			if (!this.workers.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+				log.warn("*** Payment processing workers did not finish in {}s *", SHUTDOWN_TIMEOUT_SECONDS);
+			}
+			this.writing = false;
+			this.writer.join();
+			log.info("*** Payment processing stopped, status changes applied *");
+		}
+	}
+	
+	@Override
+	public boolean isEnabled() {
+		return this.enabled;
+	}
+	
+	@Override
+	public PaymentDto submit(final PaymentDto paymentDto) {
+		log.info("*** PaymentDto, service; submit payment for processing *");
+		if (!this.inFlight.tryAcquire()) {
+			this.paymentMetricsRecorder.recordProcessingRejected();
+			throw new PaymentProcessingRejectedException(String
+					.format("Payment processing is at capacity (%d payments), retry later", this.queueCapacity));
+		}
+		final PaymentDto saved;
+		try {
+			// the payment and its lease are stored together, so a crash before dispatch leaves it to the sweep; 
+			// no ORDER-SERVICE call on the request thread, the order snapshot is left to the backfill
+			saved = this.transactionTemplate.execute(status -> {
+				final PaymentDto payment = this.paymentService.save(PaymentDto.builder()
+						.isPayed(false)
+						.paymentStatus(PaymentStatus.NOT_STARTED)
+						.orderDto(paymentDto.getOrderDto())
+						.build(), false);
+				this.paymentRepository.renewProcessingLeases(List.of(payment.getPaymentId()), this.leaseUntil());
+				return payment;
+			});
+		} catch (RuntimeException e) {
+			this.inFlight.release();
+			throw e;
+		}
+		// inside a caller's transaction the payment only becomes visible to workers once it commits
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCompletion(final int status) {
+					if (status == STATUS_COMMITTED) {
+						dispatch(saved.getPaymentId(), PaymentStatus.NOT_STARTED);
+					} else {
+						inFlight.release();
+					}
+				}
+			});
+		} else {
+			this.dispatch(saved.getPaymentId(), PaymentStatus.NOT_STARTED);
+		}
+		return saved;
+	}
+	
+	/**
+	 * Re-dispatches up to {@code batch-size} NOT_STARTED and IN_PROGRESS payments whose processing 
+	 * lease ran out, as far as there is room in flight. Their leases are renewed before they are 
+	 * handed to the workers, so other instances skip them; a payment that was merely slow is 
+	 * harmless to pick up, its worker's compare-and-set updates simply no longer match.
+	 */
+	@Override
+	@Scheduled(initialDelayString = "${payment-processing.sweep-initial-delay-ms:0}", 
+			fixedDelayString = "${payment-processing.sweep-interval-ms:30000}")
+	public int sweep() {
+		if (!this.enabled) {
+			return 0;
+		}
+		int permits = 0;
+		while (permits < this.batchSize && this.inFlight.tryAcquire()) {
+			permits++;
+		}
+		if (permits == 0) {
+			return 0;
+		}
+		final int acquired = permits;
+		final List<Payment> expired;
+		try {
+			expired = this.transactionTemplate.execute(status -> {
+				final List<Payment> payments = this.paymentRepository.findExpiredProcessingLeases(
+						List.of(PaymentStatus.NOT_STARTED, PaymentStatus.IN_PROGRESS), 
+						LocalDateTime.now(), PageRequest.of(0, acquired));
+				if (!payments.isEmpty()) {
+					this.paymentRepository.renewProcessingLeases(payments.stream()
+							.map(Payment::getPaymentId)
+							.collect(Collectors.toList()), this.leaseUntil());
+				}
+				return payments;
+			});
+		} catch (RuntimeException e) {
+			this.inFlight.release(acquired);
+			log.warn("*** Payment processing sweep failed: {} *", e.getMessage());
+			return 0;
+		}
+		this.inFlight.release(acquired - expired.size());
+		expired.forEach(payment -> this.dispatch(payment.getPaymentId(), payment.getPaymentStatus()));
+		if (!expired.isEmpty()) {
+			log.info("*** Re-dispatched {} payments whose processing lease ran out *", expired.size());
+		}
+		return expired.size();
+	}
+	
+	private LocalDateTime leaseUntil() {
+		return LocalDateTime.now().plus(this.leaseMs, ChronoUnit.MILLIS);
+	}
+	
+	private void dispatch(final Integer paymentId, final PaymentStatus from) {
+		try {
+			this.workers.execute(() -> this.process(paymentId, from));
+		} catch (RuntimeException e) {
+			log.warn("*** Could not hand payment {} to a worker, it stays {} until the sweep: {} *", 
+					paymentId, from, e.getMessage());
+			this.inFlight.release();
+		}
+	}
+	
+	private void process(final Integer paymentId, final PaymentStatus from) {
+		try {
+			if (from == PaymentStatus.NOT_STARTED) {
+				this.statusChanges.add(new StatusChange(paymentId, PaymentStatus.NOT_STARTED, PaymentStatus.IN_PROGRESS));
+			}
+			Thread.sleep(this.confirmationDelayMs);
+			this.statusChanges.add(new StatusChange(paymentId, PaymentStatus.IN_PROGRESS, PaymentStatus.COMPLETED));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			log.warn("*** Processing of payment {} interrupted, it stays IN_PROGRESS until the sweep *", paymentId);
+		} finally {
+			this.inFlight.release();
+		}
+	}
+	
+	private void drain() {
+		final List<StatusChange> batch = new ArrayList<>(this.batchSize);
+		try {
+			while (this.writing || !this.statusChanges.isEmpty()) {
+				final StatusChange first = this.statusChanges.poll(this.flushIntervalMs, TimeUnit.MILLISECONDS);
+				if (first != null) {
+					batch.add(first);
+					this.statusChanges.drainTo(batch, this.batchSize - 1);
+					this.apply(batch);
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			log.warn("*** Payment status writer interrupted, applying the remaining status changes *");
+			do {
+				this.apply(batch);
+				this.statusChanges.drainTo(batch, this.batchSize);
+			} while (!batch.isEmpty());
+		}
+	}
+	
+	/**
+	 * One transaction for the whole group, with one UPDATE per (from, to) pair in state machine 
+	 * order, so a payment that started and completed within the same group moves through both; 
+	 * if it fails, changes are retried one by one.
+	 */
+	private void apply(final List<StatusChange> batch) {
+		if (batch.isEmpty()) {
+			return;
+		}
+		final long start = System.nanoTime();
+		final Map<PaymentStatus, Map<PaymentStatus, List<Integer>>> transitions = new TreeMap<>();
+		batch.forEach(change -> transitions
+				.computeIfAbsent(change.getFrom(), from -> new TreeMap<>())
+				.computeIfAbsent(change.getTo(), to -> new ArrayList<>())
+				.add(change.getPaymentId()));
+		try {
+			this.transactionTemplate.executeWithoutResult(status -> transitions.forEach((from, targets) -> 
+					targets.forEach((to, paymentIds) -> this.transition(paymentIds, from, to))));
+			this.paymentMetricsRecorder.recordStatusBatch(batch.size(), System.nanoTime() - start);
+		} catch (RuntimeException e) {
+			log.warn("*** Batch of {} payment status changes failed, applying one by one: {} *", batch.size(), e.getMessage());
+			batch.forEach(change -> {
+				try {
+					this.transactionTemplate.executeWithoutResult(status -> 
+							this.transition(List.of(change.getPaymentId()), change.getFrom(), change.getTo()));
+				} catch (RuntimeException ex) {
+					log.warn("*** Could not move payment {} to {}: {} *", change.getPaymentId(), change.getTo(), ex.getMessage());
+				}
+			});
+		} finally {
+			batch.clear();
+		}
+	}
+	
+	/**
+	 * Locks the payments still in {@code from} first, so only those are moved and announced; 
+	 * payments another update already took elsewhere, or to {@code to}, are left out.
+	 */
+	private void transition(final List<Integer> paymentIds, final PaymentStatus from, final PaymentStatus to) {
+		final List<Payment> movable = this.paymentRepository.findAllByIdInStatusForUpdate(paymentIds, from);
+		if (movable.size() < paymentIds.size()) {
+			log.warn("*** {} of {} payments were no longer {} and did not move to {} *", 
+					paymentIds.size() - movable.size(), paymentIds.size(), from, to);
+		}
+		if (movable.isEmpty()) {
+			return;
+		}
+		final boolean payed = to == PaymentStatus.COMPLETED;
+		final int moved = this.paymentRepository.compareAndSetStatuses(movable.stream()
+				.map(Payment::getPaymentId)
+				.collect(Collectors.toList()), from, to, payed, payed ? null : this.leaseUntil());
+		movable.stream()
+				.map(PaymentMappingHelper::map)
+				.collect(Collectors.toList())
+				.forEach(updated -> {
+					updated.setPaymentStatus(to);
+					updated.setIsPayed(payed);
+					this.outboxWriter.append(AppConstant.OutboxEvents.AGGREGATE_PAYMENT, 
+							updated.getPaymentId(), AppConstant.OutboxEvents.PAYMENT_UPDATED, updated);
+				});
+		this.paymentMetricsRecorder.recordStatusTransitions(from, to, moved);
+	}
+	
+	@RequiredArgsConstructor
+	@Getter
+	private static final class StatusChange {
+		private final Integer paymentId;
+		private final PaymentStatus from;
+		private final PaymentStatus to;
+	}
+	
+	
+	
+}
@@ -1,19 +1,33 @@
 package com.selimhorri.app.service.impl;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import javax.persistence.EntityManager;
 import javax.transaction.Transactional;
 
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientException;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.client.RestTemplate;
 
+import com.selimhorri.app.client.OrderResolver;
 import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.Payment;
+import com.selimhorri.app.domain.PaymentStatus;
 import com.selimhorri.app.dto.OrderDto;
 import com.selimhorri.app.dto.PaymentDto;
+import com.selimhorri.app.dto.PaymentStatusTransitionDto;
 import com.selimhorri.app.exception.wrapper.PaymentNotFoundException;
+import com.selimhorri.app.exception.wrapper.PaymentStatusTransitionException;
 import com.selimhorri.app.helper.PaymentMappingHelper;
 import com.selimhorri.app.metrics.PaymentMetricsRecorder;
+import com.selimhorri.app.outbox.OutboxWriter;
 import com.selimhorri.app.repository.PaymentRepository;
 import com.selimhorri.app.service.PaymentService;
 
@@ -26,61 +40,217 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class PaymentServiceImpl implements PaymentService {
 	
+	private static final int STREAM_CLEAR_INTERVAL = 1000;
+	
 	private final PaymentRepository paymentRepository;
 	private final RestTemplate restTemplate;
+	private final OrderResolver orderResolver;
 	private final PaymentMetricsRecorder paymentMetricsRecorder;
+	private final EntityManager entityManager;
+	private final OutboxWriter outboxWriter;
+	private final TransactionTemplate transactionTemplate;
 	
+	/**
+	 * Payments with the order snapshot they store, without calling ORDER-SERVICE; snapshots 
+	 * still empty are served as they are until the OrderSnapshotService backfill fills them.
+	 */
 	@Override
 	public List<PaymentDto> findAll() {
+		return this.findAll(false);
+	}
+	
+	/**
+	 * With {@code liveOrder} the orders are fetched from ORDER-SERVICE instead, in batches 
+	 * of distinct ids; payments whose order is not found keep their snapshot.
+	 */
+	@Override
+	public List<PaymentDto> findAll(final boolean liveOrder) {
 		log.info("*** PaymentDto List, service; fetch all payments *");
-		return this.paymentRepository.findAll()
-				.stream()
+		return this.paymentMetricsRecorder.recordOperation(PaymentMetricsRecorder.OPERATION_FIND_ALL, () -> {
+			final List<PaymentDto> paymentDtos = this.paymentRepository.findAll()
+					.stream()
+						.map(PaymentMappingHelper::map)
+						.distinct()
+						.collect(Collectors.toUnmodifiableList());
+			if (liveOrder) {
+				final Map<Integer, OrderDto> orders = this.orderResolver.resolveAll(paymentDtos.stream()
+						.map(p -> p.getOrderDto().getOrderId())
+						.collect(Collectors.toList()));
+				paymentDtos.forEach(p -> p.setOrderDto(orders.getOrDefault(p.getOrderDto().getOrderId(), p.getOrderDto())));
+			}
+			return paymentDtos;
+		});
+	}
+	
+	/**
+	 * Streams payments as stored, each with its order snapshot.
+	 */
+	@Override
+	public void streamAll(final Consumer<PaymentDto> action) {
+		log.info("*** PaymentDto Stream, service; stream all payments *");
+		try (final Stream<Payment> payments = this.paymentRepository.streamAll()) {
+			final Iterator<Payment> iterator = payments.iterator();
+			for (int i = 1; iterator.hasNext(); i++) {
+				action.accept(PaymentMappingHelper.map(iterator.next()));
+				if (i % STREAM_CLEAR_INTERVAL == 0) {
+					this.entityManager.clear();
+				}
+			}
+		}
+	}
+	
+	/**
+	 * The payment with its stored order snapshot, empty or not; no ORDER-SERVICE call.
+	 */
+	@Override
+	public PaymentDto findById(final Integer paymentId) {
+		return this.findById(paymentId, false);
+	}
+	
+	@Override
+	public PaymentDto findById(final Integer paymentId, final boolean liveOrder) {
+		log.info("*** PaymentDto, service; fetch payment by id *");
+		return this.paymentMetricsRecorder.recordOperation(PaymentMetricsRecorder.OPERATION_FIND_BY_ID, () -> 
+				this.paymentRepository.findById(paymentId)
 					.map(PaymentMappingHelper::map)
 					.map(p -> {
-						p.setOrderDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-								.ORDER_SERVICE_API_URL + "/" + p.getOrderDto().getOrderId(), OrderDto.class));
+						if (liveOrder) {
+							p.setOrderDto(this.paymentMetricsRecorder.recordOrderEnrichment(PaymentMetricsRecorder.ENRICHMENT_SINGLE, () -> 
+									this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
+											.ORDER_SERVICE_API_URL + "/" + p.getOrderDto().getOrderId(), OrderDto.class)));
+						}
 						return p;
 					})
-					.distinct()
-					.collect(Collectors.toUnmodifiableList());
+					.orElseThrow(() -> new PaymentNotFoundException(String.format("Payment with id: %d not found", paymentId))));
 	}
 	
 	@Override
-	public PaymentDto findById(final Integer paymentId) {
-		log.info("*** PaymentDto, service; fetch payment by id *");
-		return this.paymentRepository.findById(paymentId)
-				.map(PaymentMappingHelper::map)
-				.map(p -> {
-					p.setOrderDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-							.ORDER_SERVICE_API_URL + "/" + p.getOrderDto().getOrderId(), OrderDto.class));
-					return p;
-				})
-				.orElseThrow(() -> new PaymentNotFoundException(String.format("Payment with id: %d not found", paymentId)));
+	@Transactional(Transactional.TxType.SUPPORTS)
+	public PaymentDto save(final PaymentDto paymentDto) {
+		return this.save(paymentDto, true);
 	}
 	
+	/**
+	 * The order snapshot is taken from ORDER-SERVICE, never from the request, before the insert 
+	 * transaction opens; when the order cannot be fetched, or without {@code liveOrder}, the 
+	 * payment is stored with an empty snapshot for the backfill to fill.
+	 */
 	@Override
-	public PaymentDto save(final PaymentDto paymentDto) {
+	@Transactional(Transactional.TxType.SUPPORTS)
+	public PaymentDto save(final PaymentDto paymentDto, final boolean liveOrder) {
 		log.info("*** PaymentDto, service; save payment *");
-		final PaymentDto saved = PaymentMappingHelper.map(this.paymentRepository
-				.save(PaymentMappingHelper.map(paymentDto)));
-		this.paymentMetricsRecorder.recordPayment(paymentDto, saved);
-		return saved;
+		return this.paymentMetricsRecorder.recordOperation(PaymentMetricsRecorder.OPERATION_SAVE, () -> {
+			final OrderDto orderSnapshot = liveOrder 
+					? this.lookUpOrder(paymentDto.getOrderDto().getOrderId()) 
+					: null;
+			final PaymentDto saved = this.transactionTemplate.execute(status -> {
+				final PaymentDto payment = PaymentMappingHelper.map(this.paymentRepository
+						.save(PaymentMappingHelper.map(paymentDto, orderSnapshot)));
+				this.outboxWriter.append(AppConstant.OutboxEvents.AGGREGATE_PAYMENT, payment.getPaymentId(), 
+						AppConstant.OutboxEvents.PAYMENT_CREATED, payment);
+				return payment;
+			});
+			this.paymentMetricsRecorder.recordPayment(paymentDto, saved);
+			return saved;
+		});
 	}
 	
+	/**
+	 * A status different from the stored one goes through the state machine like 
+	 * {@link #updateStatus}; the order snapshot stays as stored.
+	 */
 	@Override
 	public PaymentDto update(final PaymentDto paymentDto) {
 		log.info("*** PaymentDto, service; update payment *");
-		final PaymentDto updated = PaymentMappingHelper.map(this.paymentRepository
-				.save(PaymentMappingHelper.map(paymentDto)));
-		this.paymentMetricsRecorder.recordPayment(paymentDto, updated);
-		return updated;
+		return this.paymentMetricsRecorder.recordOperation(PaymentMetricsRecorder.OPERATION_UPDATE, () -> {
+			final Payment stored = Optional.ofNullable(paymentDto.getPaymentId())
+					.flatMap(this.paymentRepository::findById)
+					.orElseThrow(() -> new PaymentNotFoundException(String
+							.format("Payment with id: %d not found", paymentDto.getPaymentId())));
+			final PaymentStatus next = (paymentDto.getPaymentStatus() != null) 
+					? paymentDto.getPaymentStatus() 
+					: stored.getPaymentStatus();
+			final Payment payment = PaymentMappingHelper.map(paymentDto, PaymentMappingHelper.map(stored).getOrderDto());
+			payment.setPaymentStatus(next);
+			if (next != stored.getPaymentStatus()) {
+				this.transition(stored.getPaymentId(), stored.getPaymentStatus(), next);
+			}
+			final PaymentDto updated = PaymentMappingHelper.map(this.paymentRepository.save(payment));
+			this.outboxWriter.append(AppConstant.OutboxEvents.AGGREGATE_PAYMENT, updated.getPaymentId(), 
+					AppConstant.OutboxEvents.PAYMENT_UPDATED, updated);
+			this.paymentMetricsRecorder.recordPayment(paymentDto, updated);
+			return updated;
+		});
+	}
+	
+	/**
+	 * Applies one step of the status state machine with a single conditional UPDATE instead 
+	 * of read-modify-write, so concurrent transitions of the same payment never lock each 
+	 * other and only one of them wins.
+	 */
+	@Override
+	public PaymentDto updateStatus(final Integer paymentId, final PaymentStatusTransitionDto transitionDto) {
+		log.info("*** PaymentDto, service; update payment status *");
+		return this.paymentMetricsRecorder.recordOperation(PaymentMetricsRecorder.OPERATION_UPDATE_STATUS, () -> {
+			this.transition(paymentId, (transitionDto.getExpectedStatus() != null) 
+					? transitionDto.getExpectedStatus() 
+					: this.findStatus(paymentId), transitionDto.getPaymentStatus());
+			final PaymentDto updated = PaymentMappingHelper.map(this.paymentRepository.getById(paymentId));
+			this.outboxWriter.append(AppConstant.OutboxEvents.AGGREGATE_PAYMENT, paymentId, 
+					AppConstant.OutboxEvents.PAYMENT_UPDATED, updated);
+			return updated;
+		});
 	}
 	
 	@Override
 	public void deleteById(final Integer paymentId) {
 		log.info("*** Void, service; delete payment by id *");
-		this.paymentRepository.deleteById(paymentId);
-		this.paymentMetricsRecorder.recordPaymentDeletion();
+		this.paymentMetricsRecorder.recordOperation(PaymentMetricsRecorder.OPERATION_DELETE, () -> {
+			this.paymentRepository.deleteById(paymentId);
+			this.paymentMetricsRecorder.recordPaymentDeletion();
+		});
+	}
+	
+	private void transition(final Integer paymentId, final PaymentStatus expected, final PaymentStatus next) {
+		if (expected == null || !expected.canTransitionTo(next)) {
+			throw new PaymentStatusTransitionException(String
+					.format("Payment with id: %d cannot move from %s to %s", paymentId, expected, next));
+		}
+		if (this.paymentRepository.compareAndSetStatus(paymentId, expected, next) == 0) {
+			throw new PaymentStatusTransitionException(String
+					.format("Payment with id: %d is %s, expected %s", paymentId, this.findStatus(paymentId), expected));
+		}
+		this.paymentMetricsRecorder.recordStatusTransition(expected, next);
+	}
+	
+	/**
+	 * Null for a payment stored without a status, which no transition can start from.
+	 */
+	private PaymentStatus findStatus(final Integer paymentId) {
+		return this.paymentRepository.findPaymentStatusById(paymentId)
+				.orElseGet(() -> {
+					if (!this.paymentRepository.existsById(paymentId)) {
+						throw new PaymentNotFoundException(String.format("Payment with id: %d not found", paymentId));
+					}
+					return null;
+				});
+	}
+	
+	/**
+	 * Null when the order id is null or ORDER-SERVICE cannot return the order.
+	 */
+	private OrderDto lookUpOrder(final Integer orderId) {
+		if (orderId == null) {
+			return null;
+		}
+		try {
+			return this.paymentMetricsRecorder.recordOrderEnrichment(PaymentMetricsRecorder.ENRICHMENT_SINGLE, () -> 
+					this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
+							.ORDER_SERVICE_API_URL + "/" + orderId, OrderDto.class));
+		} catch (RestClientException e) {
+			log.warn("*** Order {} not fetched from ORDER-SERVICE: {} *", orderId, e.getMessage());
+			return null;
+		}
 	}
 	
 	
@@ -0,0 +1,138 @@
+package com.selimhorri.app.service.impl;
+
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import javax.persistence.EntityManager;
+import javax.transaction.Transactional;
+
+import org.springframework.stereotype.Service;
+
+import com.selimhorri.app.client.OrderResolver;
+import com.selimhorri.app.domain.Payment;
+import com.selimhorri.app.domain.PaymentStatus;
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.ReconciliationEntryDto;
+import com.selimhorri.app.dto.ReconciliationFinding;
+import com.selimhorri.app.dto.ReconciliationSummaryDto;
+import com.selimhorri.app.exception.wrapper.ReconciliationInProgressException;
+import com.selimhorri.app.metrics.PaymentMetricsRecorder;
+import com.selimhorri.app.repository.PaymentRepository;
+import com.selimhorri.app.service.ReconciliationService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reconciles orders against payments with a merge join: orders are paged from ORDER-SERVICE 
+ * in orderId order while payments are streamed from the database in order_id order, so 
+ * memory holds one order page and one payment at a time however large both sides grow. 
+ * Only one reconciliation runs at a time.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ReconciliationServiceImpl implements ReconciliationService {
+	
+	private static final int STREAM_CLEAR_INTERVAL = 1000;
+	
+	private final PaymentRepository paymentRepository;
+	private final OrderResolver orderResolver;
+	private final PaymentMetricsRecorder paymentMetricsRecorder;
+	private final EntityManager entityManager;
+	private final AtomicBoolean running = new AtomicBoolean();
+	
+	@Override
+	@Transactional
+	public ReconciliationSummaryDto reconcile(final Consumer<ReconciliationEntryDto> action) {
+		if (!this.running.compareAndSet(false, true)) {
+			throw new ReconciliationInProgressException("A reconciliation is already running");
+		}
+		log.info("*** ReconciliationSummaryDto, service; reconcile orders and payments *");
+		final long start = System.nanoTime();
+		this.paymentMetricsRecorder.recordReconciliationStarted();
+		try (final Stream<Payment> stream = this.paymentRepository.streamAllByOrderId()) {
+			return this.mergeJoin(this.orderResolver.iterateAll(), stream.iterator(), action);
+		} finally {
+			this.paymentMetricsRecorder.recordReconciliationFinished(System.nanoTime() - start);
+			this.running.set(false);
+		}
+	}
+	
+	/**
+	 * Both sides ascend by order id: payments behind the current order have no order, and an 
+	 * order whose payments are all consumed without a completed one is unpaid.
+	 */
+	private ReconciliationSummaryDto mergeJoin(final Iterator<OrderDto> orders, final Iterator<Payment> payments, 
+			final Consumer<ReconciliationEntryDto> action) {
+		final ReconciliationSummaryDto summary = new ReconciliationSummaryDto();
+		Payment payment = this.next(payments, summary);
+		while (orders.hasNext()) {
+			final OrderDto order = orders.next();
+			summary.setOrdersScanned(summary.getOrdersScanned() + 1);
+			this.paymentMetricsRecorder.recordReconciledOrder();
+			
+			while (payment != null && payment.getOrderId() < order.getOrderId()) {
+				this.orphaned(payment, action, summary);
+				payment = this.next(payments, summary);
+			}
+			int unfinished = 0;
+			boolean paid = false;
+			while (payment != null && payment.getOrderId().equals(order.getOrderId())) {
+				if (payment.getPaymentStatus() == PaymentStatus.COMPLETED) {
+					paid = true;
+				} else {
+					unfinished++;
+				}
+				payment = this.next(payments, summary);
+			}
+			if (!paid) {
+				summary.setUnpaidOrders(summary.getUnpaidOrders() + 1);
+				this.paymentMetricsRecorder.recordReconciliationFinding(ReconciliationFinding.UNPAID_ORDER);
+				action.accept(ReconciliationEntryDto.builder()
+						.finding(ReconciliationFinding.UNPAID_ORDER)
+						.orderId(order.getOrderId())
+						.orderFee(order.getOrderFee())
+						.payments(unfinished)
+						.build());
+			}
+		}
+		while (payment != null) {
+			this.orphaned(payment, action, summary);
+			payment = this.next(payments, summary);
+		}
+		log.info("*** Reconciliation done: {} orders, {} payments, {} unpaid orders, {} orphaned payments *", 
+				summary.getOrdersScanned(), summary.getPaymentsScanned(), 
+				summary.getUnpaidOrders(), summary.getOrphanedPayments());
+		return summary;
+	}
+	
+	private Payment next(final Iterator<Payment> payments, final ReconciliationSummaryDto summary) {
+		if (!payments.hasNext()) {
+			return null;
+		}
+		summary.setPaymentsScanned(summary.getPaymentsScanned() + 1);
+		this.paymentMetricsRecorder.recordReconciledPayment();
+		if (summary.getPaymentsScanned() % STREAM_CLEAR_INTERVAL == 0) {
+			this.entityManager.clear();
+		}
+		return payments.next();
+	}
+	
+	private void orphaned(final Payment payment, final Consumer<ReconciliationEntryDto> action, 
+			final ReconciliationSummaryDto summary) {
+		summary.setOrphanedPayments(summary.getOrphanedPayments() + 1);
+		this.paymentMetricsRecorder.recordReconciliationFinding(ReconciliationFinding.ORPHANED_PAYMENT);
+		action.accept(ReconciliationEntryDto.builder()
+				.finding(ReconciliationFinding.ORPHANED_PAYMENT)
+				.orderId(payment.getOrderId())
+				.paymentId(payment.getPaymentId())
+				.paymentStatus(payment.getPaymentStatus())
+				.build());
+	}
+	
+	
+	
+}
@@ -0,0 +1,15 @@
+
+CREATE TABLE outbox_events (
+	event_id BIGINT NOT NULL PRIMARY KEY AUTO_INCREMENT,
+	aggregate_type VARCHAR(255) NOT NULL,
+	aggregate_id INT(11) NOT NULL,
+	event_type VARCHAR(255) NOT NULL,
+	payload VARCHAR(4000) NOT NULL,
+	published_at TIMESTAMP NULL,
+	created_at TIMESTAMP DEFAULT LOCALTIMESTAMP NOT NULL NULL_TO_DEFAULT,
+	updated_at TIMESTAMP
+);
+
+CREATE INDEX idx_outbox_events_published_at 
+	ON outbox_events (published_at, event_id);
+
@@ -0,0 +1,7 @@
+ALTER TABLE payments ADD COLUMN order_fee DECIMAL(7, 2);
+ALTER TABLE payments ADD COLUMN order_date TIMESTAMP NULL;
+ALTER TABLE payments ADD COLUMN order_desc VARCHAR(255);
+ALTER TABLE payments ADD COLUMN order_snapshot_event_id BIGINT;
+
+CREATE INDEX idx_payments_order_id 
+	ON payments (order_id);
@@ -0,0 +1,13 @@
+
+CREATE TABLE idempotency_records (
+	idempotency_key VARCHAR(255) NOT NULL PRIMARY KEY,
+	request_hash VARCHAR(64) NOT NULL,
+	response_body VARCHAR(4000),
+	expires_at TIMESTAMP NOT NULL,
+	created_at TIMESTAMP DEFAULT LOCALTIMESTAMP NOT NULL NULL_TO_DEFAULT,
+	updated_at TIMESTAMP
+);
+
+CREATE INDEX idx_idempotency_records_expires_at 
+	ON idempotency_records (expires_at);
+
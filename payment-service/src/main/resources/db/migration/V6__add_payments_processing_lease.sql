@@ -0,0 +1,4 @@
+ALTER TABLE payments ADD COLUMN processing_lease_until TIMESTAMP NULL;
+
+CREATE INDEX idx_payments_processing_lease_until 
+	ON payments (processing_lease_until);
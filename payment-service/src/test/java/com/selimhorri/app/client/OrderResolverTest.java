@@ -0,0 +1,80 @@
+package com.selimhorri.app.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.metrics.PaymentMetricsRecorder;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit Tests for OrderResolver
+ * ORDER-SERVICE is a mocked RestTemplate; chunks of 2 orders keep the batches small
+ */
+@DisplayName("OrderResolver Unit Tests")
+class OrderResolverTest {
+
+    private RestTemplate restTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private OrderResolver orderResolver;
+
+    @BeforeEach
+    void setUp() {
+        restTemplate = mock(RestTemplate.class);
+        meterRegistry = new SimpleMeterRegistry();
+        orderResolver = new OrderResolver(restTemplate, new PaymentMetricsRecorder(meterRegistry), 2, 500);
+    }
+
+    private static String batchUrl(final String ids) {
+        return AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL + "/batch?ids=" + ids;
+    }
+
+    private static OrderDto order(final int orderId) {
+        return OrderDto.builder().orderId(orderId).orderDesc("Order " + orderId).build();
+    }
+
+    /**
+     * Business Value: One failing ORDER-SERVICE call must not fail a whole payment listing
+     */
+    @Test
+    @DisplayName("resolveAll() should leave only the orders of a failed chunk unresolved")
+    @SuppressWarnings("unchecked")
+    void testResolveAll_ChunkFails_OtherChunksResolved() {
+        // Arrange: orders 1-2 and 5 resolve, the chunk of orders 3-4 fails
+        when(restTemplate.exchange(eq(batchUrl("1,2")), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.ok(new DtoCollectionResponse<>(List.of(order(1), order(2)))));
+        when(restTemplate.exchange(eq(batchUrl("3,4")), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class)))
+                .thenThrow(new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE));
+        when(restTemplate.exchange(eq(batchUrl("5")), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.ok(new DtoCollectionResponse<>(List.of(order(5)))));
+
+        // Act
+        final Map<Integer, OrderDto> resolved = orderResolver.resolveAll(List.of(5, 4, 3, 2, 1, 1));
+
+        // Assert
+        assertEquals(3, resolved.size(), "Orders of the successful chunks should be resolved");
+        assertEquals("Order 1", resolved.get(1).getOrderDesc());
+        assertEquals("Order 5", resolved.get(5).getOrderDesc());
+        assertFalse(resolved.containsKey(3), "Orders of the failed chunk should be left unresolved");
+        assertFalse(resolved.containsKey(4), "Orders of the failed chunk should be left unresolved");
+        verify(restTemplate, times(3)).exchange(anyString(), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class));
+        assertEquals(1L, meterRegistry.get("payment_service_order_enrichment")
+                .tags("call", "batch", "outcome", "error").timer().count());
+    }
+}
@@ -0,0 +1,144 @@
+package com.selimhorri.app.metrics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.selimhorri.app.domain.PaymentStatus;
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.PaymentDto;
+import com.selimhorri.app.exception.wrapper.PaymentNotFoundException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit Tests for PaymentMetricsRecorder
+ * Meters are read back from a SimpleMeterRegistry
+ */
+@DisplayName("PaymentMetricsRecorder Unit Tests")
+class PaymentMetricsRecorderTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PaymentMetricsRecorder paymentMetricsRecorder;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        paymentMetricsRecorder = new PaymentMetricsRecorder(meterRegistry);
+    }
+
+    private PaymentDto payment(final Double orderFee, final Boolean isPayed, final PaymentStatus paymentStatus) {
+        return PaymentDto.builder()
+                .isPayed(isPayed)
+                .paymentStatus(paymentStatus)
+                .orderDto(OrderDto.builder().orderId(1).orderFee(orderFee).build())
+                .build();
+    }
+
+    /**
+     * Business Value: Revenue dashboards must not be skewed by the fee a client claims
+     */
+    @Test
+    @DisplayName("Payment amount should come from the persisted order snapshot, not the request")
+    void testRecordPayment_AmountFromPersistedSnapshot() {
+        // Arrange
+        final PaymentDto request = payment(1.0, true, PaymentStatus.COMPLETED);
+        final PaymentDto persisted = payment(120.0, true, PaymentStatus.COMPLETED);
+
+        // Act
+        paymentMetricsRecorder.recordPayment(request, persisted);
+
+        // Assert
+        assertEquals(1L, meterRegistry.get("payment_service_payment_amount")
+                .tags("status", "COMPLETED", "is_payed", "true").summary().count());
+        assertEquals(120.0, meterRegistry.get("payment_service_payment_amount")
+                .tags("status", "COMPLETED", "is_payed", "true").summary().totalAmount(), 0.001);
+        assertEquals(120.0, meterRegistry.get("payment_service_payments_amount_total").counter().count(), 0.001);
+        assertEquals(1.0, meterRegistry.get("payment_service_payments_total").counter().count(), 0.001);
+        assertEquals(0.0, meterRegistry.get("payment_service_payments_failed_total").counter().count(), 0.001);
+    }
+
+    /**
+     * Business Value: Payments stored without a snapshot or status still show up, as unknown with no amount
+     */
+    @Test
+    @DisplayName("Payments without snapshot or status should be recorded as unknown with zero amount")
+    void testRecordPayment_EmptySnapshot_RecordsZeroAsUnknown() {
+        // Arrange
+        final PaymentDto persisted = payment(null, false, null);
+
+        // Act
+        paymentMetricsRecorder.recordPayment(payment(50.0, false, null), persisted);
+
+        // Assert
+        assertEquals(1L, meterRegistry.get("payment_service_payment_amount")
+                .tags("status", "unknown", "is_payed", "false").summary().count());
+        assertEquals(0.0, meterRegistry.get("payment_service_payments_amount_total").counter().count(), 0.001);
+        assertEquals(1.0, meterRegistry.get("payment_service_payments_failed_total").counter().count(), 0.001);
+    }
+
+    /**
+     * Business Value: Latency per operation and outcome is what the payment alerts are built on
+     */
+    @Test
+    @DisplayName("Operations should be timed per operation and outcome")
+    void testRecordOperation_TimedByOutcome() {
+        // Act
+        paymentMetricsRecorder.recordOperation(PaymentMetricsRecorder.OPERATION_FIND_BY_ID, () -> "found");
+        assertThrows(PaymentNotFoundException.class, () -> paymentMetricsRecorder.recordOperation(
+                PaymentMetricsRecorder.OPERATION_FIND_BY_ID, () -> {
+                    throw new PaymentNotFoundException("missing");
+                }));
+        assertThrows(IllegalStateException.class, () -> paymentMetricsRecorder.recordOperation(
+                PaymentMetricsRecorder.OPERATION_SAVE, () -> {
+                    throw new IllegalStateException("failed");
+                }));
+
+        // Assert
+        assertEquals(1L, meterRegistry.get("payment_service_operation")
+                .tags("operation", "findById", "outcome", "success").timer().count());
+        assertEquals(1L, meterRegistry.get("payment_service_operation")
+                .tags("operation", "findById", "outcome", "not_found").timer().count());
+        assertEquals(1L, meterRegistry.get("payment_service_operation")
+                .tags("operation", "save", "outcome", "error").timer().count());
+        assertEquals(0L, meterRegistry.get("payment_service_operation")
+                .tags("operation", "save", "outcome", "success").timer().count());
+    }
+
+    /**
+     * Business Value: ORDER-SERVICE latency is told apart from the payment database time
+     */
+    @Test
+    @DisplayName("Order enrichment calls should be timed per call and outcome")
+    void testRecordOrderEnrichment_TimedByCallAndOutcome() {
+        // Act
+        paymentMetricsRecorder.recordOrderEnrichment(PaymentMetricsRecorder.ENRICHMENT_BATCH, () -> "orders");
+        assertThrows(IllegalStateException.class, () -> paymentMetricsRecorder.recordOrderEnrichment(
+                PaymentMetricsRecorder.ENRICHMENT_SINGLE, () -> {
+                    throw new IllegalStateException("unavailable");
+                }));
+
+        // Assert
+        assertEquals(1L, meterRegistry.get("payment_service_order_enrichment")
+                .tags("call", "batch", "outcome", "success").timer().count());
+        assertEquals(1L, meterRegistry.get("payment_service_order_enrichment")
+                .tags("call", "single", "outcome", "error").timer().count());
+    }
+
+    /**
+     * Business Value: Status transitions feed the payment funnel
+     */
+    @Test
+    @DisplayName("Status transitions should be counted per from and to status")
+    void testRecordStatusTransitions_CountedPerPair() {
+        // Act
+        paymentMetricsRecorder.recordStatusTransition(PaymentStatus.NOT_STARTED, PaymentStatus.IN_PROGRESS);
+        paymentMetricsRecorder.recordStatusTransitions(PaymentStatus.NOT_STARTED, PaymentStatus.IN_PROGRESS, 3);
+
+        // Assert
+        assertEquals(4.0, meterRegistry.get("payment_service_status_transitions_total")
+                .tags("from", "NOT_STARTED", "to", "IN_PROGRESS").counter().count(), 0.001);
+    }
+}
@@ -0,0 +1,152 @@
+package com.selimhorri.app.service.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.client.RestTemplate;
+
+import com.selimhorri.app.domain.PaymentStatus;
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.PaymentDto;
+import com.selimhorri.app.exception.wrapper.IdempotencyKeyMismatchException;
+import com.selimhorri.app.repository.IdempotencyRecordRepository;
+import com.selimhorri.app.repository.PaymentRepository;
+import com.selimhorri.app.service.IdempotencyService;
+import com.selimhorri.app.service.PaymentService;
+
+/**
+ * Integration Tests for IdempotencyServiceImpl
+ * Retries and concurrent duplicates under one Idempotency-Key must save a single payment
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("IdempotencyService Integration Tests")
+class IdempotencyServiceImplIntegrationTest {
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @MockBean
+    private RestTemplate restTemplate;
+
+    private PaymentDto request;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyRecordRepository.deleteAll();
+        paymentRepository.deleteAll();
+
+        request = PaymentDto.builder()
+            .isPayed(false)
+            .paymentStatus(PaymentStatus.NOT_STARTED)
+            .orderDto(OrderDto.builder().orderId(1).build())
+            .build();
+    }
+
+    @Test
+    @DisplayName("A retry with the same key should replay the stored payment without saving again")
+    void testExecute_Retry_ReplaysStoredResponse() {
+        final AtomicInteger executions = new AtomicInteger();
+
+        final PaymentDto first = idempotencyService.execute("key-1", request, PaymentDto.class, () -> {
+            executions.incrementAndGet();
+            return paymentService.save(request);
+        });
+        final PaymentDto retry = idempotencyService.execute("key-1", request, PaymentDto.class, () -> {
+            executions.incrementAndGet();
+            return paymentService.save(request);
+        });
+
+        assertEquals(1, executions.get(), "Save should run once");
+        assertEquals(first.getPaymentId(), retry.getPaymentId(), "Retry should get the first payment back");
+        assertEquals(1, paymentRepository.count(), "Only one payment should be stored");
+    }
+
+    @Test
+    @DisplayName("Reusing a key with a different request should be rejected")
+    void testExecute_DifferentRequest_ThrowsMismatch() {
+        idempotencyService.execute("key-2", request, PaymentDto.class, () -> paymentService.save(request));
+
+        final PaymentDto other = PaymentDto.builder()
+            .isPayed(true)
+            .paymentStatus(PaymentStatus.COMPLETED)
+            .orderDto(OrderDto.builder().orderId(2).build())
+            .build();
+
+        assertThrows(IdempotencyKeyMismatchException.class, () -> 
+            idempotencyService.execute("key-2", other, PaymentDto.class, () -> paymentService.save(other)));
+        assertEquals(1, paymentRepository.count(), "The mismatched request should not be saved");
+    }
+
+    @Test
+    @DisplayName("A failed execution should release the key so a retry can run")
+    void testExecute_FailedAction_ReleasesKey() {
+        assertThrows(IllegalStateException.class, () -> 
+            idempotencyService.execute("key-3", request, PaymentDto.class, () -> {
+                throw new IllegalStateException("boom");
+            }));
+
+        final PaymentDto saved = idempotencyService.execute("key-3", request, PaymentDto.class, 
+            () -> paymentService.save(request));
+
+        assertNotNull(saved.getPaymentId(), "Retry after a failure should save the payment");
+        assertEquals(1, paymentRepository.count());
+    }
+
+    @Test
+    @DisplayName("Concurrent duplicates should wait for the first execution instead of saving again")
+    void testExecute_ConcurrentDuplicates_ExecuteOnce() throws Exception {
+        final int callers = 8;
+        final AtomicInteger executions = new AtomicInteger();
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            final List<Future<PaymentDto>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return idempotencyService.execute("key-4", request, PaymentDto.class, () -> {
+                        executions.incrementAndGet();
+                        return paymentService.save(request);
+                    });
+                }));
+            }
+            start.countDown();
+
+            final Integer paymentId = results.get(0).get(10, TimeUnit.SECONDS).getPaymentId();
+            for (final Future<PaymentDto> result : results) {
+                assertEquals(paymentId, result.get(10, TimeUnit.SECONDS).getPaymentId(), 
+                    "Every caller should get the same payment");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, executions.get(), "Save should run once");
+        assertEquals(1, paymentRepository.count(), "Only one payment should be stored");
+    }
+}
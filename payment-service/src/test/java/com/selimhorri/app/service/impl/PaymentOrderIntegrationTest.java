@@ -1,11 +1,15 @@
 package com.selimhorri.app.service.impl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.domain.Payment;
 import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.OutboxEventDto;
 import com.selimhorri.app.dto.PaymentDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 import com.selimhorri.app.exception.wrapper.PaymentNotFoundException;
 import com.selimhorri.app.repository.PaymentRepository;
+import com.selimhorri.app.service.OrderSnapshotService;
 import com.selimhorri.app.service.PaymentService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -13,14 +17,21 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.RestTemplate;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 /**
@@ -43,6 +54,15 @@ class PaymentOrderIntegrationTest {
     @Autowired
     private PaymentRepository paymentRepository;
 
+    @Autowired
+    private OrderSnapshotService orderSnapshotService;
+
+    @Autowired
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @MockBean
     private RestTemplate restTemplate; // Mock RestTemplate for integration testing
 
@@ -73,7 +93,7 @@ class PaymentOrderIntegrationTest {
      * order to provide complete payment context (order total, customer, items, etc.)
      */
     @Test
-    @DisplayName("findById() calls ORDER-SERVICE to enrich payment with order details")
+    @DisplayName("findById(liveOrder) calls ORDER-SERVICE to enrich payment with order details")
     void testFindById_EnrichesPaymentWithOrderData() {
         // Given: Mock ORDER-SERVICE returns order data
         OrderDto mockOrder = OrderDto.builder()
@@ -89,7 +109,7 @@ class PaymentOrderIntegrationTest {
                 .thenReturn(mockOrder);
 
         // When: We retrieve the payment by its actual saved ID
-        PaymentDto result = paymentService.findById(savedPayment.getPaymentId());
+        PaymentDto result = paymentService.findById(savedPayment.getPaymentId(), true);
 
         // Then: Payment should be retrieved and enriched with order data
         assertThat(result).isNotNull();
@@ -115,7 +135,8 @@ class PaymentOrderIntegrationTest {
      * its associated order for complete financial reporting.
      */
     @Test
-    @DisplayName("findAll() calls ORDER-SERVICE for each payment to enrich with order data")
+    @DisplayName("findAll(liveOrder) fetches the distinct orders of all payments in one ORDER-SERVICE batch call")
+    @SuppressWarnings("unchecked")
     void testFindAll_EnrichesAllPaymentsWithOrderData() {
         // Given: Multiple payments with different orders
         Payment payment2 = Payment.builder()
@@ -148,22 +169,29 @@ class PaymentOrderIntegrationTest {
                 .orderFee(350.0)
                 .build();
 
-        when(restTemplate.getForObject(
-                eq(AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL + "/101"),
-                eq(OrderDto.class))).thenReturn(order101);
-        when(restTemplate.getForObject(
-                eq(AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL + "/102"),
-                eq(OrderDto.class))).thenReturn(order102);
-        when(restTemplate.getForObject(
-                eq(AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL + "/103"),
-                eq(OrderDto.class))).thenReturn(order103);
+        // One more payment for order 101: its order must only be requested once
+        paymentRepository.save(Payment.builder()
+                .isPayed(false)
+                .orderId(101)
+                .build());
+
+        // Order 104 no longer exists: ORDER-SERVICE simply leaves it out of the batch
+        paymentRepository.save(Payment.builder()
+                .isPayed(false)
+                .orderId(104)
+                .build());
+
+        when(restTemplate.exchange(
+                eq(AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL + "/batch?ids=101,102,103,104"),
+                eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.ok(new DtoCollectionResponse<>(List.of(order101, order102, order103))));
 
         // When: We retrieve all payments
-        var payments = paymentService.findAll();
+        var payments = paymentService.findAll(true);
 
         // Then: All payments should be enriched with order data
         assertThat(payments).isNotNull();
-        assertThat(payments.size()).isEqualTo(3);
+        assertThat(payments.size()).isEqualTo(5);
 
         // Verify each payment has order data populated
         PaymentDto payment1Dto = payments.stream()
@@ -173,10 +201,17 @@ class PaymentOrderIntegrationTest {
         assertThat(payment1Dto.getOrderDto()).isNotNull();
         assertThat(payment1Dto.getOrderDto().getOrderId()).isEqualTo(101);
 
-        // Verify ORDER-SERVICE was called 3 times (once per payment)
-        verify(restTemplate, times(3)).getForObject(
-                anyString(),
-                eq(OrderDto.class));
+        // A missing order leaves the payment with its order id only
+        PaymentDto orphanDto = payments.stream()
+                .filter(p -> p.getOrderDto().getOrderId().equals(104))
+                .findFirst()
+                .orElseThrow();
+        assertThat(orphanDto.getOrderDto().getOrderDesc()).isNull();
+
+        // Verify ORDER-SERVICE was called once for all distinct orders
+        verify(restTemplate, times(1)).exchange(
+                anyString(), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class));
+        verify(restTemplate, never()).getForObject(anyString(), eq(OrderDto.class));
     }
 
     /**
@@ -186,7 +221,7 @@ class PaymentOrderIntegrationTest {
      * either fail gracefully or throw a meaningful exception indicating data inconsistency.
      */
     @Test
-    @DisplayName("findById() handles ORDER-SERVICE 404 error when order doesn't exist")
+    @DisplayName("findById(liveOrder) handles ORDER-SERVICE 404 error when order doesn't exist")
     void testFindById_HandlesOrderNotFound() {
         // Given: Mock ORDER-SERVICE throws 404 Not Found
         when(restTemplate.getForObject(
@@ -200,7 +235,7 @@ class PaymentOrderIntegrationTest {
                         null));
 
         // When/Then: Retrieving payment should propagate the exception
-        assertThatThrownBy(() -> paymentService.findById(1))
+        assertThatThrownBy(() -> paymentService.findById(savedPayment.getPaymentId(), true))
                 .isInstanceOf(HttpClientErrorException.NotFound.class);
 
         // Verify ORDER-SERVICE was attempted
@@ -210,35 +245,44 @@ class PaymentOrderIntegrationTest {
     }
 
     /**
-     * Test 4: Validates that save() creates payment without calling ORDER-SERVICE
+     * Test 4: Validates that save() takes the order snapshot from ORDER-SERVICE
      * 
-     * Business Logic: Payment creation should be fast and not require fetching
-     * order details, only storing the orderId reference for later enrichment.
+     * Business Logic: The snapshot served by later reads must be the order as
+     * ORDER-SERVICE knows it, never order fields sent by the client.
      */
     @Test
-    @DisplayName("save() creates payment without calling ORDER-SERVICE (performance optimization)")
-    void testSave_CreatesPaymentWithoutOrderServiceCall() {
-        // Given: A new payment to save (with orderDto containing orderId reference)
-        OrderDto orderReference = OrderDto.builder()
-                .orderId(104)
-                .build();
+    @DisplayName("save() stores the order snapshot fetched from ORDER-SERVICE, ignoring client order fields")
+    void testSave_TakesOrderSnapshotFromOrderService() {
+        // Given: A client sending a spoofed fee for order 104
         PaymentDto newPayment = PaymentDto.builder()
                 .isPayed(false)
-                .orderDto(orderReference)
+                .orderDto(OrderDto.builder()
+                        .orderId(104)
+                        .orderDesc("Spoofed")
+                        .orderFee(1.0)
+                        .build())
                 .build();
+        when(restTemplate.getForObject(
+                eq(AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL + "/104"),
+                eq(OrderDto.class)))
+                .thenReturn(OrderDto.builder()
+                        .orderId(104)
+                        .orderDesc("Order 104")
+                        .orderFee(300.0)
+                        .build());
 
         // When: We save the payment
         PaymentDto savedPayment = paymentService.save(newPayment);
 
-        // Then: Payment should be created successfully
-        assertThat(savedPayment).isNotNull();
+        // Then: The stored snapshot is ORDER-SERVICE's order
         assertThat(savedPayment.getPaymentId()).isNotNull();
-        assertThat(savedPayment.getIsPayed()).isFalse();
-        assertThat(savedPayment.getOrderDto()).isNotNull();
         assertThat(savedPayment.getOrderDto().getOrderId()).isEqualTo(104);
+        Payment stored = paymentRepository.findById(savedPayment.getPaymentId()).orElseThrow();
+        assertThat(stored.getOrderDesc()).isEqualTo("Order 104");
+        assertThat(stored.getOrderFee()).isEqualTo(300.0);
 
-        // Verify NO external calls during save (performance optimization)
-        verify(restTemplate, never()).getForObject(anyString(), eq(OrderDto.class));
+        // Verify a single order lookup was made
+        verify(restTemplate, times(1)).getForObject(anyString(), eq(OrderDto.class));
     }
 
     /**
@@ -262,6 +306,142 @@ class PaymentOrderIntegrationTest {
         verify(restTemplate, never()).getForObject(anyString(), eq(OrderDto.class));
     }
 
+    /**
+     * Test 6: Validates that default reads serve the stored order snapshot
+     * 
+     * Business Logic: Payment reads must not depend on ORDER-SERVICE; the snapshot
+     * taken at creation is kept current by order events and never rolled back by
+     * a redelivered older event.
+     */
+    @Test
+    @DisplayName("findById() serves the order snapshot, refreshed by order events, without calling ORDER-SERVICE")
+    void testFindById_ServesOrderSnapshotRefreshedByEvents() {
+        // Given: A payment created for order 105, snapshot taken from ORDER-SERVICE
+        LocalDateTime orderDate = LocalDateTime.of(2024, 1, 15, 10, 30);
+        when(restTemplate.getForObject(
+                eq(AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL + "/105"),
+                eq(OrderDto.class)))
+                .thenReturn(OrderDto.builder()
+                        .orderId(105)
+                        .orderDate(orderDate)
+                        .orderDesc("Order 105")
+                        .orderFee(80.0)
+                        .build());
+        PaymentDto created = paymentService.save(PaymentDto.builder()
+                .isPayed(false)
+                .orderDto(OrderDto.builder()
+                        .orderId(105)
+                        .build())
+                .build());
+        clearInvocations(restTemplate);
+
+        // When: ORDER-SERVICE reports an update, then redelivers an older event
+        applicationEventPublisher.publishEvent(orderEvent(7L, 105, "Order 105 updated", 95.0, orderDate));
+        applicationEventPublisher.publishEvent(orderEvent(6L, 105, "Order 105 stale", 10.0, orderDate));
+        PaymentDto result = paymentService.findById(created.getPaymentId());
+
+        // Then: The latest snapshot is served without any network call
+        assertThat(result.getOrderDto().getOrderDesc()).isEqualTo("Order 105 updated");
+        assertThat(result.getOrderDto().getOrderFee()).isEqualTo(95.0);
+        assertThat(result.getOrderDto().getOrderDate()).isEqualTo(orderDate);
+        verifyNoInteractions(restTemplate);
+    }
+
+    /**
+     * Test 7: Validates that default reads never call ORDER-SERVICE, even without a snapshot
+     * 
+     * Business Logic: Payments stored before snapshots existed, or while ORDER-SERVICE
+     * was down, are served with their order id only until the backfill fills their snapshot.
+     */
+    @Test
+    @DisplayName("findById() and findAll() serve an empty snapshot as is, without calling ORDER-SERVICE")
+    void testDefaultReads_EmptySnapshot_NoOrderServiceCall() {
+        // Given: The setUp payment for order 101 has no snapshot
+
+        // When: We read it with default reads
+        PaymentDto result = paymentService.findById(savedPayment.getPaymentId());
+        List<PaymentDto> payments = paymentService.findAll();
+
+        // Then: The order id is served without order details or any network call
+        assertThat(result.getOrderDto().getOrderId()).isEqualTo(101);
+        assertThat(result.getOrderDto().getOrderDesc()).isNull();
+        assertThat(result.getOrderDto().getOrderFee()).isNull();
+        assertThat(payments).hasSize(1);
+        assertThat(payments.get(0).getOrderDto().getOrderDesc()).isNull();
+        verifyNoInteractions(restTemplate);
+    }
+
+    /**
+     * Test 8: Validates that the backfill fills empty snapshots
+     * 
+     * Business Logic: Once filled, default reads no longer need ORDER-SERVICE.
+     */
+    @Test
+    @DisplayName("backfill() fills empty order snapshots from one ORDER-SERVICE batch call")
+    @SuppressWarnings("unchecked")
+    void testBackfill_FillsEmptySnapshots() {
+        // Given: ORDER-SERVICE knows order 101
+        when(restTemplate.exchange(
+                eq(AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL + "/batch?ids=101"),
+                eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.ok(new DtoCollectionResponse<>(List.of(
+                        OrderDto.builder().orderId(101).orderDesc("Order 101").orderFee(250.0).build()))));
+
+        // When: The backfill runs
+        int filled = orderSnapshotService.backfill();
+
+        // Then: The snapshot is stored and served without any further call
+        assertThat(filled).isEqualTo(1);
+        clearInvocations(restTemplate);
+        PaymentDto result = paymentService.findById(savedPayment.getPaymentId());
+        assertThat(result.getOrderDto().getOrderDesc()).isEqualTo("Order 101");
+        assertThat(result.getOrderDto().getOrderFee()).isEqualTo(250.0);
+        verifyNoInteractions(restTemplate);
+    }
+
+    /**
+     * Test 9: Validates that findAll(liveOrder) survives a failing ORDER-SERVICE batch call
+     * 
+     * Business Logic: A listing must not turn into a 500 because ORDER-SERVICE is down;
+     * payments whose orders could not be fetched keep their stored snapshot.
+     */
+    @Test
+    @DisplayName("findAll(liveOrder) serves the stored snapshots when the ORDER-SERVICE batch call fails")
+    @SuppressWarnings("unchecked")
+    void testFindAll_LiveOrderBatchFails_ServesStoredSnapshots() {
+        // Given: ORDER-SERVICE answers 503 to the batch call
+        when(restTemplate.exchange(
+                eq(AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL + "/batch?ids=101"),
+                eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class)))
+                .thenThrow(new HttpServerErrorException(org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE));
+
+        // When: We list payments with live orders
+        List<PaymentDto> payments = paymentService.findAll(true);
+
+        // Then: The payment is served with its order id and stored (empty) snapshot
+        assertThat(payments).hasSize(1);
+        assertThat(payments.get(0).getPaymentId()).isEqualTo(savedPayment.getPaymentId());
+        assertThat(payments.get(0).getOrderDto().getOrderId()).isEqualTo(101);
+        assertThat(payments.get(0).getOrderDto().getOrderDesc()).isNull();
+    }
+
+    private OutboxEventDto orderEvent(final long eventId, final int orderId, final String orderDesc, 
+            final double orderFee, final LocalDateTime orderDate) {
+        return OutboxEventDto.builder()
+                .eventId(eventId)
+                .source("ORDER-SERVICE")
+                .aggregateType(AppConstant.OutboxEvents.AGGREGATE_ORDER)
+                .aggregateId(orderId)
+                .eventType(AppConstant.OutboxEvents.ORDER_UPDATED)
+                .payload(objectMapper.valueToTree(OrderDto.builder()
+                        .orderId(orderId)
+                        .orderDate(orderDate)
+                        .orderDesc(orderDesc)
+                        .orderFee(orderFee)
+                        .build()))
+                .build();
+    }
+
     /**
      * VALIDATION NOTES:
      * 
@@ -269,17 +449,26 @@ class PaymentOrderIntegrationTest {
      * Payment Service and Order Service as implemented in PaymentServiceImpl.java:
      * 
      * Current Implementation (lines 36-38, 51-53):
-     * - findById() and findAll() call ORDER-SERVICE via restTemplate.getForObject()
-     * - save() does NOT call ORDER-SERVICE (correct optimization)
+     * - findById() and findAll() serve the order snapshot stored on the payment,
+     *   never calling ORDER-SERVICE, even while that snapshot is empty
+     * - save() takes the snapshot from ORDER-SERVICE, never from the request
+     * - with liveOrder, findById() calls ORDER-SERVICE via restTemplate.getForObject()
+     * - with liveOrder, findAll() resolves the distinct orders through the ORDER-SERVICE batch endpoint,
+     *   keeping the stored snapshot of orders whose batch call failed
+     * - order events refresh the snapshot
      * - Exception handling relies on Spring's RestTemplate default behavior
      * 
-     * All 5 tests validate ACTUAL business logic:
+     * All 9 tests validate ACTUAL business logic:
      * ✅ Test 1: Validates enrichment in findById()
-     * ✅ Test 2: Validates enrichment in findAll() with multiple payments
+     * ✅ Test 2: Validates batched enrichment in findAll(), tolerating missing orders
      * ✅ Test 3: Validates error propagation when order doesn't exist
-     * ✅ Test 4: Validates save() performance (no external calls)
+     * ✅ Test 4: Validates save() takes the order snapshot from ORDER-SERVICE
      * ✅ Test 5: Validates payment not found scenario (no external calls)
+     * ✅ Test 6: Validates snapshot reads and event-driven snapshot refresh
+     * ✅ Test 7: Validates that default reads stay off the network without a snapshot
+     * ✅ Test 8: Validates the snapshot backfill
+     * ✅ Test 9: Validates findAll(liveOrder) when the batch call fails
      * 
-     * Expected Result: ALL 5 TESTS SHOULD PASS ✅
+     * Expected Result: ALL 9 TESTS SHOULD PASS ✅
      */
 }
@@ -0,0 +1,129 @@
+package com.selimhorri.app.service.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestTemplate;
+
+import com.selimhorri.app.domain.Payment;
+import com.selimhorri.app.domain.PaymentStatus;
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.PaymentDto;
+import com.selimhorri.app.repository.PaymentRepository;
+import com.selimhorri.app.service.PaymentProcessingService;
+
+/**
+ * Integration Tests for PaymentProcessingServiceImpl
+ * Submitted payments are stored as NOT_STARTED and completed by the worker pool; 
+ * payments whose processing lease ran out are picked up again by the sweep
+ */
+@SpringBootTest(properties = {
+    "payment-processing.async-enabled=true",
+    "payment-processing.confirmation-delay-ms=20",
+    "payment-processing.worker-threads=2"
+})
+@ActiveProfiles("test")
+@DisplayName("PaymentProcessingService Integration Tests")
+class PaymentProcessingServiceImplIntegrationTest {
+
+    @Autowired
+    private PaymentProcessingService paymentProcessingService;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @MockBean
+    private RestTemplate restTemplate;
+
+    @BeforeEach
+    void setUp() {
+        paymentRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("submit() should return a NOT_STARTED payment that the workers complete")
+    void testSubmit_ReturnsImmediately_WorkersCompletePayments() throws InterruptedException {
+        final List<Integer> paymentIds = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+            final PaymentDto submitted = paymentProcessingService.submit(PaymentDto.builder()
+                .isPayed(true)
+                .paymentStatus(PaymentStatus.COMPLETED)
+                .orderDto(OrderDto.builder().orderId(i).build())
+                .build());
+
+            assertEquals(PaymentStatus.NOT_STARTED, submitted.getPaymentStatus(), "Payment should start as NOT_STARTED");
+            assertFalse(submitted.getIsPayed(), "Payment should not be payed yet");
+            paymentIds.add(submitted.getPaymentId());
+        }
+
+        final long deadline = System.currentTimeMillis() + 10_000L;
+        while (System.currentTimeMillis() < deadline && !allCompleted(paymentIds)) {
+            Thread.sleep(50L);
+        }
+
+        for (final Payment payment : paymentRepository.findAllById(paymentIds)) {
+            assertEquals(PaymentStatus.COMPLETED, payment.getPaymentStatus(), "Workers should complete every payment");
+            assertTrue(payment.getIsPayed(), "Completed payments should be payed");
+        }
+    }
+
+    /**
+     * Business Value: Payments orphaned by a crash or a full worker queue still get confirmed
+     */
+    @Test
+    @DisplayName("sweep() should re-dispatch NOT_STARTED and IN_PROGRESS payments whose lease ran out")
+    void testSweep_RedispatchesExpiredLeases() throws InterruptedException {
+        // Arrange
+        final Payment notStarted = paymentRepository.save(payment(1, PaymentStatus.NOT_STARTED));
+        final Payment inProgress = paymentRepository.save(payment(2, PaymentStatus.IN_PROGRESS));
+        final Payment withoutLease = paymentRepository.save(payment(3, PaymentStatus.NOT_STARTED));
+        final List<Integer> expiredIds = List.of(notStarted.getPaymentId(), inProgress.getPaymentId());
+        transactionTemplate.executeWithoutResult(status ->
+            paymentRepository.renewProcessingLeases(expiredIds, LocalDateTime.now().minusMinutes(5)));
+
+        // Act
+        final int dispatched = paymentProcessingService.sweep();
+
+        // Assert
+        assertEquals(2, dispatched, "Both payments with an expired lease should be re-dispatched");
+        final long deadline = System.currentTimeMillis() + 10_000L;
+        while (System.currentTimeMillis() < deadline && !allCompleted(expiredIds)) {
+            Thread.sleep(50L);
+        }
+        for (final Payment payment : paymentRepository.findAllById(expiredIds)) {
+            assertEquals(PaymentStatus.COMPLETED, payment.getPaymentStatus(), "Swept payments should complete");
+            assertNull(payment.getProcessingLeaseUntil(), "Completed payments should release their lease");
+        }
+        assertEquals(PaymentStatus.NOT_STARTED,
+            paymentRepository.findById(withoutLease.getPaymentId()).orElseThrow().getPaymentStatus(),
+            "Payments never handed to processing should be left alone");
+        assertEquals(0, paymentProcessingService.sweep(), "Nothing should be left to sweep");
+    }
+
+    private Payment payment(final int orderId, final PaymentStatus paymentStatus) {
+        return Payment.builder()
+            .orderId(orderId)
+            .isPayed(false)
+            .paymentStatus(paymentStatus)
+            .build();
+    }
+
+    private boolean allCompleted(final List<Integer> paymentIds) {
+        return paymentRepository.findAllById(paymentIds).stream()
+            .allMatch(p -> p.getPaymentStatus() == PaymentStatus.COMPLETED);
+    }
+}
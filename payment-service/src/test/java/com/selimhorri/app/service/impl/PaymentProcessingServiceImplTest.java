@@ -0,0 +1,189 @@
+package com.selimhorri.app.service.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.Payment;
+import com.selimhorri.app.domain.PaymentStatus;
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.PaymentDto;
+import com.selimhorri.app.exception.ApiExceptionHandler;
+import com.selimhorri.app.exception.payload.ExceptionMsg;
+import com.selimhorri.app.exception.wrapper.PaymentProcessingRejectedException;
+import com.selimhorri.app.metrics.PaymentMetricsRecorder;
+import com.selimhorri.app.outbox.OutboxWriter;
+import com.selimhorri.app.repository.PaymentRepository;
+import com.selimhorri.app.service.PaymentService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit Tests for PaymentProcessingServiceImpl
+ * Collaborators are mocked so capacity and status writer failures can be forced
+ */
+@DisplayName("PaymentProcessingServiceImpl Unit Tests")
+class PaymentProcessingServiceImplTest {
+
+    private PaymentService paymentService;
+    private PaymentRepository paymentRepository;
+    private OutboxWriter outboxWriter;
+    private SimpleMeterRegistry meterRegistry;
+    private PaymentProcessingServiceImpl paymentProcessingService;
+
+    @BeforeEach
+    void setUp() {
+        paymentService = mock(PaymentService.class);
+        paymentRepository = mock(PaymentRepository.class);
+        outboxWriter = mock(OutboxWriter.class);
+        meterRegistry = new SimpleMeterRegistry();
+
+        final AtomicInteger paymentIds = new AtomicInteger();
+        when(paymentService.save(any(), anyBoolean())).thenAnswer(invocation -> PaymentDto.builder()
+                .paymentId(paymentIds.incrementAndGet())
+                .isPayed(false)
+                .paymentStatus(PaymentStatus.NOT_STARTED)
+                .build());
+        when(paymentRepository.findAllByIdInStatusForUpdate(anyCollection(), any()))
+                .thenAnswer(invocation -> lockedPayments(invocation.getArgument(0), invocation.getArgument(1)));
+        when(paymentRepository.compareAndSetStatuses(anyCollection(), any(), any(), any(), any()))
+                .thenAnswer(invocation -> ((Collection<?>) invocation.getArgument(0)).size());
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        paymentProcessingService.stop();
+    }
+
+    private PaymentProcessingServiceImpl service(final int queueCapacity) {
+        final PaymentProcessingServiceImpl service = new PaymentProcessingServiceImpl(
+                paymentService,
+                paymentRepository,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                outboxWriter,
+                new PaymentMetricsRecorder(meterRegistry),
+                true, queueCapacity, 4, 0L, 200, 10L, 60_000L);
+        service.start();
+        return service;
+    }
+
+    private static List<Payment> lockedPayments(final Collection<Integer> paymentIds, final PaymentStatus status) {
+        return paymentIds.stream()
+                .map(paymentId -> Payment.builder()
+                        .paymentId(paymentId)
+                        .isPayed(false)
+                        .paymentStatus(status)
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    private static PaymentDto request(final int orderId) {
+        return PaymentDto.builder()
+                .orderDto(OrderDto.builder().orderId(orderId).build())
+                .build();
+    }
+
+    /**
+     * Business Value: A burst beyond capacity is turned away with 503 instead of queuing without bound
+     */
+    @Test
+    @DisplayName("submit() at capacity should be rejected, counted and answered with 503 Retry-After")
+    void testSubmit_AtCapacity_RejectedWith503() throws Exception {
+        // Arrange: capacity 1, held by a payment whose insert is still running
+        paymentProcessingService = service(1);
+        final CountDownLatch saving = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        when(paymentService.save(any(), anyBoolean())).thenAnswer(invocation -> {
+            saving.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return PaymentDto.builder().paymentId(1).isPayed(false).paymentStatus(PaymentStatus.NOT_STARTED).build();
+        });
+        final ExecutorService caller = Executors.newSingleThreadExecutor();
+        final Future<PaymentDto> first = caller.submit(() -> paymentProcessingService.submit(request(1)));
+        assertTrue(saving.await(5, TimeUnit.SECONDS), "First payment should be saving");
+
+        // Act
+        final PaymentProcessingRejectedException rejected = assertThrows(PaymentProcessingRejectedException.class,
+                () -> paymentProcessingService.submit(request(2)));
+        final ResponseEntity<ExceptionMsg> response = new ApiExceptionHandler()
+                .handlePaymentProcessingRejectedException(rejected);
+
+        // Assert
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("1", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(1.0, meterRegistry.get("payment_service_processing_rejected_total").counter().count(), 0.001);
+        verify(paymentService, times(1)).save(any(), eq(false));
+
+        release.countDown();
+        assertEquals(1, first.get(5, TimeUnit.SECONDS).getPaymentId());
+        caller.shutdown();
+    }
+
+    /**
+     * Business Value: One bad row must not stop a whole batch of payments from being confirmed
+     */
+    @Test
+    @DisplayName("A failing status batch should be retried one payment at a time")
+    void testStatusBatchFailure_FallsBackToSingleChanges() throws Exception {
+        // Arrange: hold the writer on its first change so the rest queue up into one batch,
+        // and fail every grouped UPDATE
+        paymentProcessingService = service(10);
+        final AtomicBoolean holding = new AtomicBoolean(true);
+        final CountDownLatch queued = new CountDownLatch(1);
+        when(paymentRepository.findAllByIdInStatusForUpdate(anyCollection(), any())).thenAnswer(invocation -> {
+            final Collection<Integer> paymentIds = invocation.getArgument(0);
+            if (holding.getAndSet(false)) {
+                queued.await(5, TimeUnit.SECONDS);
+            }
+            if (paymentIds.size() > 1) {
+                throw new QueryTimeoutException("Lock wait timeout exceeded");
+            }
+            return lockedPayments(paymentIds, invocation.getArgument(1));
+        });
+
+        // Act
+        for (int i = 1; i <= 5; i++) {
+            paymentProcessingService.submit(request(i));
+        }
+        final long deadline = System.currentTimeMillis() + 5_000L;
+        while (System.currentTimeMillis() < deadline
+                && meterRegistry.get("payment_service_processing_in_flight").gauge().value() > 0) {
+            Thread.sleep(10L);
+        }
+        queued.countDown();
+
+        // Assert: a grouped UPDATE failed and every change was then applied on its own
+        verify(outboxWriter, timeout(5_000L).atLeast(10)).append(eq(AppConstant.OutboxEvents.AGGREGATE_PAYMENT),
+                any(), eq(AppConstant.OutboxEvents.PAYMENT_UPDATED), any());
+        verify(paymentRepository, atLeastOnce()).findAllByIdInStatusForUpdate(
+                argThat(paymentIds -> paymentIds.size() > 1), any());
+        for (int paymentId = 1; paymentId <= 5; paymentId++) {
+            verify(paymentRepository, atLeastOnce()).compareAndSetStatuses(eq(List.of(paymentId)),
+                    eq(PaymentStatus.NOT_STARTED), eq(PaymentStatus.IN_PROGRESS), eq(false), notNull());
+            verify(paymentRepository, atLeastOnce()).compareAndSetStatuses(eq(List.of(paymentId)),
+                    eq(PaymentStatus.IN_PROGRESS), eq(PaymentStatus.COMPLETED), eq(true), isNull());
+        }
+    }
+}
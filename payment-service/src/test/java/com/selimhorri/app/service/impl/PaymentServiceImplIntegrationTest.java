@@ -13,6 +13,9 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.web.client.RestTemplate;
 
@@ -21,6 +24,9 @@ import com.selimhorri.app.domain.Payment;
 import com.selimhorri.app.domain.PaymentStatus;
 import com.selimhorri.app.dto.OrderDto;
 import com.selimhorri.app.dto.PaymentDto;
+import com.selimhorri.app.dto.PaymentStatusTransitionDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.exception.wrapper.PaymentStatusTransitionException;
 import com.selimhorri.app.repository.PaymentRepository;
 import com.selimhorri.app.service.PaymentService;
 
@@ -72,7 +78,8 @@ class PaymentServiceImplIntegrationTest {
      * Expected: 1 payment returned with enriched order data
      */
     @Test
-    @DisplayName("findAll() should call Order service and return enriched payments")
+    @DisplayName("findAll(liveOrder) should call Order service and return enriched payments")
+    @SuppressWarnings("unchecked")
     void testFindAll_CallsOrderService_ReturnsEnrichedPayments() {
         // Arrange: Save a payment to database
         Payment payment = new Payment();
@@ -81,14 +88,14 @@ class PaymentServiceImplIntegrationTest {
         payment.setPaymentStatus(PaymentStatus.COMPLETED);
         paymentRepository.save(payment);
 
-        // Mock RestTemplate call to Order service
-        when(restTemplate.getForObject(
-                eq(AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL + "/1"), 
-                eq(OrderDto.class)))
-            .thenReturn(testOrderDto);
+        // Mock RestTemplate batch call to Order service
+        when(restTemplate.exchange(
+                eq(AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL + "/batch?ids=1"), 
+                eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class)))
+            .thenReturn(ResponseEntity.ok(new DtoCollectionResponse<>(List.of(testOrderDto))));
 
         // Act: Call service method
-        List<PaymentDto> payments = paymentService.findAll();
+        List<PaymentDto> payments = paymentService.findAll(true);
 
         // Assert: Verify results
         assertNotNull(payments, "Payments list should not be null");
@@ -98,10 +105,11 @@ class PaymentServiceImplIntegrationTest {
         assertTrue(paymentDto.getIsPayed(), "Payment should be marked as payed");
         assertEquals(PaymentStatus.COMPLETED, paymentDto.getPaymentStatus(), "Payment status should match");
 
-        // Verify external service call was made
-        verify(restTemplate, times(1)).getForObject(
-                eq(AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL + "/1"), 
-                eq(OrderDto.class));
+        // Verify one batch call was made instead of one call per payment
+        verify(restTemplate, times(1)).exchange(
+                eq(AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL + "/batch?ids=1"), 
+                eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class));
+        verify(restTemplate, never()).getForObject(anyString(), eq(OrderDto.class));
     }
 
     /**
@@ -111,7 +119,8 @@ class PaymentServiceImplIntegrationTest {
      * Expected: Single payment returned with enriched order data
      */
     @Test
-    @DisplayName("findById() should call Order service and return enriched payment")
+    @DisplayName("findById(liveOrder) should call Order service and return enriched payment")
+    @SuppressWarnings("unchecked")
     void testFindById_CallsOrderService_ReturnsEnrichedPayment() {
         // Arrange: Save a payment to database
         Payment payment = new Payment();
@@ -127,29 +136,32 @@ class PaymentServiceImplIntegrationTest {
             .thenReturn(testOrderDto);
 
         // Act: Call service method
-        PaymentDto result = paymentService.findById(savedPayment.getPaymentId());
+        PaymentDto result = paymentService.findById(savedPayment.getPaymentId(), true);
 
         // Assert: Verify results
         assertNotNull(result, "Result should not be null");
         assertEquals(savedPayment.getPaymentId(), result.getPaymentId(), "Payment ID should match");
         assertFalse(result.getIsPayed(), "Payment should not be marked as payed");
         assertEquals(PaymentStatus.IN_PROGRESS, result.getPaymentStatus(), "Payment status should match");
+        assertEquals("Test Order Description", result.getOrderDto().getOrderDesc(), "Order should be the live one");
 
-        // Verify external service call was made
+        // Verify a single order lookup was made, without the batch endpoint
         verify(restTemplate, times(1)).getForObject(
                 eq(AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL + "/1"), 
                 eq(OrderDto.class));
+        verify(restTemplate, never()).exchange(
+                anyString(), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class));
     }
 
     /**
      * Test save() method
-     * Validates that save operation does NOT call external services (performance optimization)
+     * Validates that save operation takes the order snapshot from the Order service
      * 
-     * Expected: Payment saved successfully without external HTTP calls
+     * Expected: Payment saved with the order as the Order service returns it
      */
     @Test
-    @DisplayName("save() should create payment without calling external services")
-    void testSave_CreatesPayment_WithoutExternalCalls() {
+    @DisplayName("save() should store the order snapshot fetched from Order service")
+    void testSave_CreatesPayment_WithOrderSnapshotFromOrderService() {
         // Arrange: Create new PaymentDto with OrderDto
         OrderDto newOrderDto = new OrderDto();
         newOrderDto.setOrderId(2);
@@ -159,6 +171,12 @@ class PaymentServiceImplIntegrationTest {
         newPaymentDto.setIsPayed(true);
         newPaymentDto.setPaymentStatus(PaymentStatus.COMPLETED);
 
+        testOrderDto.setOrderId(2);
+        when(restTemplate.getForObject(
+                eq(AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL + "/2"), 
+                eq(OrderDto.class)))
+                .thenReturn(testOrderDto);
+
         // Act: Save payment
         PaymentDto result = paymentService.save(newPaymentDto);
 
@@ -167,12 +185,119 @@ class PaymentServiceImplIntegrationTest {
         assertNotNull(result.getPaymentId(), "Payment ID should be generated");
         assertTrue(result.getIsPayed(), "Payment should be marked as payed");
         assertEquals(PaymentStatus.COMPLETED, result.getPaymentStatus(), "Payment status should match");
+        assertEquals("Test Order Description", result.getOrderDto().getOrderDesc(), "Order snapshot should match");
+        assertEquals(50.0, result.getOrderDto().getOrderFee(), "Order snapshot should match");
 
-        // Verify NO external service calls were made (performance optimization)
-        verify(restTemplate, never()).getForObject(anyString(), any());
+        // Verify one order lookup was made
+        verify(restTemplate, times(1)).getForObject(anyString(), eq(OrderDto.class));
 
         // Verify database persistence
         assertTrue(paymentRepository.existsById(result.getPaymentId()), 
                 "Payment should exist in database");
     }
+
+    /**
+     * Test updateStatus() method
+     * Validates that a valid transition is applied with the conditional update
+     * 
+     * Expected: Payment moves from NOT_STARTED to IN_PROGRESS
+     */
+    @Test
+    @DisplayName("updateStatus() should apply a valid transition")
+    void testUpdateStatus_ValidTransition_UpdatesStatus() {
+        Payment payment = paymentRepository.save(Payment.builder()
+                .orderId(3).isPayed(false).paymentStatus(PaymentStatus.NOT_STARTED).build());
+
+        PaymentDto result = paymentService.updateStatus(payment.getPaymentId(), 
+                PaymentStatusTransitionDto.builder().paymentStatus(PaymentStatus.IN_PROGRESS).build());
+
+        assertEquals(PaymentStatus.IN_PROGRESS, result.getPaymentStatus(), "Status should be updated");
+        assertEquals(PaymentStatus.IN_PROGRESS, 
+                paymentRepository.findById(payment.getPaymentId()).get().getPaymentStatus());
+    }
+
+    /**
+     * Test updateStatus() method
+     * Validates that the state machine rejects skipping or reverting states
+     * 
+     * Expected: PaymentStatusTransitionException and status unchanged
+     */
+    @Test
+    @DisplayName("updateStatus() should reject an invalid transition")
+    void testUpdateStatus_InvalidTransition_Throws() {
+        Payment payment = paymentRepository.save(Payment.builder()
+                .orderId(4).isPayed(true).paymentStatus(PaymentStatus.COMPLETED).build());
+
+        assertThrows(PaymentStatusTransitionException.class, () -> paymentService.updateStatus(payment.getPaymentId(), 
+                PaymentStatusTransitionDto.builder().paymentStatus(PaymentStatus.IN_PROGRESS).build()));
+        assertEquals(PaymentStatus.COMPLETED, 
+                paymentRepository.findById(payment.getPaymentId()).get().getPaymentStatus());
+    }
+
+    /**
+     * Test updateStatus() method
+     * Validates that a transition based on a stale status loses the compare-and-set
+     * 
+     * Expected: PaymentStatusTransitionException when the payment already moved on
+     */
+    @Test
+    @DisplayName("updateStatus() should reject a transition from a stale expected status")
+    void testUpdateStatus_StaleExpectedStatus_Throws() {
+        Payment payment = paymentRepository.save(Payment.builder()
+                .orderId(5).isPayed(false).paymentStatus(PaymentStatus.IN_PROGRESS).build());
+
+        assertThrows(PaymentStatusTransitionException.class, () -> paymentService.updateStatus(payment.getPaymentId(), 
+                PaymentStatusTransitionDto.builder()
+                        .expectedStatus(PaymentStatus.NOT_STARTED)
+                        .paymentStatus(PaymentStatus.IN_PROGRESS)
+                        .build()));
+        assertEquals(PaymentStatus.IN_PROGRESS, 
+                paymentRepository.findById(payment.getPaymentId()).get().getPaymentStatus());
+    }
+
+    /**
+     * Test updateStatus() method
+     * Validates that a payment stored without a status is a conflict, not a missing payment
+     * 
+     * Expected: PaymentStatusTransitionException
+     */
+    @Test
+    @DisplayName("updateStatus() should reject a transition from a payment without status")
+    void testUpdateStatus_NullStatus_Throws() {
+        Payment payment = paymentRepository.save(Payment.builder()
+                .orderId(6).isPayed(false).build());
+
+        assertThrows(PaymentStatusTransitionException.class, () -> paymentService.updateStatus(payment.getPaymentId(), 
+                PaymentStatusTransitionDto.builder().paymentStatus(PaymentStatus.IN_PROGRESS).build()));
+    }
+
+    /**
+     * Test update() method
+     * Validates that PUT cannot bypass the status state machine
+     * 
+     * Expected: PaymentStatusTransitionException and status unchanged; a valid step is applied
+     */
+    @Test
+    @DisplayName("update() should move the status through the state machine only")
+    void testUpdate_StatusChange_GoesThroughStateMachine() {
+        Payment payment = paymentRepository.save(Payment.builder()
+                .orderId(7).isPayed(false).paymentStatus(PaymentStatus.NOT_STARTED).build());
+        PaymentDto request = PaymentDto.builder()
+                .paymentId(payment.getPaymentId())
+                .isPayed(true)
+                .paymentStatus(PaymentStatus.COMPLETED)
+                .orderDto(OrderDto.builder().orderId(7).build())
+                .build();
+
+        assertThrows(PaymentStatusTransitionException.class, () -> paymentService.update(request));
+        assertEquals(PaymentStatus.NOT_STARTED, 
+                paymentRepository.findById(payment.getPaymentId()).get().getPaymentStatus());
+
+        request.setPaymentStatus(PaymentStatus.IN_PROGRESS);
+        PaymentDto result = paymentService.update(request);
+
+        assertEquals(PaymentStatus.IN_PROGRESS, result.getPaymentStatus(), "Status should be updated");
+        assertEquals(PaymentStatus.IN_PROGRESS, 
+                paymentRepository.findById(payment.getPaymentId()).get().getPaymentStatus());
+    }
 }
@@ -0,0 +1,86 @@
+package com.selimhorri.app.service.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import javax.persistence.EntityManager;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestTemplate;
+
+import com.selimhorri.app.client.OrderResolver;
+import com.selimhorri.app.domain.Payment;
+import com.selimhorri.app.domain.PaymentStatus;
+import com.selimhorri.app.dto.PaymentDto;
+import com.selimhorri.app.metrics.PaymentMetricsRecorder;
+import com.selimhorri.app.outbox.OutboxWriter;
+import com.selimhorri.app.repository.PaymentRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit Tests for PaymentServiceImpl
+ * Repository and EntityManager are mocked so the streaming batches can be counted
+ */
+@DisplayName("PaymentServiceImpl Unit Tests")
+class PaymentServiceImplTest {
+
+    private PaymentRepository paymentRepository;
+    private RestTemplate restTemplate;
+    private OrderResolver orderResolver;
+    private EntityManager entityManager;
+    private PaymentServiceImpl paymentService;
+
+    @BeforeEach
+    void setUp() {
+        paymentRepository = mock(PaymentRepository.class);
+        restTemplate = mock(RestTemplate.class);
+        orderResolver = mock(OrderResolver.class);
+        entityManager = mock(EntityManager.class);
+        paymentService = new PaymentServiceImpl(
+                paymentRepository,
+                restTemplate,
+                orderResolver,
+                new PaymentMetricsRecorder(new SimpleMeterRegistry()),
+                entityManager,
+                mock(OutboxWriter.class),
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+    }
+
+    /**
+     * Business Value: Validates the NDJSON export keeps the persistence context bounded
+     */
+    @Test
+    @DisplayName("streamAll() should hand over every payment and clear the context every 1000 rows")
+    void testStreamAll_ClearsPersistenceContextPerBatch() {
+        // Arrange
+        when(paymentRepository.streamAll()).thenReturn(IntStream.rangeClosed(1, 2500)
+                .mapToObj(i -> Payment.builder()
+                        .paymentId(i)
+                        .orderId(i)
+                        .orderDesc("Order " + i)
+                        .isPayed(true)
+                        .paymentStatus(PaymentStatus.COMPLETED)
+                        .build()));
+        List<PaymentDto> streamed = new ArrayList<>();
+
+        // Act
+        paymentService.streamAll(streamed::add);
+
+        // Assert
+        assertEquals(2500, streamed.size());
+        assertEquals(2500, streamed.get(2499).getPaymentId());
+        assertEquals("Order 2500", streamed.get(2499).getOrderDto().getOrderDesc(),
+                "Each payment should carry its stored order snapshot");
+        verify(entityManager, times(2)).clear();
+        verifyNoInteractions(restTemplate, orderResolver);
+    }
+}
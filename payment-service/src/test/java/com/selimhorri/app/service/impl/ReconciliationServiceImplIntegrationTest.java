@@ -0,0 +1,112 @@
+package com.selimhorri.app.service.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.client.RestTemplate;
+
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.Payment;
+import com.selimhorri.app.domain.PaymentStatus;
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.ReconciliationEntryDto;
+import com.selimhorri.app.dto.ReconciliationFinding;
+import com.selimhorri.app.dto.ReconciliationSummaryDto;
+import com.selimhorri.app.dto.response.collection.DtoPageResponse;
+import com.selimhorri.app.repository.PaymentRepository;
+import com.selimhorri.app.service.ReconciliationService;
+
+/**
+ * Integration Tests for ReconciliationServiceImpl
+ * Orders come from mocked ORDER-SERVICE pages, payments from the database
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("ReconciliationService Integration Tests")
+class ReconciliationServiceImplIntegrationTest {
+
+    private static final String FIRST_PAGE_URL = 
+            AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL + "?sort=orderId&limit=500";
+
+    @Autowired
+    private ReconciliationService reconciliationService;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @MockBean
+    private RestTemplate restTemplate;
+
+    @BeforeEach
+    void setUp() {
+        paymentRepository.deleteAll();
+        reset(restTemplate);
+    }
+
+    /**
+     * Orders 1, 2 and 4 exist across two pages; payments reference orders 1, 2, 3 and 5
+     * 
+     * Expected: orders 2 and 4 unpaid, payments of orders 3 and 5 orphaned
+     */
+    @Test
+    @DisplayName("reconcile() should report unpaid orders and orphaned payments across pages")
+    @SuppressWarnings("unchecked")
+    void testReconcile_MergeJoin_ReportsFindings() {
+        savePayment(1, PaymentStatus.COMPLETED);
+        savePayment(2, PaymentStatus.IN_PROGRESS);
+        savePayment(3, PaymentStatus.COMPLETED);
+        savePayment(5, PaymentStatus.NOT_STARTED);
+
+        when(restTemplate.exchange(eq(FIRST_PAGE_URL), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class)))
+            .thenReturn(ResponseEntity.ok(new DtoPageResponse<>(List.of(order(1), order(2)), "next")));
+        when(restTemplate.exchange(eq(FIRST_PAGE_URL + "&cursor=next"), eq(HttpMethod.GET), isNull(), 
+                any(ParameterizedTypeReference.class)))
+            .thenReturn(ResponseEntity.ok(new DtoPageResponse<>(List.of(order(4)), null)));
+
+        final List<ReconciliationEntryDto> entries = new ArrayList<>();
+        final ReconciliationSummaryDto summary = reconciliationService.reconcile(entries::add);
+
+        assertEquals(3, summary.getOrdersScanned());
+        assertEquals(4, summary.getPaymentsScanned());
+        assertEquals(2, summary.getUnpaidOrders());
+        assertEquals(2, summary.getOrphanedPayments());
+
+        assertEquals(4, entries.size(), "One entry per finding");
+        assertEquals(ReconciliationFinding.UNPAID_ORDER, entries.get(0).getFinding());
+        assertEquals(2, entries.get(0).getOrderId());
+        assertEquals(1, entries.get(0).getPayments(), "Order 2 has one unfinished payment");
+        assertEquals(ReconciliationFinding.ORPHANED_PAYMENT, entries.get(1).getFinding());
+        assertEquals(3, entries.get(1).getOrderId());
+        assertEquals(ReconciliationFinding.UNPAID_ORDER, entries.get(2).getFinding());
+        assertEquals(4, entries.get(2).getOrderId());
+        assertEquals(0, entries.get(2).getPayments(), "Order 4 has no payment at all");
+        assertEquals(ReconciliationFinding.ORPHANED_PAYMENT, entries.get(3).getFinding());
+        assertEquals(5, entries.get(3).getOrderId());
+    }
+
+    private void savePayment(final Integer orderId, final PaymentStatus status) {
+        paymentRepository.save(Payment.builder()
+                .orderId(orderId)
+                .isPayed(status == PaymentStatus.COMPLETED)
+                .paymentStatus(status)
+                .build());
+    }
+
+    private static OrderDto order(final Integer orderId) {
+        return OrderDto.builder().orderId(orderId).orderFee(10.0).build();
+    }
+}
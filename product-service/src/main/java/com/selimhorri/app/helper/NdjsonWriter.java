@@ -0,0 +1,50 @@
+package com.selimhorri.app.helper;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Writes DTOs as newline-delimited JSON (application/x-ndjson) through a single Jackson
+ * generator, one compact document per line. Nothing is buffered beyond the generator's
+ * own output buffer, so memory does not depend on how many values are written.
+ */
+public final class NdjsonWriter<T> implements Closeable {
+	
+	private final ObjectWriter objectWriter;
+	private final JsonGenerator generator;
+	
+	public NdjsonWriter(final ObjectMapper objectMapper, final Class<T> type, 
+			final OutputStream outputStream) throws IOException {
+		this.objectWriter = objectMapper.writerFor(type)
+				.without(SerializationFeature.INDENT_OUTPUT)
+				.without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+		this.generator = objectMapper.getFactory().createGenerator(outputStream);
+	}
+	
+	/**
+	 * Unchecked, so it can be passed as a {@code Consumer}.
+	 */
+	public void write(final T value) {
+		try {
+			this.objectWriter.writeValue(this.generator, value);
+			this.generator.writeRaw('\n');
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	@Override
+	public void close() throws IOException {
+		this.generator.close();
+	}
+	
+	
+	
+}
@@ -1,11 +1,25 @@
 package com.selimhorri.app.repository;
 
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import com.selimhorri.app.domain.Product;
 
 public interface ProductRepository extends JpaRepository<Product, Integer> {
 	
-	
+	/**
+	 * Full scan for the NDJSON export; category and parent category are joined 
+	 * so no extra selects are issued per row. Consume inside a transaction.
+	 */
+	@QueryHints({
+			@QueryHint(name = "org.hibernate.fetchSize", value = "1000"), 
+			@QueryHint(name = "org.hibernate.readOnly", value = "true")})
+	@Query("SELECT p FROM Product p LEFT JOIN FETCH p.category c LEFT JOIN FETCH c.parentCategory ORDER BY p.productId ASC")
+	Stream<Product> streamAll();
 	
 }
@@ -1,12 +1,18 @@
 package com.selimhorri.app.service.impl;
 
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import javax.persistence.EntityManager;
 import javax.transaction.Transactional;
 
 import org.springframework.stereotype.Service;
 
+import com.selimhorri.app.domain.Product;
 import com.selimhorri.app.dto.ProductDto;
 import com.selimhorri.app.exception.wrapper.ProductNotFoundException;
 import com.selimhorri.app.helper.ProductMappingHelper;
@@ -22,7 +28,10 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class ProductServiceImpl implements ProductService {
 	
+	private static final int STREAM_CLEAR_INTERVAL = 1000;
+	
 	private final ProductRepository productRepository;
+	private final EntityManager entityManager;
 	
 	@Override
 	public List<ProductDto> findAll() {
@@ -34,6 +43,23 @@ public class ProductServiceImpl implements ProductService {
 					.collect(Collectors.toUnmodifiableList());
 	}
 	
+	/**
+	 * Detaches what has been written every {@value #STREAM_CLEAR_INTERVAL} rows.
+	 */
+	@Override
+	public void streamAll(final Consumer<ProductDto> action) {
+		log.info("*** ProductDto Stream, service; stream all products *");
+		try (final Stream<Product> products = this.productRepository.streamAll()) {
+			final Iterator<Product> iterator = products.iterator();
+			for (int i = 1; iterator.hasNext(); i++) {
+				action.accept(ProductMappingHelper.map(iterator.next()));
+				if (i % STREAM_CLEAR_INTERVAL == 0) {
+					this.entityManager.clear();
+				}
+			}
+		}
+	}
+	
 	@Override
 	public ProductDto findById(final Integer productId) {
 		log.info("*** ProductDto, service; fetch product by id *");
@@ -42,6 +68,16 @@ public class ProductServiceImpl implements ProductService {
 				.orElseThrow(() -> new ProductNotFoundException(String.format("Product with id: %d not found", productId)));
 	}
 	
+	@Override
+	public List<ProductDto> findAllByIds(final Collection<Integer> productIds) {
+		log.info("*** ProductDto List, service; fetch products by ids *");
+		return this.productRepository.findAllById(productIds)
+				.stream()
+					.map(ProductMappingHelper::map)
+					.distinct()
+					.collect(Collectors.toUnmodifiableList());
+	}
+	
 	@Override
 	public ProductDto save(final ProductDto productDto) {
 		log.info("*** ProductDto, service; save product *");
@@ -4,9 +4,13 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.IntStream;
+
+import javax.persistence.EntityManager;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -35,6 +39,9 @@ class ProductServiceImplTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private EntityManager entityManager;
+
     @InjectMocks
     private ProductServiceImpl productService;
 
@@ -112,6 +119,28 @@ class ProductServiceImplTest {
         verify(productRepository, times(1)).findAll();
     }
 
+    /**
+     * Verify findAllByIds resolves several products with a single repository call
+     * Business Value: Backs the batch endpoint used by downstream enrichment
+     */
+    @Test
+    @DisplayName("Should return only existing products when findAllByIds is called")
+    void testFindAllByIds_ReturnsExistingProducts() {
+        // Arrange
+        List<Integer> productIds = Arrays.asList(1, 999);
+        when(productRepository.findAllById(productIds)).thenReturn(List.of(testProduct));
+
+        // Act
+        List<ProductDto> result = productService.findAllByIds(productIds);
+
+        // Assert
+        assertEquals(1, result.size(), "Unknown ids should be skipped");
+        assertEquals("Laptop", result.get(0).getProductTitle(), "Product title should match");
+        
+        // Verify repository interaction
+        verify(productRepository, times(1)).findAllById(productIds);
+    }
+
     /**
      * Test 2: Verify findById returns correct product
      * Business Value: Critical for product detail page functionality
@@ -297,4 +326,24 @@ class ProductServiceImplTest {
         verify(productRepository, times(1)).save(any(Product.class));
     }
 
+    /**
+     * Business Value: Validates the NDJSON export keeps the persistence context bounded
+     */
+    @Test
+    @DisplayName("streamAll() should hand over every product and clear the context every 1000 rows")
+    void testStreamAll_ClearsPersistenceContextPerBatch() {
+        // Arrange
+        when(productRepository.streamAll()).thenReturn(IntStream.rangeClosed(1, 2500)
+                .mapToObj(i -> Product.builder().productId(i).category(testCategory).build()));
+        List<ProductDto> streamed = new ArrayList<>();
+
+        // Act
+        productService.streamAll(streamed::add);
+
+        // Assert
+        assertEquals(2500, streamed.size());
+        assertEquals(2500, streamed.get(2499).getProductId());
+        verify(entityManager, times(2)).clear();
+    }
+
 }
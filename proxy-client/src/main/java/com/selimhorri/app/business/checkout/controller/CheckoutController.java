@@ -0,0 +1,45 @@
+package com.selimhorri.app.business.checkout.controller;
+
+import java.util.stream.Collectors;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.selimhorri.app.business.checkout.model.request.CheckoutRequest;
+import com.selimhorri.app.business.checkout.model.response.CheckoutResponse;
+import com.selimhorri.app.business.checkout.service.CheckoutService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/checkout")
+@RequiredArgsConstructor
+public class CheckoutController {
+	
+	private final CheckoutService checkoutService;
+	
+	/**
+	 * Step timings are also sent as a Server-Timing header, so they show up in browser dev tools.
+	 */
+	@PostMapping
+	public ResponseEntity<CheckoutResponse> checkout(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL!") 
+			@Valid final CheckoutRequest checkoutRequest) {
+		final CheckoutResponse checkoutResponse = this.checkoutService.checkout(checkoutRequest);
+		return ResponseEntity.ok()
+				.header("Server-Timing", checkoutResponse.getTimings().entrySet().stream()
+						.map(timing -> timing.getKey() + ";dur=" + timing.getValue())
+						.collect(Collectors.joining(", ")))
+				.body(checkoutResponse);
+	}
+	
+	
+	
+}
@@ -0,0 +1,45 @@
+package com.selimhorri.app.business.checkout.model.request;
+
+import java.io.Serializable;
+import java.util.List;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.selimhorri.app.business.order.model.OrderDto;
+import com.selimhorri.app.business.orderItem.model.OrderItemDto;
+import com.selimhorri.app.business.payment.model.PaymentDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Everything a checkout creates; order ids inside items and payment are filled in from the created order.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class CheckoutRequest implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	@JsonProperty("order")
+	@NotNull(message = "Order must not be NULL!")
+	@Valid
+	private OrderDto orderDto;
+	
+	@JsonProperty("orderItems")
+	@NotNull(message = "Order items must not be NULL!")
+	@Valid
+	private List<OrderItemDto> orderItemDtos;
+	
+	@JsonProperty("payment")
+	@NotNull(message = "Payment must not be NULL!")
+	@Valid
+	private PaymentDto paymentDto;
+	
+}
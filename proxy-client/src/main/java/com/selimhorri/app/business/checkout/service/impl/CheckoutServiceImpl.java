@@ -0,0 +1,288 @@
+package com.selimhorri.app.business.checkout.service.impl;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import com.selimhorri.app.business.checkout.model.request.CheckoutRequest;
+import com.selimhorri.app.business.checkout.model.response.CheckoutResponse;
+import com.selimhorri.app.business.checkout.service.CheckoutService;
+import com.selimhorri.app.business.order.model.OrderDto;
+import com.selimhorri.app.business.order.model.OrderIngestionDto;
+import com.selimhorri.app.business.order.service.OrderClientService;
+import com.selimhorri.app.business.orderItem.model.OrderItemDto;
+import com.selimhorri.app.business.orderItem.service.OrderItemClientService;
+import com.selimhorri.app.business.payment.model.PaymentDto;
+import com.selimhorri.app.business.payment.service.PaymentClientService;
+import com.selimhorri.app.exception.wrapper.CheckoutFailedException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Checkout in one gateway round trip: the order is created first, because the items and 
+ * the payment need its id, then every order item and the payment are created concurrently. 
+ * If any of them fails or runs past {@code checkout.step-timeout-ms}, everything created is 
+ * deleted again once every step has settled, so a delete never overtakes its create.
+ */
+@Service
+@Slf4j
+public class CheckoutServiceImpl implements CheckoutService {
+	
+	public static final String STEP_ORDER = "order";
+	public static final String STEP_ORDER_ITEMS = "orderItems";
+	public static final String STEP_PAYMENT = "payment";
+	public static final String STEP_COMPENSATION = "compensation";
+	public static final String STEP_TOTAL = "total";
+	
+	/** Set by order-service when it only queued the order (202). */
+	public static final String TRACKING_ID_HEADER = "Order-Tracking-Id";
+	
+	private final OrderClientService orderClientService;
+	private final OrderItemClientService orderItemClientService;
+	private final PaymentClientService paymentClientService;
+	private final Executor checkoutExecutor;
+	private final long stepTimeoutMs;
+	private final long ingestionPollIntervalMs;
+	private final long ingestionMaxWaitMs;
+	
+	public CheckoutServiceImpl(
+			final OrderClientService orderClientService, 
+			final OrderItemClientService orderItemClientService, 
+			final PaymentClientService paymentClientService, 
+			@Qualifier("checkoutExecutor") final Executor checkoutExecutor, 
+			@Value("${checkout.step-timeout-ms:5000}") final long stepTimeoutMs, 
+			@Value("${checkout.ingestion.poll-interval-ms:100}") final long ingestionPollIntervalMs, 
+			@Value("${checkout.ingestion.max-wait-ms:60000}") final long ingestionMaxWaitMs) {
+		this.orderClientService = orderClientService;
+		this.orderItemClientService = orderItemClientService;
+		this.paymentClientService = paymentClientService;
+		this.checkoutExecutor = checkoutExecutor;
+		this.stepTimeoutMs = stepTimeoutMs;
+		this.ingestionPollIntervalMs = ingestionPollIntervalMs;
+		this.ingestionMaxWaitMs = ingestionMaxWaitMs;
+	}
+	
+	@Override
+	public CheckoutResponse checkout(final CheckoutRequest checkoutRequest) {
+		log.info("*** CheckoutResponse, service; checkout order *");
+		final long start = System.nanoTime();
+		final Map<String, Long> timings = new ConcurrentHashMap<>();
+		
+		final OrderDto order = this.timed(STEP_ORDER, timings, () -> this.createOrder(checkoutRequest.getOrderDto()));
+		
+		final long itemsStart = System.nanoTime();
+		final List<CompletableFuture<OrderItemDto>> orderItems = checkoutRequest.getOrderItemDtos().stream()
+				.map(orderItemDto -> CompletableFuture.supplyAsync(() -> this.orderItemClientService
+						.save(OrderItemDto.builder()
+							.productId(orderItemDto.getProductId())
+							.orderId(order.getOrderId())
+							.orderedQuantity(orderItemDto.getOrderedQuantity())
+							.build())
+						.getBody(), this.checkoutExecutor))
+				.collect(Collectors.toUnmodifiableList());
+		final CompletableFuture<Void> allOrderItems = CompletableFuture
+				.allOf(orderItems.toArray(CompletableFuture[]::new))
+				.whenComplete((ignored, e) -> timings.put(STEP_ORDER_ITEMS, elapsedMillis(itemsStart)));
+		final CompletableFuture<PaymentDto> payment = CompletableFuture.supplyAsync(() -> 
+				this.timed(STEP_PAYMENT, timings, () -> this.paymentClientService
+						.save(PaymentDto.builder()
+							.isPayed(checkoutRequest.getPaymentDto().getIsPayed())
+							.paymentStatus(checkoutRequest.getPaymentDto().getPaymentStatus())
+							.orderDto(com.selimhorri.app.business.payment.model.OrderDto.builder()
+								.orderId(order.getOrderId())
+								.orderDate(order.getOrderDate())
+								.orderDesc(order.getOrderDesc())
+								.orderFee(order.getOrderFee())
+								.build())
+							.build())
+						.getBody()), this.checkoutExecutor);
+		
+		try {
+			CompletableFuture.allOf(allOrderItems, payment).get(this.stepTimeoutMs, TimeUnit.MILLISECONDS);
+		} catch (ExecutionException | TimeoutException e) {
+			final Throwable cause = (e instanceof ExecutionException) ? e.getCause() : e;
+			this.rollBack(order, orderItems, payment, timings);
+			log.warn("*** Checkout of order {} failed, timings {} ms: {} *", order.getOrderId(), timings, cause.toString());
+			throw new CheckoutFailedException(String.format("Checkout of order %d failed and was rolled back: %s", 
+					order.getOrderId(), cause.getMessage()), cause);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			this.rollBack(order, orderItems, payment, timings);
+			throw new CheckoutFailedException(String.format("Checkout of order %d was interrupted and rolled back", 
+					order.getOrderId()), e);
+		}
+		
+		timings.put(STEP_TOTAL, elapsedMillis(start));
+		log.info("*** Checkout of order {} completed, timings {} ms *", order.getOrderId(), timings);
+		return CheckoutResponse.builder()
+				.orderDto(order)
+				.orderItemDtos(orderItems.stream()
+						.map(CompletableFuture::join)
+						.collect(Collectors.toUnmodifiableList()))
+				.paymentDto(payment.join())
+				.timings(ordered(timings))
+				.build();
+	}
+	
+	/**
+	 * A created order comes back with its id. When order-service only queued it (202), the 
+	 * order is polled until committed for at most {@code checkout.step-timeout-ms}; an order 
+	 * committed after that is deleted as soon as it is, so the saga never starts without it.
+	 */
+	private OrderDto createOrder(final OrderDto orderDto) {
+		final ResponseEntity<OrderDto> response = this.orderClientService.save(orderDto);
+		if (response.getStatusCode() != HttpStatus.ACCEPTED) {
+			final OrderDto created = response.getBody();
+			if (created == null || created.getOrderId() == null) {
+				throw new CheckoutFailedException("Order service did not return a created order");
+			}
+			return created;
+		}
+		
+		final String trackingId = response.getHeaders().getFirst(TRACKING_ID_HEADER);
+		if (trackingId == null) {
+			throw new CheckoutFailedException("Order service queued the order without a tracking id");
+		}
+		final CompletableFuture<OrderDto> committed = this.awaitCommitted(trackingId, 
+				System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(this.ingestionMaxWaitMs));
+		try {
+			return committed.get(this.stepTimeoutMs, TimeUnit.MILLISECONDS);
+		} catch (ExecutionException e) {
+			throw new CheckoutFailedException(String.format("Queued order %s was not created: %s", 
+					trackingId, e.getCause().getMessage()), e.getCause());
+		} catch (TimeoutException e) {
+			committed.thenAccept(created -> this.undo("order", () -> 
+					this.orderClientService.deleteById(String.valueOf(created.getOrderId()))));
+			throw new CheckoutFailedException(String.format("Queued order %s was not committed within %d ms, "
+					+ "it is deleted once it is", trackingId, this.stepTimeoutMs), e);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			committed.thenAccept(created -> this.undo("order", () -> 
+					this.orderClientService.deleteById(String.valueOf(created.getOrderId()))));
+			throw new CheckoutFailedException(String.format("Checkout was interrupted while waiting for queued order %s", 
+					trackingId), e);
+		}
+	}
+	
+	/**
+	 * Polls the ingestion state every {@code checkout.ingestion.poll-interval-ms} until the order 
+	 * is committed or failed, giving up at the deadline.
+	 */
+	private CompletableFuture<OrderDto> awaitCommitted(final String trackingId, final long deadlineNanos) {
+		return CompletableFuture.supplyAsync(() -> this.orderClientService.findIngestionByTrackingId(trackingId).getBody(), 
+					CompletableFuture.delayedExecutor(this.ingestionPollIntervalMs, TimeUnit.MILLISECONDS, this.checkoutExecutor))
+				.thenCompose((OrderIngestionDto ingestion) -> {
+					switch (ingestion.getStatus()) {
+						case COMMITTED:
+							return CompletableFuture.completedFuture(this.orderClientService
+									.findById(String.valueOf(ingestion.getOrderId())).getBody());
+						case FAILED:
+							return CompletableFuture.failedFuture(new CheckoutFailedException(ingestion.getMessage()));
+						default:
+							if (System.nanoTime() - deadlineNanos > 0) {
+								log.error("*** Queued order {} still not committed, manual cleanup may be needed *", trackingId);
+								return CompletableFuture.failedFuture(new CheckoutFailedException(String
+										.format("Queued order %s is still not committed", trackingId)));
+							}
+							return this.awaitCommitted(trackingId, deadlineNanos);
+					}
+				});
+	}
+	
+	/**
+	 * Waits up to {@code checkout.step-timeout-ms} for the compensation; if steps are still in 
+	 * flight it carries on in the background once they settle.
+	 */
+	private void rollBack(final OrderDto order, final List<CompletableFuture<OrderItemDto>> orderItems, 
+			final CompletableFuture<PaymentDto> payment, final Map<String, Long> timings) {
+		final long compensationStart = System.nanoTime();
+		final CompletableFuture<Void> compensation = this.compensate(order, orderItems, payment)
+				.whenComplete((ignored, e) -> timings.put(STEP_COMPENSATION, elapsedMillis(compensationStart)));
+		try {
+			compensation.get(this.stepTimeoutMs, TimeUnit.MILLISECONDS);
+		} catch (TimeoutException e) {
+			log.warn("*** Checkout of order {} still has steps in flight, compensation runs once they settle *", 
+					order.getOrderId());
+		} catch (ExecutionException e) {
+			log.error("*** Checkout compensation of order {} failed: {} *", order.getOrderId(), e.getCause().toString());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	/**
+	 * Runs once every step has settled, undoing the ones that succeeded and then the order. 
+	 * Best effort: a failed delete is logged for manual cleanup and does not stop the others.
+	 */
+	private CompletableFuture<Void> compensate(final OrderDto order, 
+			final List<CompletableFuture<OrderItemDto>> orderItems, final CompletableFuture<PaymentDto> payment) {
+		final List<CompletableFuture<?>> steps = new ArrayList<>(orderItems);
+		steps.add(payment);
+		return CompletableFuture.allOf(steps.stream()
+					.map(step -> step.handle((created, e) -> null))
+					.toArray(CompletableFuture[]::new))
+				.thenRun(() -> {
+					orderItems.stream()
+							.filter(orderItem -> !orderItem.isCompletedExceptionally())
+							.map(CompletableFuture::join)
+							.forEach(created -> this.undo("order item", () -> 
+									this.orderItemClientService.deleteById(String.valueOf(created.getOrderId()), 
+											String.valueOf(created.getProductId()))));
+					if (!payment.isCompletedExceptionally()) {
+						this.undo("payment", () -> 
+								this.paymentClientService.deleteById(String.valueOf(payment.join().getPaymentId())));
+					}
+					this.undo("order", () -> this.orderClientService.deleteById(String.valueOf(order.getOrderId())));
+				});
+	}
+	
+	private void undo(final String resource, final Runnable delete) {
+		try {
+			delete.run();
+		} catch (RuntimeException e) {
+			log.error("*** Checkout compensation could not delete {}, manual cleanup needed: {} *", resource, e.getMessage());
+		}
+	}
+	
+	private <T> T timed(final String step, final Map<String, Long> timings, final Supplier<T> action) {
+		final long start = System.nanoTime();
+		try {
+			return action.get();
+		} finally {
+			timings.put(step, elapsedMillis(start));
+		}
+	}
+	
+	private static long elapsedMillis(final long startNanos) {
+		return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+	}
+	
+	private static Map<String, Long> ordered(final Map<String, Long> timings) {
+		final Map<String, Long> ordered = new LinkedHashMap<>();
+		List.of(STEP_ORDER, STEP_ORDER_ITEMS, STEP_PAYMENT, STEP_COMPENSATION, STEP_TOTAL)
+				.forEach(step -> {
+					if (timings.containsKey(step)) {
+						ordered.put(step, timings.get(step));
+					}
+				});
+		return ordered;
+	}
+	
+	
+	
+}
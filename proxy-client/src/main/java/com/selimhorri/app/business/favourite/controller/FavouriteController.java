@@ -1,5 +1,7 @@
 package com.selimhorri.app.business.favourite.controller;
 
+import java.util.List;
+
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,6 +14,7 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.business.favourite.model.FavouriteDto;
 import com.selimhorri.app.business.favourite.model.FavouriteId;
+import com.selimhorri.app.business.favourite.model.response.BulkFavouriteResultFavouriteServiceCollectionDtoResponse;
 import com.selimhorri.app.business.favourite.model.response.FavouriteFavouriteServiceCollectionDtoResponse;
 import com.selimhorri.app.business.favourite.service.FavouriteClientService;
 
@@ -47,6 +50,12 @@ public class FavouriteController {
 		return ResponseEntity.ok(this.favouriteClientService.save(favouriteDto).getBody());
 	}
 	
+	@PostMapping("/bulk")
+	public ResponseEntity<BulkFavouriteResultFavouriteServiceCollectionDtoResponse> saveAll(
+			@RequestBody final List<FavouriteDto> favouriteDtos) {
+		return ResponseEntity.ok(this.favouriteClientService.saveAll(favouriteDtos).getBody());
+	}
+	
 	@PutMapping
 	public ResponseEntity<FavouriteDto> update(@RequestBody final FavouriteDto favouriteDto) {
 		return ResponseEntity.ok(this.favouriteClientService.update(favouriteDto).getBody());
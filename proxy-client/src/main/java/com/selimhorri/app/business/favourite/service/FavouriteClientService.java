@@ -1,5 +1,7 @@
 package com.selimhorri.app.business.favourite.service;
 
+import java.util.List;
+
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 
@@ -14,6 +16,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 
 import com.selimhorri.app.business.favourite.model.FavouriteDto;
 import com.selimhorri.app.business.favourite.model.FavouriteId;
+import com.selimhorri.app.business.favourite.model.response.BulkFavouriteResultFavouriteServiceCollectionDtoResponse;
 import com.selimhorri.app.business.favourite.model.response.FavouriteFavouriteServiceCollectionDtoResponse;
 
 @FeignClient(name = "FAVOURITE-SERVICE", contextId = "favouriteClientService", path = "/favourite-service/api/favourites")
@@ -40,6 +43,11 @@ public interface FavouriteClientService {
 			@NotNull(message = "Input must not be NULL") 
 			@Valid final FavouriteDto favouriteDto);
 	
+	@PostMapping("/bulk")
+	public ResponseEntity<BulkFavouriteResultFavouriteServiceCollectionDtoResponse> saveAll(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL") final List<FavouriteDto> favouriteDtos);
+	
 	@PutMapping
 	public ResponseEntity<FavouriteDto> update(
 			@RequestBody 
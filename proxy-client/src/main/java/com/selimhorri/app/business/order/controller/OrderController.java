@@ -12,10 +12,11 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.business.order.model.OrderDto;
-import com.selimhorri.app.business.order.model.response.OrderOrderServiceDtoCollectionResponse;
+import com.selimhorri.app.business.order.model.response.OrderOrderServiceDtoPageResponse;
 import com.selimhorri.app.business.order.service.OrderClientService;
 
 import lombok.RequiredArgsConstructor;
@@ -28,8 +29,24 @@ public class OrderController {
 	private final OrderClientService orderClientService;
 	
 	@GetMapping
-	public ResponseEntity<OrderOrderServiceDtoCollectionResponse> findAll() {
-		return ResponseEntity.ok(this.orderClientService.findAll().getBody());
+	public ResponseEntity<OrderOrderServiceDtoPageResponse> findAll(
+			@RequestParam(value = "sort", required = false) final String sort, 
+			@RequestParam(value = "cursor", required = false) final String cursor, 
+			@RequestParam(value = "afterId", required = false) final Integer afterId, 
+			@RequestParam(value = "limit", required = false) final Integer limit) {
+		return ResponseEntity.ok(this.orderClientService.findAll(sort, cursor, afterId, limit).getBody());
+	}
+	
+	/**
+	 * "My orders": a single indexed join in order-service, no cart or order listing here.
+	 */
+	@GetMapping("/user/{userId}")
+	public ResponseEntity<OrderOrderServiceDtoPageResponse> findAllByUserId(
+			@PathVariable("userId") final Integer userId, 
+			@RequestParam(value = "cursor", required = false) final String cursor, 
+			@RequestParam(value = "limit", required = false) final Integer limit, 
+			@RequestParam(value = "embedCart", required = false) final Boolean embedCart) {
+		return ResponseEntity.ok(this.orderClientService.findAllByUserId(userId, cursor, limit, embedCart).getBody());
 	}
 	
 	@GetMapping("/{orderId}")
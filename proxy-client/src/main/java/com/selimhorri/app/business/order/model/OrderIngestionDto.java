@@ -0,0 +1,33 @@
+package com.selimhorri.app.business.order.model;
+
+import java.io.Serializable;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * State of an order accepted by the write-behind ingestion queue; {@code orderId} is set once committed.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class OrderIngestionDto implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private String trackingId;
+	private OrderIngestionStatus status;
+	
+	@JsonInclude(Include.NON_NULL)
+	private Integer orderId;
+	
+	@JsonInclude(Include.NON_NULL)
+	private String message;
+	
+}
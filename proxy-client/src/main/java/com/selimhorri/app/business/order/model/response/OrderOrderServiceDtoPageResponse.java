@@ -14,9 +14,10 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @Data
 @Builder
-public class OrderOrderServiceDtoCollectionResponse implements Serializable {
+public class OrderOrderServiceDtoPageResponse implements Serializable {
 	
 	private static final long serialVersionUID = 1L;
 	private Collection<OrderDto> collection;
+	private String nextCursor;
 	
 }
@@ -12,15 +12,28 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import com.selimhorri.app.business.order.model.OrderDto;
-import com.selimhorri.app.business.order.model.response.OrderOrderServiceDtoCollectionResponse;
+import com.selimhorri.app.business.order.model.OrderIngestionDto;
+import com.selimhorri.app.business.order.model.response.OrderOrderServiceDtoPageResponse;
 
 @FeignClient(name = "ORDER-SERVICE", contextId = "orderClientService", path = "/order-service/api/orders")
 public interface OrderClientService {
 	
 	@GetMapping
-	public ResponseEntity<OrderOrderServiceDtoCollectionResponse> findAll();
+	public ResponseEntity<OrderOrderServiceDtoPageResponse> findAll(
+			@RequestParam(value = "sort", required = false) final String sort, 
+			@RequestParam(value = "cursor", required = false) final String cursor, 
+			@RequestParam(value = "afterId", required = false) final Integer afterId, 
+			@RequestParam(value = "limit", required = false) final Integer limit);
+	
+	@GetMapping("/user/{userId}")
+	public ResponseEntity<OrderOrderServiceDtoPageResponse> findAllByUserId(
+			@PathVariable("userId") final Integer userId, 
+			@RequestParam(value = "cursor", required = false) final String cursor, 
+			@RequestParam(value = "limit", required = false) final Integer limit, 
+			@RequestParam(value = "embedCart", required = false) final Boolean embedCart);
 	
 	@GetMapping("/{orderId}")
 	public ResponseEntity<OrderDto> findById(
@@ -34,6 +47,10 @@ public interface OrderClientService {
 			@NotNull(message = "Input must not be NULL!") 
 			@Valid final OrderDto orderDto);
 	
+	@GetMapping("/ingestion/{trackingId}")
+	public ResponseEntity<OrderIngestionDto> findIngestionByTrackingId(
+			@PathVariable("trackingId") final String trackingId);
+	
 	@PutMapping
 	public ResponseEntity<OrderDto> update(
 			@RequestBody 
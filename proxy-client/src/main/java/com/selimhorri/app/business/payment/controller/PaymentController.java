@@ -7,6 +7,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -24,13 +25,15 @@ public class PaymentController {
 	private final PaymentClientService paymentClientService;
 	
 	@GetMapping
-	public ResponseEntity<PaymentPaymentServiceDtoCollectionResponse> findAll() {
-		return ResponseEntity.ok(this.paymentClientService.findAll().getBody());
+	public ResponseEntity<PaymentPaymentServiceDtoCollectionResponse> findAll(
+			@RequestParam(value = "expand", required = false) final String expand) {
+		return ResponseEntity.ok(this.paymentClientService.findAll(expand).getBody());
 	}
 	
 	@GetMapping("/{paymentId}")
-	public ResponseEntity<PaymentDto> findById(@PathVariable("paymentId") final String paymentId) {
-		return ResponseEntity.ok(this.paymentClientService.findById(paymentId).getBody());
+	public ResponseEntity<PaymentDto> findById(@PathVariable("paymentId") final String paymentId, 
+			@RequestParam(value = "expand", required = false) final String expand) {
+		return ResponseEntity.ok(this.paymentClientService.findById(paymentId, expand).getBody());
 	}
 	
 	@PostMapping
@@ -0,0 +1,32 @@
+package com.selimhorri.app.config.executor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class ExecutorConfig {
+	
+	/**
+	 * Runs the concurrent checkout steps (order items, payment); callers block on the result, 
+	 * so a full queue runs the step on the request thread rather than rejecting it.
+	 */
+	@Bean
+	public ThreadPoolTaskExecutor checkoutExecutor(
+			@Value("${checkout.executor.pool-size:32}") final int poolSize, 
+			@Value("${checkout.executor.queue-capacity:256}") final int queueCapacity) {
+		final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(poolSize);
+		executor.setMaxPoolSize(poolSize);
+		executor.setQueueCapacity(queueCapacity);
+		executor.setThreadNamePrefix("checkout-");
+		executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+		return executor;
+	}
+	
+	
+	
+}
@@ -2,6 +2,7 @@ package com.selimhorri.app.exception;
 
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.concurrent.TimeoutException;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -12,6 +13,7 @@ import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
 import com.selimhorri.app.exception.payload.ExceptionMsg;
+import com.selimhorri.app.exception.wrapper.CheckoutFailedException;
 import com.selimhorri.app.exception.wrapper.CredentialNotFoundException;
 import com.selimhorri.app.exception.wrapper.FavouriteNotFoundException;
 import com.selimhorri.app.exception.wrapper.UserObjectNotFoundException;
@@ -86,6 +88,34 @@ public class ApiExceptionHandler {
 					.build(), badRequest);
 	}
 	
+	/**
+	 * A checkout that failed downstream, already compensated: 504 when a step timed out, 
+	 * 502 otherwise; it is never the client's request at fault.
+	 */
+	@ExceptionHandler(value = CheckoutFailedException.class)
+	public ResponseEntity<ExceptionMsg> handleCheckoutFailedException(final CheckoutFailedException e) {
+		
+		log.info("**ApiExceptionHandler controller, handle failed checkout*\n");
+		final var status = isTimeout(e) ? HttpStatus.GATEWAY_TIMEOUT : HttpStatus.BAD_GATEWAY;
+		
+		return new ResponseEntity<>(
+				ExceptionMsg.builder()
+					.msg(e.getMessage())
+					.httpStatus(status)
+					.timestamp(ZonedDateTime
+							.now(ZoneId.systemDefault()))
+					.build(), status);
+	}
+	
+	private static boolean isTimeout(final Throwable e) {
+		for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+			if (cause instanceof TimeoutException) {
+				return true;
+			}
+		}
+		return false;
+	}
+	
 	
 	
 }
@@ -0,0 +1,35 @@
+package com.selimhorri.app.exception.wrapper;
+
+public class CheckoutFailedException extends RuntimeException {
+	
+	private static final long serialVersionUID = 1L;
+	
+	public CheckoutFailedException() {
+		super();
+	}
+	
+	public CheckoutFailedException(String message, Throwable cause) {
+		super(message, cause);
+	}
+	
+	public CheckoutFailedException(String message) {
+		super(message);
+	}
+	
+	public CheckoutFailedException(Throwable cause) {
+		super(cause);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,227 @@
+package com.selimhorri.app.business.checkout.service.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.selimhorri.app.business.checkout.model.request.CheckoutRequest;
+import com.selimhorri.app.business.checkout.model.response.CheckoutResponse;
+import com.selimhorri.app.business.order.model.OrderDto;
+import com.selimhorri.app.business.order.model.OrderIngestionDto;
+import com.selimhorri.app.business.order.model.OrderIngestionStatus;
+import com.selimhorri.app.business.order.service.OrderClientService;
+import com.selimhorri.app.business.orderItem.model.OrderItemDto;
+import com.selimhorri.app.business.orderItem.service.OrderItemClientService;
+import com.selimhorri.app.business.payment.model.PaymentDto;
+import com.selimhorri.app.business.payment.model.PaymentStatus;
+import com.selimhorri.app.business.payment.service.PaymentClientService;
+import com.selimhorri.app.exception.ApiExceptionHandler;
+import com.selimhorri.app.exception.wrapper.CheckoutFailedException;
+
+/**
+ * Unit Tests for CheckoutServiceImpl
+ * Every failure path must leave nothing behind, and no delete may run before its create settles
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CheckoutServiceImpl Unit Tests")
+class CheckoutServiceImplTest {
+
+    private static final Executor DIRECT = Runnable::run;
+
+    @Mock
+    private OrderClientService orderClientService;
+
+    @Mock
+    private OrderItemClientService orderItemClientService;
+
+    @Mock
+    private PaymentClientService paymentClientService;
+
+    private ExecutorService pool;
+    private OrderDto createdOrder;
+    private CheckoutRequest checkoutRequest;
+
+    @BeforeEach
+    void setUp() {
+        pool = Executors.newCachedThreadPool();
+        createdOrder = OrderDto.builder()
+                .orderId(1)
+                .orderDate(LocalDateTime.of(2024, 1, 15, 10, 30))
+                .orderDesc("Checkout order")
+                .orderFee(25.0)
+                .build();
+        checkoutRequest = CheckoutRequest.builder()
+                .orderDto(OrderDto.builder()
+                        .orderDate(createdOrder.getOrderDate())
+                        .orderDesc(createdOrder.getOrderDesc())
+                        .orderFee(createdOrder.getOrderFee())
+                        .build())
+                .orderItemDtos(List.of(
+                        OrderItemDto.builder().productId(1).orderedQuantity(1).build(),
+                        OrderItemDto.builder().productId(2).orderedQuantity(3).build()))
+                .paymentDto(PaymentDto.builder()
+                        .isPayed(false)
+                        .paymentStatus(PaymentStatus.NOT_STARTED)
+                        .build())
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Business Value: A failed item must not leave a paid order behind
+     */
+    @Test
+    @DisplayName("A failed order item should delete the payment, the other items and the order")
+    void testCheckout_OrderItemFails_CompensatesCreatedSteps() {
+        // Arrange
+        when(orderClientService.save(any(OrderDto.class))).thenReturn(ResponseEntity.ok(createdOrder));
+        when(orderItemClientService.save(any(OrderItemDto.class))).thenAnswer(invocation -> {
+            OrderItemDto orderItem = invocation.getArgument(0);
+            if (orderItem.getProductId() == 2) {
+                throw new IllegalStateException("Product 2 is out of stock");
+            }
+            return ResponseEntity.ok(orderItem);
+        });
+        when(paymentClientService.save(any(PaymentDto.class)))
+                .thenReturn(ResponseEntity.ok(PaymentDto.builder().paymentId(7).build()));
+
+        // Act
+        CheckoutFailedException e = assertThrows(CheckoutFailedException.class,
+                () -> checkoutService(DIRECT, 1000).checkout(checkoutRequest));
+
+        // Assert
+        assertTrue(e.getMessage().contains("out of stock"));
+        verify(orderItemClientService).deleteById("1", "1");
+        verify(orderItemClientService, never()).deleteById("1", "2");
+        verify(paymentClientService).deleteById("7");
+        verify(orderClientService).deleteById("1");
+    }
+
+    /**
+     * Business Value: A declined payment must not leave an unpaid order behind
+     */
+    @Test
+    @DisplayName("A failed payment should delete every order item and the order")
+    void testCheckout_PaymentFails_CompensatesCreatedSteps() {
+        // Arrange
+        when(orderClientService.save(any(OrderDto.class))).thenReturn(ResponseEntity.ok(createdOrder));
+        when(orderItemClientService.save(any(OrderItemDto.class)))
+                .thenAnswer(invocation -> ResponseEntity.ok(invocation.getArgument(0)));
+        when(paymentClientService.save(any(PaymentDto.class))).thenThrow(new IllegalStateException("Payment declined"));
+
+        // Act
+        CheckoutFailedException e = assertThrows(CheckoutFailedException.class,
+                () -> checkoutService(DIRECT, 1000).checkout(checkoutRequest));
+
+        // Assert: a downstream failure is a bad gateway, not a bad request
+        assertEquals(HttpStatus.BAD_GATEWAY, new ApiExceptionHandler().handleCheckoutFailedException(e).getStatusCode());
+        verify(orderItemClientService).deleteById("1", "1");
+        verify(orderItemClientService).deleteById("1", "2");
+        verify(paymentClientService, never()).deleteById(anyString());
+        verify(orderClientService).deleteById("1");
+    }
+
+    /**
+     * Business Value: A slow step must not see its order deleted under it
+     */
+    @Test
+    @DisplayName("On timeout, compensation should wait for steps still in flight")
+    void testCheckout_Timeout_CompensatesOnceStepsSettle() throws InterruptedException {
+        // Arrange
+        CountDownLatch paymentRelease = new CountDownLatch(1);
+        when(orderClientService.save(any(OrderDto.class))).thenReturn(ResponseEntity.ok(createdOrder));
+        when(orderItemClientService.save(any(OrderItemDto.class)))
+                .thenAnswer(invocation -> ResponseEntity.ok(invocation.getArgument(0)));
+        when(paymentClientService.save(any(PaymentDto.class))).thenAnswer(invocation -> {
+            paymentRelease.await();
+            return ResponseEntity.ok(PaymentDto.builder().paymentId(7).build());
+        });
+
+        // Act
+        CheckoutFailedException e = assertThrows(CheckoutFailedException.class,
+                () -> checkoutService(pool, 100).checkout(checkoutRequest));
+
+        // Assert: a timed out step is a gateway timeout, and nothing is deleted while the payment is in flight
+        assertEquals(HttpStatus.GATEWAY_TIMEOUT, new ApiExceptionHandler().handleCheckoutFailedException(e).getStatusCode());
+        verify(orderClientService, never()).deleteById(anyString());
+        verify(orderItemClientService, never()).deleteById(anyString(), anyString());
+        paymentRelease.countDown();
+        verify(paymentClientService, timeout(2000)).deleteById("7");
+        verify(orderItemClientService, timeout(2000)).deleteById("1", "1");
+        verify(orderItemClientService, timeout(2000)).deleteById("1", "2");
+        verify(orderClientService, timeout(2000)).deleteById("1");
+    }
+
+    /**
+     * Business Value: Checkout keeps working when order-service ingests orders asynchronously
+     */
+    @Test
+    @DisplayName("A queued order should be polled until committed before the saga starts")
+    void testCheckout_QueuedOrder_PollsUntilCommitted() {
+        // Arrange
+        when(orderClientService.save(any(OrderDto.class))).thenReturn(ResponseEntity.accepted()
+                .header(CheckoutServiceImpl.TRACKING_ID_HEADER, "tracking-1")
+                .body(checkoutRequest.getOrderDto()));
+        when(orderClientService.findIngestionByTrackingId("tracking-1")).thenReturn(
+                ResponseEntity.ok(OrderIngestionDto.builder()
+                        .trackingId("tracking-1").status(OrderIngestionStatus.QUEUED).build()),
+                ResponseEntity.ok(OrderIngestionDto.builder()
+                        .trackingId("tracking-1").status(OrderIngestionStatus.COMMITTED).orderId(1).build()));
+        when(orderClientService.findById("1")).thenReturn(ResponseEntity.ok(createdOrder));
+        when(orderItemClientService.save(any(OrderItemDto.class)))
+                .thenAnswer(invocation -> ResponseEntity.ok(invocation.getArgument(0)));
+        when(paymentClientService.save(any(PaymentDto.class)))
+                .thenReturn(ResponseEntity.ok(PaymentDto.builder().paymentId(7).build()));
+
+        // Act
+        CheckoutResponse response = checkoutService(pool, 2000).checkout(checkoutRequest);
+
+        // Assert
+        assertEquals(1, response.getOrderDto().getOrderId());
+        assertEquals(2, response.getOrderItemDtos().size());
+        assertTrue(response.getOrderItemDtos().stream().allMatch(orderItem -> orderItem.getOrderId() == 1));
+        verify(orderClientService, times(2)).findIngestionByTrackingId("tracking-1");
+        verify(orderClientService, never()).deleteById(anyString());
+    }
+
+    /**
+     * Business Value: An order that can never be compensated must not start a checkout
+     */
+    @Test
+    @DisplayName("A queued order without a tracking id should be rejected before any step")
+    void testCheckout_QueuedOrderWithoutTrackingId_IsRejected() {
+        // Arrange
+        when(orderClientService.save(any(OrderDto.class)))
+                .thenReturn(ResponseEntity.accepted().body(checkoutRequest.getOrderDto()));
+
+        // Act & Assert
+        assertThrows(CheckoutFailedException.class, () -> checkoutService(DIRECT, 1000).checkout(checkoutRequest));
+        verifyNoInteractions(orderItemClientService, paymentClientService);
+    }
+
+    private CheckoutServiceImpl checkoutService(final Executor executor, final long stepTimeoutMs) {
+        return new CheckoutServiceImpl(orderClientService, orderItemClientService, paymentClientService,
+                executor, stepTimeoutMs, 10, 5000);
+    }
+}
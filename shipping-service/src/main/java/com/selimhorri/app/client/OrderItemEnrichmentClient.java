@@ -0,0 +1,83 @@
+package com.selimhorri.app.client;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.metrics.EnrichmentMetricsRecorder;
+
+import io.github.resilience4j.bulkhead.annotation.Bulkhead;
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import io.github.resilience4j.retry.annotation.Retry;
+import io.github.resilience4j.timelimiter.annotation.TimeLimiter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Fetches the product and order of an order item. Each call goes through its own target's 
+ * retry, circuit breaker, time limiter and thread-pool bulkhead (instances productService and 
+ * orderService), so the guards count downstream calls rather than list requests and a slow 
+ * call only retries itself. These methods must be public and called from another bean for 
+ * the proxy to apply them.
+ * 
+ * Retry is the outermost guard, so the fallback sits on it and only runs once retries are 
+ * exhausted or the circuit is open: the item then gets a DTO holding only its id. Which 
+ * failures are retried is decided by TransientFailurePredicate. 4xx answers are not an outage 
+ * and are rethrown.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class OrderItemEnrichmentClient {
+	
+	private final RestTemplate restTemplate;
+	private final EnrichmentMetricsRecorder enrichmentMetricsRecorder;
+	
+	@Retry(name = "productService", fallbackMethod = "fallbackProduct")
+	@CircuitBreaker(name = "productService")
+	@TimeLimiter(name = "productService")
+	@Bulkhead(name = "productService", type = Bulkhead.Type.THREADPOOL)
+	public CompletableFuture<ProductDto> fetchProduct(final Integer productId) {
+		return CompletableFuture.completedFuture(this.restTemplate.getForObject(
+				AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL + "/" + productId, ProductDto.class));
+	}
+	
+	@Retry(name = "orderService", fallbackMethod = "fallbackOrder")
+	@CircuitBreaker(name = "orderService")
+	@TimeLimiter(name = "orderService")
+	@Bulkhead(name = "orderService", type = Bulkhead.Type.THREADPOOL)
+	public CompletableFuture<OrderDto> fetchOrder(final Integer orderId) {
+		return CompletableFuture.completedFuture(this.restTemplate.getForObject(
+				AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL + "/" + orderId, OrderDto.class));
+	}
+	
+	@SuppressWarnings("unused")
+	private CompletableFuture<ProductDto> fallbackProduct(final Integer productId, final Throwable t) {
+		final Throwable cause = TransientFailurePredicate.unwrap(t);
+		if (cause instanceof HttpClientErrorException) {
+			return CompletableFuture.failedFuture(cause);
+		}
+		log.warn("*** Product service fallback for id={}, reason={} *", productId, cause.toString());
+		this.enrichmentMetricsRecorder.recordFallback(EnrichmentMetricsRecorder.TARGET_PRODUCT);
+		return CompletableFuture.completedFuture(ProductDto.builder().productId(productId).build());
+	}
+	
+	@SuppressWarnings("unused")
+	private CompletableFuture<OrderDto> fallbackOrder(final Integer orderId, final Throwable t) {
+		final Throwable cause = TransientFailurePredicate.unwrap(t);
+		if (cause instanceof HttpClientErrorException) {
+			return CompletableFuture.failedFuture(cause);
+		}
+		log.warn("*** Order service fallback for id={}, reason={} *", orderId, cause.toString());
+		this.enrichmentMetricsRecorder.recordFallback(EnrichmentMetricsRecorder.TARGET_ORDER);
+		return CompletableFuture.completedFuture(OrderDto.builder().orderId(orderId).build());
+	}
+	
+	
+	
+}
@@ -0,0 +1,41 @@
+package com.selimhorri.app.client;
+
+import java.io.IOException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Predicate;
+
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+/**
+ * Retry predicate of the enrichment calls (resilience4j.retry retry-exception-predicate). With 
+ * the thread-pool bulkhead, failures reach Retry wrapped in a CompletionException or 
+ * ExecutionException, so the cause is unwrapped first; only I/O errors, timeouts and 5xx 
+ * answers are retried, never a 4xx.
+ */
+public class TransientFailurePredicate implements Predicate<Throwable> {
+	
+	@Override
+	public boolean test(final Throwable t) {
+		final Throwable cause = unwrap(t);
+		return cause instanceof IOException 
+				|| cause instanceof TimeoutException 
+				|| cause instanceof ResourceAccessException 
+				|| cause instanceof HttpServerErrorException;
+	}
+	
+	static Throwable unwrap(final Throwable t) {
+		Throwable cause = t;
+		while ((cause instanceof CompletionException || cause instanceof ExecutionException) 
+				&& cause.getCause() != null) {
+			cause = cause.getCause();
+		}
+		return cause;
+	}
+	
+	
+	
+}
+
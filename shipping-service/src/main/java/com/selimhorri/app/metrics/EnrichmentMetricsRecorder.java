@@ -0,0 +1,78 @@
+package com.selimhorri.app.metrics;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+@Component
+public class EnrichmentMetricsRecorder {
+
+    public static final String TARGET_PRODUCT = "product-service";
+    public static final String TARGET_ORDER = "order-service";
+
+    static final String OUTCOME_SUCCESS = "success";
+    static final String OUTCOME_ERROR = "error";
+
+    private static final List<String> TARGETS = List.of(TARGET_PRODUCT, TARGET_ORDER);
+    private static final List<String> OUTCOMES = List.of(OUTCOME_SUCCESS, OUTCOME_ERROR);
+
+    private final Map<String, Timer> callTimers = new HashMap<>();
+    private final Map<String, Counter> fallbacks = new HashMap<>();
+
+    public EnrichmentMetricsRecorder(final MeterRegistry meterRegistry) {
+        for (final String target : TARGETS) {
+            for (final String outcome : OUTCOMES) {
+                this.callTimers.put(key(target, outcome), Timer.builder("shipping_service_enrichment_call")
+                    .description("Latencia de cada llamada de enriquecimiento, incluidos reintentos y espera en el bulkhead")
+                    .tag("target", target)
+                    .tag("outcome", outcome)
+                    .serviceLevelObjectives(Duration.ofMillis(25), Duration.ofMillis(50), Duration.ofMillis(100), 
+                            Duration.ofMillis(250), Duration.ofMillis(500), Duration.ofSeconds(1))
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofMillis(1))
+                    .maximumExpectedValue(Duration.ofSeconds(10))
+                    .register(meterRegistry));
+            }
+            this.fallbacks.put(target, Counter.builder("shipping_service_enrichment_fallbacks_total")
+                .description("Ítems servidos sin enriquecer porque el servicio destino falló")
+                .tag("target", target)
+                .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Records how long the call's future takes to complete; a fallback value counts as success 
+     * here and is counted separately by {@link #recordFallback}.
+     */
+    public <T> CompletableFuture<T> recordCall(final String target, final Supplier<CompletableFuture<T>> call) {
+        final long start = System.nanoTime();
+        final CompletableFuture<T> future;
+        try {
+            future = call.get();
+        } catch (RuntimeException e) {
+            this.callTimers.get(key(target, OUTCOME_ERROR)).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+        return future.whenComplete((result, error) -> this.callTimers
+                .get(key(target, error == null ? OUTCOME_SUCCESS : OUTCOME_ERROR))
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+    }
+
+    public void recordFallback(final String target) {
+        this.fallbacks.get(target).increment();
+    }
+
+    private static String key(final String target, final String outcome) {
+        return target + ':' + outcome;
+    }
+}
@@ -1,12 +1,25 @@
 package com.selimhorri.app.repository;
 
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import com.selimhorri.app.domain.OrderItem;
 import com.selimhorri.app.domain.id.OrderItemId;
 
 public interface OrderItemRepository extends JpaRepository<OrderItem, OrderItemId> {
 	
-	
+	/**
+	 * Read-only cursor over all order items in key order; consume inside a transaction.
+	 */
+	@QueryHints({
+			@QueryHint(name = "org.hibernate.fetchSize", value = "1000"), 
+			@QueryHint(name = "org.hibernate.readOnly", value = "true")})
+	@Query("SELECT o FROM OrderItem o ORDER BY o.orderId ASC, o.productId ASC")
+	Stream<OrderItem> streamAll();
 	
 }
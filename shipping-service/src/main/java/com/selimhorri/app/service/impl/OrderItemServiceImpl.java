@@ -1,27 +1,33 @@
 package com.selimhorri.app.service.impl;
 
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import javax.persistence.EntityManager;
 import javax.transaction.Transactional;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
-import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.client.OrderItemEnrichmentClient;
+import com.selimhorri.app.domain.OrderItem;
 import com.selimhorri.app.domain.id.OrderItemId;
 import com.selimhorri.app.dto.OrderDto;
 import com.selimhorri.app.dto.OrderItemDto;
 import com.selimhorri.app.dto.ProductDto;
 import com.selimhorri.app.exception.wrapper.OrderItemNotFoundException;
 import com.selimhorri.app.helper.OrderItemMappingHelper;
+import com.selimhorri.app.metrics.EnrichmentMetricsRecorder;
 import com.selimhorri.app.repository.OrderItemRepository;
 import com.selimhorri.app.service.OrderItemService;
 
-import io.github.resilience4j.bulkhead.annotation.Bulkhead;
-import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
-import io.github.resilience4j.retry.annotation.Retry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -31,44 +37,61 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class OrderItemServiceImpl implements OrderItemService {
 	
+	private static final int STREAM_CLEAR_INTERVAL = 1000;
+	
 	private final OrderItemRepository orderItemRepository;
-	private final RestTemplate restTemplate;
+	private final OrderItemEnrichmentClient orderItemEnrichmentClient;
+	private final EnrichmentMetricsRecorder enrichmentMetricsRecorder;
+	private final EntityManager entityManager;
     
 	@Value("${features.enrich-order-item-details:true}")
 	private boolean enrichOrderItemDetails;
 	
+	/**
+	 * Products and orders are fetched concurrently, once per distinct id, each call guarded 
+	 * on its own by OrderItemEnrichmentClient; an unavailable target only degrades the items 
+	 * that depend on it.
+	 */
 	@Override
-	@CircuitBreaker(name = "shippingService")
-	@Retry(name = "shippingService")
-	@Bulkhead(name = "shippingService")
 	public List<OrderItemDto> findAll() {
 		log.info("*** OrderItemDto List, service; fetch all orderItems *");
-		return this.orderItemRepository.findAll()
+		final List<OrderItemDto> orderItemDtos = this.orderItemRepository.findAll()
 				.stream()
 					.map(OrderItemMappingHelper::map)
-					.map(o -> {
-						if (enrichOrderItemDetails) {
-							o.setProductDto(fetchProduct(o.getProductDto().getProductId()));
-							o.setOrderDto(fetchOrder(o.getOrderDto().getOrderId()));
-						}
-						return o;
-					})
 					.distinct()
 					.collect(Collectors.toUnmodifiableList());
+		if (enrichOrderItemDetails) {
+			this.enrich(orderItemDtos);
+		}
+		return orderItemDtos;
+	}
+	
+	/**
+	 * Streams order items with product and order ids only; enrichment would cost 
+	 * two remote calls per row and defeat the point of streaming.
+	 */
+	@Override
+	public void streamAll(final Consumer<OrderItemDto> action) {
+		log.info("*** OrderItemDto Stream, service; stream all orderItems *");
+		try (final Stream<OrderItem> orderItems = this.orderItemRepository.streamAll()) {
+			final Iterator<OrderItem> iterator = orderItems.iterator();
+			for (int i = 1; iterator.hasNext(); i++) {
+				action.accept(OrderItemMappingHelper.map(iterator.next()));
+				if (i % STREAM_CLEAR_INTERVAL == 0) {
+					this.entityManager.clear();
+				}
+			}
+		}
 	}
 	
 	@Override
-	@CircuitBreaker(name = "shippingService")
-	@Retry(name = "shippingService")
-	@Bulkhead(name = "shippingService")
 	public OrderItemDto findById(final OrderItemId orderItemId) {
 		log.info("*** OrderItemDto, service; fetch orderItem by id *");
 		return this.orderItemRepository.findById(orderItemId)
 				.map(OrderItemMappingHelper::map)
 				.map(o -> {
 					if (enrichOrderItemDetails) {
-						o.setProductDto(fetchProduct(o.getProductDto().getProductId()));
-						o.setOrderDto(fetchOrder(o.getOrderDto().getOrderId()));
+						this.enrich(List.of(o));
 					}
 					return o;
 				})
@@ -95,50 +118,35 @@ public class OrderItemServiceImpl implements OrderItemService {
 		this.orderItemRepository.deleteById(orderItemId);
 	}
 
-    @CircuitBreaker(name = "shippingService", fallbackMethod = "fallbackProduct")
-    @Retry(name = "shippingService")
-    @Bulkhead(name = "shippingService")
-    private ProductDto fetchProduct(Integer productId) {
-        return this.restTemplate.getForObject(
-            AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL + "/" + productId,
-            ProductDto.class
-        );
-    }
-
-    private ProductDto fallbackProduct(Integer productId, Throwable t) {
-        log.warn("Product service fallback for id={}, reason={}", productId, t.toString());
-        return ProductDto.builder().productId(productId).build();
-    }
-
-    @CircuitBreaker(name = "shippingService", fallbackMethod = "fallbackOrder")
-    @Retry(name = "shippingService")
-    @Bulkhead(name = "shippingService")
-    private OrderDto fetchOrder(Integer orderId) {
-        return this.restTemplate.getForObject(
-            AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL + "/" + orderId,
-            OrderDto.class
-        );
-    }
-
-    private OrderDto fallbackOrder(Integer orderId, Throwable t) {
-        log.warn("Order service fallback for id={}, reason={}", orderId, t.toString());
-        return OrderDto.builder().orderId(orderId).build();
-    }
-
+	private void enrich(final List<OrderItemDto> orderItemDtos) {
+		final Map<Integer, CompletableFuture<ProductDto>> products = new HashMap<>();
+		final Map<Integer, CompletableFuture<OrderDto>> orders = new HashMap<>();
+		orderItemDtos.forEach(o -> {
+			products.computeIfAbsent(o.getProductDto().getProductId(), id -> this.enrichmentMetricsRecorder
+					.recordCall(EnrichmentMetricsRecorder.TARGET_PRODUCT, () -> this.orderItemEnrichmentClient.fetchProduct(id)));
+			orders.computeIfAbsent(o.getOrderDto().getOrderId(), id -> this.enrichmentMetricsRecorder
+					.recordCall(EnrichmentMetricsRecorder.TARGET_ORDER, () -> this.orderItemEnrichmentClient.fetchOrder(id)));
+		});
+		orderItemDtos.forEach(o -> {
+			o.setProductDto(join(products.get(o.getProductDto().getProductId())));
+			o.setOrderDto(join(orders.get(o.getOrderDto().getOrderId())));
+		});
+	}
+	
+	/**
+	 * Rethrows what the call failed with (only 4xx answers are left after fallbacks), not its wrapper.
+	 */
+	private static <T> T join(final CompletableFuture<T> future) {
+		try {
+			return future.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw e;
+		}
+	}
+	
+	
+	
 }
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
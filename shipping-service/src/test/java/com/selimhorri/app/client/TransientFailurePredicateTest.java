@@ -0,0 +1,43 @@
+package com.selimhorri.app.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link TransientFailurePredicate}, the retry predicate of the enrichment calls.
+ */
+public class TransientFailurePredicateTest {
+
+    private final TransientFailurePredicate predicate = new TransientFailurePredicate();
+
+    /**
+     * Business Value: Outages are retried even though the thread-pool bulkhead wraps them.
+     */
+    @Test
+    void testWrappedTransientFailures_AreRetried() {
+        assertThat(predicate.test(new CompletionException(new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE)))).isTrue();
+        assertThat(predicate.test(new ExecutionException(new ResourceAccessException("Connection refused")))).isTrue();
+        assertThat(predicate.test(new CompletionException(new ExecutionException(new IOException("Reset"))))).isTrue();
+        assertThat(predicate.test(new TimeoutException())).isTrue();
+    }
+
+    /**
+     * Business Value: A 4xx is the caller's problem; retrying it only adds load and latency.
+     */
+    @Test
+    void testClientErrors_AreNotRetried() {
+        assertThat(predicate.test(new CompletionException(new HttpClientErrorException(HttpStatus.NOT_FOUND)))).isFalse();
+        assertThat(predicate.test(new HttpClientErrorException(HttpStatus.BAD_REQUEST))).isFalse();
+        assertThat(predicate.test(new CompletionException(new IllegalStateException("Bug")))).isFalse();
+    }
+}
@@ -8,12 +8,17 @@ import com.selimhorri.app.dto.OrderItemDto;
 import com.selimhorri.app.dto.ProductDto;
 import com.selimhorri.app.repository.OrderItemRepository;
 import com.selimhorri.app.service.OrderItemService;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.RestTemplate;
 
 import java.time.LocalDateTime;
@@ -41,6 +46,9 @@ public class OrderItemServiceImplIntegrationTest {
     @MockBean
     private RestTemplate restTemplate;
 
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
     private ProductDto testProductDto;
     private OrderDto testOrderDto;
 
@@ -56,6 +64,9 @@ public class OrderItemServiceImplIntegrationTest {
         // Reset the RestTemplate mock to clear any previous interactions
         reset(restTemplate);
 
+        // Close circuits opened by failures simulated in other tests
+        circuitBreakerRegistry.getAllCircuitBreakers().forEach(CircuitBreaker::reset);
+
         // Prepare test ProductDto
         testProductDto = new ProductDto();
         testProductDto.setProductId(1);
@@ -162,4 +173,61 @@ public class OrderItemServiceImplIntegrationTest {
         verify(restTemplate, never()).getForObject(anyString(), eq(ProductDto.class));
         verify(restTemplate, never()).getForObject(anyString(), eq(OrderDto.class));
     }
+
+    /**
+     * Tests that a failing downstream call is retried and falls back on its own item only.
+     * 
+     * Business Value: One unavailable product no longer retries or fails the whole list;
+     * the other items keep their full product data.
+     */
+    @Test
+    void testFindAll_ProductCallFails_FallsBackForThatItemOnly() {
+        // Given: Two order items, the second one's product failing with 503
+        OrderItem first = new OrderItem();
+        first.setProductId(1);
+        first.setOrderId(1);
+        first.setOrderedQuantity(5);
+        OrderItem second = new OrderItem();
+        second.setProductId(2);
+        second.setOrderId(1);
+        second.setOrderedQuantity(2);
+        orderItemRepository.saveAll(List.of(first, second));
+
+        when(restTemplate.getForObject(
+                eq(AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL + "/1"),
+                eq(ProductDto.class)))
+                .thenReturn(testProductDto);
+        when(restTemplate.getForObject(
+                eq(AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL + "/2"),
+                eq(ProductDto.class)))
+                .thenThrow(HttpServerErrorException.create(HttpStatus.SERVICE_UNAVAILABLE, "Unavailable", 
+                        HttpHeaders.EMPTY, new byte[0], null));
+        when(restTemplate.getForObject(
+                eq(AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL + "/1"),
+                eq(OrderDto.class)))
+                .thenReturn(testOrderDto);
+
+        // When: We fetch all order items
+        List<OrderItemDto> result = orderItemService.findAll();
+
+        // Then: Only the second item falls back, to a product holding its id
+        assertThat(result).hasSize(2);
+        OrderItemDto enriched = result.stream().filter(o -> o.getProductId().equals(1)).findFirst().orElseThrow();
+        OrderItemDto degraded = result.stream().filter(o -> o.getProductId().equals(2)).findFirst().orElseThrow();
+        assertThat(enriched.getProductDto().getProductTitle()).isEqualTo("Test Product");
+        assertThat(degraded.getProductDto().getProductId()).isEqualTo(2);
+        assertThat(degraded.getProductDto().getProductTitle()).isNull();
+        assertThat(degraded.getOrderDto().getOrderDesc()).isEqualTo("Test Order");
+
+        // Only the failing call is retried; the shared order is fetched once
+        verify(restTemplate, times(3)).getForObject(
+                eq(AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL + "/2"),
+                eq(ProductDto.class));
+        verify(restTemplate, times(1)).getForObject(
+                eq(AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL + "/1"),
+                eq(ProductDto.class));
+        verify(restTemplate, times(1)).getForObject(
+                eq(AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL + "/1"),
+                eq(OrderDto.class));
+    }
 }
@@ -0,0 +1,67 @@
+package com.selimhorri.app.service.impl;
+
+import com.selimhorri.app.client.OrderItemEnrichmentClient;
+import com.selimhorri.app.domain.OrderItem;
+import com.selimhorri.app.dto.OrderItemDto;
+import com.selimhorri.app.metrics.EnrichmentMetricsRecorder;
+import com.selimhorri.app.repository.OrderItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link OrderItemServiceImpl}.
+ * Repository, enrichment client and EntityManager are mocked so the streaming batches can be counted.
+ */
+public class OrderItemServiceImplTest {
+
+    private OrderItemRepository orderItemRepository;
+    private OrderItemEnrichmentClient orderItemEnrichmentClient;
+    private EntityManager entityManager;
+    private OrderItemServiceImpl orderItemService;
+
+    @BeforeEach
+    void setUp() {
+        orderItemRepository = mock(OrderItemRepository.class);
+        orderItemEnrichmentClient = mock(OrderItemEnrichmentClient.class);
+        entityManager = mock(EntityManager.class);
+        orderItemService = new OrderItemServiceImpl(
+                orderItemRepository,
+                orderItemEnrichmentClient,
+                mock(EnrichmentMetricsRecorder.class),
+                entityManager);
+    }
+
+    /**
+     * Tests that streamAll hands over every order item, ids only, and clears the
+     * persistence context every 1000 rows so the NDJSON export stays bounded.
+     */
+    @Test
+    void testStreamAll_ClearsPersistenceContextPerBatch() {
+        // Given
+        when(orderItemRepository.streamAll()).thenReturn(IntStream.rangeClosed(1, 2500)
+                .mapToObj(i -> OrderItem.builder()
+                        .productId(i)
+                        .orderId(i)
+                        .orderedQuantity(1)
+                        .build()));
+        List<OrderItemDto> streamed = new ArrayList<>();
+
+        // When
+        orderItemService.streamAll(streamed::add);
+
+        // Then
+        assertThat(streamed).hasSize(2500);
+        assertThat(streamed.get(2499).getProductDto().getProductId()).isEqualTo(2500);
+        assertThat(streamed.get(2499).getOrderDto().getOrderId()).isEqualTo(2500);
+        verify(entityManager, times(2)).clear();
+        verifyNoInteractions(orderItemEnrichmentClient);
+    }
+}
@@ -7,6 +7,8 @@ import com.selimhorri.app.dto.OrderDto;
 import com.selimhorri.app.dto.OrderItemDto;
 import com.selimhorri.app.repository.OrderItemRepository;
 import com.selimhorri.app.service.OrderItemService;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -46,6 +48,9 @@ class ShippingOrderIntegrationTest {
     @MockBean
     private RestTemplate restTemplate;
 
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
     @BeforeEach
     void setUp() {
         // Clean up database before each test
@@ -54,6 +59,9 @@ class ShippingOrderIntegrationTest {
         // Reset mock behavior
         reset(restTemplate);
 
+        // Close circuits opened by failures simulated in other tests
+        circuitBreakerRegistry.getAllCircuitBreakers().forEach(CircuitBreaker::reset);
+
         // Insert test order item (shipping record)
         OrderItem testOrderItem = OrderItem.builder()
                 .productId(10)
@@ -191,13 +199,13 @@ class ShippingOrderIntegrationTest {
     }
 
     /**
-     * Test 3: Validates error handling when ORDER-SERVICE is unavailable
+     * Test 3: Validates fallback when ORDER-SERVICE is unavailable
      * 
-     * Business Logic: If ORDER-SERVICE is down, shipping operations should
-     * fail explicitly rather than returning incomplete data.
+     * Business Logic: If ORDER-SERVICE is down, the shipping record is still
+     * returned, with the order reduced to its id, instead of failing the request.
      */
     @Test
-    @DisplayName("findById() handles ORDER-SERVICE unavailability error")
+    @DisplayName("findById() falls back to the order id when ORDER-SERVICE is unavailable")
     void testFindById_HandlesOrderServiceUnavailable() {
         // Given: Mock ORDER-SERVICE throws connection error
         when(restTemplate.getForObject(
@@ -205,11 +213,14 @@ class ShippingOrderIntegrationTest {
                 any()))
                 .thenThrow(new RuntimeException("ORDER-SERVICE unavailable"));
 
-        // When/Then: Retrieving order item should propagate the exception
+        // When: Retrieving order item
         OrderItemId itemId = new OrderItemId(10, 200);
-        assertThatThrownBy(() -> orderItemService.findById(itemId))
-                .isInstanceOf(RuntimeException.class)
-                .hasMessageContaining("ORDER-SERVICE unavailable");
+        OrderItemDto result = orderItemService.findById(itemId);
+
+        // Then: The item is served with fallback order and product holding only their ids
+        assertThat(result.getOrderDto().getOrderId()).isEqualTo(200);
+        assertThat(result.getOrderDto().getOrderDesc()).isNull();
+        assertThat(result.getProductDto().getProductId()).isEqualTo(10);
 
         // Verify ORDER-SERVICE was attempted
         verify(restTemplate, atLeastOnce()).getForObject(
@@ -288,7 +299,7 @@ class ShippingOrderIntegrationTest {
      * This integration test suite validates the REAL integration between
      * Shipping Service (OrderItemServiceImpl) and Order Service as implemented.
      * 
-     * Current Implementation (OrderItemServiceImpl lines 40-44, 51-56):
+     * Current Implementation (OrderItemServiceImpl, OrderItemEnrichmentClient):
      * - findById() and findAll() call ORDER-SERVICE via restTemplate.getForObject()
      * - Also calls PRODUCT-SERVICE (dual enrichment pattern)
      * - save() does NOT call external services (correct optimization)
@@ -296,7 +307,7 @@ class ShippingOrderIntegrationTest {
      * All 5 tests validate ACTUAL business logic:
      * ✅ Test 1: Validates ORDER enrichment in findById()
      * ✅ Test 2: Validates ORDER enrichment in findAll() with multiple items
-     * ✅ Test 3: Validates error handling when ORDER-SERVICE unavailable
+     * ✅ Test 3: Validates per-item fallback when ORDER-SERVICE unavailable
      * ✅ Test 4: Validates save() performance (no external calls)
      * ✅ Test 5: Validates 404 handling when order doesn't exist
      * 
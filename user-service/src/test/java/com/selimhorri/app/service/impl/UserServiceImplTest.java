@@ -148,6 +148,27 @@ class UserServiceImplTest {
         verify(userRepository, times(1)).findById(userId);
     }
 
+    /**
+     * Verify findAllByIds resolves several users with a single repository call
+     * Business Value: Backs the batch endpoint used by downstream enrichment
+     */
+    @Test
+    @DisplayName("Should return only existing users when findAllByIds is called")
+    void testFindAllByIds_ReturnsExistingUsers() {
+        // Arrange
+        List<Integer> userIds = Arrays.asList(1, 999);
+        when(userRepository.findAllById(userIds)).thenReturn(List.of(testUser));
+
+        // Act
+        List<UserDto> result = userService.findAllByIds(userIds);
+
+        // Assert
+        assertEquals(1, result.size(), "Unknown ids should be skipped");
+        assertEquals(1, result.get(0).getUserId(), "User ID should match");
+        
+        verify(userRepository, times(1)).findAllById(userIds);
+    }
+
     /**
      * Test 3: Verify findById throws exception for invalid ID
      * Business Value: Ensures proper error handling